@@ -0,0 +1,12 @@
+#!/bin/bash
+
+# Drives a running instance with a mixed read/write workload and prints latency per endpoint.
+# All arguments are passed to the harness, e.g.:
+#   ./load-test.sh --duration 120s --concurrency 64 --report target/load-report.json
+#   ./load-test.sh --rate 200 --mix post=50,transactions=50
+#
+# Start the server against a large dataset first (see "Generate a Synthetic Dataset" in README.md),
+# with --server.error.include-message=always so SQLITE_BUSY failures can be told apart.
+
+cd "$(dirname "$0")" || exit 1
+exec java src/load/java/com/ys/ai/aifinancemanager/load/LoadHarness.java "$@"
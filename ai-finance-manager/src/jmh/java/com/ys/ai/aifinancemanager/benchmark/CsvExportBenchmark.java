@@ -0,0 +1,54 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.service.CsvExportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV rendering of export rows. {@code escapedComments} switches between comments that pass
+ * through unchanged and comments with commas, quotes and line breaks that must be quoted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class CsvExportBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int rows;
+
+  @Param({"false", "true"})
+  private boolean escapedComments;
+
+  private final CsvExportServiceImpl csvExportService = new CsvExportServiceImpl(new SimpleMeterRegistry());
+
+  private TransactionExportResponse exportData;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    exportData = TransactionExportResponse.builder()
+        .transactions(SyntheticTransactions.exportDetails(rows, escapedComments))
+        .build();
+  }
+
+  @Benchmark
+  public String exportTransactionsToCsv() {
+    return csvExportService.exportTransactionsToCsv(exportData);
+  }
+}
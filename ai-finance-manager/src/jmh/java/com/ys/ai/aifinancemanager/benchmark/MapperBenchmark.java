@@ -0,0 +1,65 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
+import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct entity-to-DTO mapping, which runs once per transaction on every grouped read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class MapperBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int rows;
+
+  private final TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+
+  private final CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
+
+  private List<Transaction> transactions;
+
+  private Category category;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    transactions = SyntheticTransactions.transactions(rows);
+    category = SyntheticTransactions.CATEGORIES.getFirst();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<TransactionDto> transactionToDtoList() {
+    return transactionMapper.toDtoList(transactions);
+  }
+
+  /** Independent of {@code rows}; reported once per row count only because the state is shared. */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public CategoryDto categoryToDto() {
+    return categoryMapper.toDto(category);
+  }
+}
@@ -0,0 +1,237 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import com.ys.ai.aifinancemanager.config.SqliteDataSourceConfig;
+import com.ys.ai.aifinancemanager.config.SqliteProperties;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four threads summing a category over a date range while one thread inserts single-row
+ * transactions, as concurrent GET and POST requests would. {@code profile=default} opens plain
+ * connections (rollback journal, {@code synchronous=FULL}); {@code profile=tuned} opens them with
+ * the {@link SqliteProperties} defaults, the readers on read-only connections. Reported per
+ * thread role, in operations per second; {@code readBusy} and {@code writeBusy} count the
+ * operations that gave up with {@code SQLITE_BUSY} after the busy timeout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class SqliteConcurrencyBenchmark {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+  private static final int DAYS = 730;
+
+  private static final SqliteProperties TUNED = new SqliteProperties(
+      SQLiteConfig.JournalMode.WAL,
+      SQLiteConfig.SynchronousMode.NORMAL,
+      DataSize.ofMegabytes(64),
+      DataSize.ofMegabytes(256),
+      SQLiteConfig.TempStore.MEMORY,
+      Duration.ofSeconds(5),
+      new SqliteProperties.ReadPool(true, 4));
+
+  @Param({"default", "tuned"})
+  private String profile;
+
+  @Param({"100000"})
+  private int rows;
+
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, SQLException {
+    file = Files.createTempFile("sqlite_concurrency_" + profile, ".db");
+    try (var connection = open(false); var statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE TRANSACTIONS (ID_TRANSACTION INTEGER PRIMARY KEY AUTOINCREMENT, "
+          + "AMOUNT_CENTS INTEGER NOT NULL, TRANSACTION_DAY INTEGER NOT NULL, ID_CATEGORY INTEGER, "
+          + "COMMENT varchar(255) NULL)");
+      connection.setAutoCommit(false);
+      var random = new SplittableRandom(42);
+      try (var insert = connection.prepareStatement(Writer.INSERT)) {
+        for (int row = 0; row < rows; row++) {
+          Writer.bind(insert, random, FIRST_DAY.plusDays((long) row * DAYS / rows));
+          insert.addBatch();
+          if (row % 10_000 == 9_999) {
+            insert.executeBatch();
+          }
+        }
+        insert.executeBatch();
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      statement.execute("CREATE INDEX IDX_TRANSACTIONS_CATEGORY_DAY ON TRANSACTIONS "
+          + "(ID_CATEGORY, TRANSACTION_DAY, AMOUNT_CENTS, COMMENT)");
+      statement.execute("ANALYZE");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(Path.of(file + "-wal"));
+    Files.deleteIfExists(Path.of(file + "-shm"));
+  }
+
+  @Benchmark
+  @Group("readsDuringWrites")
+  @GroupThreads(4)
+  public long read(Reader reader) throws SQLException {
+    return reader.sumCategoryRange();
+  }
+
+  @Benchmark
+  @Group("readsDuringWrites")
+  @GroupThreads(1)
+  public int write(Writer writer) throws SQLException {
+    return writer.insert();
+  }
+
+  private Connection open(boolean readOnly) throws SQLException {
+    var config = "tuned".equals(profile) ? SqliteDataSourceConfig.sqliteConfig(TUNED, readOnly) : plainConfig();
+    return config.createConnection("jdbc:sqlite:" + file);
+  }
+
+  /**
+   * Driver defaults, apart from the same busy timeout, so neither profile fails where the other waits.
+   */
+  private static SQLiteConfig plainConfig() {
+    var config = new SQLiteConfig();
+    config.setBusyTimeout((int) TUNED.busyTimeout().toMillis());
+    return config;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Reader {
+
+    public long readBusy;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Connection connection;
+
+    private PreparedStatement sumByCategory;
+
+    @Setup(Level.Trial)
+    public void setUp(SqliteConcurrencyBenchmark benchmark) throws SQLException {
+      connection = benchmark.open(true);
+      sumByCategory = connection.prepareStatement("SELECT SUM(AMOUNT_CENTS) FROM TRANSACTIONS "
+          + "WHERE ID_CATEGORY = ? AND TRANSACTION_DAY BETWEEN ? AND ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+      connection.close();
+    }
+
+    long sumCategoryRange() throws SQLException {
+      var from = FIRST_DAY.plusDays(random.nextInt(DAYS - 90)).toEpochDay();
+      sumByCategory.setInt(1, randomCategory(random));
+      sumByCategory.setLong(2, from);
+      sumByCategory.setLong(3, from + 90);
+      try (var resultSet = sumByCategory.executeQuery()) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      } catch (SQLiteException e) {
+        if (!isBusy(e)) {
+          throw e;
+        }
+        readBusy++;
+        return -1;
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Writer {
+
+    public long writeBusy;
+
+    static final String INSERT =
+        "INSERT INTO TRANSACTIONS (AMOUNT_CENTS, TRANSACTION_DAY, ID_CATEGORY, COMMENT) VALUES (?, ?, ?, ?)";
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp(SqliteConcurrencyBenchmark benchmark) throws SQLException {
+      connection = benchmark.open(false);
+      insert = connection.prepareStatement(INSERT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+      connection.close();
+    }
+
+    /**
+     * One row per commit, as {@code POST /transactions} writes without group commit.
+     */
+    int insert() throws SQLException {
+      bind(insert, random, FIRST_DAY.plusDays(random.nextInt(DAYS)));
+      try {
+        return insert.executeUpdate();
+      } catch (SQLiteException e) {
+        if (!isBusy(e)) {
+          throw e;
+        }
+        writeBusy++;
+        return -1;
+      }
+    }
+
+    static void bind(PreparedStatement insert, SplittableRandom random, LocalDate day) throws SQLException {
+      insert.setLong(1, 100 + random.nextLong(500_000));
+      insert.setLong(2, day.toEpochDay());
+      insert.setInt(3, randomCategory(random));
+      insert.setString(4, random.nextBoolean() ? null : "Card payment");
+    }
+  }
+
+  private static boolean isBusy(SQLiteException e) {
+    // Extended codes such as SQLITE_BUSY_SNAPSHOT keep the primary code in the low byte
+    return (e.getResultCode().code & 0xff) == SQLiteErrorCode.SQLITE_BUSY.code;
+  }
+
+  private static int randomCategory(SplittableRandom random) {
+    return SyntheticTransactions.CATEGORIES.get(random.nextInt(SyntheticTransactions.CATEGORIES.size()))
+        .getIdCategory();
+  }
+}
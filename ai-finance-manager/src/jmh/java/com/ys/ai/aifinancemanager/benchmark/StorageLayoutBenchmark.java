@@ -0,0 +1,197 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same rows in SQLite with the pre-V5 layout (DECIMAL amount, epoch-millisecond date) and the
+ * compact one (INTEGER cents, epoch day), each with the V4/V5 covering indexes. Measures a
+ * category range sum and a full range scan; the database file size is reported next to them as
+ * {@code fileBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class StorageLayoutBenchmark {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+  private static final int DAYS = 730;
+
+  private static final LocalDate RANGE_FROM = FIRST_DAY.plusDays(180);
+
+  private static final LocalDate RANGE_TO = FIRST_DAY.plusDays(270);
+
+  @Param({"legacy", "compact"})
+  private String layout;
+
+  @Param({"100000", "1000000"})
+  private int rows;
+
+  private Path file;
+
+  private long fileBytes;
+
+  private Connection connection;
+
+  private PreparedStatement sumByCategory;
+
+  private PreparedStatement scanRange;
+
+  private long rangeFrom;
+
+  private long rangeTo;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, SQLException {
+    file = Files.createTempFile("storage_layout_" + layout, ".db");
+    connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+
+    var compact = "compact".equals(layout);
+    load(compact);
+
+    var amount = compact ? "AMOUNT_CENTS" : "AMOUNT";
+    var date = compact ? "TRANSACTION_DAY" : "TRANSACTION_DATE";
+    sumByCategory = connection.prepareStatement(
+        "SELECT SUM(" + amount + ") FROM TRANSACTIONS WHERE ID_CATEGORY = ? AND " + date + " BETWEEN ? AND ?");
+    scanRange = connection.prepareStatement(
+        "SELECT " + amount + ", " + date + ", ID_CATEGORY FROM TRANSACTIONS WHERE " + date + " BETWEEN ? AND ?");
+    rangeFrom = compact ? RANGE_FROM.toEpochDay() : toEpochMillis(RANGE_FROM);
+    rangeTo = compact ? RANGE_TO.toEpochDay() : toEpochMillis(RANGE_TO);
+
+    fileBytes = Files.size(file);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException, SQLException {
+    connection.close();
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public void sumCategoryRange(FileSize fileSize, Blackhole blackhole) throws SQLException {
+    fileSize.fileBytes = fileBytes;
+    sumByCategory.setInt(1, 2);
+    sumByCategory.setLong(2, rangeFrom);
+    sumByCategory.setLong(3, rangeTo);
+    try (var resultSet = sumByCategory.executeQuery()) {
+      resultSet.next();
+      blackhole.consume(resultSet.getObject(1));
+    }
+  }
+
+  @Benchmark
+  public void scanDateRange(FileSize fileSize, Blackhole blackhole) throws SQLException {
+    fileSize.fileBytes = fileBytes;
+    scanRange.setLong(1, rangeFrom);
+    scanRange.setLong(2, rangeTo);
+    try (var resultSet = scanRange.executeQuery()) {
+      while (resultSet.next()) {
+        blackhole.consume(resultSet.getObject(1));
+        blackhole.consume(resultSet.getLong(2));
+        blackhole.consume(resultSet.getInt(3));
+      }
+    }
+  }
+
+  private void load(boolean compact) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("PRAGMA synchronous = OFF");
+      if (compact) {
+        statement.execute("CREATE TABLE TRANSACTIONS (ID_TRANSACTION INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "AMOUNT_CENTS INTEGER NOT NULL, TRANSACTION_DAY INTEGER NOT NULL, ID_CATEGORY INTEGER, "
+            + "COMMENT varchar(255) NULL)");
+      } else {
+        statement.execute("CREATE TABLE TRANSACTIONS (ID_TRANSACTION INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "AMOUNT DECIMAL(10,2) NOT NULL, TRANSACTION_DATE DATE NOT NULL, ID_CATEGORY INTEGER, "
+            + "COMMENT varchar(255) NULL)");
+      }
+    }
+
+    var insertSql = compact
+        ? "INSERT INTO TRANSACTIONS (AMOUNT_CENTS, TRANSACTION_DAY, ID_CATEGORY, COMMENT) VALUES (?, ?, ?, ?)"
+        : "INSERT INTO TRANSACTIONS (AMOUNT, TRANSACTION_DATE, ID_CATEGORY, COMMENT) VALUES (?, ?, ?, ?)";
+    var random = new SplittableRandom(42);
+    connection.setAutoCommit(false);
+    try (var insert = connection.prepareStatement(insertSql)) {
+      for (int row = 0; row < rows; row++) {
+        var cents = 100 + random.nextLong(500_000);
+        var day = FIRST_DAY.plusDays((long) row * DAYS / rows);
+        if (compact) {
+          insert.setLong(1, cents);
+          insert.setLong(2, day.toEpochDay());
+        } else {
+          // What Hibernate bound for BigDecimal and LocalDate before V5
+          insert.setBigDecimal(1, BigDecimal.valueOf(cents, 2));
+          insert.setLong(2, toEpochMillis(day));
+        }
+        insert.setInt(3, SyntheticTransactions.CATEGORIES.get(random.nextInt(SyntheticTransactions.CATEGORIES.size()))
+            .getIdCategory());
+        insert.setString(4, random.nextBoolean() ? null : "Card payment");
+        insert.addBatch();
+        if (row % 10_000 == 9_999) {
+          insert.executeBatch();
+        }
+      }
+      insert.executeBatch();
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+
+    var amount = compact ? "AMOUNT_CENTS" : "AMOUNT";
+    var date = compact ? "TRANSACTION_DAY" : "TRANSACTION_DATE";
+    try (var statement = connection.createStatement()) {
+      statement.execute("CREATE INDEX IDX_TRANSACTIONS_DATE_CATEGORY ON TRANSACTIONS ("
+          + date + ", ID_CATEGORY, " + amount + ", COMMENT)");
+      statement.execute("CREATE INDEX IDX_TRANSACTIONS_CATEGORY_DATE ON TRANSACTIONS (ID_CATEGORY, "
+          + date + ", " + amount + ", COMMENT)");
+      statement.execute("ANALYZE");
+      statement.execute("VACUUM");
+    }
+  }
+
+  private static long toEpochMillis(LocalDate date) {
+    return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  /**
+   * Carries the database file size into the results, so it lands in jmh-result.json as a
+   * secondary metric. Assigned on every call, since JMH zeroes event counters after each
+   * iteration's setup; one field store is noise next to a query.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class FileSize {
+
+    public long fileBytes;
+  }
+}
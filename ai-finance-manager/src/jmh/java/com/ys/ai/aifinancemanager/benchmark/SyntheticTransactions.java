@@ -0,0 +1,104 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory data for the benchmarks: the same seed always yields the same rows, so
+ * results stay comparable between commits.
+ */
+final class SyntheticTransactions {
+
+  static final LocalDate DATE_FROM = LocalDate.of(2026, 1, 1);
+
+  static final LocalDate DATE_TO = LocalDate.of(2026, 12, 31);
+
+  /** The categories seeded by the V2 migration. */
+  static final List<Category> CATEGORIES = List.of(
+      category(1, "Salary", CategoryType.INCOMES),
+      category(2, "Food & Groceries", CategoryType.EXPENSES),
+      category(3, "Transportation", CategoryType.EXPENSES),
+      category(4, "Entertainment", CategoryType.EXPENSES),
+      category(5, "Utilities", CategoryType.EXPENSES),
+      category(6, "Healthcare", CategoryType.EXPENSES),
+      category(7, "Investment", CategoryType.EXPENSES),
+      category(8, "Other Income", CategoryType.INCOMES),
+      category(9, "Other Expenses", CategoryType.EXPENSES)
+  );
+
+  private static final long SEED = 20260101L;
+
+  private static final String[] PLAIN_COMMENTS = {
+      "Weekly groceries", "Monthly pass", "Cinema", "Electricity bill", null
+  };
+
+  private static final String[] ESCAPED_COMMENTS = {
+      "Groceries, household items", "Dinner at \"Luigi's\"", "Line one\nline two",
+      "Refund, \"partial\"", null
+  };
+
+  private SyntheticTransactions() {
+  }
+
+  static List<Transaction> transactions(int rows, CategoryType type) {
+    return transactions(rows, CATEGORIES.stream()
+        .filter(category -> category.getType() == type)
+        .toList());
+  }
+
+  static List<Transaction> transactions(int rows) {
+    return transactions(rows, CATEGORIES);
+  }
+
+  private static List<Transaction> transactions(int rows, List<Category> categories) {
+    var random = new SplittableRandom(SEED);
+    var days = (int) (DATE_TO.toEpochDay() - DATE_FROM.toEpochDay()) + 1;
+
+    var transactions = new ArrayList<Transaction>(rows);
+    for (int i = 0; i < rows; i++) {
+      transactions.add(Transaction.builder()
+          .idTransaction(i + 1)
+          .amount(BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2))
+          .transactionDate(DATE_FROM.plusDays(random.nextInt(days)))
+          .category(categories.get(random.nextInt(categories.size())))
+          .comment(PLAIN_COMMENTS[random.nextInt(PLAIN_COMMENTS.length)])
+          .build());
+    }
+    return transactions;
+  }
+
+  static List<TransactionExportDetail> exportDetails(int rows, boolean commentsNeedEscaping) {
+    var comments = commentsNeedEscaping ? ESCAPED_COMMENTS : PLAIN_COMMENTS;
+    var random = new SplittableRandom(SEED);
+
+    var details = new ArrayList<TransactionExportDetail>(rows);
+    for (int i = 0; i < rows; i++) {
+      var category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+      details.add(TransactionExportDetail.builder()
+          .idTransaction(i + 1)
+          .transactionDate(DATE_FROM.plusDays(random.nextInt(365)).toString())
+          .amount(BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2))
+          .categoryDescription(category.getDescription())
+          .categoryType(category.getType().name())
+          .comment(comments[random.nextInt(comments.length)])
+          .build());
+    }
+    return details;
+  }
+
+  private static Category category(int id, String description, CategoryType type) {
+    return Category.builder()
+        .idCategory(id)
+        .description(description)
+        .type(type)
+        .build();
+  }
+}
@@ -0,0 +1,141 @@
+package com.ys.ai.aifinancemanager.benchmark;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
+import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.application.service.CategoryCacheService;
+import com.ys.ai.aifinancemanager.application.service.CategoryTotalsIndexServiceImpl;
+import com.ys.ai.aifinancemanager.application.service.DataVersionServiceImpl;
+import com.ys.ai.aifinancemanager.application.service.TransactionColumnStoreServiceImpl;
+import com.ys.ai.aifinancemanager.application.service.TransactionResponseCacheServiceImpl;
+import com.ys.ai.aifinancemanager.application.service.TransactionServiceImpl;
+import com.ys.ai.aifinancemanager.config.ColumnStoreProperties;
+import com.ys.ai.aifinancemanager.config.ResponseCacheProperties;
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.config.TotalsIndexProperties;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping, per-category totals and export sorting in {@link TransactionServiceImpl}, measured
+ * over entity lists as the repository would return them. The repository is a stub, so only the
+ * in-memory work is timed. {@code readPath=columns} answers the same reads from a
+ * {@link TransactionColumnStoreServiceImpl} holding the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class TransactionServiceBenchmark {
+
+  private static final SnapshotProperties NO_SNAPSHOTS = new SnapshotProperties(false, Path.of("snapshots"));
+
+  @Param({"1000", "100000", "1000000"})
+  private int rows;
+
+  @Param({"repository", "columns"})
+  private String readPath;
+
+  private TransactionServiceImpl transactionService;
+
+  private TransactionColumnStoreServiceImpl expenseColumns;
+
+  private TransactionColumnStoreServiceImpl allTypeColumns;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var expenses = SyntheticTransactions.transactions(rows, CategoryType.EXPENSES);
+    var allTypes = SyntheticTransactions.transactions(rows);
+
+    transactionService = new TransactionServiceImpl(
+        stubRepository(expenses, allTypes),
+        null,
+        Mappers.getMapper(TransactionMapper.class),
+        Mappers.getMapper(CategoryMapper.class),
+        null,
+        new TransactionColumnStoreServiceImpl(null, null, null, new ColumnStoreProperties(false), NO_SNAPSHOTS, null),
+        new CategoryTotalsIndexServiceImpl(null, null, new TotalsIndexProperties(false), NO_SNAPSHOTS, null),
+        new TransactionResponseCacheServiceImpl(null, new ResponseCacheProperties(false, null), new SimpleMeterRegistry()),
+        new DataVersionServiceImpl(),
+        null,
+        null,
+        null,
+        new SimpleMeterRegistry());
+
+    if ("columns".equals(readPath)) {
+      expenseColumns = columnStore(expenses);
+      allTypeColumns = columnStore(allTypes);
+    }
+  }
+
+  @Benchmark
+  public TransactionsByTypeResponse groupByCategory() {
+    if (expenseColumns != null) {
+      return expenseColumns.getTransactionsByTypeAndDateRange(
+          CategoryType.EXPENSES, SyntheticTransactions.DATE_FROM, SyntheticTransactions.DATE_TO);
+    }
+    return transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, SyntheticTransactions.DATE_FROM, SyntheticTransactions.DATE_TO);
+  }
+
+  @Benchmark
+  public TransactionExportResponse sortForExport() {
+    if (allTypeColumns != null) {
+      return allTypeColumns.exportTransactions(SyntheticTransactions.DATE_FROM, SyntheticTransactions.DATE_TO);
+    }
+    return transactionService.exportTransactions(SyntheticTransactions.DATE_FROM, SyntheticTransactions.DATE_TO);
+  }
+
+  private static TransactionColumnStoreServiceImpl columnStore(List<Transaction> transactions) {
+    var categoryCache = (CategoryCacheService) Proxy.newProxyInstance(
+        CategoryCacheService.class.getClassLoader(),
+        new Class<?>[] {CategoryCacheService.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "findAll" -> SyntheticTransactions.CATEGORIES;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+
+    var columnStore = new TransactionColumnStoreServiceImpl(
+        null, categoryCache, Mappers.getMapper(CategoryMapper.class), new ColumnStoreProperties(true), NO_SNAPSHOTS, null);
+    // In load order, so every row is an append
+    columnStore.recordTransactions(transactions.stream()
+        .sorted(Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getIdTransaction))
+        .toList());
+    return columnStore;
+  }
+
+  private static TransactionRepository stubRepository(List<Transaction> byType, List<Transaction> byDate) {
+    return (TransactionRepository) Proxy.newProxyInstance(
+        TransactionRepository.class.getClassLoader(),
+        new Class<?>[] {TransactionRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "findByCategoryTypeAndTransactionDateBetween" -> byType;
+          case "findByTransactionDateBetween" -> byDate;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
@@ -0,0 +1,498 @@
+package com.ys.ai.aifinancemanager.load;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load driver for a running instance. JDK only, so it runs straight from source:
+ *
+ * <pre>
+ * java src/load/java/com/ys/ai/aifinancemanager/load/LoadHarness.java --duration 60s --concurrency 64
+ * </pre>
+ *
+ * <p>Replays a weighted mix of {@code POST /transactions}, {@code GET /transactions},
+ * {@code GET /categories} and {@code GET /transactions/export} and reports throughput,
+ * p50/p99/p999 latency and failures per endpoint. Without {@code --rate} it runs closed-loop:
+ * {@code --concurrency} virtual threads each send the next request as soon as the previous one
+ * returns. With {@code --rate} it runs open-loop at a fixed arrival rate and measures latency from
+ * each request's scheduled start, so a stalled server shows up as queueing delay instead of as
+ * fewer requests.</p>
+ *
+ * <p>A 5xx counts as busy when its body mentions {@code SQLITE_BUSY} or a locked database; start
+ * the server with {@code --server.error.include-message=always} so the message reaches the
+ * client.</p>
+ */
+public final class LoadHarness {
+
+  private static final String USAGE = """
+      Options (defaults in brackets):
+        --base-url URL        API root [http://localhost:8080/api/v1/finance]
+        --duration D          measured run time, e.g. 60s or 5m [60s]
+        --warmup D            run time before measuring starts [10s]
+        --concurrency N       closed-loop workers [32]
+        --rate R              open-loop requests per second; 0 runs closed-loop [0]
+        --mix SPEC            weights per endpoint [post=20,transactions=50,categories=25,export=5]
+        --date-from DATE      first date used in requests [2021-01-01]
+        --date-to DATE        last date used in requests [2025-12-31]
+        --range-days N        days covered by each GET /transactions [31]
+        --export-days N       days covered by each export [7]
+        --summary-share F     share of GET /transactions using view=SUMMARY [0.5]
+        --timeout D           per-request timeout [30s]
+        --seed N              seed for the request stream [42]
+        --report FILE         also write the results as JSON
+      """;
+
+  private final Options options;
+
+  private final HttpClient client;
+
+  /** Runs open-loop requests, one virtual thread each. */
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+  private volatile boolean measuring;
+
+  private LoadHarness(Options options) {
+    this.options = options;
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    for (var endpoint : Endpoint.values()) {
+      stats.put(endpoint, new Stats());
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (List.of(args).contains("--help")) {
+      System.out.print(USAGE);
+      return;
+    }
+
+    Options options;
+    try {
+      options = Options.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    new LoadHarness(options).run();
+  }
+
+  private void run() throws InterruptedException {
+    System.out.printf("Target %s, %s, warmup %ss, measuring %ss, mix %s%n",
+        options.baseUrl,
+        options.rate > 0 ? "open loop at " + options.rate + " req/s" : "closed loop with " + options.concurrency + " workers",
+        options.warmup.toSeconds(), options.duration.toSeconds(), options.mix);
+
+    var start = System.nanoTime();
+    var measureFrom = start + options.warmup.toNanos();
+    var end = measureFrom + options.duration.toNanos();
+
+    var driver = Thread.ofPlatform().name("load-driver").start(() -> {
+      if (options.rate > 0) {
+        runOpenLoop(end);
+      } else {
+        runClosedLoop(end);
+      }
+    });
+
+    LockSupport.parkNanos(measureFrom - System.nanoTime());
+    measuring = true;
+    driver.join();
+    var measured = Duration.ofNanos(System.nanoTime() - measureFrom);
+
+    executor.shutdown();
+    executor.awaitTermination(options.timeout.toSeconds() + 5, TimeUnit.SECONDS);
+
+    report(measured);
+  }
+
+  private void runClosedLoop(long endNanos) {
+    var workers = new ArrayList<Thread>(options.concurrency);
+    for (int i = 0; i < options.concurrency; i++) {
+      var random = new SplittableRandom(options.seed + i);
+      workers.add(Thread.ofVirtual().name("load-worker-" + i).start(() -> {
+        while (System.nanoTime() < endNanos) {
+          var call = nextCall(random);
+          execute(call, System.nanoTime());
+        }
+      }));
+    }
+    for (var worker : workers) {
+      try {
+        worker.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void runOpenLoop(long endNanos) {
+    var random = new SplittableRandom(options.seed);
+    var interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+    var next = System.nanoTime();
+    while (next < endNanos) {
+      LockSupport.parkNanos(next - System.nanoTime());
+      var call = nextCall(random);
+      var scheduled = next;
+      executor.execute(() -> execute(call, scheduled));
+      next += interval;
+    }
+  }
+
+  private void execute(Call call, long startNanos) {
+    var recording = measuring;
+    var stat = stats.get(call.endpoint());
+    try {
+      HttpResponse<String> response = client.send(call.request(), call.endpoint() == Endpoint.EXPORT
+          ? discardingBody()
+          : HttpResponse.BodyHandlers.ofString());
+      if (recording) {
+        stat.record(System.nanoTime() - startNanos, response.statusCode(), response.body());
+      }
+    } catch (IOException e) {
+      if (recording) {
+        stat.recordIoError(System.nanoTime() - startNanos);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Exports can be large: read them to the end, as a client would, without keeping them. */
+  private static HttpResponse.BodyHandler<String> discardingBody() {
+    return responseInfo -> HttpResponse.BodySubscribers.replacing(null);
+  }
+
+  private Call nextCall(SplittableRandom random) {
+    var endpoint = options.mix.pick(random);
+    var request = switch (endpoint) {
+      case POST_TRANSACTION -> HttpRequest.newBuilder(uri("/transactions"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(transactionJson(random)));
+      case GET_TRANSACTIONS -> {
+        var from = randomDate(random, options.rangeDays);
+        var view = random.nextDouble() < options.summaryShare ? "SUMMARY" : "DETAILS";
+        var type = random.nextBoolean() ? "EXPENSES" : "INCOMES";
+        yield HttpRequest.newBuilder(uri("/transactions?type=" + type + "&dateFrom=" + from
+            + "&dateTo=" + from.plusDays(options.rangeDays - 1) + "&view=" + view)).GET();
+      }
+      case GET_CATEGORIES -> HttpRequest.newBuilder(uri(random.nextBoolean()
+          ? "/categories"
+          : "/categories?type=" + (random.nextBoolean() ? "EXPENSES" : "INCOMES"))).GET();
+      case EXPORT -> {
+        var from = randomDate(random, options.exportDays);
+        yield HttpRequest.newBuilder(uri("/transactions/export?dateFrom=" + from
+            + "&dateTo=" + from.plusDays(options.exportDays - 1))).GET();
+      }
+    };
+    return new Call(endpoint, request.timeout(options.timeout).build());
+  }
+
+  private String transactionJson(SplittableRandom random) {
+    var amount = String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 500);
+    return "{\"amount\":" + amount
+        + ",\"transactionDate\":\"" + randomDate(random, 1)
+        + "\",\"categoryId\":" + (1 + random.nextInt(9))
+        + ",\"comment\":\"load test\"}";
+  }
+
+  private LocalDate randomDate(SplittableRandom random, int spanDays) {
+    var days = options.dateTo.toEpochDay() - options.dateFrom.toEpochDay() - spanDays + 2;
+    return options.dateFrom.plusDays(random.nextLong(Math.max(days, 1)));
+  }
+
+  private URI uri(String path) {
+    return URI.create(options.baseUrl + path);
+  }
+
+  private void report(Duration measured) {
+    var seconds = measured.toNanos() / 1e9;
+    System.out.printf("%nMeasured %.1fs%n", seconds);
+    System.out.printf("%-18s %9s %9s %9s %9s %9s %9s %7s %7s %7s %7s %7s%n",
+        "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+        "4xx", "429", "5xx", "busy", "io");
+
+    var total = new Stats();
+    var json = new StringBuilder("{\"measuredSeconds\":").append(seconds).append(",\"endpoints\":{");
+    var first = true;
+    for (var entry : stats.entrySet()) {
+      var stat = entry.getValue();
+      total.merge(stat);
+      printRow(entry.getKey().label, stat, seconds);
+      json.append(first ? "" : ",").append('"').append(entry.getKey().label).append("\":").append(stat.toJson(seconds));
+      first = false;
+    }
+    printRow("total", total, seconds);
+    json.append("},\"total\":").append(total.toJson(seconds)).append('}');
+
+    if (options.report != null) {
+      try {
+        Files.writeString(options.report, json.append('\n'));
+        System.out.println("Report written to " + options.report.toAbsolutePath());
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not write report", e);
+      }
+    }
+  }
+
+  private static void printRow(String label, Stats stat, double seconds) {
+    var snapshot = stat.snapshot();
+    System.out.printf(Locale.ROOT, "%-18s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d %7d %7d%n",
+        label, snapshot.length, snapshot.length / seconds,
+        millis(percentile(snapshot, 0.50)), millis(percentile(snapshot, 0.99)),
+        millis(percentile(snapshot, 0.999)), millis(snapshot.length == 0 ? 0 : snapshot[snapshot.length - 1]),
+        stat.clientErrors.get(), stat.throttled.get(), stat.serverErrors.get(), stat.busy.get(), stat.ioErrors.get());
+  }
+
+  private static long percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    var index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.clamp(index, 0, sorted.length - 1)];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  private enum Endpoint {
+    POST_TRANSACTION("post"),
+    GET_TRANSACTIONS("transactions"),
+    GET_CATEGORIES("categories"),
+    EXPORT("export");
+
+    private final String label;
+
+    Endpoint(String label) {
+      this.label = label;
+    }
+
+    static Endpoint byLabel(String label) {
+      return Arrays.stream(values())
+          .filter(endpoint -> endpoint.label.equals(label))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in --mix: " + label));
+    }
+  }
+
+  private record Call(Endpoint endpoint, HttpRequest request) {
+  }
+
+  /**
+   * Latencies of one endpoint, kept in full so percentiles are exact rather than bucketed.
+   */
+  private static final class Stats {
+
+    private long[] latencies = new long[1024];
+
+    private int size;
+
+    private final AtomicLong clientErrors = new AtomicLong();
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    private final AtomicLong serverErrors = new AtomicLong();
+
+    private final AtomicLong busy = new AtomicLong();
+
+    private final AtomicLong ioErrors = new AtomicLong();
+
+    void record(long nanos, int status, String body) {
+      add(nanos);
+      if (status == 429) {
+        throttled.incrementAndGet();
+      } else if (status >= 500) {
+        serverErrors.incrementAndGet();
+        if (body != null && (body.contains("SQLITE_BUSY") || body.contains("database is locked"))) {
+          busy.incrementAndGet();
+        }
+      } else if (status >= 400) {
+        clientErrors.incrementAndGet();
+      }
+    }
+
+    void recordIoError(long nanos) {
+      add(nanos);
+      ioErrors.incrementAndGet();
+    }
+
+    synchronized void add(long nanos) {
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = nanos;
+    }
+
+    synchronized long[] snapshot() {
+      var copy = Arrays.copyOf(latencies, size);
+      Arrays.sort(copy);
+      return copy;
+    }
+
+    void merge(Stats other) {
+      for (var nanos : other.snapshot()) {
+        add(nanos);
+      }
+      clientErrors.addAndGet(other.clientErrors.get());
+      throttled.addAndGet(other.throttled.get());
+      serverErrors.addAndGet(other.serverErrors.get());
+      busy.addAndGet(other.busy.get());
+      ioErrors.addAndGet(other.ioErrors.get());
+    }
+
+    String toJson(double seconds) {
+      var snapshot = snapshot();
+      return String.format(Locale.ROOT,
+          "{\"requests\":%d,\"throughput\":%.2f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f,"
+              + "\"clientErrors\":%d,\"throttled\":%d,\"serverErrors\":%d,\"busy\":%d,\"ioErrors\":%d}",
+          snapshot.length, snapshot.length / seconds,
+          millis(percentile(snapshot, 0.50)), millis(percentile(snapshot, 0.99)),
+          millis(percentile(snapshot, 0.999)), millis(snapshot.length == 0 ? 0 : snapshot[snapshot.length - 1]),
+          clientErrors.get(), throttled.get(), serverErrors.get(), busy.get(), ioErrors.get());
+    }
+  }
+
+  /**
+   * Weighted choice of the next endpoint.
+   */
+  private record Mix(Map<Endpoint, Integer> weights, int total) {
+
+    static Mix parse(String spec) {
+      var weights = new LinkedHashMap<Endpoint, Integer>();
+      for (var part : spec.split(",")) {
+        var pair = part.trim().split("=");
+        if (pair.length != 2) {
+          throw new IllegalArgumentException("Expected endpoint=weight in --mix, got: " + part);
+        }
+        var weight = Integer.parseInt(pair[1].trim());
+        if (weight < 0) {
+          throw new IllegalArgumentException("Weights in --mix cannot be negative: " + part);
+        }
+        weights.put(Endpoint.byLabel(pair[0].trim()), weight);
+      }
+      var total = weights.values().stream().mapToInt(Integer::intValue).sum();
+      if (total == 0) {
+        throw new IllegalArgumentException("--mix needs at least one positive weight");
+      }
+      return new Mix(weights, total);
+    }
+
+    Endpoint pick(SplittableRandom random) {
+      var target = random.nextInt(total);
+      for (var entry : weights.entrySet()) {
+        target -= entry.getValue();
+        if (target < 0) {
+          return entry.getKey();
+        }
+      }
+      throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+      var parts = new ArrayList<String>();
+      weights.forEach((endpoint, weight) -> parts.add(endpoint.label + "=" + weight));
+      return String.join(",", parts);
+    }
+  }
+
+  private record Options(
+      String baseUrl,
+      Duration duration,
+      Duration warmup,
+      int concurrency,
+      double rate,
+      Mix mix,
+      LocalDate dateFrom,
+      LocalDate dateTo,
+      int rangeDays,
+      int exportDays,
+      double summaryShare,
+      Duration timeout,
+      long seed,
+      Path report) {
+
+    static Options parse(String[] args) {
+      var values = new LinkedHashMap<String, String>();
+      for (int i = 0; i < args.length; i++) {
+        if (!args[i].startsWith("--") || i + 1 == args.length) {
+          throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+        }
+        values.put(args[i].substring(2), args[++i]);
+      }
+
+      var known = List.of("base-url", "duration", "warmup", "concurrency", "rate", "mix", "date-from", "date-to",
+          "range-days", "export-days", "summary-share", "timeout", "seed", "report");
+      values.keySet().stream()
+          .filter(key -> !known.contains(key))
+          .findFirst()
+          .ifPresent(key -> {
+            throw new IllegalArgumentException("Unknown option --" + key);
+          });
+
+      var options = new Options(
+          values.getOrDefault("base-url", "http://localhost:8080/api/v1/finance").replaceAll("/+$", ""),
+          duration(values.getOrDefault("duration", "60s")),
+          duration(values.getOrDefault("warmup", "10s")),
+          Integer.parseInt(values.getOrDefault("concurrency", "32")),
+          Double.parseDouble(values.getOrDefault("rate", "0")),
+          Mix.parse(values.getOrDefault("mix", "post=20,transactions=50,categories=25,export=5")),
+          LocalDate.parse(values.getOrDefault("date-from", "2021-01-01")),
+          LocalDate.parse(values.getOrDefault("date-to", "2025-12-31")),
+          Integer.parseInt(values.getOrDefault("range-days", "31")),
+          Integer.parseInt(values.getOrDefault("export-days", "7")),
+          Double.parseDouble(values.getOrDefault("summary-share", "0.5")),
+          duration(values.getOrDefault("timeout", "30s")),
+          Long.parseLong(values.getOrDefault("seed", "42")),
+          values.containsKey("report") ? Path.of(values.get("report")) : null);
+
+      if (options.concurrency <= 0 || options.rangeDays <= 0 || options.exportDays <= 0 || options.rate < 0) {
+        throw new IllegalArgumentException("Concurrency and day ranges must be positive, rate cannot be negative");
+      }
+      if (options.dateFrom.isAfter(options.dateTo)) {
+        throw new IllegalArgumentException("--date-from cannot be after --date-to");
+      }
+      return options;
+    }
+
+    private static Duration duration(String value) {
+      var unit = value.replaceAll("[0-9]", "");
+      var amount = Long.parseLong(value.substring(0, value.length() - unit.length()));
+      return switch (unit) {
+        case "ms" -> Duration.ofMillis(amount);
+        case "s", "" -> Duration.ofSeconds(amount);
+        case "m" -> Duration.ofMinutes(amount);
+        default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+      };
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.ys.ai.aifinancemanager.api.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a write request that was not admitted with 429 and a {@code Retry-After}, before any
+ * of its body was read.
+ */
+@RestControllerAdvice
+public class WriteAdmissionExceptionHandler {
+
+  @ExceptionHandler(WriteAdmissionRejectedException.class)
+  public ResponseEntity<ProblemDetail> handleRejected(WriteAdmissionRejectedException e) {
+    var problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    problem.setTitle("Too many concurrent writes");
+    // Whole seconds, never 0: a client told to retry at once would only add to the queue
+    var seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+        .body(problem);
+  }
+}
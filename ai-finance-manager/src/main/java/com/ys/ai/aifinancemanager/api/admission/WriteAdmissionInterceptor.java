@@ -0,0 +1,135 @@
+package com.ys.ai.aifinancemanager.api.admission;
+
+import com.ys.ai.aifinancemanager.config.WriteAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded admission queue in front of handlers annotated with {@link WriteEndpoint}.
+ *
+ * <p>SQLite runs one write transaction at a time, so a burst of inserts otherwise parks one
+ * servlet thread per request on the database lock, and reads queue behind them for threads. Here
+ * at most {@code maxConcurrentWriters} write requests proceed. Up to {@code maxQueueDepth} more
+ * wait, first come first served, for at most {@code maxWait}. Anything beyond that is rejected
+ * at once with a {@link WriteAdmissionRejectedException}. The slot is held until the request
+ * completes; the write endpoints are not asynchronous.</p>
+ */
+@Slf4j
+public class WriteAdmissionInterceptor implements HandlerInterceptor {
+
+  static final String QUEUE_DEPTH = "finance.write.admission.queue.depth";
+
+  static final String ACTIVE = "finance.write.admission.active";
+
+  static final String WAIT = "finance.write.admission.wait";
+
+  static final String REJECTED = "finance.write.admission.rejected";
+
+  private static final String ADMITTED_ATTRIBUTE = WriteAdmissionInterceptor.class.getName() + ".admitted";
+
+  private final WriteAdmissionProperties writeAdmissionProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Semaphore writers;
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  public WriteAdmissionInterceptor(WriteAdmissionProperties writeAdmissionProperties, MeterRegistry meterRegistry) {
+    this.writeAdmissionProperties = writeAdmissionProperties;
+    this.meterRegistry = meterRegistry;
+    this.writers = new Semaphore(writeAdmissionProperties.maxConcurrentWriters(), true);
+    Gauge.builder(QUEUE_DEPTH, queued, AtomicInteger::get)
+        .description("Write requests waiting for a writer slot")
+        .register(meterRegistry);
+    Gauge.builder(ACTIVE, writers,
+            semaphore -> writeAdmissionProperties.maxConcurrentWriters() - semaphore.availablePermits())
+        .description("Write requests holding a writer slot")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!writeAdmissionProperties.enabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    var endpoint = handlerMethod.getMethodAnnotation(WriteEndpoint.class);
+    if (endpoint == null) {
+      return true;
+    }
+
+    admit(endpoint.value());
+    request.setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    if (request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+      request.removeAttribute(ADMITTED_ATTRIBUTE);
+      writers.release();
+    }
+  }
+
+  private void admit(String endpoint) {
+    var started = System.nanoTime();
+    try {
+      // A timed tryAcquire honours the fair ordering; the untimed one would barge past the queue
+      if (writers.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+        recordWait(endpoint, started);
+        return;
+      }
+
+      if (queued.incrementAndGet() > writeAdmissionProperties.maxQueueDepth()) {
+        queued.decrementAndGet();
+        throw reject(endpoint, "queue-full", "The write queue is full; retry later");
+      }
+      boolean admitted;
+      try {
+        admitted = writers.tryAcquire(writeAdmissionProperties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+      } finally {
+        queued.decrementAndGet();
+      }
+      if (!admitted) {
+        throw reject(endpoint, "timeout", "No writer slot freed up within %s; retry later"
+            .formatted(writeAdmissionProperties.maxWait()));
+      }
+      recordWait(endpoint, started);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw reject(endpoint, "interrupted", "Interrupted while waiting for a writer slot");
+    }
+  }
+
+  private void recordWait(String endpoint, long startedNanos) {
+    Timer.builder(WAIT)
+        .description("Time a write request waited for a writer slot")
+        .tag("endpoint", endpoint)
+        .register(meterRegistry)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private WriteAdmissionRejectedException reject(String endpoint, String reason, String message) {
+    Counter.builder(REJECTED)
+        .description("Write requests turned away by admission control")
+        .tag("endpoint", endpoint)
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+    log.warn("Write request to {} rejected ({}): {} waiting, {} writing",
+        endpoint, reason, queued.get(), writeAdmissionProperties.maxConcurrentWriters() - writers.availablePermits());
+    return new WriteAdmissionRejectedException(endpoint, message, writeAdmissionProperties.retryAfter());
+  }
+}
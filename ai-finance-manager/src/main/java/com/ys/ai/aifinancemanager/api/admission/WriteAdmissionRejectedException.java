@@ -0,0 +1,23 @@
+package com.ys.ai.aifinancemanager.api.admission;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A write request turned away by {@link WriteAdmissionInterceptor}, either because the queue was
+ * full or because no writer slot freed up in time.
+ */
+@Getter
+public class WriteAdmissionRejectedException extends RuntimeException {
+
+  private final String endpoint;
+
+  private final Duration retryAfter;
+
+  public WriteAdmissionRejectedException(String endpoint, String message, Duration retryAfter) {
+    super(message);
+    this.endpoint = endpoint;
+    this.retryAfter = retryAfter;
+  }
+}
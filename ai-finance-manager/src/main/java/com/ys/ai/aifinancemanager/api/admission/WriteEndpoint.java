@@ -0,0 +1,19 @@
+package com.ys.ai.aifinancemanager.api.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the handler wait for a writer slot in {@link WriteAdmissionInterceptor}; {@link #value}
+ * tags its wait times and rejections.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WriteEndpoint {
+
+  String value();
+}
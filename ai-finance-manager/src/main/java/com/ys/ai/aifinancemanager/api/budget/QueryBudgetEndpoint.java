@@ -0,0 +1,19 @@
+package com.ys.ai.aifinancemanager.api.budget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the handler under a {@code QueryBudget}, looked up by {@link #value} in
+ * {@code finance.query-budget.endpoints}; the same name tags its timeouts.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudgetEndpoint {
+
+  String value();
+}
@@ -0,0 +1,67 @@
+package com.ys.ai.aifinancemanager.api.budget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+/**
+ * Answers 503 when a statement was interrupted because its request's {@code QueryBudget} ran out,
+ * and counts it per endpoint. Every other data access failure is left to the default handling.
+ *
+ * <p>Only the budget interrupts SQLite statements in this application, so an
+ * {@code SQLITE_INTERRUPT} anywhere in the cause chain identifies it, on the async dispatch of a
+ * streamed export as well.</p>
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class QueryBudgetExceptionHandler {
+
+  static final String EXCEEDED_COUNTER = "finance.query.budget.exceeded";
+
+  private final MeterRegistry meterRegistry;
+
+  @ExceptionHandler({DataAccessException.class, PersistenceException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ProblemDetail handleDataAccessFailure(RuntimeException e, HandlerMethod handlerMethod) {
+    if (!isInterrupt(e)) {
+      // Rethrowing the same exception hands it on to the next resolver
+      throw e;
+    }
+
+    var annotation = handlerMethod.getMethodAnnotation(QueryBudgetEndpoint.class);
+    var endpoint = annotation != null ? annotation.value() : handlerMethod.getMethod().getName();
+    Counter.builder(EXCEEDED_COUNTER)
+        .description("Requests whose statements ran out of their query time budget")
+        .tag("endpoint", endpoint)
+        .register(meterRegistry)
+        .increment();
+    log.warn("Query time budget of endpoint {} exhausted: {}", endpoint, e.getMessage());
+
+    var problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+        "The request ran out of its database time budget; narrow the query and try again");
+    problem.setTitle("Query time budget exhausted");
+    return problem;
+  }
+
+  static boolean isInterrupt(Throwable e) {
+    for (var cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLiteException sqliteException
+          && sqliteException.getResultCode() == SQLiteErrorCode.SQLITE_INTERRUPT) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
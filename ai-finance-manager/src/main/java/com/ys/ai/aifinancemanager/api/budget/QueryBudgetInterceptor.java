@@ -0,0 +1,50 @@
+package com.ys.ai.aifinancemanager.api.budget;
+
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.config.QueryBudgetProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the {@link QueryBudget} of handlers annotated with {@link QueryBudgetEndpoint} and ends
+ * it when the request thread is done, including when it hands a streamed body to another thread.
+ */
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+  private final QueryBudgetProperties queryBudgetProperties;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (queryBudgetProperties.enabled() && handler instanceof HandlerMethod handlerMethod) {
+      var endpoint = handlerMethod.getMethodAnnotation(QueryBudgetEndpoint.class);
+      if (endpoint != null) {
+        request.setAttribute(SCOPE_ATTRIBUTE, QueryBudget.start(queryBudgetProperties.budgetFor(endpoint.value())));
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    end(request);
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    end(request);
+  }
+
+  private static void end(HttpServletRequest request) {
+    if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryBudget.Scope scope) {
+      request.removeAttribute(SCOPE_ATTRIBUTE);
+      scope.close();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.ys.ai.aifinancemanager.api.cli;
+
+import com.ys.ai.aifinancemanager.application.service.DatasetGeneratorService;
+import com.ys.ai.aifinancemanager.config.DatasetProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the configured database with synthetic transactions and exits.
+ *
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=generate-dataset \
+ *     -Dspring-boot.run.arguments="--finance.dataset.rows=20000000 --finance.dataset.seed=7"
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("generate-dataset")
+@RequiredArgsConstructor
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+  private final DatasetGeneratorService datasetGeneratorService;
+
+  private final DatasetProperties datasetProperties;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    var inserted = datasetGeneratorService.generate(datasetProperties);
+    log.info("Synthetic dataset ready: {} transactions", inserted);
+  }
+}
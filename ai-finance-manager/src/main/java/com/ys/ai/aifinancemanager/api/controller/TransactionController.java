@@ -1,15 +1,24 @@
 package com.ys.ai.aifinancemanager.api.controller;
 
+import com.ys.ai.aifinancemanager.api.admission.WriteEndpoint;
+import com.ys.ai.aifinancemanager.api.budget.QueryBudgetEndpoint;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse;
 import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionView;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
 import com.ys.ai.aifinancemanager.application.service.CsvExportService;
+import com.ys.ai.aifinancemanager.application.service.TransactionGroupCommitService;
+import com.ys.ai.aifinancemanager.application.service.TransactionIngestionService;
 import com.ys.ai.aifinancemanager.application.service.TransactionService;
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.application.validation.ValidationUtils;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,9 +29,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -35,38 +52,124 @@ public class TransactionController {
 
   private final CsvExportService csvExportService;
 
+  private final TransactionIngestionService transactionIngestionService;
+
+  private final TransactionGroupCommitService transactionGroupCommitService;
+
+  private final JsonMapper jsonMapper;
+
+  @WriteEndpoint("add-transaction")
+  @QueryBudgetEndpoint("add-transaction")
   @PostMapping("/transactions")
   public ResponseEntity<TransactionDto> addTransaction(@RequestBody CreateTransactionRequest request) {
     log.info("REST request to add transaction: {}", request);
-    var result = transactionService.addTransaction(request);
+    var result = transactionGroupCommitService.isEnabled()
+        ? transactionGroupCommitService.addTransaction(request)
+        : transactionService.addTransaction(request);
     return ResponseEntity.status(HttpStatus.CREATED).body(result);
   }
 
+  /**
+   * Accepts a JSON array, or newline-delimited JSON, of transactions. The body is parsed
+   * incrementally, so large uploads are never held in memory as a whole.
+   */
+  @WriteEndpoint("add-transactions")
+  @QueryBudgetEndpoint("add-transactions")
+  @PostMapping(
+      path = "/transactions/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<BatchTransactionResponse> addTransactions(InputStream body) {
+    log.info("REST request to add a batch of transactions");
+
+    MappingIterator<CreateTransactionRequest> requests;
+    try {
+      requests = jsonMapper.readerFor(CreateTransactionRequest.class).readValues(body);
+    } catch (JacksonException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed transaction batch", e);
+    }
+
+    try (requests) {
+      var result = transactionIngestionService.addTransactions(requests);
+      // Nothing could be read at all: the body itself is malformed
+      var status = result.getError() != null && result.getReceived() == 0 ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+      return ResponseEntity.status(status).body(result);
+    }
+  }
+
+  /**
+   * Answers {@code If-None-Match} with a 304 before any query runs when nothing was written since
+   * the client's copy; see {@link #dataETag}.
+   */
+  @QueryBudgetEndpoint("transactions")
   @GetMapping("/transactions")
   public ResponseEntity<TransactionsByTypeResponse> getTransactions(
       @RequestParam CategoryType type,
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
-    log.info("REST request to get {} transactions between {} and {}", type, dateFrom, dateTo);
-    var result = transactionService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
-    return ResponseEntity.ok(result);
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+      @RequestParam(defaultValue = "DETAILS") TransactionView view,
+      WebRequest webRequest) {
+    log.info("REST request to get {} transactions between {} and {} ({} view)", type, dateFrom, dateTo, view);
+
+    var eTag = dataETag("transactions", type, dateFrom, dateTo, view);
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+    }
+
+    var result = view == TransactionView.SUMMARY
+        ? transactionService.getCategoryTotalsByTypeAndDateRange(type, dateFrom, dateTo)
+        : transactionService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache())
+        .body(result);
   }
 
+  /**
+   * Returns the categories of one type, or of both types when {@code type} is omitted. The ETag
+   * is the category version, so clients revalidating with {@code If-None-Match} get a 304
+   * until a category actually changes.
+   */
+  @QueryBudgetEndpoint("categories")
   @GetMapping("/categories")
-  public ResponseEntity<List<CategoryDto>> getAllCategories(@RequestParam CategoryType type) {
-    log.info("REST request to get categories of type: {}", type);
-    var result = transactionService.getAllCategories(type);
-    return ResponseEntity.ok(result);
+  public ResponseEntity<List<CategoryDto>> getAllCategories(@RequestParam(required = false) CategoryType type) {
+    log.info("REST request to get categories of type: {}", type != null ? type : "ALL");
+
+    // Read the version first: a change in between only costs the client one extra full response
+    var eTag = "\"categories-" + Long.toHexString(transactionService.getCategoriesVersion()) + "\"";
+    var result = type != null
+        ? transactionService.getAllCategories(type)
+        : transactionService.getAllCategories();
+
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache())
+        .body(result);
   }
 
+  @QueryBudgetEndpoint("export")
   @GetMapping("/transactions/export")
-  public ResponseEntity<String> exportTransactionsToCsv(
+  public ResponseEntity<StreamingResponseBody> exportTransactionsToCsv(
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+      WebRequest webRequest) {
     log.info("REST request to export transactions to CSV between {} and {}", dateFrom, dateTo);
 
-    var exportData = transactionService.exportTransactions(dateFrom, dateTo);
-    var csvContent = csvExportService.exportTransactionsToCsv(exportData);
+    // Reject invalid ranges before the response is committed; rows are streamed afterwards
+    ValidationUtils.validateDateRange(dateFrom, dateTo);
+
+    var eTag = dataETag("export", dateFrom, dateTo);
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    // Rows are read on an async thread, still within this request's budget
+    var budget = QueryBudget.current();
+    StreamingResponseBody csvBody = outputStream -> {
+      try (var scope = QueryBudget.resume(budget)) {
+        transactionService.streamTransactionsForExport(dateFrom, dateTo,
+            transactions -> csvExportService.writeTransactionsToCsv(transactions, outputStream));
+      }
+    };
 
     var filename = String.format("transactions_%s_%s.csv",
         dateFrom.format(DateTimeFormatter.ISO_DATE),
@@ -76,9 +179,23 @@ public class TransactionController {
     headers.setContentType(MediaType.parseMediaType("text/csv"));
     headers.setContentDispositionFormData("attachment", filename);
     headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+    headers.setETag(eTag);
 
     log.info("Exporting CSV file: {}", filename);
 
-    return new ResponseEntity<>(csvContent, headers, HttpStatus.OK);
+    return new ResponseEntity<>(csvBody, headers, HttpStatus.OK);
+  }
+
+  /**
+   * Weak entity tag of a read over transaction data. It changes with every committed write, with
+   * every category change (responses carry category descriptions) and with the query itself.
+   * Weak because the same data may serialize with categories in another order.
+   *
+   * <p>Read before the query, like the category version: a write in between only costs the
+   * client one extra full response.</p>
+   */
+  private String dataETag(String resource, Object... query) {
+    return "W/\"%s-%x-%x-%x\"".formatted(resource, transactionService.getDataVersion(),
+        transactionService.getCategoriesVersion(), Arrays.toString(query).hashCode());
   }
 }
@@ -0,0 +1,43 @@
+package com.ys.ai.aifinancemanager.api.timing;
+
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets the {@code Server-Timing} header and opens the serialization span right before a body is
+ * written, while headers can still change; {@link ServerTimingFilter} closes the span when the
+ * chain returns. A no-op for requests that are not being timed.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public @Nullable Object beforeBodyWrite(
+      @Nullable Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+        && servletRequest.getServletRequest().getAttribute(ServerTimingFilter.HEADER_RECORDING_ATTRIBUTE)
+        instanceof RequestTimings.Recording recording) {
+      response.getHeaders().set(ServerTimingFilter.SERVER_TIMING_HEADER, recording.toHeaderValue());
+    }
+    RequestTimings.begin(RequestTimings.SERIALIZE);
+    return body;
+  }
+}
@@ -0,0 +1,74 @@
+package com.ys.ai.aifinancemanager.api.timing;
+
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
+import com.ys.ai.aifinancemanager.config.ServerTimingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records {@link RequestTimings} for {@code GET /transactions} and reports them as a
+ * {@code Server-Timing} header, a log line for slow requests, or both.
+ *
+ * <p>The body is never buffered: Jackson commits the response as it writes, so
+ * {@link SerializationTimingAdvice} sets the header just before serialization starts, with the
+ * spans recorded up to then. Serialization and the request total are only known once the body
+ * is out and appear in the slow-request log line alone.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  public static final String TRANSACTIONS_PATH = "/api/v1/finance/transactions";
+
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  /**
+   * Request attribute holding the recording whose spans go into the header; absent when the
+   * header is disabled.
+   */
+  static final String HEADER_RECORDING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".headerRecording";
+
+  private final ServerTimingProperties serverTimingProperties;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (!serverTimingProperties.enabled() && serverTimingProperties.logThreshold() == null) {
+      return true;
+    }
+    return !HttpMethod.GET.matches(request.getMethod())
+        || !request.getRequestURI().equals(request.getContextPath() + TRANSACTIONS_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    try (var recording = RequestTimings.start()) {
+      if (serverTimingProperties.enabled()) {
+        request.setAttribute(HEADER_RECORDING_ATTRIBUTE, recording);
+      }
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        request.removeAttribute(HEADER_RECORDING_ATTRIBUTE);
+        recording.end(RequestTimings.SERIALIZE);
+        var elapsedNanos = recording.elapsedNanos();
+        recording.add(RequestTimings.TOTAL, elapsedNanos);
+
+        var logThreshold = serverTimingProperties.logThreshold();
+        if (logThreshold != null && elapsedNanos >= logThreshold.toNanos()) {
+          log.warn("Slow request method={} path={} query=\"{}\" status={} {}",
+              request.getMethod(), request.getRequestURI(), request.getQueryString(),
+              response.getStatus(), recording.toLogValue());
+        }
+      }
+    }
+  }
+}
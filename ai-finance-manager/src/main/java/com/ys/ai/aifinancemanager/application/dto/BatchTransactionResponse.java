@@ -0,0 +1,50 @@
+package com.ys.ai.aifinancemanager.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTransactionResponse {
+
+  private int received;
+
+  private int created;
+
+  private int rejected;
+
+  private int failed;
+
+  /**
+   * Set when the input could not be read to the end; rows before that point are still reported.
+   */
+  private String error;
+
+  private List<RowResult> results;
+
+  public enum RowStatus {
+    CREATED,
+    REJECTED,
+    FAILED
+  }
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class RowResult {
+    private int index;
+    private RowStatus status;
+    private Integer idTransaction;
+    private String error;
+  }
+}
@@ -0,0 +1,11 @@
+package com.ys.ai.aifinancemanager.application.dto;
+
+/**
+ * Shape of the {@code GET /transactions} response.
+ */
+public enum TransactionView {
+  /** Category summaries including every transaction. */
+  DETAILS,
+  /** Category summaries with totals only, aggregated in the database. */
+  SUMMARY
+}
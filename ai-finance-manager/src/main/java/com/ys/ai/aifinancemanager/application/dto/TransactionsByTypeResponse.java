@@ -1,5 +1,6 @@
 package com.ys.ai.aifinancemanager.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,6 +23,7 @@ public class TransactionsByTypeResponse {
   @Builder
   @NoArgsConstructor
   @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   public static class CategoryTransactionSummary {
     private CategoryDto category;
     private List<TransactionDto> transactions;
@@ -2,6 +2,7 @@ package com.ys.ai.aifinancemanager.application.mapper;
 
 import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
 import org.mapstruct.Mapper;
 
 @Mapper
@@ -9,6 +10,8 @@ public interface CategoryMapper {
 
   CategoryDto toDto(Category category);
 
+  CategoryDto toCategoryDto(CategoryTotal categoryTotal);
+
   Category toEntity(CategoryDto categoryDto);
 }
 
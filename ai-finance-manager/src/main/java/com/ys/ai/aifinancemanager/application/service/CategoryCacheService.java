@@ -0,0 +1,33 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-process copy of the {@code CATEGORY} table.
+ *
+ * <p>Returned categories are detached copies, so callers may use them as association targets
+ * (only the id is written) or map them freely without touching the cache.</p>
+ */
+public interface CategoryCacheService {
+
+  Optional<Category> findById(Integer idCategory);
+
+  List<Category> findByType(CategoryType type);
+
+  List<Category> findAll();
+
+  /**
+   * Checksum of the cached categories. Equal versions mean equal content, also across restarts,
+   * which makes it usable as an HTTP entity tag.
+   */
+  long getVersion();
+
+  /**
+   * Drops the cached copy; the next read reloads it from the database.
+   */
+  void invalidate();
+}
@@ -0,0 +1,141 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.event.CategoryChangedEvent;
+import com.ys.ai.aifinancemanager.domain.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryCacheServiceImpl implements CategoryCacheService {
+
+  private final CategoryRepository categoryRepository;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private volatile CategorySnapshot snapshot;
+
+  @Override
+  public Optional<Category> findById(Integer idCategory) {
+    return Optional.ofNullable(current().byId().get(idCategory))
+        .map(CategoryCacheServiceImpl::copy);
+  }
+
+  @Override
+  public List<Category> findByType(CategoryType type) {
+    return current().byType().getOrDefault(type, List.of()).stream()
+        .map(CategoryCacheServiceImpl::copy)
+        .toList();
+  }
+
+  @Override
+  public List<Category> findAll() {
+    return current().all().stream()
+        .map(CategoryCacheServiceImpl::copy)
+        .toList();
+  }
+
+  @Override
+  public long getVersion() {
+    return current().version();
+  }
+
+  @Override
+  public void invalidate() {
+    invalidations.incrementAndGet();
+    snapshot = null;
+    log.debug("Category cache invalidated");
+  }
+
+  /**
+   * Invalidates once the change is committed; outside a transaction it runs immediately.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    log.info("Category {} changed, invalidating category cache", event.idCategory());
+    invalidate();
+  }
+
+  private CategorySnapshot current() {
+    var current = snapshot;
+    if (current != null) {
+      return current;
+    }
+
+    synchronized (this) {
+      if (snapshot != null) {
+        return snapshot;
+      }
+
+      var generation = invalidations.get();
+      var loaded = load();
+      // An invalidation while loading means the rows read may already be stale: serve them once
+      // but do not keep them
+      if (generation == invalidations.get()) {
+        snapshot = loaded;
+      }
+      return loaded;
+    }
+  }
+
+  private CategorySnapshot load() {
+    var all = categoryRepository.findAll().stream()
+        .map(CategoryCacheServiceImpl::copy)
+        .sorted(Comparator.comparing(Category::getIdCategory))
+        .toList();
+
+    var byId = all.stream()
+        .collect(Collectors.toUnmodifiableMap(Category::getIdCategory, Function.identity()));
+
+    Map<CategoryType, List<Category>> byType = all.stream()
+        .collect(Collectors.groupingBy(Category::getType,
+            () -> new EnumMap<>(CategoryType.class),
+            Collectors.toUnmodifiableList()));
+
+    var version = checksum(all);
+    log.info("Loaded {} categories into cache, version {}", all.size(), Long.toHexString(version));
+
+    return new CategorySnapshot(byId, byType, all, version);
+  }
+
+  private static long checksum(List<Category> categories) {
+    var crc = new CRC32();
+    for (var category : categories) {
+      var line = category.getIdCategory() + "|" + category.getDescription() + "|" + category.getType() + "\n";
+      crc.update(line.getBytes(StandardCharsets.UTF_8));
+    }
+    return crc.getValue();
+  }
+
+  private static Category copy(Category category) {
+    return Category.builder()
+        .idCategory(category.getIdCategory())
+        .description(category.getDescription())
+        .type(category.getType())
+        .build();
+  }
+
+  private record CategorySnapshot(
+      Map<Integer, Category> byId,
+      Map<CategoryType, List<Category>> byType,
+      List<Category> all,
+      long version) {
+  }
+}
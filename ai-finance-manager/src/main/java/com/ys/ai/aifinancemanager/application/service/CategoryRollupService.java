@@ -0,0 +1,42 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.domain.projection.RollupMismatch;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and reads the per-category daily/monthly rollups.
+ */
+public interface CategoryRollupService {
+
+  /**
+   * Adds a newly inserted transaction to the rollups. Must be called inside the database
+   * transaction that inserts it.
+   */
+  void recordTransaction(Transaction transaction);
+
+  /**
+   * Adds a batch of newly inserted transactions to the rollups, issuing one update per category
+   * and period rather than per row. Must be called inside the database transaction that inserts
+   * them.
+   */
+  void recordTransactions(Collection<Transaction> transactions);
+
+  List<CategoryTotal> getCategoryTotals(CategoryType type, LocalDate dateFrom, LocalDate dateTo);
+
+  /**
+   * Recomputes the totals from {@code TRANSACTIONS} and returns every rollup row that differs.
+   * Scans the whole table.
+   */
+  List<RollupMismatch> checkConsistency();
+
+  /**
+   * Discards and recomputes both rollups from {@code TRANSACTIONS}.
+   */
+  void rebuild();
+}
@@ -0,0 +1,110 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.RollupProperties;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.domain.projection.RollupMismatch;
+import com.ys.ai.aifinancemanager.domain.repository.CategoryRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryRollupServiceImpl implements CategoryRollupService {
+
+  private final CategoryRollupRepository categoryRollupRepository;
+
+  private final RollupProperties rollupProperties;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordTransaction(Transaction transaction) {
+    var categoryId = transaction.getCategory().getIdCategory();
+    var transactionDate = transaction.getTransactionDate();
+
+    categoryRollupRepository.addToDailyTotal(categoryId, transactionDate, transaction.getAmount(), 1);
+    categoryRollupRepository.addToMonthlyTotal(categoryId, YearMonth.from(transactionDate), transaction.getAmount(), 1);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordTransactions(Collection<Transaction> transactions) {
+    // Collapse the batch first: one upsert per (category, day) and (category, month) touched
+    var dailyTotals = new LinkedHashMap<RollupKey<LocalDate>, RollupDelta>();
+    var monthlyTotals = new LinkedHashMap<RollupKey<YearMonth>, RollupDelta>();
+
+    for (var transaction : transactions) {
+      var categoryId = transaction.getCategory().getIdCategory();
+      var delta = new RollupDelta(transaction.getAmount(), 1);
+      var transactionDate = transaction.getTransactionDate();
+
+      dailyTotals.merge(new RollupKey<>(categoryId, transactionDate), delta, RollupDelta::plus);
+      monthlyTotals.merge(new RollupKey<>(categoryId, YearMonth.from(transactionDate)), delta, RollupDelta::plus);
+    }
+
+    dailyTotals.forEach((key, delta) ->
+        categoryRollupRepository.addToDailyTotal(key.categoryId(), key.period(), delta.amount(), delta.count()));
+    monthlyTotals.forEach((key, delta) ->
+        categoryRollupRepository.addToMonthlyTotal(key.categoryId(), key.period(), delta.amount(), delta.count()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CategoryTotal> getCategoryTotals(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    return categoryRollupRepository.sumByCategoryTypeAndDateBetween(type, dateFrom, dateTo);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<RollupMismatch> checkConsistency() {
+    log.info("Checking category rollups against TRANSACTIONS");
+
+    var mismatches = categoryRollupRepository.findMismatches();
+    if (mismatches.isEmpty()) {
+      log.info("Category rollups are consistent");
+    } else {
+      log.warn("Found {} inconsistent category rollup rows, first: {}", mismatches.size(), mismatches.getFirst());
+    }
+
+    return mismatches;
+  }
+
+  @Override
+  @Transactional
+  public void rebuild() {
+    log.info("Rebuilding category rollups from TRANSACTIONS");
+    categoryRollupRepository.rebuild();
+    log.info("Category rollups rebuilt");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void verifyOnStartup() {
+    if (rollupProperties.verifyOnStartup()) {
+      checkConsistency();
+    }
+  }
+
+  private record RollupKey<P>(Integer categoryId, P period) {
+  }
+
+  private record RollupDelta(BigDecimal amount, long count) {
+
+    RollupDelta plus(RollupDelta other) {
+      return new RollupDelta(amount.add(other.amount), count + other.count);
+    }
+  }
+}
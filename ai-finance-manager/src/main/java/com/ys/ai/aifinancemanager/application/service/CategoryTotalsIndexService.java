@@ -0,0 +1,39 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory prefix sums of cents and row counts per category and day, answering any date range
+ * total in O(log days) regardless of how many transactions it covers.
+ */
+public interface CategoryTotalsIndexService {
+
+  /**
+   * True once the index is enabled and built; until then totals must come from the rollups.
+   */
+  boolean isReady();
+
+  /**
+   * Rebuilds the index from {@code TRANSACTIONS}. Inserts committed while it runs are counted
+   * exactly once.
+   */
+  void load();
+
+  /**
+   * Adds newly inserted transactions once the surrounding database transaction commits, or right
+   * away when there is none. Does nothing while the index is disabled.
+   */
+  void recordTransactions(Collection<Transaction> transactions);
+
+  /**
+   * Same content as {@link CategoryRollupService#getCategoryTotals}: one entry per category of
+   * the type with at least one transaction in the range, in category id order.
+   */
+  List<CategoryTotal> getCategoryTotals(CategoryType type, LocalDate dateFrom, LocalDate dateTo);
+}
@@ -0,0 +1,642 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.config.TotalsIndexProperties;
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps two Fenwick trees per category over a window of days, one of cents and one of row
+ * counts, so a range total is two prefix sums: O(log days) to query and to update.
+ *
+ * <p>The window starts at the earliest day loaded and grows by a year whenever a transaction
+ * falls outside it. A transaction more than {@value DayTotals#MAX_DAYS} days away from the rest
+ * would need an unreasonably large window; the index then stops answering and totals fall back
+ * to the rollup tables until the next load.</p>
+ *
+ * <p>A load reads the day sums and checks which inserts committed meanwhile are already in them
+ * inside one read transaction, so every row is counted exactly once.</p>
+ *
+ * <p>With {@link SnapshotProperties#enabled() snapshots} on, the trees are written to a file after
+ * every load and on shutdown; startup then maps that file and adds only the rows inserted after
+ * it instead of aggregating the whole table.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTotalsIndexServiceImpl implements CategoryTotalsIndexService {
+
+  private static final String SELECT_DAY_RANGE = """
+      SELECT MIN(TRANSACTION_DAY), MAX(TRANSACTION_DAY), MAX(ID_TRANSACTION)
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL""";
+
+  private static final String SELECT_DAY_TOTALS = """
+      SELECT ID_CATEGORY, TRANSACTION_DAY, SUM(AMOUNT_CENTS), COUNT(*)
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL
+      GROUP BY ID_CATEGORY, TRANSACTION_DAY""";
+
+  private static final String SELECT_EXISTING_IDS = "SELECT ID_TRANSACTION FROM TRANSACTIONS WHERE ID_TRANSACTION IN (%s)";
+
+  private static final String SELECT_TRANSACTIONS_AFTER = """
+      SELECT ID_TRANSACTION, ID_CATEGORY, TRANSACTION_DAY, AMOUNT_CENTS
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL AND ID_TRANSACTION > ?""";
+
+  private static final int EXISTING_IDS_CHUNK = 500;
+
+  private static final String MODEL = "totals-index";
+
+  private final DataSource dataSource;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final TotalsIndexProperties totalsIndexProperties;
+
+  private final SnapshotProperties snapshotProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Guarded by {@link #lock}. */
+  private DayTotals totals = DayTotals.covering(0, 0);
+
+  /** Inserts committed while a load is running; guarded by {@link #lock}. */
+  private List<DayDelta> committedDuringLoad;
+
+  private volatile boolean loaded;
+
+  @Override
+  public boolean isReady() {
+    return loaded && totalsIndexProperties.enabled();
+  }
+
+  @Override
+  public synchronized void load() {
+    log.info("Building the category totals index");
+    var started = System.nanoTime();
+
+    startCollectingCommits();
+
+    int replayed;
+    try (var connection = dataSource.getConnection()) {
+      var autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        replayed = loadInReadTransaction(connection);
+        connection.commit();
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException e) {
+      discardCommittedDuringLoad();
+      throw new DataAccessResourceFailureException("Failed to build the category totals index", e);
+    } catch (RuntimeException e) {
+      discardCommittedDuringLoad();
+      throw e;
+    }
+
+    log.info("Category totals index built over {} days ({} inserts committed during the build) in {} ms",
+        totals.days, replayed, (System.nanoTime() - started) / 1_000_000);
+    saveSnapshot();
+  }
+
+  @Override
+  public void recordTransactions(Collection<Transaction> transactions) {
+    if (!totalsIndexProperties.enabled() || transactions.isEmpty()) {
+      return;
+    }
+
+    var deltas = transactions.stream()
+        .filter(transaction -> transaction.getCategory() != null)
+        .map(DayDelta::of)
+        .toList();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          add(deltas);
+        }
+      });
+    } else {
+      add(deltas);
+    }
+  }
+
+  @Override
+  public List<CategoryTotal> getCategoryTotals(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    var categories = categoryCacheService.findByType(type).stream()
+        .sorted(Comparator.comparing(Category::getIdCategory))
+        .toList();
+    var dayFrom = dateFrom.toEpochDay();
+    var dayTo = dateTo.toEpochDay();
+
+    var categoryTotals = new ArrayList<CategoryTotal>(categories.size());
+    lock.readLock().lock();
+    try {
+      for (var category : categories) {
+        var categoryId = category.getIdCategory();
+        if (totals.count(categoryId, dayFrom, dayTo) > 0) {
+          categoryTotals.add(new CategoryTotal(categoryId, category.getDescription(), category.getType(),
+              AmountCentsConverter.fromCents(totals.cents(categoryId, dayFrom, dayTo))));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return categoryTotals;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void loadOnStartup() {
+    if (!totalsIndexProperties.enabled()) {
+      return;
+    }
+    var started = System.nanoTime();
+    var restored = snapshotProperties.enabled() && restoreSnapshot();
+    if (!restored) {
+      load();
+    }
+    SnapshotFile.recordStartup(meterRegistry, MODEL, restored, System.nanoTime() - started);
+  }
+
+  @PreDestroy
+  public synchronized void saveSnapshotOnShutdown() {
+    if (isReady()) {
+      saveSnapshot();
+    }
+  }
+
+  /**
+   * Starts from the snapshot plus the rows added after it; false if there is no usable snapshot
+   * and a full build is needed.
+   */
+  private boolean restoreSnapshot() {
+    var started = System.nanoTime();
+    startCollectingCommits();
+
+    SnapshotFile.Header header;
+    int newer;
+    int replayed;
+    try (var connection = dataSource.getConnection()) {
+      var autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        var snapshot = SnapshotFile.open(snapshotPath(), MODEL, SnapshotFile.schemaVersion(connection));
+        if (snapshot.isEmpty() || !SnapshotFile.matchesDatabase(connection, snapshot.get().header())) {
+          connection.commit();
+          discardCommittedDuringLoad();
+          return false;
+        }
+        header = snapshot.get().header();
+        var fresh = DayTotals.readSnapshot(snapshot.get().payload(), header);
+        newer = addTransactionsAfter(connection, header.highWaterId(), fresh);
+        replayed = install(connection, fresh);
+        connection.commit();
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException | RuntimeException e) {
+      discardCommittedDuringLoad();
+      log.warn("Could not restore the category totals index from its snapshot; building it from the database", e);
+      return false;
+    }
+
+    log.info("Category totals index restored {} transactions from its snapshot, {} added after id {} "
+            + "({} committed during the restore) in {} ms",
+        header.rowCount(), newer, header.highWaterId(), replayed, (System.nanoTime() - started) / 1_000_000);
+    return true;
+  }
+
+  private void saveSnapshot() {
+    if (!snapshotProperties.enabled()) {
+      return;
+    }
+    var started = System.nanoTime();
+
+    // Copy under the lock so the file is written without holding up inserts
+    DayTotals copy;
+    lock.readLock().lock();
+    try {
+      if (!loaded) {
+        return;
+      }
+      copy = totals.copy();
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    var path = snapshotPath();
+    try (var connection = dataSource.getConnection()) {
+      var header = new SnapshotFile.Header(MODEL, SnapshotFile.schemaVersion(connection), copy.highWaterId, copy.rows);
+      SnapshotFile.write(path, header, copy.snapshotLength(), copy::writeSnapshot);
+    } catch (IOException | SQLException e) {
+      log.warn("Could not write the category totals index snapshot to {}", path, e);
+      return;
+    }
+    log.info("Category totals index snapshot of {} transactions written to {} in {} ms",
+        copy.rows, path, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private Path snapshotPath() {
+    return snapshotProperties.directory().resolve(MODEL + ".snapshot");
+  }
+
+  private static int addTransactionsAfter(Connection connection, int highWaterId, DayTotals totals)
+      throws SQLException {
+    try (var statement = connection.prepareStatement(SELECT_TRANSACTIONS_AFTER)) {
+      statement.setInt(1, highWaterId);
+      int newer = 0;
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          totals.add(new DayDelta(resultSet.getInt(1), resultSet.getInt(2), resultSet.getLong(3), resultSet.getLong(4)));
+          newer++;
+        }
+      }
+      return newer;
+    }
+  }
+
+  private int loadInReadTransaction(Connection connection) throws SQLException {
+    DayTotals fresh;
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery(SELECT_DAY_RANGE)) {
+      resultSet.next();
+      var firstDay = resultSet.getLong(1);
+      fresh = resultSet.wasNull()
+          ? DayTotals.covering(LocalDate.now().toEpochDay(), LocalDate.now().toEpochDay())
+          : DayTotals.covering(firstDay, resultSet.getLong(2));
+      fresh.highWaterId = resultSet.getInt(3);
+    }
+
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery(SELECT_DAY_TOTALS)) {
+      while (resultSet.next()) {
+        fresh.setDay(resultSet.getInt(1), resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4));
+      }
+    }
+    fresh.buildTrees();
+
+    return install(connection, fresh);
+  }
+
+  /**
+   * Swaps in freshly built trees after adding the inserts committed while they were built. Must
+   * run inside the read transaction the trees were built in.
+   */
+  private int install(Connection connection, DayTotals fresh) throws SQLException {
+    lock.writeLock().lock();
+    try {
+      // Still inside the read transaction: a pending insert the sums already contain is skipped
+      var pending = committedDuringLoad;
+      var alreadyCounted = findExistingIds(connection, pending);
+      var replayed = 0;
+      for (var delta : pending) {
+        if (!alreadyCounted.contains(delta.id())) {
+          fresh.add(delta);
+          replayed++;
+        }
+      }
+      committedDuringLoad = null;
+      totals = fresh;
+      loaded = !fresh.overflowed;
+      return replayed;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static Set<Integer> findExistingIds(Connection connection, List<DayDelta> deltas) throws SQLException {
+    var existing = new HashSet<Integer>();
+    for (int from = 0; from < deltas.size(); from += EXISTING_IDS_CHUNK) {
+      var chunk = deltas.subList(from, Math.min(from + EXISTING_IDS_CHUNK, deltas.size()));
+      var placeholders = chunk.stream().map(delta -> "?").collect(Collectors.joining(", "));
+      try (var statement = connection.prepareStatement(SELECT_EXISTING_IDS.formatted(placeholders))) {
+        for (int i = 0; i < chunk.size(); i++) {
+          statement.setInt(i + 1, chunk.get(i).id());
+        }
+        try (var resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            existing.add(resultSet.getInt(1));
+          }
+        }
+      }
+    }
+    return existing;
+  }
+
+  private void add(List<DayDelta> deltas) {
+    lock.writeLock().lock();
+    try {
+      deltas.forEach(totals::add);
+      if (committedDuringLoad != null) {
+        committedDuringLoad.addAll(deltas);
+      }
+      if (totals.overflowed && loaded) {
+        loaded = false;
+        log.warn("Category totals index disabled: a transaction falls more than {} days outside the indexed window",
+            DayTotals.MAX_DAYS);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void startCollectingCommits() {
+    lock.writeLock().lock();
+    try {
+      committedDuringLoad = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void discardCommittedDuringLoad() {
+    lock.writeLock().lock();
+    try {
+      committedDuringLoad = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private record DayDelta(int id, int categoryId, long day, long cents) {
+
+    static DayDelta of(Transaction transaction) {
+      return new DayDelta(
+          transaction.getIdTransaction(),
+          transaction.getCategory().getIdCategory(),
+          transaction.getTransactionDate().toEpochDay(),
+          AmountCentsConverter.toCents(transaction.getAmount()));
+    }
+  }
+
+  /**
+   * The trees, indexed by category id. Not thread-safe; the enclosing service guards every
+   * access.
+   */
+  private static final class DayTotals {
+
+    /** About two centuries; 16 bytes per category and day. */
+    static final int MAX_DAYS = 73_000;
+
+    /** Room left after the last day so current-day inserts do not grow the window. */
+    private static final int HEADROOM_DAYS = 366;
+
+    private long firstDay;
+
+    private int days;
+
+    /** 1-based Fenwick trees; slot 0 is unused. */
+    private long[][] cents = new long[0][];
+
+    private long[][] counts = new long[0][];
+
+    private boolean overflowed;
+
+    /** Largest transaction id counted. */
+    private int highWaterId;
+
+    /** Transactions counted. */
+    private long rows;
+
+    static DayTotals covering(long firstDay, long lastDay) {
+      var dayTotals = new DayTotals();
+      dayTotals.firstDay = firstDay;
+      dayTotals.days = (int) Math.min(lastDay - firstDay + 1 + HEADROOM_DAYS, MAX_DAYS);
+      dayTotals.overflowed = lastDay - firstDay + 1 > MAX_DAYS;
+      return dayTotals;
+    }
+
+    /**
+     * Stores a plain day sum during a load; {@link #buildTrees} turns them into trees.
+     */
+    void setDay(int categoryId, long day, long dayCents, long dayCount) {
+      if (day - firstDay >= days) {
+        overflowed = true;
+        return;
+      }
+      ensureCategory(categoryId);
+      var slot = (int) (day - firstDay) + 1;
+      cents[categoryId][slot] = dayCents;
+      counts[categoryId][slot] = dayCount;
+      rows += dayCount;
+    }
+
+    void buildTrees() {
+      for (int categoryId = 0; categoryId < cents.length; categoryId++) {
+        if (cents[categoryId] != null) {
+          build(cents[categoryId]);
+          build(counts[categoryId]);
+        }
+      }
+    }
+
+    void add(DayDelta delta) {
+      if (!ensureDay(delta.day())) {
+        overflowed = true;
+        return;
+      }
+      ensureCategory(delta.categoryId());
+      var slot = (int) (delta.day() - firstDay) + 1;
+      update(cents[delta.categoryId()], slot, delta.cents());
+      update(counts[delta.categoryId()], slot, 1);
+      highWaterId = Math.max(highWaterId, delta.id());
+      rows++;
+    }
+
+    DayTotals copy() {
+      var copy = new DayTotals();
+      copy.firstDay = firstDay;
+      copy.days = days;
+      copy.cents = new long[cents.length][];
+      copy.counts = new long[counts.length][];
+      for (int categoryId = 0; categoryId < cents.length; categoryId++) {
+        if (cents[categoryId] != null) {
+          copy.cents[categoryId] = cents[categoryId].clone();
+          copy.counts[categoryId] = counts[categoryId].clone();
+        }
+      }
+      copy.overflowed = overflowed;
+      copy.highWaterId = highWaterId;
+      copy.rows = rows;
+      return copy;
+    }
+
+    long snapshotLength() {
+      long length = Long.BYTES + Integer.BYTES + Integer.BYTES + cents.length;
+      for (var tree : cents) {
+        if (tree != null) {
+          length += 2L * tree.length * Long.BYTES;
+        }
+      }
+      return length;
+    }
+
+    /**
+     * First day, window length and category slots, then per slot a presence flag followed by
+     * its two trees as they are.
+     */
+    void writeSnapshot(ByteBuffer payload) {
+      payload.putLong(firstDay).putInt(days).putInt(cents.length);
+      for (int categoryId = 0; categoryId < cents.length; categoryId++) {
+        payload.put((byte) (cents[categoryId] != null ? 1 : 0));
+        if (cents[categoryId] != null) {
+          SnapshotFile.putLongs(payload, cents[categoryId], days + 1);
+          SnapshotFile.putLongs(payload, counts[categoryId], days + 1);
+        }
+      }
+    }
+
+    static DayTotals readSnapshot(ByteBuffer payload, SnapshotFile.Header header) {
+      var dayTotals = new DayTotals();
+      dayTotals.firstDay = payload.getLong();
+      dayTotals.days = payload.getInt();
+      var slots = payload.getInt();
+      if (dayTotals.days < 1 || dayTotals.days > MAX_DAYS || slots < 0 || slots > payload.remaining()) {
+        throw new IllegalStateException("Window of %d days and %d categories does not fit the totals index snapshot"
+            .formatted(dayTotals.days, slots));
+      }
+      dayTotals.cents = new long[slots][];
+      dayTotals.counts = new long[slots][];
+      for (int categoryId = 0; categoryId < slots; categoryId++) {
+        if (payload.get() != 0) {
+          dayTotals.cents[categoryId] = SnapshotFile.getLongs(payload, dayTotals.days + 1, dayTotals.days + 1);
+          dayTotals.counts[categoryId] = SnapshotFile.getLongs(payload, dayTotals.days + 1, dayTotals.days + 1);
+        }
+      }
+      if (payload.hasRemaining()) {
+        throw new IllegalStateException("Unexpected trailing bytes in the totals index snapshot");
+      }
+      dayTotals.highWaterId = header.highWaterId();
+      dayTotals.rows = header.rowCount();
+      return dayTotals;
+    }
+
+    long cents(int categoryId, long dayFrom, long dayTo) {
+      return rangeSum(cents, categoryId, dayFrom, dayTo);
+    }
+
+    long count(int categoryId, long dayFrom, long dayTo) {
+      return rangeSum(counts, categoryId, dayFrom, dayTo);
+    }
+
+    private long rangeSum(long[][] trees, int categoryId, long dayFrom, long dayTo) {
+      if (categoryId >= trees.length || trees[categoryId] == null) {
+        return 0;
+      }
+      var from = Math.max(dayFrom, firstDay);
+      var to = Math.min(dayTo, firstDay + days - 1);
+      if (from > to) {
+        return 0;
+      }
+      var tree = trees[categoryId];
+      return prefixSum(tree, (int) (to - firstDay) + 1) - prefixSum(tree, (int) (from - firstDay));
+    }
+
+    private void ensureCategory(int categoryId) {
+      if (categoryId >= cents.length) {
+        cents = Arrays.copyOf(cents, categoryId + 1);
+        counts = Arrays.copyOf(counts, categoryId + 1);
+      }
+      if (cents[categoryId] == null) {
+        cents[categoryId] = new long[days + 1];
+        counts[categoryId] = new long[days + 1];
+      }
+    }
+
+    /**
+     * Widens the window to include {@code day}, rebuilding every tree; false if it would exceed
+     * {@link #MAX_DAYS}.
+     */
+    private boolean ensureDay(long day) {
+      if (day >= firstDay && day < firstDay + days) {
+        return true;
+      }
+
+      var newFirstDay = Math.min(firstDay, day);
+      var newLastDay = Math.max(firstDay + days - 1, day + HEADROOM_DAYS);
+      if (newLastDay - newFirstDay + 1 > MAX_DAYS) {
+        return false;
+      }
+
+      var shift = (int) (firstDay - newFirstDay);
+      var newDays = (int) (newLastDay - newFirstDay + 1);
+      for (int categoryId = 0; categoryId < cents.length; categoryId++) {
+        if (cents[categoryId] != null) {
+          cents[categoryId] = widen(cents[categoryId], days, shift, newDays);
+          counts[categoryId] = widen(counts[categoryId], days, shift, newDays);
+        }
+      }
+      firstDay = newFirstDay;
+      days = newDays;
+      return true;
+    }
+
+    private static long[] widen(long[] tree, int days, int shift, int newDays) {
+      var widened = new long[newDays + 1];
+      for (int slot = 1; slot <= days; slot++) {
+        widened[slot + shift] = prefixSum(tree, slot) - prefixSum(tree, slot - 1);
+      }
+      build(widened);
+      return widened;
+    }
+
+    /** Turns plain values into a Fenwick tree in place, in linear time. */
+    private static void build(long[] tree) {
+      for (int slot = 1; slot < tree.length; slot++) {
+        var parent = slot + (slot & -slot);
+        if (parent < tree.length) {
+          tree[parent] += tree[slot];
+        }
+      }
+    }
+
+    private static void update(long[] tree, int slot, long delta) {
+      for (; slot < tree.length; slot += slot & -slot) {
+        tree[slot] += delta;
+      }
+    }
+
+    private static long prefixSum(long[] tree, int slot) {
+      long sum = 0;
+      for (; slot > 0; slot -= slot & -slot) {
+        sum += tree[slot];
+      }
+      return sum;
+    }
+  }
+}
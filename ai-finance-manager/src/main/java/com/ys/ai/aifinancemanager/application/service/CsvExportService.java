@@ -1,9 +1,22 @@
 package com.ys.ai.aifinancemanager.application.service;
 
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 public interface CsvExportService {
 
   String exportTransactionsToCsv(TransactionExportResponse exportData);
-}
 
+  /**
+   * Writes the CSV header and one line per transaction straight to {@code outputStream},
+   * without buffering the whole document. Returns the number of data rows written.
+   *
+   * <p>If the stream fails once part of the document has reached {@code outputStream}, a final
+   * {@code # EXPORT INCOMPLETE} line is written before the failure is rethrown, so a truncated
+   * file cannot pass for a complete one.</p>
+   */
+  long writeTransactionsToCsv(Stream<TransactionExportDetail> transactions, OutputStream outputStream);
+}
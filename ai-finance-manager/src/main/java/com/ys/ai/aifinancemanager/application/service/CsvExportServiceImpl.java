@@ -1,17 +1,52 @@
 package com.ys.ai.aifinancemanager.application.service;
 
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
 import com.ys.ai.aifinancemanager.application.validation.ValidationUtils;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@Timed(value = ServiceMetrics.SERVICE_TIMER, description = ServiceMetrics.SERVICE_TIMER_DESCRIPTION, histogram = true)
 public class CsvExportServiceImpl implements CsvExportService {
 
+  private static final String CSV_HEADER =
+      "Transaction ID,Transaction Date,Amount,Category Description,Category Type,Comment\n";
+
+  /**
+   * Last line of a streamed document that failed after part of it was sent. The status line is
+   * long gone by then, so this is the only sign a client gets that rows are missing.
+   */
+  static final String INCOMPLETE_MARKER = "# EXPORT INCOMPLETE: failed after %d rows, the remaining rows are missing\n";
+
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final DistributionSummary documentBytes;
+
+  private final DistributionSummary streamedBytes;
+
+  public CsvExportServiceImpl(MeterRegistry meterRegistry) {
+    this.documentBytes = ServiceMetrics.csvBytes(meterRegistry, "document");
+    this.streamedBytes = ServiceMetrics.csvBytes(meterRegistry, "stream");
+  }
+
   @Override
   public String exportTransactionsToCsv(TransactionExportResponse exportData) {
     ValidationUtils.validateExportData(exportData);
@@ -21,21 +56,93 @@ public class CsvExportServiceImpl implements CsvExportService {
 
     var csv = new StringBuilder();
 
-    csv.append("Transaction ID,Transaction Date,Amount,Category Description,Category Type,Comment\n");
+    csv.append(CSV_HEADER);
 
-    exportData.getTransactions().forEach(transaction -> {
-      csv.append(escapeCsv(String.valueOf(transaction.getIdTransaction()))).append(",");
-      csv.append(escapeCsv(transaction.getTransactionDate())).append(",");
-      csv.append(escapeCsv(String.valueOf(transaction.getAmount()))).append(",");
-      csv.append(escapeCsv(transaction.getCategoryDescription())).append(",");
-      csv.append(escapeCsv(transaction.getCategoryType())).append(",");
-      csv.append(escapeCsv(transaction.getComment()));
-      csv.append("\n");
-    });
+    exportData.getTransactions().forEach(transaction -> csv.append(toCsvLine(transaction)));
 
+    var content = csv.toString();
+    documentBytes.record(utf8Length(content));
     log.info("CSV content generated successfully");
 
-    return csv.toString();
+    return content;
+  }
+
+  @Override
+  public long writeTransactionsToCsv(Stream<TransactionExportDetail> transactions, OutputStream outputStream) {
+    Objects.requireNonNull(transactions, "Transactions stream cannot be null");
+    Objects.requireNonNull(outputStream, "Output stream cannot be null");
+
+    log.info("Streaming CSV content");
+
+    var countingStream = new CountingOutputStream(outputStream);
+    var writer = new BufferedWriter(new OutputStreamWriter(countingStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    Iterator<TransactionExportDetail> iterator = transactions.iterator();
+    long rowCount = 0;
+
+    try {
+      writer.write(CSV_HEADER);
+      while (iterator.hasNext()) {
+        writer.write(toCsvLine(iterator.next()));
+        rowCount++;
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write CSV content", e);
+    } catch (RuntimeException e) {
+      markIncomplete(writer, countingStream, rowCount, e);
+      throw e;
+    }
+
+    streamedBytes.record(countingStream.bytes);
+    log.info("CSV content streamed successfully: {} transactions", rowCount);
+
+    return rowCount;
+  }
+
+  /**
+   * Ends a document whose rows stopped coming. Nothing is written while the whole output is still
+   * buffered here: the caller can then answer with an error status instead.
+   */
+  private static void markIncomplete(Writer writer, CountingOutputStream countingStream, long rowCount,
+      RuntimeException failure) {
+    if (countingStream.bytes == 0) {
+      return;
+    }
+    log.warn("CSV stream failed after {} transactions; marking the document incomplete", rowCount);
+    try {
+      writer.write(INCOMPLETE_MARKER.formatted(rowCount));
+      writer.flush();
+    } catch (IOException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  private String toCsvLine(TransactionExportDetail transaction) {
+    return escapeCsv(String.valueOf(transaction.getIdTransaction())) + "," +
+        escapeCsv(transaction.getTransactionDate()) + "," +
+        escapeCsv(String.valueOf(transaction.getAmount())) + "," +
+        escapeCsv(transaction.getCategoryDescription()) + "," +
+        escapeCsv(transaction.getCategoryType()) + "," +
+        escapeCsv(transaction.getComment()) +
+        "\n";
+  }
+
+  private static long utf8Length(String value) {
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
   }
 
   private String escapeCsv(String value) {
@@ -49,5 +156,28 @@ public class CsvExportServiceImpl implements CsvExportService {
 
     return value;
   }
-}
 
+  /**
+   * Counts what reaches the response stream, after UTF-8 encoding.
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long bytes;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      bytes += len;
+    }
+  }
+}
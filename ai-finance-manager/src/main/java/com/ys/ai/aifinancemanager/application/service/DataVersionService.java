@@ -0,0 +1,16 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+/**
+ * Version of the transaction data as readers see it, for HTTP validators. It only moves forward,
+ * and it moves once a write has committed and reached the in-memory read models.
+ */
+public interface DataVersionService {
+
+  long getVersion();
+
+  /**
+   * Moves the version once the surrounding database transaction commits, or right away when
+   * there is none. Call it after the read models were handed the same write.
+   */
+  void recordWrite();
+}
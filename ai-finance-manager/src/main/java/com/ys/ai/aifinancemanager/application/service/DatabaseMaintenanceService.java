@@ -0,0 +1,32 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import java.time.Duration;
+
+/**
+ * Opt-in upkeep of the SQLite file: planner statistics, WAL checkpoints and returning free pages.
+ */
+public interface DatabaseMaintenanceService {
+
+  /**
+   * Runs every maintenance step once, on the calling thread.
+   */
+  MaintenanceRun runMaintenance();
+
+  /**
+   * What one run did.
+   *
+   * @param duration        time the whole run took
+   * @param checkpointMode  {@code PASSIVE}, or {@code TRUNCATE} when nothing was written since the
+   *                        previous run; {@code null} outside WAL mode
+   * @param walBytes        size of the WAL file after the checkpoint
+   * @param pagesReclaimed  free pages returned to the file system
+   * @param freePages       free pages still left in the file
+   */
+  record MaintenanceRun(
+      Duration duration,
+      String checkpointMode,
+      long walBytes,
+      long pagesReclaimed,
+      long freePages) {
+  }
+}
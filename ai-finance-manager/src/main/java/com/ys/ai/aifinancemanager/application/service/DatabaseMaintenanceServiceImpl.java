@@ -0,0 +1,339 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.MaintenanceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background upkeep of the SQLite file, one step after the other on a single thread:
+ *
+ * <ol>
+ *   <li>{@code PRAGMA optimize}, which re-runs {@code ANALYZE} only on tables whose statistics
+ *   went stale, sampling at most {@code analysisLimit} rows per index;</li>
+ *   <li>a {@code PASSIVE} WAL checkpoint, which never waits for readers or writers, or a
+ *   {@code TRUNCATE} one when nothing was written since the previous run;</li>
+ *   <li>{@code incremental_vacuum} in slices of {@code vacuumSlice} pages, each its own short
+ *   write transaction, with a pause in between for queued writers.</li>
+ * </ol>
+ *
+ * <p>The vacuum needs {@code auto_vacuum = INCREMENTAL}, which an existing database only gets
+ * from a full {@code VACUUM}. With {@code convertAutoVacuum} on, the first run does that
+ * conversion in place of the slices; otherwise the step is skipped and says so once.</p>
+ */
+@Slf4j
+@Service
+public class DatabaseMaintenanceServiceImpl implements DatabaseMaintenanceService, SmartLifecycle {
+
+  private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+  private static final String PASSIVE = "PASSIVE";
+
+  private static final String TRUNCATE = "TRUNCATE";
+
+  private final DataSource dataSource;
+
+  private final DataVersionService dataVersionService;
+
+  private final MaintenanceProperties maintenanceProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Timer runDuration;
+
+  private final Counter pagesReclaimed;
+
+  private final AtomicLong walBytes = new AtomicLong();
+
+  private final AtomicLong freePages = new AtomicLong();
+
+  private long lastVersion = -1;
+
+  private boolean vacuumUnavailableLogged;
+
+  private ScheduledExecutorService scheduler;
+
+  public DatabaseMaintenanceServiceImpl(
+      DataSource dataSource,
+      DataVersionService dataVersionService,
+      MaintenanceProperties maintenanceProperties,
+      MeterRegistry meterRegistry) {
+    this.dataSource = dataSource;
+    this.dataVersionService = dataVersionService;
+    this.maintenanceProperties = maintenanceProperties;
+    this.meterRegistry = meterRegistry;
+    this.runDuration = Timer.builder("finance.db.maintenance")
+        .description("Time taken by one database maintenance run")
+        .register(meterRegistry);
+    this.pagesReclaimed = Counter.builder("finance.db.maintenance.pages.reclaimed")
+        .description("Free pages returned to the file system by incremental vacuum")
+        .register(meterRegistry);
+    Gauge.builder("finance.db.wal.size", walBytes, AtomicLong::get)
+        .description("Size of the WAL file after the last maintenance checkpoint")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("finance.db.free.pages", freePages, AtomicLong::get)
+        .description("Free pages left in the database file after the last maintenance run")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public synchronized MaintenanceRun runMaintenance() {
+    var started = System.nanoTime();
+    try (var connection = dataSource.getConnection()) {
+      timed("optimize", () -> optimize(connection));
+      var checkpointMode = timed("checkpoint", () -> checkpoint(connection));
+      long reclaimed = timed("vacuum", () -> vacuum(connection));
+
+      var run = new MaintenanceRun(Duration.ofNanos(System.nanoTime() - started), checkpointMode,
+          walSize(connection), reclaimed, pragma(connection, "freelist_count"));
+      runDuration.record(run.duration());
+      pagesReclaimed.increment(reclaimed);
+      walBytes.set(run.walBytes());
+      freePages.set(run.freePages());
+      log.info("Database maintenance took {} ms: checkpoint={}, wal={} bytes, reclaimed {} pages, {} free pages left",
+          run.duration().toMillis(), checkpointMode, run.walBytes(), reclaimed, run.freePages());
+      return run;
+    } catch (SQLException e) {
+      throw new DataAccessResourceFailureException("Database maintenance failed", e);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!maintenanceProperties.enabled() || scheduler != null) {
+      return;
+    }
+
+    var interval = maintenanceProperties.interval();
+    log.info("Scheduling database maintenance every {}", interval);
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("database-maintenance").daemon().factory());
+    scheduler.scheduleWithFixedDelay(this::runScheduled, interval.toMillis(), interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    ScheduledExecutorService stopping;
+    synchronized (this) {
+      stopping = scheduler;
+      scheduler = null;
+    }
+    if (stopping == null) {
+      return;
+    }
+
+    // Interrupts a vacuum between slices; a statement already running finishes first
+    stopping.shutdownNow();
+    try {
+      stopping.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    log.info("Database maintenance stopped");
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private void runScheduled() {
+    try {
+      runMaintenance();
+    } catch (RuntimeException e) {
+      // A failed run must not cancel the ones after it
+      log.error("Database maintenance run failed", e);
+    }
+  }
+
+  private void optimize(Connection connection) throws SQLException {
+    execute(connection, "PRAGMA analysis_limit = " + maintenanceProperties.analysisLimit());
+    execute(connection, "PRAGMA optimize");
+  }
+
+  /**
+   * @return the checkpoint mode used, or {@code null} if the database is not in WAL mode
+   */
+  private String checkpoint(Connection connection) throws SQLException {
+    var version = dataVersionService.getVersion();
+    var mode = version == lastVersion ? TRUNCATE : PASSIVE;
+    lastVersion = version;
+
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+      resultSet.next();
+      var busy = resultSet.getInt(1) != 0;
+      var walFrames = resultSet.getLong(2);
+      var checkpointed = resultSet.getLong(3);
+      if (walFrames < 0) {
+        return null;
+      }
+      if (busy || checkpointed < walFrames) {
+        log.debug("{} checkpoint copied {} of {} WAL frames; readers still need the rest",
+            mode, checkpointed, walFrames);
+      }
+      return mode;
+    }
+  }
+
+  private long vacuum(Connection connection) throws SQLException {
+    if (pragma(connection, "auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+      if (maintenanceProperties.convertAutoVacuum()) {
+        return convertToIncrementalVacuum(connection);
+      }
+      if (!vacuumUnavailableLogged) {
+        vacuumUnavailableLogged = true;
+        log.info("Skipping incremental vacuum: the database needs 'PRAGMA auto_vacuum = INCREMENTAL' "
+            + "followed by a full VACUUM first, see finance.maintenance.convert-auto-vacuum");
+      }
+      return 0;
+    }
+
+    long reclaimed = 0;
+    while (reclaimed < maintenanceProperties.maxVacuumPages()) {
+      var slice = Math.min(maintenanceProperties.vacuumSlice(), maintenanceProperties.maxVacuumPages() - reclaimed);
+      var freed = incrementalVacuum(connection, slice);
+      reclaimed += freed;
+      if (freed < slice || !pause()) {
+        break;
+      }
+    }
+    return reclaimed;
+  }
+
+  /**
+   * The full {@code VACUUM} also drops every free page, which is what it returns.
+   */
+  private static long convertToIncrementalVacuum(Connection connection) throws SQLException {
+    var free = pragma(connection, "freelist_count");
+    log.info("Converting the database to auto_vacuum = INCREMENTAL with a full VACUUM; writers wait until it is done");
+    var started = System.nanoTime();
+    execute(connection, "PRAGMA auto_vacuum = INCREMENTAL");
+    execute(connection, "VACUUM");
+    if (pragma(connection, "auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+      throw new IllegalStateException("VACUUM did not switch the database to auto_vacuum = INCREMENTAL");
+    }
+    log.info("Database converted to auto_vacuum = INCREMENTAL in {} ms", (System.nanoTime() - started) / 1_000_000);
+    return free - pragma(connection, "freelist_count");
+  }
+
+  private boolean pause() {
+    try {
+      Thread.sleep(maintenanceProperties.vacuumPause());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static long walSize(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA database_list")) {
+      while (resultSet.next()) {
+        var file = resultSet.getString("file");
+        if ("main".equals(resultSet.getString("name")) && file != null && !file.isEmpty()) {
+          var wal = Path.of(file + "-wal");
+          return Files.exists(wal) ? Files.size(wal) : 0;
+        }
+      }
+      return 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the WAL file size", e);
+    }
+  }
+
+  private static long pragma(Connection connection, String name) throws SQLException {
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA " + name)) {
+      return resultSet.next() ? resultSet.getLong(1) : 0;
+    }
+  }
+
+  /**
+   * Frees up to {@code pages} pages in one write transaction and returns how many it freed.
+   * sqlite-jdbc steps a statement without result columns only once, so the pragma is run for one
+   * page at a time, each in a statement closed right away, until the slice is done or the free
+   * list stops shrinking.
+   */
+  static long incrementalVacuum(Connection connection, long pages) throws SQLException {
+    var autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      long freed = 0;
+      var free = pragma(connection, "freelist_count");
+      while (freed < pages && free > 0) {
+        execute(connection, "PRAGMA incremental_vacuum(1)");
+        var remaining = pragma(connection, "freelist_count");
+        if (remaining >= free) {
+          break;
+        }
+        freed += free - remaining;
+        free = remaining;
+      }
+      connection.commit();
+      return freed;
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private <T> T timed(String step, SqlStep<T> work) throws SQLException {
+    var started = System.nanoTime();
+    try {
+      return work.run();
+    } finally {
+      Timer.builder("finance.db.maintenance.step")
+          .description("Time taken by one step of a database maintenance run")
+          .tag("step", step)
+          .register(meterRegistry)
+          .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void timed(String step, SqlAction work) throws SQLException {
+    timed(step, () -> {
+      work.run();
+      return null;
+    });
+  }
+
+  @FunctionalInterface
+  private interface SqlStep<T> {
+    T run() throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface SqlAction {
+    void run() throws SQLException;
+  }
+}
@@ -0,0 +1,18 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.DatasetProperties;
+
+/**
+ * Bulk-loads synthetic transactions for capacity planning and local performance work.
+ */
+public interface DatasetGeneratorService {
+
+  /**
+   * Inserts {@code settings.rows()} transactions and rebuilds the category rollups afterwards.
+   * Writes bypass JPA and its in-memory id counter, so run it in a process that does not also
+   * insert transactions, such as the {@code generate-dataset} profile.
+   *
+   * @return number of rows inserted
+   */
+  long generate(DatasetProperties settings);
+}
@@ -0,0 +1,228 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.DatasetProperties;
+import com.ys.ai.aifinancemanager.config.DatasetProperties.CategoryDistribution;
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Loads rows over a single JDBC connection with prepared-statement batches inside large
+ * transactions, which is what SQLite needs to insert millions of rows per minute.
+ *
+ * <p>Rows are generated in date order, spread evenly across the span, so the date index grows at
+ * its end instead of being rewritten all over. Categories are drawn by weight and amounts
+ * log-uniformly from each category's range; all randomness comes from one seeded generator, so a
+ * given configuration always produces the same rows.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatasetGeneratorServiceImpl implements DatasetGeneratorService {
+
+  private static final String INSERT_TRANSACTION =
+      "INSERT INTO TRANSACTIONS (AMOUNT_CENTS, TRANSACTION_DAY, ID_CATEGORY, COMMENT) VALUES (?, ?, ?, ?)";
+
+  private static final String[] COMMENTS = {
+      "Card payment", "Bank transfer", "Cash", "Online order", "Standing order", "Refund, partial"
+  };
+
+  /** Share of rows left without a comment. */
+  private static final double NO_COMMENT_RATE = 0.4;
+
+  private final DataSource dataSource;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final CategoryRollupService categoryRollupService;
+
+  private final TransactionColumnStoreService transactionColumnStoreService;
+
+  private final CategoryTotalsIndexService categoryTotalsIndexService;
+
+  private final TransactionResponseCacheService transactionResponseCacheService;
+
+  private final DataVersionService dataVersionService;
+
+  @Override
+  public long generate(DatasetProperties settings) {
+    validate(settings);
+
+    log.info("Generating {} transactions between {} and {} with seed {}",
+        settings.rows(), settings.dateFrom(), settings.dateTo(), settings.seed());
+
+    var started = System.nanoTime();
+    long inserted;
+    try (var connection = dataSource.getConnection()) {
+      inserted = load(connection, settings);
+    } catch (SQLException e) {
+      throw new DataAccessResourceFailureException("Failed to generate synthetic dataset", e);
+    }
+
+    var loadTime = Duration.ofNanos(System.nanoTime() - started);
+    log.info("Inserted {} transactions in {} ({} rows/s)",
+        inserted, loadTime, inserted * 1000 / Math.max(loadTime.toMillis(), 1));
+
+    categoryRollupService.rebuild();
+    // The rows bypassed the write path, so the in-memory copies are rebuilt like the rollups
+    if (transactionColumnStoreService.isReady()) {
+      transactionColumnStoreService.load();
+    }
+    if (categoryTotalsIndexService.isReady()) {
+      categoryTotalsIndexService.load();
+    }
+    transactionResponseCacheService.clear();
+    dataVersionService.recordWrite();
+    return inserted;
+  }
+
+  private long load(Connection connection, DatasetProperties settings) throws SQLException {
+    var picker = new CategoryPicker(settings.categories());
+    var random = new SplittableRandom(settings.seed());
+    var firstDay = settings.dateFrom().toEpochDay();
+    var days = settings.dateTo().toEpochDay() - firstDay + 1;
+
+    var autoCommit = connection.getAutoCommit();
+    var synchronous = pragma(connection, "synchronous");
+    // A crash mid-load only loses the generated rows, so skip the fsync on every commit. SQLite
+    // only accepts this outside a transaction.
+    execute(connection, "PRAGMA synchronous = OFF");
+    connection.setAutoCommit(false);
+    try (var statement = connection.createStatement();
+         var insert = connection.prepareStatement(INSERT_TRANSACTION)) {
+      if (settings.replaceExisting()) {
+        var deleted = statement.executeUpdate("DELETE FROM TRANSACTIONS");
+        log.info("Deleted {} existing transactions", deleted);
+      }
+
+      long row = 0;
+      while (row < settings.rows()) {
+        var category = picker.pick(random);
+        var day = firstDay + row * days / settings.rows();
+
+        insert.setLong(1, AmountCentsConverter.toCents(amount(random, category)));
+        insert.setLong(2, day);
+        insert.setInt(3, category.id());
+        insert.setString(4, random.nextDouble() < NO_COMMENT_RATE ? null : COMMENTS[random.nextInt(COMMENTS.length)]);
+        insert.addBatch();
+        row++;
+
+        if (row % settings.batchSize() == 0 || row == settings.rows()) {
+          insert.executeBatch();
+        }
+        if (row % settings.rowsPerTransaction() == 0 || row == settings.rows()) {
+          connection.commit();
+          log.info("Committed {} of {} transactions", row, settings.rows());
+        }
+      }
+      return row;
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+      execute(connection, "PRAGMA synchronous = " + synchronous);
+    }
+  }
+
+  private static BigDecimal amount(SplittableRandom random, CategoryDistribution category) {
+    var min = Math.log(category.minAmount().doubleValue());
+    var max = Math.log(category.maxAmount().doubleValue());
+    var amount = Math.exp(min + random.nextDouble() * (max - min));
+    return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN);
+  }
+
+  private static String pragma(Connection connection, String name) throws SQLException {
+    try (Statement statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA " + name)) {
+      return resultSet.next() ? resultSet.getString(1) : null;
+    }
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private void validate(DatasetProperties settings) {
+    Objects.requireNonNull(settings, "Dataset settings cannot be null");
+    Objects.requireNonNull(settings.dateFrom(), "Date from cannot be null");
+    Objects.requireNonNull(settings.dateTo(), "Date to cannot be null");
+
+    if (settings.rows() <= 0) {
+      throw new IllegalArgumentException("Row count must be greater than zero");
+    }
+    if (settings.dateFrom().isAfter(settings.dateTo())) {
+      throw new IllegalArgumentException("Date from cannot be after date to");
+    }
+    if (settings.batchSize() <= 0 || settings.rowsPerTransaction() <= 0) {
+      throw new IllegalArgumentException("Batch size and rows per transaction must be greater than zero");
+    }
+    if (settings.categories() == null || settings.categories().isEmpty()) {
+      throw new IllegalArgumentException("At least one category distribution is required");
+    }
+
+    for (var category : settings.categories()) {
+      if (categoryCacheService.findById(category.id()).isEmpty()) {
+        throw new IllegalArgumentException("Category not found with id: " + category.id());
+      }
+      if (category.weight() <= 0) {
+        throw new IllegalArgumentException("Weight of category " + category.id() + " must be greater than zero");
+      }
+      if (category.minAmount() == null || category.maxAmount() == null
+          || category.minAmount().signum() <= 0 || category.minAmount().compareTo(category.maxAmount()) > 0) {
+        throw new IllegalArgumentException(
+            "Amount range of category " + category.id() + " must be positive with min not above max");
+      }
+    }
+  }
+
+  /**
+   * Weighted choice over the configured categories by binary search on cumulative weights.
+   */
+  private static final class CategoryPicker {
+
+    private final List<CategoryDistribution> categories;
+
+    private final double[] cumulativeWeights;
+
+    CategoryPicker(List<CategoryDistribution> categories) {
+      this.categories = List.copyOf(categories);
+      this.cumulativeWeights = new double[categories.size()];
+      double total = 0;
+      for (int i = 0; i < categories.size(); i++) {
+        total += categories.get(i).weight();
+        cumulativeWeights[i] = total;
+      }
+    }
+
+    CategoryDistribution pick(SplittableRandom random) {
+      var target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+      int low = 0;
+      int high = cumulativeWeights.length - 1;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (cumulativeWeights[mid] <= target) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return categories.get(low);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Names and helpers for the meters the read services share. Each public method of an annotated
+ * service is timed as {@value #SERVICE_TIMER}, tagged with its class and method.
+ */
+final class ServiceMetrics {
+
+  static final String SERVICE_TIMER = "finance.service";
+
+  static final String SERVICE_TIMER_DESCRIPTION = "Time spent in a service method";
+
+  static final String QUERY_ROWS = "finance.query.rows";
+
+  static final String RESPONSE_CATEGORIES = "finance.response.categories";
+
+  static final String CSV_BYTES = "finance.csv.bytes";
+
+  private ServiceMetrics() {
+  }
+
+  /**
+   * Rows one query fetched, from SQLite or from an in-memory read model.
+   */
+  static void recordRows(MeterRegistry meterRegistry, String query, long rows) {
+    DistributionSummary.builder(QUERY_ROWS)
+        .description("Rows fetched per query")
+        .baseUnit("rows")
+        .tag("query", query)
+        .register(meterRegistry)
+        .record(rows);
+  }
+
+  /**
+   * Category summaries in one response, cached or not.
+   */
+  static void recordCategories(MeterRegistry meterRegistry, String operation, int categories) {
+    DistributionSummary.builder(RESPONSE_CATEGORIES)
+        .description("Category summaries per response")
+        .tag("operation", operation)
+        .register(meterRegistry)
+        .record(categories);
+  }
+
+  static DistributionSummary csvBytes(MeterRegistry meterRegistry, String mode) {
+    return DistributionSummary.builder(CSV_BYTES)
+        .description("UTF-8 bytes of CSV generated per export")
+        .baseUnit("bytes")
+        .tag("mode", mode)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,266 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes the snapshot files of the in-memory read models.
+ *
+ * <p>A file is a header followed by the model's payload, both little-endian:</p>
+ * <pre>
+ *   int    magic
+ *   int    format version
+ *   string model name
+ *   string schema version (latest applied Flyway migration)
+ *   int    high-water ID_TRANSACTION
+ *   long   rows with an id up to the high-water mark
+ *   long   payload length
+ *   long   CRC32C of the payload
+ *   byte[] payload
+ * </pre>
+ *
+ * <p>Files are written to a temporary sibling and moved into place, so a crash leaves either the
+ * previous snapshot or the new one. Both directions go through {@link FileChannel#map}: the
+ * payload is copied to and from heap arrays in bulk rather than value by value.</p>
+ */
+@Slf4j
+final class SnapshotFile {
+
+  static final int FORMAT_VERSION = 1;
+
+  private static final int MAGIC = 0x46534E50;
+
+  private static final String SELECT_SCHEMA_VERSION = """
+      SELECT version
+      FROM flyway_schema_history
+      WHERE success = 1 AND version IS NOT NULL
+      ORDER BY installed_rank DESC
+      LIMIT 1""";
+
+  private static final String COUNT_ROWS_UP_TO = """
+      SELECT COUNT(*)
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL AND ID_TRANSACTION <= ?""";
+
+  private SnapshotFile() {
+  }
+
+  /**
+   * What a snapshot claims to contain; checked against the file and the database before use.
+   *
+   * @param model         which read model wrote the file
+   * @param schemaVersion schema the rows were read under
+   * @param highWaterId   largest transaction id in the snapshot; later rows are replayed
+   * @param rowCount      categorised transactions with an id up to {@code highWaterId}
+   */
+  record Header(String model, String schemaVersion, int highWaterId, long rowCount) {
+  }
+
+  /**
+   * A validated snapshot; {@code payload} is positioned at the start of the model's data.
+   */
+  record Snapshot(Header header, ByteBuffer payload) {
+  }
+
+  static void write(Path path, Header header, long payloadLength, Consumer<ByteBuffer> payloadWriter)
+      throws IOException {
+    var model = header.model().getBytes(StandardCharsets.UTF_8);
+    var schemaVersion = header.schemaVersion().getBytes(StandardCharsets.UTF_8);
+    var headerLength = 4 + 4 + 4 + model.length + 4 + schemaVersion.length + 4 + 8 + 8 + 8;
+    if (headerLength + payloadLength > Integer.MAX_VALUE) {
+      throw new IOException("Snapshot of %d bytes is too large to map".formatted(headerLength + payloadLength));
+    }
+
+    var directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    var temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (var channel = FileChannel.open(temporary,
+          StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        var mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerLength + payloadLength);
+        var buffer = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        var payload = buffer.slice(headerLength, (int) payloadLength).order(ByteOrder.LITTLE_ENDIAN);
+        payloadWriter.accept(payload);
+        if (payload.hasRemaining()) {
+          throw new IllegalStateException("Snapshot payload left %d of %d bytes unwritten"
+              .formatted(payload.remaining(), payloadLength));
+        }
+        var checksum = new CRC32C();
+        checksum.update(payload.flip());
+
+        buffer.putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putInt(model.length).put(model)
+            .putInt(schemaVersion.length).put(schemaVersion)
+            .putInt(header.highWaterId())
+            .putLong(header.rowCount())
+            .putLong(payloadLength)
+            .putLong(checksum.getValue());
+        mapped.force();
+      }
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Maps {@code path} and checks its header and checksum; empty, with the reason logged, if the
+   * file is missing, damaged, from another format or model, or older than the current schema.
+   */
+  static Optional<Snapshot> open(Path path, String model, String schemaVersion) {
+    if (!Files.isRegularFile(path)) {
+      log.info("No {} snapshot at {}", model, path);
+      return Optional.empty();
+    }
+
+    // The mapping stays valid after the channel is closed
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return rejected(path, "file is too large to map");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+    } catch (IOException e) {
+      log.warn("Could not read the snapshot at {}: {}", path, e.getMessage());
+      return Optional.empty();
+    }
+
+    try {
+      if (buffer.getInt() != MAGIC) {
+        return rejected(path, "not a snapshot file");
+      }
+      var formatVersion = buffer.getInt();
+      if (formatVersion != FORMAT_VERSION) {
+        return rejected(path, "format version %d, expected %d".formatted(formatVersion, FORMAT_VERSION));
+      }
+      var fileModel = getString(buffer);
+      if (!fileModel.equals(model)) {
+        return rejected(path, "written by %s, expected %s".formatted(fileModel, model));
+      }
+      var fileSchemaVersion = getString(buffer);
+      if (!fileSchemaVersion.equals(schemaVersion)) {
+        return rejected(path, "schema version %s, expected %s".formatted(fileSchemaVersion, schemaVersion));
+      }
+      var header = new Header(fileModel, fileSchemaVersion, buffer.getInt(), buffer.getLong());
+      var payloadLength = buffer.getLong();
+      var expectedChecksum = buffer.getLong();
+      if (payloadLength != buffer.remaining()) {
+        return rejected(path, "payload is %d bytes, header says %d".formatted(buffer.remaining(), payloadLength));
+      }
+
+      var payload = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+      var checksum = new CRC32C();
+      checksum.update(payload.duplicate());
+      if (checksum.getValue() != expectedChecksum) {
+        return rejected(path, "checksum mismatch");
+      }
+      return Optional.of(new Snapshot(header, payload));
+    } catch (BufferUnderflowException e) {
+      return rejected(path, "truncated header");
+    }
+  }
+
+  /**
+   * The latest successfully applied migration; a snapshot from any other schema is not reused.
+   */
+  static String schemaVersion(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery(SELECT_SCHEMA_VERSION)) {
+      return resultSet.next() ? resultSet.getString(1) : "";
+    }
+  }
+
+  /**
+   * Whether the rows the snapshot covers are still exactly the ones in the database. Ids are
+   * never reused, so the counts differ precisely when covered rows were deleted, or when an
+   * insert had not reached the model yet as the snapshot was written.
+   */
+  static boolean matchesDatabase(Connection connection, Header header) throws SQLException {
+    long rows;
+    try (var statement = connection.prepareStatement(COUNT_ROWS_UP_TO)) {
+      statement.setInt(1, header.highWaterId());
+      try (var resultSet = statement.executeQuery()) {
+        resultSet.next();
+        rows = resultSet.getLong(1);
+      }
+    }
+    if (rows != header.rowCount()) {
+      log.warn("Ignoring the {} snapshot: it holds {} transactions up to id {}, the database has {}",
+          header.model(), header.rowCount(), header.highWaterId(), rows);
+      return false;
+    }
+    return true;
+  }
+
+  static void recordStartup(MeterRegistry meterRegistry, String model, boolean fromSnapshot, long nanos) {
+    Timer.builder("finance.read.model.startup")
+        .description("Time to make an in-memory read model ready at startup")
+        .tag("model", model)
+        .tag("source", fromSnapshot ? "snapshot" : "rebuild")
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  static void putInts(ByteBuffer buffer, int[] values, int length) {
+    buffer.asIntBuffer().put(values, 0, length);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+  }
+
+  static void putLongs(ByteBuffer buffer, long[] values, int length) {
+    buffer.asLongBuffer().put(values, 0, length);
+    buffer.position(buffer.position() + length * Long.BYTES);
+  }
+
+  static int[] getInts(ByteBuffer buffer, int length, int capacity) {
+    var values = new int[capacity];
+    buffer.asIntBuffer().get(values, 0, length);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+    return values;
+  }
+
+  static long[] getLongs(ByteBuffer buffer, int length, int capacity) {
+    var values = new long[capacity];
+    buffer.asLongBuffer().get(values, 0, length);
+    buffer.position(buffer.position() + length * Long.BYTES);
+    return values;
+  }
+
+  static void putString(ByteBuffer buffer, byte[] utf8) {
+    buffer.putInt(utf8.length).put(utf8);
+  }
+
+  static String getString(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    var utf8 = new byte[length];
+    buffer.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  private static Optional<Snapshot> rejected(Path path, String reason) {
+    log.warn("Ignoring the snapshot at {}: {}", path, reason);
+    return Optional.empty();
+  }
+}
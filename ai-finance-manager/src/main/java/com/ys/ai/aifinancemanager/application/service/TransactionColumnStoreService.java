@@ -0,0 +1,61 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of {@code TRANSACTIONS} held as primitive columns sorted by date, answering
+ * range reads without JDBC or entities. SQLite remains the system of record.
+ */
+public interface TransactionColumnStoreService {
+
+  /**
+   * True once the store is enabled and loaded; until then reads must go to the repository.
+   */
+  boolean isReady();
+
+  /**
+   * Replaces the columns with the current content of {@code TRANSACTIONS}. Inserts committed
+   * while loading are kept.
+   */
+  void load();
+
+  /**
+   * Adds newly inserted transactions once the surrounding database transaction commits, or right
+   * away when there is none. Does nothing while the store is disabled.
+   */
+  void recordTransactions(Collection<Transaction> transactions);
+
+  /**
+   * Number of transactions held.
+   */
+  int size();
+
+  /**
+   * Same content as the repository-backed query: categories in id order, transactions in date
+   * and then id order.
+   */
+  TransactionsByTypeResponse getTransactionsByTypeAndDateRange(CategoryType type, LocalDate dateFrom, LocalDate dateTo);
+
+  /**
+   * Same content and order as the repository-backed export, see
+   * {@link TransactionService#exportTransactions}.
+   */
+  TransactionExportResponse exportTransactions(LocalDate dateFrom, LocalDate dateTo);
+
+  /**
+   * The rows of {@link #exportTransactions} in the same order, read in bounded windows as the
+   * stream is consumed. The lock is held for one window at a time, so a slow consumer neither
+   * holds up inserts nor makes memory grow with the range; an insert committed meanwhile is
+   * included only if it sorts after the row the export has reached. Fails before the first row when
+   * the range holds a category the category cache does not know.
+   */
+  Stream<TransactionExportDetail> streamTransactionsForExport(LocalDate dateFrom, LocalDate dateTo);
+}
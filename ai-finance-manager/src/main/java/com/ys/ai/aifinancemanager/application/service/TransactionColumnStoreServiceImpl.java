@@ -0,0 +1,839 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse.CategoryTransactionSummary;
+import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
+import com.ys.ai.aifinancemanager.config.ColumnStoreProperties;
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Holds every transaction in parallel primitive arrays (id, epoch day, category id, cents and
+ * an offset into a table of distinct comments) sorted by day and then id, about 24 bytes per row.
+ *
+ * <p>A range read binary-searches its first and last day and scans the slice in between twice:
+ * once to count rows per category so every list is allocated at its final size, once to build
+ * the DTOs. Categories come from {@link CategoryCacheService}, so a rename is visible at once.</p>
+ *
+ * <p>Inserts arrive after their commit and are placed at their sorted position, which is an
+ * append for the usual current-day row. A load runs without blocking readers or writers; inserts
+ * committed meanwhile are replayed onto the fresh columns, skipping rows the load already saw.</p>
+ *
+ * <p>With {@link SnapshotProperties#enabled() snapshots} on, the columns are written to a file
+ * after every load and on shutdown; startup then maps that file and reads only the rows added
+ * after it instead of the whole table.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionColumnStoreServiceImpl implements TransactionColumnStoreService {
+
+  private static final String SELECT_TRANSACTIONS = """
+      SELECT ID_TRANSACTION, TRANSACTION_DAY, ID_CATEGORY, AMOUNT_CENTS, COMMENT
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL
+      ORDER BY TRANSACTION_DAY, ID_TRANSACTION""";
+
+  private static final String SELECT_TRANSACTIONS_AFTER = """
+      SELECT ID_TRANSACTION, TRANSACTION_DAY, ID_CATEGORY, AMOUNT_CENTS, COMMENT
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL AND ID_TRANSACTION > ?
+      ORDER BY TRANSACTION_DAY, ID_TRANSACTION""";
+
+  private static final int LOAD_FETCH_SIZE = 10_000;
+
+  /** Rows scanned per lock hold by a streamed export. */
+  private static final int EXPORT_WINDOW = 4_096;
+
+  private static final List<CategoryType> EXPORT_TYPE_ORDER = List.of(CategoryType.INCOMES, CategoryType.EXPENSES);
+
+  private static final String MODEL = "column-store";
+
+  private final DataSource dataSource;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final CategoryMapper categoryMapper;
+
+  private final ColumnStoreProperties columnStoreProperties;
+
+  private final SnapshotProperties snapshotProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Guarded by {@link #lock}. */
+  private TransactionColumns columns = new TransactionColumns(0);
+
+  /** Inserts committed while a load is running; guarded by {@link #lock}. */
+  private List<TransactionRow> committedDuringLoad;
+
+  private volatile boolean loaded;
+
+  @Override
+  public boolean isReady() {
+    return loaded && columnStoreProperties.enabled();
+  }
+
+  @Override
+  public synchronized void load() {
+    log.info("Loading transactions into the column store");
+    var started = System.nanoTime();
+
+    startCollectingCommits();
+
+    TransactionColumns fresh;
+    try {
+      fresh = readTransactions();
+    } catch (SQLException e) {
+      discardCommittedDuringLoad();
+      throw new DataAccessResourceFailureException("Failed to load the transaction column store", e);
+    } catch (RuntimeException e) {
+      discardCommittedDuringLoad();
+      throw e;
+    }
+
+    var replayed = install(fresh);
+
+    log.info("Column store loaded {} transactions ({} committed during the load) in {} ms",
+        fresh.size, replayed, (System.nanoTime() - started) / 1_000_000);
+    saveSnapshot();
+  }
+
+  @Override
+  public void recordTransactions(Collection<Transaction> transactions) {
+    if (!columnStoreProperties.enabled() || transactions.isEmpty()) {
+      return;
+    }
+
+    // Copy the values now: the entities may be detached or reused by the time the commit returns
+    var rows = transactions.stream()
+        .filter(transaction -> transaction.getCategory() != null)
+        .map(TransactionRow::of)
+        .toList();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          insert(rows);
+        }
+      });
+    } else {
+      insert(rows);
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return columns.size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public TransactionsByTypeResponse getTransactionsByTypeAndDateRange(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo) {
+    var categories = CategoryColumns.of(categoryCacheService.findAll(), categoryMapper);
+    var counts = new int[categories.length()];
+    var totals = new long[categories.length()];
+    List<TransactionDto>[] transactionsByCategory;
+    long totalCents = 0;
+    int matched = 0;
+
+    lock.readLock().lock();
+    try {
+      var c = columns;
+      var from = c.firstIndexOnOrAfter(dateFrom.toEpochDay());
+      var to = c.firstIndexAfter(dateTo.toEpochDay());
+
+      for (int i = from; i < to; i++) {
+        var categoryId = c.categoryIds[i];
+        if (categories.hasType(categoryId, type)) {
+          counts[categoryId]++;
+          totals[categoryId] += c.amountCents[i];
+        }
+      }
+
+      transactionsByCategory = newListArray(categories.length());
+      for (int categoryId = 0; categoryId < counts.length; categoryId++) {
+        if (counts[categoryId] > 0) {
+          transactionsByCategory[categoryId] = new ArrayList<>(counts[categoryId]);
+          totalCents += totals[categoryId];
+          matched += counts[categoryId];
+        }
+      }
+
+      for (int i = from; i < to; i++) {
+        var categoryId = c.categoryIds[i];
+        if (categories.hasType(categoryId, type)) {
+          transactionsByCategory[categoryId].add(TransactionDto.builder()
+              .idTransaction(c.ids[i])
+              .amount(AmountCentsConverter.fromCents(c.amountCents[i]))
+              .transactionDate(LocalDate.ofEpochDay(c.days[i]))
+              .category(categories.dtos[categoryId])
+              .comment(c.comment(i))
+              .build());
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    var categorySummaries = new ArrayList<CategoryTransactionSummary>();
+    for (int categoryId = 0; categoryId < counts.length; categoryId++) {
+      if (counts[categoryId] > 0) {
+        categorySummaries.add(CategoryTransactionSummary.builder()
+            .category(categories.dtos[categoryId])
+            .transactions(transactionsByCategory[categoryId])
+            .categoryTotal(AmountCentsConverter.fromCents(totals[categoryId]))
+            .build());
+      }
+    }
+
+    log.debug("Column store matched {} transactions of type {} in {} categories",
+        matched, type, categorySummaries.size());
+
+    return TransactionsByTypeResponse.builder()
+        .categorySummaries(categorySummaries)
+        // An empty range sums to a plain zero, exactly like the BigDecimal reduction
+        .totalAmount(matched > 0 ? AmountCentsConverter.fromCents(totalCents) : BigDecimal.ZERO)
+        .build();
+  }
+
+  @Override
+  public TransactionExportResponse exportTransactions(LocalDate dateFrom, LocalDate dateTo) {
+    try (var transactionDetails = streamTransactionsForExport(dateFrom, dateTo)) {
+      return TransactionExportResponse.builder()
+          .transactions(transactionDetails.toList())
+          .build();
+    }
+  }
+
+  @Override
+  public Stream<TransactionExportDetail> streamTransactionsForExport(LocalDate dateFrom, LocalDate dateTo) {
+    var categories = CategoryColumns.of(categoryCacheService.findAll(), categoryMapper);
+    var fromDay = Math.toIntExact(dateFrom.toEpochDay());
+    var toDay = Math.toIntExact(dateTo.toEpochDay());
+
+    // One pass for the categories present, so an unknown one fails the export before its first row
+    var present = new BitSet();
+    lock.readLock().lock();
+    try {
+      var c = columns;
+      var to = c.firstIndexAfter(toDay);
+      for (int i = c.firstIndexOnOrAfter(fromDay); i < to; i++) {
+        present.set(c.categoryIds[i]);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    for (int categoryId = present.nextSetBit(0); categoryId >= 0; categoryId = present.nextSetBit(categoryId + 1)) {
+      if (!categories.isKnown(categoryId)) {
+        throw new IllegalStateException(
+            "Transactions reference category %d, which does not exist".formatted(categoryId));
+      }
+    }
+
+    var exportOrder = new ArrayList<Integer>(present.cardinality());
+    for (var type : EXPORT_TYPE_ORDER) {
+      present.stream()
+          .filter(categoryId -> categories.hasType(categoryId, type))
+          .forEach(exportOrder::add);
+    }
+
+    var windows = new ExportWindows(categories, exportOrder, fromDay, toDay);
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(windows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void loadOnStartup() {
+    if (!columnStoreProperties.enabled()) {
+      return;
+    }
+    var started = System.nanoTime();
+    var restored = snapshotProperties.enabled() && restoreSnapshot();
+    if (!restored) {
+      load();
+    }
+    SnapshotFile.recordStartup(meterRegistry, MODEL, restored, System.nanoTime() - started);
+  }
+
+  @PreDestroy
+  public synchronized void saveSnapshotOnShutdown() {
+    if (isReady()) {
+      saveSnapshot();
+    }
+  }
+
+  /**
+   * Starts from the snapshot plus the rows added after it; false if there is no usable snapshot
+   * and a full load is needed.
+   */
+  private boolean restoreSnapshot() {
+    var started = System.nanoTime();
+    startCollectingCommits();
+
+    TransactionColumns fresh;
+    int highWaterId;
+    int newer;
+    try (var connection = dataSource.getConnection()) {
+      var autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        var snapshot = SnapshotFile.open(snapshotPath(), MODEL, SnapshotFile.schemaVersion(connection));
+        if (snapshot.isEmpty() || !SnapshotFile.matchesDatabase(connection, snapshot.get().header())) {
+          connection.commit();
+          discardCommittedDuringLoad();
+          return false;
+        }
+        fresh = TransactionColumns.readSnapshot(snapshot.get().payload());
+        highWaterId = snapshot.get().header().highWaterId();
+        newer = readTransactionsAfter(connection, highWaterId, fresh);
+        connection.commit();
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException | RuntimeException e) {
+      discardCommittedDuringLoad();
+      log.warn("Could not restore the column store from its snapshot; loading it from the database", e);
+      return false;
+    }
+
+    var replayed = install(fresh);
+
+    log.info("Column store restored {} transactions from its snapshot, {} added after id {} "
+            + "({} committed during the restore) in {} ms",
+        fresh.size - newer, newer, highWaterId, replayed, (System.nanoTime() - started) / 1_000_000);
+    return true;
+  }
+
+  private void saveSnapshot() {
+    if (!snapshotProperties.enabled()) {
+      return;
+    }
+    var started = System.nanoTime();
+
+    // Copy under the lock so the file is written without holding up inserts
+    TransactionColumns copy;
+    lock.readLock().lock();
+    try {
+      copy = columns.copy();
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    var path = snapshotPath();
+    try (var connection = dataSource.getConnection()) {
+      var header = new SnapshotFile.Header(MODEL, SnapshotFile.schemaVersion(connection), copy.highWaterId(), copy.size);
+      var comments = copy.encodedComments();
+      SnapshotFile.write(path, header, copy.snapshotLength(comments), payload -> copy.writeSnapshot(payload, comments));
+    } catch (IOException | SQLException e) {
+      log.warn("Could not write the column store snapshot to {}", path, e);
+      return;
+    }
+    log.info("Column store snapshot of {} transactions written to {} in {} ms",
+        copy.size, path, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private Path snapshotPath() {
+    return snapshotProperties.directory().resolve(MODEL + ".snapshot");
+  }
+
+  private void startCollectingCommits() {
+    lock.writeLock().lock();
+    try {
+      committedDuringLoad = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Swaps in freshly built columns after replaying the inserts committed while they were built.
+   */
+  private int install(TransactionColumns fresh) {
+    int replayed;
+    lock.writeLock().lock();
+    try {
+      replayed = committedDuringLoad.size();
+      committedDuringLoad.forEach(fresh::insert);
+      committedDuringLoad = null;
+      columns = fresh;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    loaded = true;
+    return replayed;
+  }
+
+  private void insert(List<TransactionRow> rows) {
+    lock.writeLock().lock();
+    try {
+      rows.forEach(columns::insert);
+      if (committedDuringLoad != null) {
+        committedDuringLoad.addAll(rows);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void discardCommittedDuringLoad() {
+    lock.writeLock().lock();
+    try {
+      committedDuringLoad = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private TransactionColumns readTransactions() throws SQLException {
+    try (var connection = dataSource.getConnection();
+         var statement = connection.prepareStatement(SELECT_TRANSACTIONS)) {
+      statement.setFetchSize(LOAD_FETCH_SIZE);
+      var fresh = new TransactionColumns(LOAD_FETCH_SIZE);
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          fresh.append(resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3), resultSet.getLong(4),
+              resultSet.getString(5));
+        }
+      }
+      return fresh;
+    }
+  }
+
+  private static int readTransactionsAfter(Connection connection, int highWaterId, TransactionColumns columns)
+      throws SQLException {
+    try (var statement = connection.prepareStatement(SELECT_TRANSACTIONS_AFTER)) {
+      statement.setInt(1, highWaterId);
+      statement.setFetchSize(LOAD_FETCH_SIZE);
+      int newer = 0;
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          columns.insert(new TransactionRow(resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3),
+              resultSet.getLong(4), resultSet.getString(5)));
+          newer++;
+        }
+      }
+      return newer;
+    }
+  }
+
+  private static TransactionExportDetail toExportDetail(
+      int id,
+      int day,
+      long cents,
+      String categoryDescription,
+      CategoryType type,
+      String comment) {
+    return TransactionExportDetail.builder()
+        .idTransaction(id)
+        .transactionDate(LocalDate.ofEpochDay(day).toString())
+        .amount(AmountCentsConverter.fromCents(cents))
+        .categoryDescription(categoryDescription)
+        .categoryType(type.toString())
+        .comment(comment != null ? comment : "")
+        .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<TransactionDto>[] newListArray(int length) {
+    return (List<TransactionDto>[]) new List<?>[length];
+  }
+
+  private record TransactionRow(int id, int day, int categoryId, long amountCents, String comment) {
+
+    static TransactionRow of(Transaction transaction) {
+      return new TransactionRow(
+          transaction.getIdTransaction(),
+          Math.toIntExact(transaction.getTransactionDate().toEpochDay()),
+          transaction.getCategory().getIdCategory(),
+          AmountCentsConverter.toCents(transaction.getAmount()),
+          transaction.getComment());
+    }
+  }
+
+  /**
+   * Walks the export one category at a time, each a pass over the range in windows of
+   * {@link #EXPORT_WINDOW} rows. Every window takes the lock afresh and continues after the
+   * (day, id) of the last row it scanned, so inserts shifting the columns in between cannot make
+   * it skip or repeat a row.
+   */
+  private final class ExportWindows implements Iterator<TransactionExportDetail> {
+
+    private final CategoryColumns categories;
+
+    private final Iterator<Integer> exportOrder;
+
+    private final int fromDay;
+
+    private final int toDay;
+
+    private final List<TransactionExportDetail> window = new ArrayList<>();
+
+    private int next;
+
+    private int categoryId = -1;
+
+    private int lastDay;
+
+    private int lastId;
+
+    ExportWindows(CategoryColumns categories, List<Integer> exportOrder, int fromDay, int toDay) {
+      this.categories = categories;
+      this.exportOrder = exportOrder.iterator();
+      this.fromDay = fromDay;
+      this.toDay = toDay;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == window.size()) {
+        if (categoryId < 0) {
+          if (!exportOrder.hasNext()) {
+            return false;
+          }
+          categoryId = exportOrder.next();
+          lastDay = fromDay;
+          lastId = Integer.MIN_VALUE;
+        }
+        readWindow();
+      }
+      return true;
+    }
+
+    @Override
+    public TransactionExportDetail next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return window.get(next++);
+    }
+
+    private void readWindow() {
+      window.clear();
+      next = 0;
+      var type = categories.types[categoryId];
+      var description = categories.descriptions[categoryId];
+
+      lock.readLock().lock();
+      try {
+        var c = columns;
+        var from = c.firstIndexAfter(lastDay, lastId);
+        var end = c.firstIndexAfter(toDay);
+        var to = Math.min(end, from + EXPORT_WINDOW);
+        for (int i = from; i < to; i++) {
+          if (c.categoryIds[i] == categoryId) {
+            window.add(toExportDetail(c.ids[i], c.days[i], c.amountCents[i], description, type, c.comment(i)));
+          }
+        }
+        if (to > from) {
+          lastDay = c.days[to - 1];
+          lastId = c.ids[to - 1];
+        }
+        if (to == end) {
+          categoryId = -1;
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * The category attributes a scan needs, indexed by category id.
+   */
+  private record CategoryColumns(CategoryType[] types, String[] descriptions, CategoryDto[] dtos) {
+
+    static CategoryColumns of(List<Category> categories, CategoryMapper categoryMapper) {
+      var length = categories.stream().mapToInt(Category::getIdCategory).max().orElse(-1) + 1;
+      var types = new CategoryType[length];
+      var descriptions = new String[length];
+      var dtos = new CategoryDto[length];
+      for (var category : categories) {
+        types[category.getIdCategory()] = category.getType();
+        descriptions[category.getIdCategory()] = category.getDescription();
+        dtos[category.getIdCategory()] = categoryMapper.toDto(category);
+      }
+      return new CategoryColumns(types, descriptions, dtos);
+    }
+
+    int length() {
+      return types.length;
+    }
+
+    boolean isKnown(int categoryId) {
+      return categoryId >= 0 && categoryId < types.length && types[categoryId] != null;
+    }
+
+    boolean hasType(int categoryId, CategoryType type) {
+      return categoryId >= 0 && categoryId < types.length && types[categoryId] == type;
+    }
+  }
+
+  /**
+   * The columns themselves. Not thread-safe; the enclosing service guards every access.
+   */
+  private static final class TransactionColumns {
+
+    private static final int NO_COMMENT = -1;
+
+    private int size;
+
+    private int[] ids;
+
+    private int[] days;
+
+    private int[] categoryIds;
+
+    private long[] amountCents;
+
+    private int[] commentOffsets;
+
+    private final List<String> comments = new ArrayList<>();
+
+    private final Map<String, Integer> commentOffsetsByText = new HashMap<>();
+
+    TransactionColumns(int capacity) {
+      ids = new int[capacity];
+      days = new int[capacity];
+      categoryIds = new int[capacity];
+      amountCents = new long[capacity];
+      commentOffsets = new int[capacity];
+    }
+
+    /**
+     * Adds a row known to sort after every row present, as during a load.
+     */
+    void append(int id, int day, int categoryId, long cents, String comment) {
+      ensureCapacity(size + 1);
+      set(size++, id, day, categoryId, cents, comment);
+    }
+
+    /**
+     * Adds a row at its (day, id) position unless that id is already there.
+     */
+    void insert(TransactionRow row) {
+      var position = firstIndexAfter(row.day());
+      while (position > 0 && days[position - 1] == row.day() && ids[position - 1] > row.id()) {
+        position--;
+      }
+      if (position > 0 && days[position - 1] == row.day() && ids[position - 1] == row.id()) {
+        return;
+      }
+
+      ensureCapacity(size + 1);
+      var tail = size - position;
+      if (tail > 0) {
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        System.arraycopy(days, position, days, position + 1, tail);
+        System.arraycopy(categoryIds, position, categoryIds, position + 1, tail);
+        System.arraycopy(amountCents, position, amountCents, position + 1, tail);
+        System.arraycopy(commentOffsets, position, commentOffsets, position + 1, tail);
+      }
+      set(position, row.id(), row.day(), row.categoryId(), row.amountCents(), row.comment());
+      size++;
+    }
+
+    int highWaterId() {
+      int highWaterId = 0;
+      for (int i = 0; i < size; i++) {
+        highWaterId = Math.max(highWaterId, ids[i]);
+      }
+      return highWaterId;
+    }
+
+    TransactionColumns copy() {
+      var copy = new TransactionColumns(0);
+      copy.size = size;
+      copy.ids = Arrays.copyOf(ids, size);
+      copy.days = Arrays.copyOf(days, size);
+      copy.categoryIds = Arrays.copyOf(categoryIds, size);
+      copy.amountCents = Arrays.copyOf(amountCents, size);
+      copy.commentOffsets = Arrays.copyOf(commentOffsets, size);
+      copy.comments.addAll(comments);
+      copy.commentOffsetsByText.putAll(commentOffsetsByText);
+      return copy;
+    }
+
+    byte[][] encodedComments() {
+      return comments.stream()
+          .map(comment -> comment.getBytes(StandardCharsets.UTF_8))
+          .toArray(byte[][]::new);
+    }
+
+    long snapshotLength(byte[][] encodedComments) {
+      long length = Integer.BYTES + (long) size * (4 * Integer.BYTES + Long.BYTES) + Integer.BYTES;
+      for (var comment : encodedComments) {
+        length += Integer.BYTES + comment.length;
+      }
+      return length;
+    }
+
+    /**
+     * Row count, the five columns one after another, then the distinct comments in offset order.
+     */
+    void writeSnapshot(ByteBuffer payload, byte[][] encodedComments) {
+      payload.putInt(size);
+      SnapshotFile.putInts(payload, ids, size);
+      SnapshotFile.putInts(payload, days, size);
+      SnapshotFile.putInts(payload, categoryIds, size);
+      SnapshotFile.putLongs(payload, amountCents, size);
+      SnapshotFile.putInts(payload, commentOffsets, size);
+      payload.putInt(encodedComments.length);
+      for (var comment : encodedComments) {
+        SnapshotFile.putString(payload, comment);
+      }
+    }
+
+    static TransactionColumns readSnapshot(ByteBuffer payload) {
+      var size = payload.getInt();
+      if (size < 0 || (long) size * (4 * Integer.BYTES + Long.BYTES) > payload.remaining()) {
+        throw new IllegalStateException("Row count %d does not fit the column store snapshot".formatted(size));
+      }
+      // Leave room for the rows added after the snapshot without an immediate copy
+      var capacity = size + (size >> 3) + 16;
+      var columns = new TransactionColumns(0);
+      columns.ids = SnapshotFile.getInts(payload, size, capacity);
+      columns.days = SnapshotFile.getInts(payload, size, capacity);
+      columns.categoryIds = SnapshotFile.getInts(payload, size, capacity);
+      columns.amountCents = SnapshotFile.getLongs(payload, size, capacity);
+      columns.commentOffsets = SnapshotFile.getInts(payload, size, capacity);
+      columns.size = size;
+
+      var commentCount = payload.getInt();
+      for (int offset = 0; offset < commentCount; offset++) {
+        var comment = SnapshotFile.getString(payload);
+        columns.comments.add(comment);
+        columns.commentOffsetsByText.put(comment, offset);
+      }
+      if (payload.hasRemaining()) {
+        throw new IllegalStateException("Unexpected trailing bytes in the column store snapshot");
+      }
+      return columns;
+    }
+
+    String comment(int index) {
+      var offset = commentOffsets[index];
+      return offset == NO_COMMENT ? null : comments.get(offset);
+    }
+
+    int firstIndexOnOrAfter(long day) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (days[mid] < day) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * First index sorting after the row (day, id), whether or not that row is present.
+     */
+    int firstIndexAfter(int day, int id) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (days[mid] < day || days[mid] == day && ids[mid] <= id) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    int firstIndexAfter(long day) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (days[mid] <= day) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private void set(int index, int id, int day, int categoryId, long cents, String comment) {
+      ids[index] = id;
+      days[index] = day;
+      categoryIds[index] = categoryId;
+      amountCents[index] = cents;
+      commentOffsets[index] = comment == null ? NO_COMMENT : commentOffsetsByText.computeIfAbsent(comment, text -> {
+        comments.add(text);
+        return comments.size() - 1;
+      });
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= ids.length) {
+        return;
+      }
+      var grown = Math.max(capacity, ids.length + (ids.length >> 1) + 16);
+      ids = Arrays.copyOf(ids, grown);
+      days = Arrays.copyOf(days, grown);
+      categoryIds = Arrays.copyOf(categoryIds, grown);
+      amountCents = Arrays.copyOf(amountCents, grown);
+      commentOffsets = Arrays.copyOf(commentOffsets, grown);
+    }
+  }
+}
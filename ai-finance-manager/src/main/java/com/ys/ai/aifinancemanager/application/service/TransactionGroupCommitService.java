@@ -0,0 +1,27 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Opt-in write path that funnels concurrent single-transaction inserts through one writer
+ * thread, committing each drained batch in a single SQLite transaction.
+ */
+public interface TransactionGroupCommitService {
+
+  boolean isEnabled();
+
+  /**
+   * Queues the request for the next group commit. The future completes once the shared commit
+   * has returned, or exceptionally if the request is invalid or the commit fails.
+   */
+  CompletableFuture<TransactionDto> submit(CreateTransactionRequest request);
+
+  /**
+   * Blocking variant of {@link #submit}; rethrows the failure the caller would have seen from
+   * {@link TransactionService#addTransaction}.
+   */
+  TransactionDto addTransaction(CreateTransactionRequest request);
+}
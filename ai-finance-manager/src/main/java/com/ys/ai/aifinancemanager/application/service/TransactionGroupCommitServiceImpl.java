@@ -0,0 +1,311 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.application.validation.ValidationUtils;
+import com.ys.ai.aifinancemanager.config.GroupCommitProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer thread that drains queued inserts and commits them together.
+ *
+ * <p>SQLite serialises writers and fsyncs on every commit, so under concurrent load one commit
+ * per request turns into lock waits. Here the first queued request opens a batch, the writer
+ * lingers up to {@code maxLinger} for more (up to {@code maxBatchSize}), and the whole batch
+ * is inserted in one database transaction. Futures complete only after that commit returns.
+ * Invalid rows fail on their own; a commit that still fails after the busy retries fails every
+ * request in the batch.</p>
+ */
+@Slf4j
+@Service
+public class TransactionGroupCommitServiceImpl implements TransactionGroupCommitService, SmartLifecycle {
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final TransactionRepository transactionRepository;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final CategoryRollupService categoryRollupService;
+
+  private final TransactionColumnStoreService transactionColumnStoreService;
+
+  private final CategoryTotalsIndexService categoryTotalsIndexService;
+
+  private final TransactionResponseCacheService transactionResponseCacheService;
+
+  private final DataVersionService dataVersionService;
+
+  private final TransactionMapper transactionMapper;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final WriteRetryService writeRetryService;
+
+  private final GroupCommitProperties groupCommitProperties;
+
+  private final DistributionSummary batchSize;
+
+  private final Timer commitLatency;
+
+  private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+  private volatile boolean running;
+
+  private Thread writer;
+
+  public TransactionGroupCommitServiceImpl(
+      TransactionRepository transactionRepository,
+      CategoryCacheService categoryCacheService,
+      CategoryRollupService categoryRollupService,
+      TransactionColumnStoreService transactionColumnStoreService,
+      CategoryTotalsIndexService categoryTotalsIndexService,
+      TransactionResponseCacheService transactionResponseCacheService,
+      DataVersionService dataVersionService,
+      TransactionMapper transactionMapper,
+      TransactionTemplate transactionTemplate,
+      WriteRetryService writeRetryService,
+      GroupCommitProperties groupCommitProperties,
+      MeterRegistry meterRegistry) {
+    this.transactionRepository = transactionRepository;
+    this.categoryCacheService = categoryCacheService;
+    this.categoryRollupService = categoryRollupService;
+    this.transactionColumnStoreService = transactionColumnStoreService;
+    this.categoryTotalsIndexService = categoryTotalsIndexService;
+    this.transactionResponseCacheService = transactionResponseCacheService;
+    this.dataVersionService = dataVersionService;
+    this.transactionMapper = transactionMapper;
+    this.transactionTemplate = transactionTemplate;
+    this.writeRetryService = writeRetryService;
+    this.groupCommitProperties = groupCommitProperties;
+    this.batchSize = DistributionSummary.builder("finance.group.commit.batch.size")
+        .description("Rows inserted together in one database transaction")
+        .register(meterRegistry);
+    this.commitLatency = Timer.builder("finance.group.commit.latency")
+        .description("Time to insert and commit one group of requests")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return groupCommitProperties.enabled();
+  }
+
+  @Override
+  public CompletableFuture<TransactionDto> submit(CreateTransactionRequest request) {
+    if (!running) {
+      return CompletableFuture.failedFuture(new IllegalStateException("Group commit writer is not running"));
+    }
+
+    var pending = new PendingWrite(request, new CompletableFuture<>());
+    queue.add(pending);
+    return pending.result();
+  }
+
+  @Override
+  public TransactionDto addTransaction(CreateTransactionRequest request) {
+    try {
+      return submit(request).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!isEnabled() || running) {
+      return;
+    }
+
+    log.info("Starting group commit writer: maxBatchSize={}, maxLinger={}",
+        groupCommitProperties.maxBatchSize(), groupCommitProperties.maxLinger());
+    running = true;
+    writer = Thread.ofPlatform().name("transaction-group-commit").daemon().start(this::drainQueue);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+
+    // Stop accepting work, then let the writer commit whatever is already queued
+    running = false;
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    log.info("Group commit writer stopped");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Lower than the web server's phase, so the writer starts before and stops after it and never
+   * drops requests accepted during shutdown.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 2048;
+  }
+
+  private void drainQueue() {
+    var batch = new ArrayList<PendingWrite>(groupCommitProperties.maxBatchSize());
+
+    while (running || !queue.isEmpty()) {
+      try {
+        var first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        fillBatch(batch);
+        commit(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (RuntimeException e) {
+        // Never let one bad batch kill the writer thread
+        log.error("Group commit writer failed to process a batch", e);
+        batch.forEach(pending -> pending.result().completeExceptionally(e));
+      } finally {
+        batch.clear();
+      }
+    }
+
+    // Anything that slipped in after the loop ended can no longer be written
+    queue.forEach(pending -> pending.result().completeExceptionally(
+        new IllegalStateException("Group commit writer is not running")));
+    queue.clear();
+  }
+
+  private void fillBatch(List<PendingWrite> batch) throws InterruptedException {
+    var maxBatchSize = groupCommitProperties.maxBatchSize();
+    queue.drainTo(batch, maxBatchSize - batch.size());
+
+    var deadline = System.nanoTime() + groupCommitProperties.maxLinger().toNanos();
+    while (batch.size() < maxBatchSize) {
+      var remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+
+      var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+      queue.drainTo(batch, maxBatchSize - batch.size());
+    }
+  }
+
+  private void commit(List<PendingWrite> batch) {
+    var started = System.nanoTime();
+
+    var accepted = new ArrayList<PendingWrite>(batch.size());
+    for (var pending : batch) {
+      try {
+        ValidationUtils.validateCreateTransactionRequest(pending.request());
+        accepted.add(pending);
+      } catch (NullPointerException | IllegalArgumentException e) {
+        pending.result().completeExceptionally(e);
+      }
+    }
+
+    if (accepted.isEmpty()) {
+      return;
+    }
+
+    List<CompletedWrite> written;
+    try {
+      written = writeRetryService.execute("group-commit",
+          () -> transactionTemplate.execute(status -> insert(accepted)));
+    } catch (RuntimeException e) {
+      // Rolled back, so the attempt inserted nothing
+      recordCommit(0, started);
+      log.warn("Group commit of {} transactions failed: {}", accepted.size(), e.getMessage());
+      accepted.forEach(pending -> pending.result().completeExceptionally(e));
+      return;
+    }
+
+    recordCommit(written.size(), started);
+    // The commit has returned: only now may callers observe their rows as written
+    written.forEach(write -> write.pending().result().complete(write.transaction()));
+  }
+
+  private void recordCommit(int insertedRows, long startedNanos) {
+    batchSize.record(insertedRows);
+    commitLatency.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private List<CompletedWrite> insert(List<PendingWrite> accepted) {
+    var writes = new ArrayList<PendingWrite>(accepted.size());
+    var transactions = new ArrayList<Transaction>(accepted.size());
+    for (var pending : accepted) {
+      var request = pending.request();
+      var category = categoryCacheService.findById(request.getCategoryId()).orElse(null);
+      if (category == null) {
+        // Not part of the commit, so the caller can be told right away
+        pending.result().completeExceptionally(
+            new IllegalArgumentException("Category not found with id: " + request.getCategoryId()));
+        continue;
+      }
+
+      writes.add(pending);
+      transactions.add(Transaction.builder()
+          .amount(request.getAmount())
+          .transactionDate(request.getTransactionDate())
+          .category(category)
+          .comment(request.getComment())
+          .build());
+    }
+
+    if (transactions.isEmpty()) {
+      return List.of();
+    }
+
+    var savedTransactions = transactionRepository.saveAll(transactions);
+    categoryRollupService.recordTransactions(savedTransactions);
+    transactionColumnStoreService.recordTransactions(savedTransactions);
+    categoryTotalsIndexService.recordTransactions(savedTransactions);
+    transactionResponseCacheService.recordTransactions(savedTransactions);
+    dataVersionService.recordWrite();
+
+    var completed = new ArrayList<CompletedWrite>(writes.size());
+    for (int i = 0; i < writes.size(); i++) {
+      completed.add(new CompletedWrite(writes.get(i), transactionMapper.toDto(savedTransactions.get(i))));
+    }
+    return completed;
+  }
+
+  private record PendingWrite(CreateTransactionRequest request, CompletableFuture<TransactionDto> result) {
+  }
+
+  private record CompletedWrite(PendingWrite pending, TransactionDto transaction) {
+  }
+}
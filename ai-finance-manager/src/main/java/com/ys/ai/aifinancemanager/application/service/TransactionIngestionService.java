@@ -0,0 +1,22 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse;
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+
+import java.util.Iterator;
+
+/**
+ * Bulk insert path for large imports such as the nightly bank feed.
+ */
+public interface TransactionIngestionService {
+
+  /**
+   * Inserts the rows in chunks, each committed in its own database transaction. Invalid rows are
+   * rejected individually; a chunk that fails in the database is reported as failed without
+   * affecting the chunks before or after it.
+   *
+   * <p>The iterator is read lazily, one chunk at a time, so the input can be streamed. If it
+   * throws, the rows read so far are processed and the error is reported in the response.</p>
+   */
+  BatchTransactionResponse addTransactions(Iterator<CreateTransactionRequest> requests);
+}
@@ -0,0 +1,190 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowResult;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowStatus;
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.validation.ValidationUtils;
+import com.ys.ai.aifinancemanager.config.IngestionProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionIngestionServiceImpl implements TransactionIngestionService {
+
+  private final TransactionRepository transactionRepository;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final CategoryRollupService categoryRollupService;
+
+  private final TransactionColumnStoreService transactionColumnStoreService;
+
+  private final CategoryTotalsIndexService categoryTotalsIndexService;
+
+  private final TransactionResponseCacheService transactionResponseCacheService;
+
+  private final DataVersionService dataVersionService;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final WriteRetryService writeRetryService;
+
+  private final EntityManager entityManager;
+
+  private final IngestionProperties ingestionProperties;
+
+  @Override
+  public BatchTransactionResponse addTransactions(Iterator<CreateTransactionRequest> requests) {
+    Objects.requireNonNull(requests, "Transaction requests cannot be null");
+
+    log.info("Ingesting transaction batch in chunks of {}", ingestionProperties.chunkSize());
+
+    var results = new ArrayList<RowResult>();
+    var chunk = new ArrayList<CreateTransactionRequest>(ingestionProperties.chunkSize());
+    String inputError = null;
+
+    while (true) {
+      try {
+        if (!requests.hasNext()) {
+          break;
+        }
+        chunk.add(requests.next());
+      } catch (RuntimeException e) {
+        // Malformed input: keep what was read so far and report where the input stopped
+        inputError = "Input could not be read after row " + (results.size() + chunk.size()) + ": " + e.getMessage();
+        log.warn("Stopped reading transaction batch: {}", inputError);
+        break;
+      }
+
+      if (chunk.size() == ingestionProperties.chunkSize()) {
+        results.addAll(ingestChunk(results.size(), chunk));
+        chunk.clear();
+      }
+    }
+
+    if (!chunk.isEmpty()) {
+      results.addAll(ingestChunk(results.size(), chunk));
+    }
+
+    var response = BatchTransactionResponse.builder()
+        .received(results.size())
+        .created(countByStatus(results, RowStatus.CREATED))
+        .rejected(countByStatus(results, RowStatus.REJECTED))
+        .failed(countByStatus(results, RowStatus.FAILED))
+        .error(inputError)
+        .results(results)
+        .build();
+
+    log.info("Transaction batch ingested: received={}, created={}, rejected={}, failed={}",
+        response.getReceived(), response.getCreated(), response.getRejected(), response.getFailed());
+
+    return response;
+  }
+
+  private List<RowResult> ingestChunk(int firstIndex, List<CreateTransactionRequest> chunk) {
+    var results = new RowResult[chunk.size()];
+    var valid = new ArrayList<Integer>(chunk.size());
+
+    for (int i = 0; i < chunk.size(); i++) {
+      try {
+        ValidationUtils.validateCreateTransactionRequest(chunk.get(i));
+        valid.add(i);
+      } catch (NullPointerException | IllegalArgumentException e) {
+        results[i] = rowResult(firstIndex + i, RowStatus.REJECTED, null, e.getMessage());
+      }
+    }
+
+    if (!valid.isEmpty()) {
+      try {
+        writeRetryService.run("add-transactions", () -> transactionTemplate.executeWithoutResult(
+            status -> insertValidRows(firstIndex, chunk, valid, results)));
+      } catch (RuntimeException e) {
+        // Not only DataAccessException: a failed commit surfaces as a TransactionException, and
+        // the rows marked CREATED inside the callback were then rolled back
+        log.warn("Transaction batch chunk starting at row {} failed: {}", firstIndex, e.getMessage());
+        entityManager.clear();
+        for (int i : valid) {
+          if (results[i] != null && results[i].getStatus() == RowStatus.REJECTED) {
+            continue;
+          }
+          results[i] = rowResult(firstIndex + i, RowStatus.FAILED, null,
+              NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+      }
+    }
+
+    return List.of(results);
+  }
+
+  private void insertValidRows(int firstIndex, List<CreateTransactionRequest> chunk, List<Integer> valid,
+                               RowResult[] results) {
+    var transactions = new ArrayList<Transaction>(valid.size());
+    var transactionRows = new ArrayList<Integer>(valid.size());
+    for (int i : valid) {
+      var request = chunk.get(i);
+      var category = categoryCacheService.findById(request.getCategoryId()).orElse(null);
+      if (category == null) {
+        results[i] = rowResult(firstIndex + i, RowStatus.REJECTED, null,
+            "Category not found with id: " + request.getCategoryId());
+        continue;
+      }
+
+      var transaction = Transaction.builder()
+          .amount(request.getAmount())
+          .transactionDate(request.getTransactionDate())
+          .category(category)
+          .comment(request.getComment())
+          .build();
+      transactions.add(transaction);
+      transactionRows.add(i);
+    }
+
+    if (transactions.isEmpty()) {
+      return;
+    }
+
+    // Ids are assigned on persist; the inserts themselves go out as JDBC batches on flush
+    var savedTransactions = transactionRepository.saveAll(transactions);
+    categoryRollupService.recordTransactions(savedTransactions);
+    transactionColumnStoreService.recordTransactions(savedTransactions);
+    categoryTotalsIndexService.recordTransactions(savedTransactions);
+    transactionResponseCacheService.recordTransactions(savedTransactions);
+    dataVersionService.recordWrite();
+
+    // The persistence context can outlive this transaction (open-in-view), so empty it per chunk
+    entityManager.flush();
+    entityManager.clear();
+
+    for (int t = 0; t < savedTransactions.size(); t++) {
+      int i = transactionRows.get(t);
+      results[i] = rowResult(firstIndex + i, RowStatus.CREATED, savedTransactions.get(t).getIdTransaction(), null);
+    }
+  }
+
+  private static RowResult rowResult(int index, RowStatus status, Integer idTransaction, String error) {
+    return RowResult.builder()
+        .index(index)
+        .status(status)
+        .idTransaction(idTransaction)
+        .error(error)
+        .build();
+  }
+
+  private static int countByStatus(List<RowResult> results, RowStatus status) {
+    return (int) results.stream().filter(result -> result.getStatus() == status).count();
+  }
+}
@@ -0,0 +1,36 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of transaction list responses keyed by type and date range.
+ */
+public interface TransactionResponseCacheService {
+
+  /**
+   * The cached response for the range, or the one {@code loader} builds, cached for next time.
+   * Calls {@code loader} every time while the cache is disabled.
+   */
+  TransactionsByTypeResponse getTransactions(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo,
+      Supplier<TransactionsByTypeResponse> loader);
+
+  /**
+   * Evicts the responses whose type and range cover any of the newly inserted transactions once
+   * the surrounding database transaction commits, or right away when there is none.
+   */
+  void recordTransactions(Collection<Transaction> transactions);
+
+  /**
+   * Evicts every response; for writes that do not go through {@link #recordTransactions}.
+   */
+  void clear();
+}
@@ -0,0 +1,223 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
+import com.ys.ai.aifinancemanager.config.ResponseCacheProperties;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used responses under a byte budget, all state guarded by this instance.
+ *
+ * <p>A write evicts, after it commits, only the entries of its category type whose range
+ * contains its date. It also bumps a generation counter: a response that was being loaded while
+ * the write committed may predate it, so it is returned to its caller but not cached. Entries
+ * remember the category version they were built under and are not served once the categories
+ * change.</p>
+ *
+ * <p>Sizes are estimates of the retained DTO graph, good enough to keep the cache near its
+ * budget without walking objects reflectively.</p>
+ */
+@Service
+public class TransactionResponseCacheServiceImpl implements TransactionResponseCacheService {
+
+  private static final long RESPONSE_BYTES = 64;
+
+  private static final long SUMMARY_BYTES = 160;
+
+  private static final long TRANSACTION_BYTES = 152;
+
+  private static final long STRING_BYTES = 40;
+
+  private final CategoryCacheService categoryCacheService;
+
+  private final ResponseCacheProperties responseCacheProperties;
+
+  private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long bytes;
+
+  private long generation;
+
+  private long hits;
+
+  private long misses;
+
+  private long sizeEvictions;
+
+  private long writeEvictions;
+
+  public TransactionResponseCacheServiceImpl(
+      CategoryCacheService categoryCacheService,
+      ResponseCacheProperties responseCacheProperties,
+      MeterRegistry meterRegistry) {
+    this.categoryCacheService = categoryCacheService;
+    this.responseCacheProperties = responseCacheProperties;
+    FunctionCounter.builder("finance.response.cache.gets", this, cache -> cache.stat(() -> cache.hits))
+        .description("Transaction list reads answered by the response cache")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder("finance.response.cache.gets", this, cache -> cache.stat(() -> cache.misses))
+        .description("Transaction list reads answered by the response cache")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    FunctionCounter.builder("finance.response.cache.evictions", this, cache -> cache.stat(() -> cache.sizeEvictions))
+        .description("Cached transaction list responses dropped")
+        .tag("cause", "size")
+        .register(meterRegistry);
+    FunctionCounter.builder("finance.response.cache.evictions", this, cache -> cache.stat(() -> cache.writeEvictions))
+        .description("Cached transaction list responses dropped")
+        .tag("cause", "write")
+        .register(meterRegistry);
+    Gauge.builder("finance.response.cache.entries", this, cache -> cache.stat(cache.entries::size))
+        .description("Transaction list responses currently cached")
+        .register(meterRegistry);
+    Gauge.builder("finance.response.cache.size", this, cache -> cache.stat(() -> cache.bytes))
+        .description("Estimated heap taken by the cached transaction list responses")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public TransactionsByTypeResponse getTransactions(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo,
+      Supplier<TransactionsByTypeResponse> loader) {
+    if (!responseCacheProperties.enabled()) {
+      return loader.get();
+    }
+
+    var key = new Key(type, dateFrom.toEpochDay(), dateTo.toEpochDay());
+    var categoriesVersion = categoryCacheService.getVersion();
+    long loadedAt;
+    synchronized (this) {
+      var cached = entries.get(key);
+      if (cached != null && cached.categoriesVersion() == categoriesVersion) {
+        hits++;
+        RequestTimings.mark(RequestTimings.CACHE, "hit");
+        return cached.response();
+      }
+      misses++;
+      RequestTimings.mark(RequestTimings.CACHE, "miss");
+      loadedAt = generation;
+    }
+
+    var response = loader.get();
+    put(key, new CachedResponse(response, categoriesVersion, estimateBytes(response)), loadedAt);
+    return response;
+  }
+
+  @Override
+  public void recordTransactions(Collection<Transaction> transactions) {
+    if (!responseCacheProperties.enabled() || transactions.isEmpty()) {
+      return;
+    }
+
+    var writes = transactions.stream()
+        .filter(transaction -> transaction.getCategory() != null)
+        .map(transaction -> new Write(
+            transaction.getCategory().getType(), transaction.getTransactionDate().toEpochDay()))
+        .toList();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(writes);
+        }
+      });
+    } else {
+      evict(writes);
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    generation++;
+    writeEvictions += entries.size();
+    entries.clear();
+    bytes = 0;
+  }
+
+  private synchronized void put(Key key, CachedResponse cached, long loadedAt) {
+    if (generation != loadedAt || cached.bytes() > responseCacheProperties.maxSize().toBytes()) {
+      return;
+    }
+
+    var previous = entries.put(key, cached);
+    if (previous != null) {
+      bytes -= previous.bytes();
+    }
+    bytes += cached.bytes();
+
+    var eldest = entries.values().iterator();
+    while (bytes > responseCacheProperties.maxSize().toBytes()) {
+      bytes -= eldest.next().bytes();
+      eldest.remove();
+      sizeEvictions++;
+    }
+  }
+
+  private synchronized void evict(List<Write> writes) {
+    generation++;
+    var cached = entries.entrySet().iterator();
+    while (cached.hasNext()) {
+      var entry = cached.next();
+      if (writes.stream().anyMatch(entry.getKey()::covers)) {
+        bytes -= entry.getValue().bytes();
+        cached.remove();
+        writeEvictions++;
+      }
+    }
+  }
+
+  private synchronized double stat(Supplier<Number> value) {
+    return value.get().doubleValue();
+  }
+
+  static long estimateBytes(TransactionsByTypeResponse response) {
+    var estimate = RESPONSE_BYTES;
+    if (response.getCategorySummaries() == null) {
+      return estimate;
+    }
+    for (var summary : response.getCategorySummaries()) {
+      estimate += SUMMARY_BYTES;
+      if (summary.getTransactions() == null) {
+        continue;
+      }
+      for (var transaction : summary.getTransactions()) {
+        estimate += TRANSACTION_BYTES;
+        if (transaction.getComment() != null) {
+          estimate += STRING_BYTES + transaction.getComment().length();
+        }
+      }
+    }
+    return estimate;
+  }
+
+  private record Key(CategoryType type, long fromDay, long toDay) {
+
+    boolean covers(Write write) {
+      return type == write.type() && fromDay <= write.day() && write.day() <= toDay;
+    }
+  }
+
+  private record Write(CategoryType type, long day) {
+  }
+
+  private record CachedResponse(TransactionsByTypeResponse response, long categoriesVersion, long bytes) {
+  }
+}
@@ -4,11 +4,14 @@ import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TransactionService {
 
@@ -20,8 +23,49 @@ public interface TransactionService {
       LocalDate dateTo
   );
 
+  /**
+   * Same date/type filter as {@link #getTransactionsByTypeAndDateRange}, but only the per-category
+   * totals and the grand total are returned; the summaries carry no transactions.
+   */
+  TransactionsByTypeResponse getCategoryTotalsByTypeAndDateRange(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo
+  );
+
   List<CategoryDto> getAllCategories(CategoryType type);
 
+  /**
+   * Every category, both {@link CategoryType}s, in id order.
+   */
+  List<CategoryDto> getAllCategories();
+
+  /**
+   * Changes whenever any category changes; see {@link CategoryCacheService#getVersion()}.
+   */
+  long getCategoriesVersion();
+
+  /**
+   * Changes whenever a transaction write commits; see {@link DataVersionService}.
+   */
+  long getDataVersion();
+
+  /**
+   * Every transaction of the range: INCOMES, then EXPENSES; within a type category by category
+   * in id order; within a category in date and then id order. The column store keeps the same
+   * order, so the export does not depend on which one answers.
+   */
   TransactionExportResponse exportTransactions(LocalDate dateFrom, LocalDate dateTo);
+
+  /**
+   * Streams the export rows of a date range to {@code exportHandler}, in the order of
+   * {@link #exportTransactions}, inside a single read transaction. The stream is only valid
+   * while the handler runs and must not escape it.
+   */
+  void streamTransactionsForExport(
+      LocalDate dateFrom,
+      LocalDate dateTo,
+      Consumer<Stream<TransactionExportDetail>> exportHandler
+  );
 }
 
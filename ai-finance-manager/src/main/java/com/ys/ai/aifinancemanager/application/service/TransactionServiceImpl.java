@@ -9,48 +9,111 @@ import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse.CategoryTransactionSummary;
 import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
 import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
 import com.ys.ai.aifinancemanager.application.validation.ValidationUtils;
 import com.ys.ai.aifinancemanager.domain.entity.Category;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
 import com.ys.ai.aifinancemanager.domain.entity.Transaction;
-import com.ys.ai.aifinancemanager.domain.repository.CategoryRepository;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
 import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = ServiceMetrics.SERVICE_TIMER, description = ServiceMetrics.SERVICE_TIMER_DESCRIPTION, histogram = true)
 public class TransactionServiceImpl implements TransactionService {
 
+  private static final int AMOUNT_SCALE = 2;
+
+  private static final List<CategoryType> EXPORT_TYPE_ORDER = List.of(CategoryType.INCOMES, CategoryType.EXPENSES);
+
+  private static final Comparator<Transaction> TRANSACTION_ORDER = Comparator
+      .comparing(Transaction::getTransactionDate)
+      .thenComparing(Transaction::getIdTransaction);
+
+  /**
+   * The one export order, which the column store and the streamed export keep as well: INCOMES,
+   * then EXPENSES; within a type category by category in id order; within a category by date
+   * and then id.
+   */
+  private static final Comparator<Transaction> EXPORT_ORDER = Comparator
+      .comparing((Transaction transaction) -> EXPORT_TYPE_ORDER.indexOf(transaction.getCategory().getType()))
+      .thenComparing(transaction -> transaction.getCategory().getIdCategory())
+      .thenComparing(TRANSACTION_ORDER);
+
   private final TransactionRepository transactionRepository;
 
-  private final CategoryRepository categoryRepository;
+  private final CategoryCacheService categoryCacheService;
 
   private final TransactionMapper transactionMapper;
 
   private final CategoryMapper categoryMapper;
 
+  private final CategoryRollupService categoryRollupService;
+
+  private final TransactionColumnStoreService transactionColumnStoreService;
+
+  private final CategoryTotalsIndexService categoryTotalsIndexService;
+
+  private final TransactionResponseCacheService transactionResponseCacheService;
+
+  private final DataVersionService dataVersionService;
+
+  private final EntityManager entityManager;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final WriteRetryService writeRetryService;
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Not transactional itself: the insert runs in a transaction of its own, which is started again
+   * when SQLite reports the database busy.
+   */
   @Override
-  @Transactional
   public TransactionDto addTransaction(CreateTransactionRequest request) {
     ValidationUtils.validateCreateTransactionRequest(request);
 
     log.info("Adding new transaction: categoryId={}, amount={}", request.getCategoryId(), request.getAmount());
 
-    var category = categoryRepository.findById(request.getCategoryId())
+    var category = categoryCacheService.findById(request.getCategoryId())
         .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + request.getCategoryId()));
 
+    var savedTransaction = writeRetryService.execute("add-transaction",
+        () -> transactionTemplate.execute(status -> insertTransaction(request, category)));
+    log.info("Transaction added successfully with id: {}", savedTransaction.getIdTransaction());
+
+    return transactionMapper.toDto(savedTransaction);
+  }
+
+  private Transaction insertTransaction(CreateTransactionRequest request, Category category) {
     var transaction = Transaction.builder()
         .amount(request.getAmount())
         .transactionDate(request.getTransactionDate())
@@ -59,13 +122,19 @@ public class TransactionServiceImpl implements TransactionService {
         .build();
 
     var savedTransaction = transactionRepository.save(transaction);
-    log.info("Transaction added successfully with id: {}", savedTransaction.getIdTransaction());
-
-    return transactionMapper.toDto(savedTransaction);
+    categoryRollupService.recordTransaction(savedTransaction);
+    transactionColumnStoreService.recordTransactions(List.of(savedTransaction));
+    categoryTotalsIndexService.recordTransactions(List.of(savedTransaction));
+    transactionResponseCacheService.recordTransactions(List.of(savedTransaction));
+    dataVersionService.recordWrite();
+    return savedTransaction;
   }
 
+  /**
+   * Not transactional itself: the response cache and column store need no connection, and the
+   * repository query runs in its own read-only transaction and fetches the categories with the rows.
+   */
   @Override
-  @Transactional(readOnly = true)
   public TransactionsByTypeResponse getTransactionsByTypeAndDateRange(
       CategoryType type,
       LocalDate dateFrom,
@@ -74,25 +143,60 @@ public class TransactionServiceImpl implements TransactionService {
 
     log.info("Fetching {} transactions between {} and {}", type, dateFrom, dateTo);
 
-    var transactions = transactionRepository.findByCategoryTypeAndTransactionDateBetween(
-        type, dateFrom, dateTo);
-    log.info("Found {} transactions of type {}", transactions.size(), type);
+    var response = transactionResponseCacheService.getTransactions(type, dateFrom, dateTo,
+        () -> loadTransactionsByTypeAndDateRange(type, dateFrom, dateTo));
+    ServiceMetrics.recordCategories(meterRegistry, "transactions-by-type", response.getCategorySummaries().size());
+    return response;
+  }
 
-    // Group transactions by category
-    var transactionsByCategory = transactions.stream()
-        .collect(Collectors.groupingBy(
-            Transaction::getCategory
-        ));
+  private TransactionsByTypeResponse loadTransactionsByTypeAndDateRange(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo) {
+    if (transactionColumnStoreService.isReady()) {
+      TransactionsByTypeResponse response;
+      try (var columns = RequestTimings.span(RequestTimings.COLUMNS)) {
+        response = transactionColumnStoreService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
+      }
+      ServiceMetrics.recordRows(meterRegistry, "transactions-by-type", response.getCategorySummaries().stream()
+          .mapToLong(summary -> summary.getTransactions().size())
+          .sum());
+      return response;
+    }
+
+    List<Transaction> transactions;
+    try (var db = RequestTimings.span(RequestTimings.DB)) {
+      transactions = transactionRepository.findByCategoryTypeAndTransactionDateBetween(type, dateFrom, dateTo);
+    }
+    log.info("Found {} transactions of type {}", transactions.size(), type);
+    ServiceMetrics.recordRows(meterRegistry, "transactions-by-type", transactions.size());
+
+    Map<Category, List<Transaction>> transactionsByCategory;
+    BigDecimal totalAmount;
+    try (var aggregate = RequestTimings.span(RequestTimings.AGGREGATE)) {
+      // Group transactions by category, categories in id order and rows in date and then id order
+      transactionsByCategory = transactions.stream()
+          .sorted(Comparator.comparing((Transaction transaction) -> transaction.getCategory().getIdCategory())
+              .thenComparing(TRANSACTION_ORDER))
+          .collect(Collectors.groupingBy(
+              Transaction::getCategory,
+              LinkedHashMap::new,
+              Collectors.toList()
+          ));
+
+      // Calculate total amount across all categories
+      totalAmount = transactions.stream()
+          .map(Transaction::getAmount)
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
     // Build category summaries
-    var categorySummaries = transactionsByCategory.entrySet().stream()
-        .map(this::toCategoryTransactionSummary)
-        .toList();
-
-    // Calculate total amount across all categories
-    var totalAmount = transactions.stream()
-        .map(Transaction::getAmount)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    List<CategoryTransactionSummary> categorySummaries;
+    try (var map = RequestTimings.span(RequestTimings.MAP)) {
+      categorySummaries = transactionsByCategory.entrySet().stream()
+          .map(this::toCategoryTransactionSummary)
+          .toList();
+    }
 
     log.info("Grouped transactions into {} categories with total amount: {}",
         categorySummaries.size(), totalAmount);
@@ -103,14 +207,61 @@ public class TransactionServiceImpl implements TransactionService {
         .build();
   }
 
+  /**
+   * Not transactional itself: the totals index needs no connection, and the rollup query runs
+   * in its own read-only transaction.
+   */
+  @Override
+  public TransactionsByTypeResponse getCategoryTotalsByTypeAndDateRange(
+      CategoryType type,
+      LocalDate dateFrom,
+      LocalDate dateTo) {
+    ValidationUtils.validateTransactionTypeAndDateRange(type, dateFrom, dateTo);
+
+    log.info("Summing {} transactions per category between {} and {}", type, dateFrom, dateTo);
+
+    List<CategoryTotal> categoryTotals;
+    if (categoryTotalsIndexService.isReady()) {
+      try (var index = RequestTimings.span(RequestTimings.INDEX)) {
+        categoryTotals = categoryTotalsIndexService.getCategoryTotals(type, dateFrom, dateTo);
+      }
+    } else {
+      try (var db = RequestTimings.span(RequestTimings.DB)) {
+        categoryTotals = categoryRollupService.getCategoryTotals(type, dateFrom, dateTo);
+      }
+    }
+    ServiceMetrics.recordRows(meterRegistry, "category-totals", categoryTotals.size());
+
+    List<CategoryTransactionSummary> categorySummaries;
+    try (var map = RequestTimings.span(RequestTimings.MAP)) {
+      categorySummaries = categoryTotals.stream()
+          .map(this::toCategoryTotalSummary)
+          .toList();
+    }
+
+    BigDecimal totalAmount;
+    try (var aggregate = RequestTimings.span(RequestTimings.AGGREGATE)) {
+      totalAmount = categorySummaries.stream()
+          .map(CategoryTransactionSummary::getCategoryTotal)
+          .reduce(BigDecimal.ZERO.setScale(AMOUNT_SCALE), BigDecimal::add);
+    }
+
+    log.info("Summed {} categories with total amount: {}", categorySummaries.size(), totalAmount);
+    ServiceMetrics.recordCategories(meterRegistry, "category-totals", categorySummaries.size());
+
+    return TransactionsByTypeResponse.builder()
+        .categorySummaries(categorySummaries)
+        .totalAmount(totalAmount)
+        .build();
+  }
+
   @Override
-  @Transactional(readOnly = true)
   public List<CategoryDto> getAllCategories(CategoryType type) {
     ValidationUtils.validateCategoryType(type);
 
     log.info("Fetching categories of type: {}", type);
 
-    var categories = categoryRepository.findByType(type);
+    var categories = categoryCacheService.findByType(type);
     log.info("Found {} categories of type {}", categories.size(), type);
 
     return categories.stream()
@@ -119,27 +270,123 @@ public class TransactionServiceImpl implements TransactionService {
   }
 
   @Override
-  @Transactional(readOnly = true)
+  public List<CategoryDto> getAllCategories() {
+    log.info("Fetching categories of all types");
+
+    return categoryCacheService.findAll().stream()
+        .map(categoryMapper::toDto)
+        .toList();
+  }
+
+  @Override
+  public long getCategoriesVersion() {
+    return categoryCacheService.getVersion();
+  }
+
+  @Override
+  public long getDataVersion() {
+    return dataVersionService.getVersion();
+  }
+
+  /**
+   * Not transactional itself, for the same reason as {@link #getTransactionsByTypeAndDateRange}.
+   */
+  @Override
   public TransactionExportResponse exportTransactions(LocalDate dateFrom, LocalDate dateTo) {
     ValidationUtils.validateDateRange(dateFrom, dateTo);
 
     log.info("Exporting transactions for period {} to {}", dateFrom, dateTo);
 
+    if (transactionColumnStoreService.isReady()) {
+      var response = transactionColumnStoreService.exportTransactions(dateFrom, dateTo);
+      ServiceMetrics.recordRows(meterRegistry, "export", response.getTransactions().size());
+      return response;
+    }
+
     var transactions = transactionRepository.findByTransactionDateBetween(dateFrom, dateTo);
     log.info("Found {} transactions to export", transactions.size());
+    ServiceMetrics.recordRows(meterRegistry, "export", transactions.size());
 
     var transactionDetails = transactions.stream()
-        .sorted(getTransactionComparator())
+        .sorted(EXPORT_ORDER)
         .map(TransactionServiceImpl::toExportDetails)
         .toList();
 
-    log.info("Export data prepared: {} transactions sorted by category type", transactionDetails.size());
+    log.info("Export data prepared: {} transactions in export order", transactionDetails.size());
 
     return TransactionExportResponse.builder()
         .transactions(transactionDetails)
         .build();
   }
 
+  /**
+   * Not transactional itself: the column store needs no connection, so only the repository path
+   * opens a read-only transaction, which its cursors need for as long as the handler runs.
+   */
+  @Override
+  public void streamTransactionsForExport(
+      LocalDate dateFrom,
+      LocalDate dateTo,
+      Consumer<Stream<TransactionExportDetail>> exportHandler) {
+    ValidationUtils.validateDateRange(dateFrom, dateTo);
+
+    log.info("Streaming transactions for export for period {} to {}", dateFrom, dateTo);
+
+    var rows = new LongAdder();
+    if (transactionColumnStoreService.isReady()) {
+      try (var exportDetails = transactionColumnStoreService.streamTransactionsForExport(dateFrom, dateTo)) {
+        exportHandler.accept(exportDetails.peek(exportDetail -> rows.increment()));
+      }
+      ServiceMetrics.recordRows(meterRegistry, "export-stream", rows.sum());
+      log.info("Export stream for period {} to {} completed from the column store", dateFrom, dateTo);
+      return;
+    }
+
+    readOnlyTransactionTemplate().executeWithoutResult(status -> {
+      try (Stream<Transaction> transactions = streamInExportOrder(dateFrom, dateTo)) {
+        // Detach every row once it is mapped so the persistence context does not grow with the range
+        Stream<TransactionExportDetail> exportDetails = transactions.map(transaction -> {
+          var exportDetail = toExportDetails(transaction);
+          entityManager.detach(transaction);
+          rows.increment();
+          return exportDetail;
+        });
+        exportHandler.accept(exportDetails);
+      }
+    });
+    ServiceMetrics.recordRows(meterRegistry, "export-stream", rows.sum());
+
+    log.info("Export stream for period {} to {} completed", dateFrom, dateTo);
+  }
+
+  private TransactionTemplate readOnlyTransactionTemplate() {
+    var readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+    readOnly.setReadOnly(true);
+    return readOnly;
+  }
+
+  /**
+   * {@link #EXPORT_ORDER}, read off the index rather than sorted: one cursor per category keeps
+   * every query on the index order, so nothing is sorted ahead of the first row. A cursor is
+   * opened only once the previous one is used up, and closed with the stream.
+   *
+   * <p>The categories are read off {@code TRANSACTIONS} itself rather than the category cache,
+   * so no row is left out because its category is missing from a cached snapshot; a category
+   * the cache cannot resolve fails the export before the first row.</p>
+   */
+  private Stream<Transaction> streamInExportOrder(LocalDate dateFrom, LocalDate dateTo) {
+    var categories = transactionRepository.findCategoryIdsInUse().stream()
+        .map(idCategory -> categoryCacheService.findById(idCategory)
+            .orElseThrow(() -> new IllegalStateException(
+                "Transactions reference category %d, which does not exist".formatted(idCategory))))
+        // Stable, so the categories of a type stay in id order
+        .sorted(Comparator.comparing(category -> EXPORT_TYPE_ORDER.indexOf(category.getType())))
+        .toList();
+    var cursors = new ExportCursors(categories, dateFrom, dateTo);
+    var spliterator = Spliterators.spliteratorUnknownSize(cursors, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(cursors::close);
+  }
+
   private CategoryTransactionSummary toCategoryTransactionSummary(Entry<Category, List<Transaction>> entry) {
     var categoryDto = categoryMapper.toDto(entry.getKey());
     var transactionDtos = transactionMapper.toDtoList(entry.getValue());
@@ -154,6 +401,18 @@ public class TransactionServiceImpl implements TransactionService {
         .build();
   }
 
+  private CategoryTransactionSummary toCategoryTotalSummary(CategoryTotal categoryTotal) {
+    // Rollup sums are exact cents; this only pins every total, including empty ones, to the same scale
+    var categoryTotalAmount = categoryTotal.total() != null
+        ? categoryTotal.total().setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN)
+        : BigDecimal.ZERO.setScale(AMOUNT_SCALE);
+
+    return CategoryTransactionSummary.builder()
+        .category(categoryMapper.toCategoryDto(categoryTotal))
+        .categoryTotal(categoryTotalAmount)
+        .build();
+  }
+
   private static TransactionExportDetail toExportDetails(Transaction transaction) {
     return TransactionExportDetail.builder()
         .idTransaction(transaction.getIdTransaction())
@@ -165,18 +424,53 @@ public class TransactionServiceImpl implements TransactionService {
         .build();
   }
 
-  private static @NonNull Comparator<Transaction> getTransactionComparator() {
-    return (t1, t2) -> {
-      // Sort by CategoryType: INCOMES first, then EXPENSES
-      var type1 = t1.getCategory() != null ? t1.getCategory().getType() : CategoryType.EXPENSES;
-      var type2 = t2.getCategory() != null ? t2.getCategory().getType() : CategoryType.EXPENSES;
+  private class ExportCursors implements Iterator<Transaction>, AutoCloseable {
+
+    private final Iterator<Category> categories;
+
+    private final LocalDate dateFrom;
+
+    private final LocalDate dateTo;
+
+    private Stream<Transaction> cursor;
 
-      if (type1 == CategoryType.INCOMES && type2 == CategoryType.EXPENSES) {
-        return -1;
-      } else if (type1 == CategoryType.EXPENSES && type2 == CategoryType.INCOMES) {
-        return 1;
+    private Iterator<Transaction> rows = Collections.emptyIterator();
+
+    ExportCursors(List<Category> categories, LocalDate dateFrom, LocalDate dateTo) {
+      this.categories = categories.iterator();
+      this.dateFrom = dateFrom;
+      this.dateTo = dateTo;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!rows.hasNext()) {
+        close();
+        if (!categories.hasNext()) {
+          return false;
+        }
+        cursor = transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+            categories.next().getIdCategory(), dateFrom, dateTo);
+        rows = cursor.iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Transaction next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return rows.next();
+    }
+
+    @Override
+    public void close() {
+      if (cursor != null) {
+        cursor.close();
+        cursor = null;
+        rows = Collections.emptyIterator();
       }
-      return 0;
-    };
+    }
   }
 }
@@ -0,0 +1,31 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs write transactions again when SQLite reports the database busy or locked.
+ *
+ * <p>{@code write} must open and commit its own transaction: a busy error leaves SQLite's
+ * transaction unusable, so only a fresh one can succeed. Inside a surrounding transaction the
+ * write runs once, and the retry is left to whoever owns that transaction.</p>
+ */
+public interface WriteRetryService {
+
+  /**
+   * Runs {@code write}, retrying it while it fails as busy or locked and the policy allows.
+   *
+   * @param operation name the retry and failure counts are tagged with
+   * @return what the last attempt returned
+   */
+  <T> T execute(String operation, Supplier<T> write);
+
+  /**
+   * Same as {@link #execute(String, Supplier)} for writes without a result.
+   */
+  default void run(String operation, Runnable write) {
+    execute(operation, () -> {
+      write.run();
+      return null;
+    });
+  }
+}
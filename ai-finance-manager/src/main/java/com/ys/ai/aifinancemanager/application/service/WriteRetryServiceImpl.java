@@ -0,0 +1,150 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.config.WriteRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryListener;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.core.retry.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteException;
+
+import java.util.function.Supplier;
+
+/**
+ * Retries busy writes through a {@link RetryTemplate} with exponential, jittered backoff.
+ *
+ * <p>{@code busy_timeout} already makes a writer wait for the lock, but not in every case: in
+ * WAL mode a transaction whose snapshot went stale fails at once with {@code SQLITE_BUSY_SNAPSHOT},
+ * and a writer that waited out the timeout fails as well. Both leave nothing behind, since
+ * the transaction is rolled back and the read models only take rows after a commit, so running
+ * the write again cannot duplicate it. Other failures, and any failure once the request's
+ * {@link QueryBudget} is spent, reach the caller on the first attempt.</p>
+ */
+@Slf4j
+@Service
+public class WriteRetryServiceImpl implements WriteRetryService {
+
+  static final String RETRIES = "finance.db.write.retries";
+
+  static final String FAILURES = "finance.db.write.failures";
+
+  private static final int SQLITE_BUSY = 5;
+
+  private static final int SQLITE_LOCKED = 6;
+
+  private final WriteRetryProperties writeRetryProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final RetryTemplate retryTemplate;
+
+  public WriteRetryServiceImpl(WriteRetryProperties writeRetryProperties, MeterRegistry meterRegistry) {
+    this.writeRetryProperties = writeRetryProperties;
+    this.meterRegistry = meterRegistry;
+    this.retryTemplate = new RetryTemplate(RetryPolicy.builder()
+        .maxRetries(writeRetryProperties.maxRetries())
+        .delay(writeRetryProperties.delay())
+        .multiplier(2)
+        .maxDelay(writeRetryProperties.maxDelay())
+        .jitter(writeRetryProperties.jitter())
+        .timeout(writeRetryProperties.timeout())
+        .predicate(failure -> isBusy(failure) && !QueryBudget.isExceeded())
+        .build());
+    this.retryTemplate.setRetryListener(new MeteringListener());
+  }
+
+  @Override
+  public <T> T execute(String operation, Supplier<T> write) {
+    if (!writeRetryProperties.enabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return write.get();
+    }
+
+    try {
+      return retryTemplate.execute(new Retryable<>() {
+        @Override
+        public T execute() {
+          return write.get();
+        }
+
+        @Override
+        public String getName() {
+          return operation;
+        }
+      });
+    } catch (RetryException e) {
+      // The template wraps the last failure; callers expect it as thrown by the write
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Whether SQLite refused the write for a lock held elsewhere, with any extended result code.
+   */
+  static boolean isBusy(Throwable failure) {
+    for (var cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLiteException sqliteException) {
+        var primaryCode = sqliteException.getResultCode().code & 0xFF;
+        return primaryCode == SQLITE_BUSY || primaryCode == SQLITE_LOCKED;
+      }
+    }
+    return false;
+  }
+
+  private Counter counter(String name, String description, String operation, String outcome) {
+    var builder = Counter.builder(name)
+        .description(description)
+        .tag("operation", operation);
+    if (outcome != null) {
+      builder.tag("outcome", outcome);
+    }
+    return builder.register(meterRegistry);
+  }
+
+  private class MeteringListener implements RetryListener {
+
+    @Override
+    public void beforeRetry(RetryPolicy retryPolicy, Retryable<?> retryable) {
+      counter(RETRIES, "Write transactions run again after SQLite reported busy or locked",
+          retryable.getName(), null).increment();
+    }
+
+    @Override
+    public void onRetryPolicyExhaustion(RetryPolicy retryPolicy, Retryable<?> retryable, RetryException exception) {
+      recordFailure(retryable, exception, "exhausted");
+    }
+
+    @Override
+    public void onRetryPolicyTimeout(RetryPolicy retryPolicy, Retryable<?> retryable, RetryException exception) {
+      recordFailure(retryable, exception, "timeout");
+    }
+
+    @Override
+    public void onRetryPolicyInterruption(RetryPolicy retryPolicy, Retryable<?> retryable,
+                                          RetryException exception) {
+      recordFailure(retryable, exception, "interrupted");
+    }
+
+    private void recordFailure(Retryable<?> retryable, RetryException exception, String outcome) {
+      // Failures that were never retried are the caller's business, not contention
+      if (!isBusy(exception.getCause())) {
+        return;
+      }
+      log.warn("Write {} still busy after {} retries ({}): {}",
+          retryable.getName(), exception.getRetryCount(), outcome, exception.getCause().getMessage());
+      counter(FAILURES, "Write transactions that failed as busy or locked after retrying",
+          retryable.getName(), outcome).increment();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.ys.ai.aifinancemanager.application.timing;
+
+import java.time.Duration;
+
+/**
+ * Time budget for the database work of the request the current thread is serving.
+ *
+ * <p>The web layer starts a budget per request. SQLite connections opened with the budget
+ * enabled ask {@link #isExceeded} every few thousand virtual machine steps and abort the running
+ * statement with {@code SQLITE_INTERRUPT} once it is spent. Short statements, such as a
+ * {@code COMMIT} or {@code ROLLBACK}, finish before they are asked, so a transaction interrupted
+ * by its budget still ends cleanly. Without a budget on the thread the check is one thread-local
+ * read.</p>
+ */
+public final class QueryBudget {
+
+  private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+
+  private static final Scope NO_OP = () -> {
+  };
+
+  private QueryBudget() {
+  }
+
+  /**
+   * Ends a budget, or its use on another thread, when closed.
+   */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+
+  /**
+   * A budget that runs out {@code duration} from now.
+   *
+   * @param duration time allowed for the request
+   */
+  public record Budget(Duration duration, long deadlineNanos) {
+
+    public boolean isExceeded() {
+      return System.nanoTime() - deadlineNanos >= 0;
+    }
+  }
+
+  /**
+   * Starts a budget on the current thread until the returned scope is closed.
+   */
+  public static Scope start(Duration duration) {
+    return resume(new Budget(duration, System.nanoTime() + duration.toNanos()));
+  }
+
+  /**
+   * The current thread's budget, to carry over to a thread that continues the same request; may
+   * be {@code null}.
+   */
+  public static Budget current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Applies {@code budget}, as returned by {@link #current} on another thread, to the current
+   * thread until the returned scope is closed; does nothing for {@code null}.
+   */
+  public static Scope resume(Budget budget) {
+    if (budget == null) {
+      return NO_OP;
+    }
+    var previous = CURRENT.get();
+    CURRENT.set(budget);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  public static boolean isExceeded() {
+    var budget = CURRENT.get();
+    return budget != null && budget.isExceeded();
+  }
+}
@@ -0,0 +1,188 @@
+package com.ys.ai.aifinancemanager.application.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Named timing spans of the request the current thread is serving.
+ *
+ * <p>The web layer opens a {@link Recording} around a request; until then, and on every other
+ * thread, {@link #span} hands out a shared no-op and costs one thread-local read. Spans with the
+ * same name add up, so a step repeated per category shows as one total. A recording belongs to
+ * one thread and is not safe to share.</p>
+ */
+public final class RequestTimings {
+
+  /** SQLite query plus Hibernate hydration, as one repository call sees it. */
+  public static final String DB = "db";
+
+  /** Reads from the in-memory column store. */
+  public static final String COLUMNS = "columns";
+
+  /** Reads from the in-memory totals index. */
+  public static final String INDEX = "index";
+
+  /** Grouping and summing entities. */
+  public static final String AGGREGATE = "aggregate";
+
+  /** Entity to DTO conversion. */
+  public static final String MAP = "map";
+
+  /** Writing the response body with Jackson. */
+  public static final String SERIALIZE = "serialize";
+
+  /** Whole request, from the filter's point of view. */
+  public static final String TOTAL = "total";
+
+  /** Response cache outcome; a marker without duration. */
+  public static final String CACHE = "cache";
+
+  private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+  private static final Span NO_OP = () -> {
+  };
+
+  private RequestTimings() {
+  }
+
+  /**
+   * A span that ends when closed.
+   */
+  @FunctionalInterface
+  public interface Span extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+
+  public static Span span(String name) {
+    var recording = CURRENT.get();
+    if (recording == null) {
+      return NO_OP;
+    }
+    var startedAt = System.nanoTime();
+    return () -> recording.add(name, System.nanoTime() - startedAt);
+  }
+
+  /**
+   * Starts a span that {@link Recording#end} closes, for steps whose end is observed elsewhere.
+   */
+  public static void begin(String name) {
+    var recording = CURRENT.get();
+    if (recording != null) {
+      recording.pending.put(name, System.nanoTime());
+    }
+  }
+
+  public static void mark(String name, String description) {
+    var recording = CURRENT.get();
+    if (recording != null) {
+      recording.entry(name).description = description;
+    }
+  }
+
+  /**
+   * Starts recording on the current thread until the returned recording is closed.
+   */
+  public static Recording start() {
+    var recording = new Recording();
+    CURRENT.set(recording);
+    return recording;
+  }
+
+  public static final class Recording implements AutoCloseable {
+
+    private final long startedAt = System.nanoTime();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private final Map<String, Long> pending = new LinkedHashMap<>();
+
+    private Recording() {
+    }
+
+    public long elapsedNanos() {
+      return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Ends a span opened with {@link RequestTimings#begin}; nothing happens if it never began.
+     */
+    public void end(String name) {
+      var beganAt = pending.remove(name);
+      if (beganAt != null) {
+        add(name, System.nanoTime() - beganAt);
+      }
+    }
+
+    public void add(String name, long nanos) {
+      var entry = entry(name);
+      entry.nanos += nanos;
+      entry.timed = true;
+    }
+
+    /**
+     * The spans in the order they first occurred, as a {@code Server-Timing} header value with
+     * durations in milliseconds.
+     */
+    public String toHeaderValue() {
+      return entries.values().stream()
+          .map(Entry::toHeaderValue)
+          .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * The spans as {@code name=milliseconds} pairs for a log line.
+     */
+    public String toLogValue() {
+      return entries.values().stream()
+          .map(Entry::toLogValue)
+          .collect(Collectors.joining(" "));
+    }
+
+    @Override
+    public void close() {
+      CURRENT.remove();
+    }
+
+    private Entry entry(String name) {
+      return entries.computeIfAbsent(name, Entry::new);
+    }
+  }
+
+  private static final class Entry {
+
+    private final String name;
+
+    private long nanos;
+
+    private boolean timed;
+
+    private String description;
+
+    private Entry(String name) {
+      this.name = name;
+    }
+
+    private String toHeaderValue() {
+      var value = new StringBuilder(name);
+      if (timed) {
+        value.append(";dur=").append(millis());
+      }
+      if (description != null) {
+        value.append(";desc=\"").append(description).append('"');
+      }
+      return value.toString();
+    }
+
+    private String toLogValue() {
+      return name + "=" + (timed ? millis() : description);
+    }
+
+    private String millis() {
+      return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+  }
+}
@@ -2,35 +2,48 @@ package com.ys.ai.aifinancemanager.application.validation;
 
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import io.micrometer.core.instrument.Metrics;
 
 import java.time.LocalDate;
-import java.util.Objects;
 
+/**
+ * Argument checks shared by the services. Every failed check increments
+ * {@code finance.validation.failures}, tagged with the rule that failed, on the global registry
+ * the application's registry is bound to.
+ */
 public final class ValidationUtils {
 
+  static final String VALIDATION_FAILURES = "finance.validation.failures";
+
   private ValidationUtils() {
     throw new UnsupportedOperationException("Utility class cannot be instantiated");
   }
 
   public static void validateCreateTransactionRequest(CreateTransactionRequest request) {
-    Objects.requireNonNull(request, "Transaction request cannot be null");
-    Objects.requireNonNull(request.getAmount(), "Amount cannot be null");
-    Objects.requireNonNull(request.getTransactionDate(), "Transaction date cannot be null");
-    Objects.requireNonNull(request.getCategoryId(), "Category cannot be null");
+    requireNonNull(request, "request-missing", "Transaction request cannot be null");
+    requireNonNull(request.getAmount(), "amount-missing", "Amount cannot be null");
+    requireNonNull(request.getTransactionDate(), "date-missing", "Transaction date cannot be null");
+    requireNonNull(request.getCategoryId(), "category-missing", "Category cannot be null");
+
+    // Amounts are stored as whole cents
+    if (request.getAmount().stripTrailingZeros().scale() > AmountCentsConverter.SCALE) {
+      throw invalid("amount-scale", "Amount cannot have more than 2 decimal places");
+    }
   }
 
   public static void validateDateRange(LocalDate dateFrom, LocalDate dateTo) {
-    Objects.requireNonNull(dateFrom, "Date from cannot be null");
-    Objects.requireNonNull(dateTo, "Date to cannot be null");
+    requireNonNull(dateFrom, "date-from-missing", "Date from cannot be null");
+    requireNonNull(dateTo, "date-to-missing", "Date to cannot be null");
 
     if (dateFrom.isAfter(dateTo)) {
-      throw new IllegalArgumentException("Date from must be before or equal to date to");
+      throw invalid("date-range-order", "Date from must be before or equal to date to");
     }
   }
 
   public static void validateCategoryType(CategoryType type) {
-    Objects.requireNonNull(type, "Category type cannot be null");
+    requireNonNull(type, "category-type-missing", "Category type cannot be null");
   }
 
   public static void validateTransactionTypeAndDateRange(
@@ -42,7 +55,22 @@ public final class ValidationUtils {
   }
 
   public static void validateExportData(TransactionExportResponse exportData) {
-    Objects.requireNonNull(exportData, "Export data cannot be null");
+    requireNonNull(exportData, "export-data-missing", "Export data cannot be null");
   }
-}
 
+  private static void requireNonNull(Object value, String rule, String message) {
+    if (value == null) {
+      recordFailure(rule);
+      throw new NullPointerException(message);
+    }
+  }
+
+  private static IllegalArgumentException invalid(String rule, String message) {
+    recordFailure(rule);
+    return new IllegalArgumentException(message);
+  }
+
+  private static void recordFailure(String rule) {
+    Metrics.counter(VALIDATION_FAILURES, "rule", rule).increment();
+  }
+}
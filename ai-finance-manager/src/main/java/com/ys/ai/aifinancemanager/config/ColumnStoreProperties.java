@@ -0,0 +1,14 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory column store of transactions.
+ *
+ * @param enabled load every transaction into primitive arrays once the application is ready and
+ *                answer {@code GET /transactions} and the buffered export from them; SQLite stays
+ *                the system of record and every committed insert is written through
+ */
+@ConfigurationProperties(prefix = "finance.column-store")
+public record ColumnStoreProperties(boolean enabled) {
+}
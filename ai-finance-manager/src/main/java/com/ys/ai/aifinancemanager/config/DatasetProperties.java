@@ -0,0 +1,43 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Settings for the synthetic dataset generator ({@code generate-dataset} profile).
+ *
+ * @param seed               seed for every random choice; the same settings always produce the
+ *                           same rows
+ * @param rows               number of transactions to insert
+ * @param dateFrom           first transaction date
+ * @param dateTo             last transaction date; rows are spread evenly over the span
+ * @param replaceExisting    delete every existing transaction before loading
+ * @param batchSize          rows sent to SQLite per JDBC batch
+ * @param rowsPerTransaction rows committed per database transaction
+ * @param categories         categories to draw from, with their relative weight and amount range
+ */
+@ConfigurationProperties(prefix = "finance.dataset")
+public record DatasetProperties(
+    @DefaultValue("42") long seed,
+    @DefaultValue("1000000") long rows,
+    @DefaultValue("2021-01-01") LocalDate dateFrom,
+    @DefaultValue("2025-12-31") LocalDate dateTo,
+    boolean replaceExisting,
+    @DefaultValue("10000") int batchSize,
+    @DefaultValue("500000") int rowsPerTransaction,
+    @DefaultValue List<CategoryDistribution> categories) {
+
+  /**
+   * @param id        category id, which must exist in {@code CATEGORY}
+   * @param weight    relative share of rows in this category
+   * @param minAmount smallest amount drawn
+   * @param maxAmount largest amount drawn; amounts are log-uniform between the two, so small
+   *                  payments are more common than large ones
+   */
+  public record CategoryDistribution(int id, double weight, BigDecimal minAmount, BigDecimal maxAmount) {
+  }
+}
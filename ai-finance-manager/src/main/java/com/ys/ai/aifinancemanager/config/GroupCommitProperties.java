@@ -0,0 +1,22 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for group commit of single-transaction writes.
+ *
+ * @param enabled      route {@code POST /transactions} through one writer thread that commits
+ *                     concurrent requests together instead of one SQLite transaction each
+ * @param maxBatchSize most requests committed in one database transaction
+ * @param maxLinger    how long the writer waits for more requests after the first one arrives;
+ *                     the latency a lone request pays for batching
+ */
+@ConfigurationProperties(prefix = "finance.group-commit")
+public record GroupCommitProperties(
+    boolean enabled,
+    @DefaultValue("100") int maxBatchSize,
+    @DefaultValue("5ms") Duration maxLinger) {
+}
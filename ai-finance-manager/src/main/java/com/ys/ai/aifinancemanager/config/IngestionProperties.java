@@ -0,0 +1,14 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for batch transaction ingestion.
+ *
+ * @param chunkSize number of rows inserted and committed per database transaction; bounds both
+ *                  the persistence context and how long the SQLite write lock is held
+ */
+@ConfigurationProperties(prefix = "finance.ingestion")
+public record IngestionProperties(@DefaultValue("1000") int chunkSize) {
+}
@@ -0,0 +1,33 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background database maintenance.
+ *
+ * @param enabled       run {@code PRAGMA optimize}, a WAL checkpoint and an incremental vacuum on
+ *                      a background thread every {@code interval}
+ * @param interval      time between the end of one run and the start of the next
+ * @param analysisLimit rows per index {@code ANALYZE} samples when {@code optimize} decides to run it
+ * @param vacuumSlice   free pages returned to the file system per {@code incremental_vacuum}; each
+ *                      slice is its own write transaction, so this bounds how long writers wait
+ * @param vacuumPause   pause between slices, leaving the write lock to queued writers
+ * @param maxVacuumPages most free pages returned in one run
+ * @param convertAutoVacuum once, switch a database without {@code auto_vacuum = INCREMENTAL} over
+ *                      with the pragma and a full {@code VACUUM}. That rewrites the whole file,
+ *                      holds the write lock until it is done and needs free disk space of up to
+ *                      twice the file size, so it is off by default
+ */
+@ConfigurationProperties(prefix = "finance.maintenance")
+public record MaintenanceProperties(
+    boolean enabled,
+    @DefaultValue("15m") Duration interval,
+    @DefaultValue("400") int analysisLimit,
+    @DefaultValue("64") int vacuumSlice,
+    @DefaultValue("20ms") Duration vacuumPause,
+    @DefaultValue("25600") int maxVacuumPages,
+    boolean convertAutoVacuum) {
+}
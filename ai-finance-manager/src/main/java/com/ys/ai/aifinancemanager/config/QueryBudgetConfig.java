@@ -0,0 +1,32 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.api.budget.QueryBudgetInterceptor;
+import com.ys.ai.aifinancemanager.api.controller.TransactionController;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers {@link QueryBudgetInterceptor} for the {@link TransactionController} endpoints. The
+ * SQLite side is set up with the pools in {@link SqliteDataSourceConfig}.
+ *
+ * <p>It runs after {@link WriteAdmissionConfig write admission}, so a queued write starts its
+ * budget once it holds a writer slot and is not answered 503 for time spent in the queue.</p>
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+  @Bean
+  public WebMvcConfigurer queryBudgetInterceptor(QueryBudgetProperties queryBudgetProperties) {
+    var interceptor = new QueryBudgetInterceptor(queryBudgetProperties);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+            .addPathPatterns("/api/v1/finance/**")
+            .order(WriteAdmissionConfig.INTERCEPTOR_ORDER + 1);
+      }
+    };
+  }
+}
@@ -0,0 +1,26 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the per-request time budget of SQLite statements.
+ *
+ * @param enabled       interrupt the statements of a {@code TransactionController} request once its
+ *                      budget is spent and answer 503; takes effect on connections opened after startup
+ * @param defaultBudget budget of endpoints not listed in {@code endpoints}
+ * @param endpoints     budget per endpoint, keyed by the name in its {@code @QueryBudgetEndpoint}
+ */
+@ConfigurationProperties(prefix = "finance.query-budget")
+public record QueryBudgetProperties(
+    boolean enabled,
+    @DefaultValue("10s") Duration defaultBudget,
+    @DefaultValue Map<String, Duration> endpoints) {
+
+  public Duration budgetFor(String endpoint) {
+    return endpoints.getOrDefault(endpoint, defaultBudget);
+  }
+}
@@ -0,0 +1,19 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of transaction list responses.
+ *
+ * @param enabled keep recent {@code GET /transactions} responses per type and date range, and
+ *                evict only the ones a write lands in
+ * @param maxSize estimated heap the cached responses may take before the least recently used
+ *                ones are dropped; a single larger response is not cached at all
+ */
+@ConfigurationProperties(prefix = "finance.response-cache")
+public record ResponseCacheProperties(
+    boolean enabled,
+    @DefaultValue("64MB") DataSize maxSize) {
+}
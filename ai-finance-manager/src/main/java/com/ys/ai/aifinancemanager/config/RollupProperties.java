@@ -0,0 +1,13 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-category rollup tables.
+ *
+ * @param verifyOnStartup compare the rollups with {@code TRANSACTIONS} once the application is
+ *                        ready and log any mismatch; scans the whole table
+ */
+@ConfigurationProperties(prefix = "finance.rollups")
+public record RollupProperties(boolean verifyOnStartup) {
+}
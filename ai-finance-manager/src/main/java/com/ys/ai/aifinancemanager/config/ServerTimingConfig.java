@@ -0,0 +1,22 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.api.timing.ServerTimingFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers {@link ServerTimingFilter} ahead of the other filters, so its total covers them too.
+ */
+@Configuration
+public class ServerTimingConfig {
+
+  @Bean
+  public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties serverTimingProperties) {
+    var registration = new FilterRegistrationBean<>(new ServerTimingFilter(serverTimingProperties));
+    registration.addUrlPatterns(ServerTimingFilter.TRANSACTIONS_PATH);
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+    return registration;
+  }
+}
@@ -0,0 +1,20 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-request timing of {@code GET /transactions}.
+ *
+ * @param enabled      add a {@code Server-Timing} header with the time spent in the database,
+ *                     in-memory read models, aggregation and DTO mapping; it is sent ahead of
+ *                     the body, so serialization and the total are left to the log line
+ * @param logThreshold also log the breakdown, serialization and total included, of requests
+ *                     that take at least this long; unset logs nothing
+ */
+@ConfigurationProperties(prefix = "finance.server-timing")
+public record ServerTimingProperties(
+    boolean enabled,
+    Duration logThreshold) {
+}
@@ -0,0 +1,55 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.SlowQueryEndpoint;
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.SlowQueryLog;
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.TimingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link TimingDataSource} when
+ * {@code finance.slow-query.enabled} is set, so every statement, Hibernate's included, is timed.
+ * The {@code slowqueries} endpoint exists only then as well.
+ */
+@Slf4j
+@Configuration
+public class SlowQueryConfig {
+
+  @Bean
+  public SlowQueryLog slowQueryLog(SlowQueryProperties slowQueryProperties) {
+    return new SlowQueryLog(slowQueryProperties);
+  }
+
+  @Bean
+  @ConditionalOnBooleanProperty("finance.slow-query.enabled")
+  public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+    return new SlowQueryEndpoint(slowQueryLog);
+  }
+
+  /**
+   * Static, as post-processors are created before the rest of the configuration; the properties
+   * and log are only looked up once the data source exists.
+   */
+  @Bean
+  public static BeanPostProcessor timingDataSourcePostProcessor(
+      ObjectProvider<SlowQueryProperties> slowQueryProperties, ObjectProvider<SlowQueryLog> slowQueryLog) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof TimingDataSource
+            || !slowQueryProperties.getObject().enabled()) {
+          return bean;
+        }
+        log.info("Timing JDBC statements of data source '{}', logging those over {}",
+            beanName, slowQueryProperties.getObject().threshold());
+        return new TimingDataSource(dataSource, slowQueryLog.getObject());
+      }
+    };
+  }
+}
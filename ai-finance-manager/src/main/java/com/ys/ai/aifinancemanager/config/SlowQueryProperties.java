@@ -0,0 +1,23 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for timing every JDBC statement through a {@code DataSource} proxy.
+ *
+ * @param enabled       wrap the data source; statements are timed from execution until their
+ *                      result set is closed, counting only the time spent inside {@code next()}
+ * @param threshold     statements at least this slow are logged with their bind values
+ * @param explain       add the {@code EXPLAIN QUERY PLAN} output to every slow statement logged
+ * @param topStatements statement shapes listed by the {@code slowqueries} actuator endpoint
+ */
+@ConfigurationProperties(prefix = "finance.slow-query")
+public record SlowQueryProperties(
+    boolean enabled,
+    @DefaultValue("200ms") Duration threshold,
+    @DefaultValue("true") boolean explain,
+    @DefaultValue("20") int topStatements) {
+}
@@ -0,0 +1,19 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for snapshot files of the in-memory read models (column store and totals index).
+ *
+ * @param enabled   write a snapshot after every full build and on shutdown, and start from it
+ *                  instead of scanning {@code TRANSACTIONS} when it is still valid
+ * @param directory where the snapshot files live; created on first write
+ */
+@ConfigurationProperties(prefix = "finance.snapshot")
+public record SnapshotProperties(
+    boolean enabled,
+    @DefaultValue("snapshots") Path directory) {
+}
@@ -0,0 +1,103 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.QueryBudgetSqliteDataSource;
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.ReadWriteDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured pool with one whose connections open with the
+ * {@link SqliteProperties} pragmas, plus a read-only pool when {@code finance.sqlite.read-pool}
+ * is enabled.
+ *
+ * <p>{@code spring.datasource.*} and {@code spring.datasource.hikari.*} still configure the
+ * write pool.</p>
+ */
+@Slf4j
+@Configuration
+public class SqliteDataSourceConfig {
+
+  static final String WRITE_POOL_NAME = "finance-write";
+
+  static final String READ_POOL_NAME = "finance-read";
+
+  @Bean
+  public DataSource dataSource(DataSourceProperties dataSourceProperties, SqliteProperties sqliteProperties,
+      QueryBudgetProperties queryBudgetProperties, Environment environment,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    var writePool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    writePool.setPoolName(WRITE_POOL_NAME);
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(writePool));
+    writePool.setDataSource(connectionSource(sqliteConfig(sqliteProperties, false), writePool.getJdbcUrl(),
+        queryBudgetProperties));
+    log.info("SQLite connections use journal_mode={}, synchronous={}, cache_size={}, mmap_size={}, "
+            + "temp_store={}, busy_timeout={}", sqliteProperties.journalMode(), sqliteProperties.synchronous(),
+        sqliteProperties.cacheSize(), sqliteProperties.mmapSize(), sqliteProperties.tempStore(),
+        sqliteProperties.busyTimeout());
+
+    var readPoolProperties = sqliteProperties.readPool();
+    if (!readPoolProperties.enabled()) {
+      return writePool;
+    }
+
+    var readPool = new HikariDataSource();
+    readPool.setPoolName(READ_POOL_NAME);
+    readPool.setMaximumPoolSize(readPoolProperties.maximumPoolSize());
+    readPool.setDataSource(connectionSource(sqliteConfig(sqliteProperties, true), writePool.getJdbcUrl(),
+        queryBudgetProperties));
+    // Hikari sets this flag on every new connection, and SQLite refuses to change it once open
+    readPool.setReadOnly(true);
+    // Only the write pool is reached by the pool metrics auto-configuration
+    meterRegistry.ifAvailable(registry -> readPool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    log.info("Read-only transactions use the {} pool of up to {} connections",
+        READ_POOL_NAME, readPoolProperties.maximumPoolSize());
+    return new ReadWriteDataSource(writePool, readPool);
+  }
+
+  /**
+   * Where a pool opens its connections; with the query budget enabled, they interrupt statements
+   * that outlive it.
+   */
+  private static SQLiteDataSource connectionSource(SQLiteConfig config, String url,
+      QueryBudgetProperties queryBudgetProperties) {
+    if (queryBudgetProperties.enabled()) {
+      return new QueryBudgetSqliteDataSource(config, url);
+    }
+    var dataSource = new SQLiteDataSource(config);
+    dataSource.setUrl(url);
+    return dataSource;
+  }
+
+  /**
+   * Read-only connections leave out the journal mode: it is stored in the database file, so only
+   * a writer can change it, and they pick it up from there.
+   */
+  public static SQLiteConfig sqliteConfig(SqliteProperties sqliteProperties, boolean readOnly) {
+    var config = new SQLiteConfig();
+    if (readOnly) {
+      config.setReadOnly(true);
+    } else {
+      config.setJournalMode(sqliteProperties.journalMode());
+    }
+    config.setSynchronous(sqliteProperties.synchronous());
+    // A negative cache_size is in KiB rather than pages
+    config.setCacheSize((int) -sqliteProperties.cacheSize().toKilobytes());
+    config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(sqliteProperties.mmapSize().toBytes()));
+    config.setTempStore(sqliteProperties.tempStore());
+    config.setBusyTimeout((int) sqliteProperties.busyTimeout().toMillis());
+    return config;
+  }
+}
@@ -0,0 +1,41 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.sqlite.SQLiteConfig;
+
+import java.time.Duration;
+
+/**
+ * Pragmas applied to every SQLite connection as it is opened, and the optional read-only pool.
+ *
+ * @param journalMode journal of the write connections; WAL lets readers run while a write commits
+ * @param synchronous when SQLite waits for the disk; {@code NORMAL} is durable in WAL mode except
+ *                    for the last commits before a power loss
+ * @param cacheSize   page cache of each connection
+ * @param mmapSize    how much of the database file each connection reads through a memory map
+ * @param tempStore   where temporary tables and indexes, such as sorts, are kept
+ * @param busyTimeout how long a connection waits for a lock before failing with {@code SQLITE_BUSY}
+ * @param readPool    separate pool of read-only connections for {@code @Transactional(readOnly = true)}
+ */
+@ConfigurationProperties(prefix = "finance.sqlite")
+public record SqliteProperties(
+    @DefaultValue("WAL") SQLiteConfig.JournalMode journalMode,
+    @DefaultValue("NORMAL") SQLiteConfig.SynchronousMode synchronous,
+    @DefaultValue("64MB") DataSize cacheSize,
+    @DefaultValue("256MB") DataSize mmapSize,
+    @DefaultValue("MEMORY") SQLiteConfig.TempStore tempStore,
+    @DefaultValue("5s") Duration busyTimeout,
+    @DefaultValue ReadPool readPool) {
+
+  /**
+   * @param enabled         route read-only transactions to their own pool; other work keeps the
+   *                        {@code spring.datasource.hikari} pool
+   * @param maximumPoolSize read-only connections; readers do not block each other in WAL mode
+   */
+  public record ReadPool(
+      boolean enabled,
+      @DefaultValue("4") int maximumPoolSize) {
+  }
+}
@@ -0,0 +1,14 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory index of per-category day totals.
+ *
+ * @param enabled build one Fenwick tree per category over days once the application is ready
+ *                and answer {@code GET /transactions?view=SUMMARY} from it instead of the rollup
+ *                tables; committed inserts are written through
+ */
+@ConfigurationProperties(prefix = "finance.totals-index")
+public record TotalsIndexProperties(boolean enabled) {
+}
@@ -0,0 +1,22 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionView;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+/**
+ * Request parameter conversions that differ from Spring's defaults.
+ */
+@Configuration
+public class WebConversionConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addFormatters(FormatterRegistry registry) {
+    // Accept view=summary as well as view=SUMMARY
+    registry.addConverter(String.class, TransactionView.class,
+        source -> TransactionView.valueOf(source.trim().toUpperCase(Locale.ROOT)));
+  }
+}
@@ -0,0 +1,34 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.api.admission.WriteAdmissionInterceptor;
+import com.ys.ai.aifinancemanager.api.controller.TransactionController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers {@link WriteAdmissionInterceptor} for the {@link TransactionController} endpoints,
+ * ahead of every other interceptor there: a request waiting for its writer slot has not started
+ * yet, so nothing it is timed or limited by may be running.
+ */
+@Configuration
+public class WriteAdmissionConfig {
+
+  public static final int INTERCEPTOR_ORDER = 0;
+
+  @Bean
+  public WebMvcConfigurer writeAdmissionInterceptor(WriteAdmissionProperties writeAdmissionProperties,
+                                                    MeterRegistry meterRegistry) {
+    var interceptor = new WriteAdmissionInterceptor(writeAdmissionProperties, meterRegistry);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+            .addPathPatterns("/api/v1/finance/**")
+            .order(INTERCEPTOR_ORDER);
+      }
+    };
+  }
+}
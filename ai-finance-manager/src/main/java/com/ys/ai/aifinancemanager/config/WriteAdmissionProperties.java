@@ -0,0 +1,28 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for admission control in front of the write endpoints.
+ *
+ * @param enabled              let at most {@code maxConcurrentWriters} write requests at the
+ *                             database and queue the rest; over {@code maxQueueDepth}, answer 429
+ * @param maxConcurrentWriters write requests handled at once; SQLite commits one at a time, so
+ *                             more mostly adds lock waits. With {@code finance.group-commit} on,
+ *                             raise it towards the batch size, or batches never fill
+ * @param maxQueueDepth        requests allowed to wait for a writer slot; the next one is turned
+ *                             away at once
+ * @param maxWait              longest a queued request waits for a slot before it is turned away
+ * @param retryAfter           {@code Retry-After} sent with a 429; rounded up to whole seconds
+ */
+@ConfigurationProperties(prefix = "finance.write-admission")
+public record WriteAdmissionProperties(
+    boolean enabled,
+    @DefaultValue("1") int maxConcurrentWriters,
+    @DefaultValue("32") int maxQueueDepth,
+    @DefaultValue("5s") Duration maxWait,
+    @DefaultValue("1s") Duration retryAfter) {
+}
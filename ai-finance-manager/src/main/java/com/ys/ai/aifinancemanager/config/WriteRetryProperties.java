@@ -0,0 +1,28 @@
+package com.ys.ai.aifinancemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for retrying write transactions that SQLite turned away as busy or locked.
+ *
+ * @param enabled    run the whole write transaction again after {@code SQLITE_BUSY} or
+ *                   {@code SQLITE_LOCKED} instead of failing the request
+ * @param maxRetries attempts after the first one
+ * @param delay      backoff before the first retry; doubled for every further one
+ * @param maxDelay   longest backoff between two attempts
+ * @param jitter     random amount added to or taken from each backoff, so writers that failed
+ *                   together do not come back together
+ * @param timeout    overall deadline from the first attempt; no retry starts after it
+ */
+@ConfigurationProperties(prefix = "finance.write-retry")
+public record WriteRetryProperties(
+    boolean enabled,
+    @DefaultValue("8") int maxRetries,
+    @DefaultValue("10ms") Duration delay,
+    @DefaultValue("500ms") Duration maxDelay,
+    @DefaultValue("10ms") Duration jitter,
+    @DefaultValue("10s") Duration timeout) {
+}
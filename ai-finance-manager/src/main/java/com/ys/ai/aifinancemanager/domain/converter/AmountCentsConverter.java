@@ -0,0 +1,34 @@
+package com.ys.ai.aifinancemanager.domain.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores a money amount as a whole number of cents, which SQLite keeps as an exact INTEGER.
+ * Amounts with more than two decimal places are rejected rather than rounded.
+ */
+@Converter
+public class AmountCentsConverter implements AttributeConverter<BigDecimal, Long> {
+
+  public static final int SCALE = 2;
+
+  @Override
+  public Long convertToDatabaseColumn(BigDecimal amount) {
+    return amount != null ? toCents(amount) : null;
+  }
+
+  @Override
+  public BigDecimal convertToEntityAttribute(Long cents) {
+    return cents != null ? fromCents(cents) : null;
+  }
+
+  public static long toCents(BigDecimal amount) {
+    return amount.movePointRight(SCALE).longValueExact();
+  }
+
+  public static BigDecimal fromCents(long cents) {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+}
@@ -0,0 +1,23 @@
+package com.ys.ai.aifinancemanager.domain.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDate;
+
+/**
+ * Stores a date as days since 1970-01-01, independent of the JVM time zone.
+ */
+@Converter
+public class EpochDayConverter implements AttributeConverter<LocalDate, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(LocalDate date) {
+    return date != null ? date.toEpochDay() : null;
+  }
+
+  @Override
+  public LocalDate convertToEntityAttribute(Long epochDay) {
+    return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+  }
+}
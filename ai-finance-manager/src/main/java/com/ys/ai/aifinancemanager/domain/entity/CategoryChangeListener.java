@@ -0,0 +1,25 @@
+package com.ys.ai.aifinancemanager.domain.entity;
+
+import com.ys.ai.aifinancemanager.domain.event.CategoryChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Turns JPA lifecycle callbacks on {@link Category} into {@link CategoryChangedEvent}s.
+ * Instantiated by Spring through Hibernate's bean container, hence the constructor injection.
+ */
+@RequiredArgsConstructor
+public class CategoryChangeListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  void categoryChanged(Category category) {
+    eventPublisher.publishEvent(new CategoryChangedEvent(category.getIdCategory()));
+  }
+}
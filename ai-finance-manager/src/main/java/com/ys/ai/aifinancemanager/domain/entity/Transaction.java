@@ -1,9 +1,12 @@
 package com.ys.ai.aifinancemanager.domain.entity;
 
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
+import com.ys.ai.aifinancemanager.domain.converter.EpochDayConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -24,18 +27,25 @@ import java.time.LocalDate;
 @Table(name = "TRANSACTIONS")
 public class Transaction {
 
+  /**
+   * Assigned from an in-memory counter seeded with {@code MAX(ID_TRANSACTION)}, so inserts can be
+   * JDBC-batched (IDENTITY would force one round trip per row). Only safe while this application
+   * is the sole writer of the table.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "increment")
   @Column(name = "ID_TRANSACTION")
   private Integer idTransaction;
 
-  @Column(name = "AMOUNT", nullable = false, precision = 10, scale = 2)
+  @Convert(converter = AmountCentsConverter.class)
+  @Column(name = "AMOUNT_CENTS", nullable = false)
   private BigDecimal amount;
 
-  @Column(name = "TRANSACTION_DATE", nullable = false)
+  @Convert(converter = EpochDayConverter.class)
+  @Column(name = "TRANSACTION_DAY", nullable = false)
   private LocalDate transactionDate;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "ID_CATEGORY")
   private Category category;
 
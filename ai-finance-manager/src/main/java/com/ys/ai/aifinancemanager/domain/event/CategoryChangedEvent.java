@@ -0,0 +1,9 @@
+package com.ys.ai.aifinancemanager.domain.event;
+
+/**
+ * Published whenever a {@code CATEGORY} row is inserted, updated or deleted through JPA.
+ *
+ * @param idCategory the category that changed
+ */
+public record CategoryChangedEvent(Integer idCategory) {
+}
@@ -0,0 +1,17 @@
+package com.ys.ai.aifinancemanager.domain.projection;
+
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-category sum computed by the database; used where only totals are needed so no
+ * {@code Transaction} entities have to be hydrated.
+ */
+public record CategoryTotal(
+    Integer idCategory,
+    String description,
+    CategoryType type,
+    BigDecimal total
+) {
+}
@@ -0,0 +1,19 @@
+package com.ys.ai.aifinancemanager.domain.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * A rollup row that disagrees with the totals recomputed from {@code TRANSACTIONS}.
+ * {@code period} is an ISO day ({@code DAILY}) or year-month ({@code MONTHLY}); expected values are
+ * {@code null} when the rollup holds a row the base table does not, and vice versa.
+ */
+public record RollupMismatch(
+    String granularity,
+    Integer idCategory,
+    String period,
+    BigDecimal expectedAmount,
+    BigDecimal actualAmount,
+    Long expectedCount,
+    Long actualCount
+) {
+}
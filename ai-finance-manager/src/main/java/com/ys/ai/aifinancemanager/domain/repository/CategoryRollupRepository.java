@@ -0,0 +1,251 @@
+package com.ys.ai.aifinancemanager.domain.repository;
+
+import com.ys.ai.aifinancemanager.domain.converter.AmountCentsConverter;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.domain.projection.RollupMismatch;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native access to the {@code CATEGORY_DAILY_TOTAL} and {@code CATEGORY_MONTHLY_TOTAL} rollups.
+ *
+ * <p>Days are stored as ISO {@code yyyy-MM-dd} text and months as {@code yyyy-MM}, so range
+ * predicates compare plain strings. Totals are integer cents, so sums are exact. Writes must run
+ * inside the transaction that inserts the underlying {@code TRANSACTIONS} rows.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryRollupRepository {
+
+  /** TRANSACTION_DAY (days since 1970-01-01) as an ISO day. */
+  private static final String TRANSACTION_DAY = "date(TRANSACTION_DAY * 86400, 'unixepoch')";
+
+  private static final String UPSERT_DAILY = """
+      INSERT INTO CATEGORY_DAILY_TOTAL (ID_CATEGORY, TOTAL_DATE, TOTAL_CENTS, TRANSACTION_COUNT)
+      VALUES (:categoryId, :period, :cents, :count)
+      ON CONFLICT (ID_CATEGORY, TOTAL_DATE) DO UPDATE SET
+          TOTAL_CENTS = TOTAL_CENTS + excluded.TOTAL_CENTS,
+          TRANSACTION_COUNT = TRANSACTION_COUNT + excluded.TRANSACTION_COUNT""";
+
+  private static final String UPSERT_MONTHLY = """
+      INSERT INTO CATEGORY_MONTHLY_TOTAL (ID_CATEGORY, TOTAL_MONTH, TOTAL_CENTS, TRANSACTION_COUNT)
+      VALUES (:categoryId, :period, :cents, :count)
+      ON CONFLICT (ID_CATEGORY, TOTAL_MONTH) DO UPDATE SET
+          TOTAL_CENTS = TOTAL_CENTS + excluded.TOTAL_CENTS,
+          TRANSACTION_COUNT = TRANSACTION_COUNT + excluded.TRANSACTION_COUNT""";
+
+  /**
+   * Each segment joins from CATEGORY so the rollup primary key is searched per category with
+   * a period range; reading the segments first would scan the rollups by period alone.
+   */
+  private static final String SUM_BY_CATEGORY_TYPE = """
+      SELECT ID_CATEGORY, DESCRIPTION, TYPE, SUM(TOTAL_CENTS)
+      FROM (
+          SELECT c.ID_CATEGORY, c.DESCRIPTION, c.TYPE, m.TOTAL_CENTS
+          FROM CATEGORY c
+          JOIN CATEGORY_MONTHLY_TOTAL m ON m.ID_CATEGORY = c.ID_CATEGORY
+          WHERE c.TYPE = :categoryType AND m.TOTAL_MONTH BETWEEN :monthFrom AND :monthTo
+          UNION ALL
+          SELECT c.ID_CATEGORY, c.DESCRIPTION, c.TYPE, d.TOTAL_CENTS
+          FROM CATEGORY c
+          JOIN CATEGORY_DAILY_TOTAL d ON d.ID_CATEGORY = c.ID_CATEGORY
+          WHERE c.TYPE = :categoryType AND d.TOTAL_DATE BETWEEN :headFrom AND :headTo
+          UNION ALL
+          SELECT c.ID_CATEGORY, c.DESCRIPTION, c.TYPE, d.TOTAL_CENTS
+          FROM CATEGORY c
+          JOIN CATEGORY_DAILY_TOTAL d ON d.ID_CATEGORY = c.ID_CATEGORY
+          WHERE c.TYPE = :categoryType AND d.TOTAL_DATE BETWEEN :tailFrom AND :tailTo
+      )
+      GROUP BY ID_CATEGORY, DESCRIPTION, TYPE
+      ORDER BY ID_CATEGORY""";
+
+  private static final String FIND_DAILY_MISMATCHES = """
+      WITH BASE AS (
+          SELECT ID_CATEGORY, %s AS PERIOD, SUM(AMOUNT_CENTS) AS CENTS, COUNT(*) AS CNT
+          FROM TRANSACTIONS
+          WHERE ID_CATEGORY IS NOT NULL
+          GROUP BY 1, 2
+      )
+      SELECT 'DAILY', COALESCE(b.ID_CATEGORY, r.ID_CATEGORY), COALESCE(b.PERIOD, r.TOTAL_DATE),
+             b.CENTS, r.TOTAL_CENTS, b.CNT, r.TRANSACTION_COUNT
+      FROM BASE b
+      FULL JOIN CATEGORY_DAILY_TOTAL r ON r.ID_CATEGORY = b.ID_CATEGORY AND r.TOTAL_DATE = b.PERIOD
+      WHERE b.ID_CATEGORY IS NULL OR r.ID_CATEGORY IS NULL
+         OR b.CENTS <> r.TOTAL_CENTS OR b.CNT <> r.TRANSACTION_COUNT
+      ORDER BY 2, 3""".formatted(TRANSACTION_DAY);
+
+  private static final String FIND_MONTHLY_MISMATCHES = """
+      WITH BASE AS (
+          SELECT ID_CATEGORY, substr(%s, 1, 7) AS PERIOD, SUM(AMOUNT_CENTS) AS CENTS, COUNT(*) AS CNT
+          FROM TRANSACTIONS
+          WHERE ID_CATEGORY IS NOT NULL
+          GROUP BY 1, 2
+      )
+      SELECT 'MONTHLY', COALESCE(b.ID_CATEGORY, r.ID_CATEGORY), COALESCE(b.PERIOD, r.TOTAL_MONTH),
+             b.CENTS, r.TOTAL_CENTS, b.CNT, r.TRANSACTION_COUNT
+      FROM BASE b
+      FULL JOIN CATEGORY_MONTHLY_TOTAL r ON r.ID_CATEGORY = b.ID_CATEGORY AND r.TOTAL_MONTH = b.PERIOD
+      WHERE b.ID_CATEGORY IS NULL OR r.ID_CATEGORY IS NULL
+         OR b.CENTS <> r.TOTAL_CENTS OR b.CNT <> r.TRANSACTION_COUNT
+      ORDER BY 2, 3""".formatted(TRANSACTION_DAY);
+
+  private static final String REBUILD_DAILY = """
+      INSERT INTO CATEGORY_DAILY_TOTAL (ID_CATEGORY, TOTAL_DATE, TOTAL_CENTS, TRANSACTION_COUNT)
+      SELECT ID_CATEGORY, %s, SUM(AMOUNT_CENTS), COUNT(*)
+      FROM TRANSACTIONS
+      WHERE ID_CATEGORY IS NOT NULL
+      GROUP BY 1, 2""".formatted(TRANSACTION_DAY);
+
+  private static final String REBUILD_MONTHLY = """
+      INSERT INTO CATEGORY_MONTHLY_TOTAL (ID_CATEGORY, TOTAL_MONTH, TOTAL_CENTS, TRANSACTION_COUNT)
+      SELECT ID_CATEGORY, substr(TOTAL_DATE, 1, 7), SUM(TOTAL_CENTS), SUM(TRANSACTION_COUNT)
+      FROM CATEGORY_DAILY_TOTAL
+      GROUP BY 1, 2""";
+
+  private final EntityManager entityManager;
+
+  public void addToDailyTotal(Integer categoryId, LocalDate day, BigDecimal amount, long count) {
+    upsert(UPSERT_DAILY, categoryId, day.toString(), amount, count);
+  }
+
+  public void addToMonthlyTotal(Integer categoryId, YearMonth month, BigDecimal amount, long count) {
+    upsert(UPSERT_MONTHLY, categoryId, month.toString(), amount, count);
+  }
+
+  /**
+   * Sums a date range per category: whole months come from the monthly rollup, the partial
+   * months at either edge from the daily rollup.
+   */
+  public List<CategoryTotal> sumByCategoryTypeAndDateBetween(
+      CategoryType categoryType,
+      LocalDate startDate,
+      LocalDate endDate) {
+    var segments = RollupSegments.of(startDate, endDate);
+
+    List<?> rows = entityManager.createNativeQuery(SUM_BY_CATEGORY_TYPE)
+        .setParameter("categoryType", categoryType.name())
+        .setParameter("monthFrom", segments.monthFrom())
+        .setParameter("monthTo", segments.monthTo())
+        .setParameter("headFrom", segments.headFrom())
+        .setParameter("headTo", segments.headTo())
+        .setParameter("tailFrom", segments.tailFrom())
+        .setParameter("tailTo", segments.tailTo())
+        .getResultList();
+
+    return rows.stream()
+        .map(Object[].class::cast)
+        .map(row -> new CategoryTotal(
+            toInteger(row[0]),
+            (String) row[1],
+            CategoryType.valueOf((String) row[2]),
+            toAmount(row[3])))
+        .toList();
+  }
+
+  public List<RollupMismatch> findMismatches() {
+    var mismatches = new ArrayList<RollupMismatch>();
+    mismatches.addAll(findMismatches(FIND_DAILY_MISMATCHES));
+    mismatches.addAll(findMismatches(FIND_MONTHLY_MISMATCHES));
+    return mismatches;
+  }
+
+  /**
+   * Recomputes both rollups from {@code TRANSACTIONS}. Holds the write lock for the whole
+   * statement sequence, so it is meant for maintenance and bulk loads only.
+   */
+  public void rebuild() {
+    entityManager.createNativeQuery("DELETE FROM CATEGORY_DAILY_TOTAL").executeUpdate();
+    entityManager.createNativeQuery("DELETE FROM CATEGORY_MONTHLY_TOTAL").executeUpdate();
+    entityManager.createNativeQuery(REBUILD_DAILY).executeUpdate();
+    entityManager.createNativeQuery(REBUILD_MONTHLY).executeUpdate();
+  }
+
+  private void upsert(String sql, Integer categoryId, String period, BigDecimal amount, long count) {
+    entityManager.createNativeQuery(sql)
+        .setParameter("categoryId", categoryId)
+        .setParameter("period", period)
+        .setParameter("cents", AmountCentsConverter.toCents(amount))
+        .setParameter("count", count)
+        .executeUpdate();
+  }
+
+  private List<RollupMismatch> findMismatches(String sql) {
+    List<?> rows = entityManager.createNativeQuery(sql).getResultList();
+
+    return rows.stream()
+        .map(Object[].class::cast)
+        .map(row -> new RollupMismatch(
+            (String) row[0],
+            toInteger(row[1]),
+            (String) row[2],
+            toAmount(row[3]),
+            toAmount(row[4]),
+            toLong(row[5]),
+            toLong(row[6])))
+        .toList();
+  }
+
+  private static Integer toInteger(Object value) {
+    return value != null ? ((Number) value).intValue() : null;
+  }
+
+  private static Long toLong(Object value) {
+    return value != null ? ((Number) value).longValue() : null;
+  }
+
+  private static BigDecimal toAmount(Object cents) {
+    return cents != null ? AmountCentsConverter.fromCents(((Number) cents).longValue()) : null;
+  }
+
+  /**
+   * Splits {@code [startDate, endDate]} into a run of whole months and the partial months at
+   * either edge. Empty segments are encoded as ranges whose start sorts after their end, so the
+   * corresponding {@code BETWEEN} matches nothing.
+   */
+  record RollupSegments(
+      String monthFrom,
+      String monthTo,
+      String headFrom,
+      String headTo,
+      String tailFrom,
+      String tailTo) {
+
+    private static final String EMPTY_FROM = "9999-12-31";
+
+    private static final String EMPTY_TO = "0000-01-01";
+
+    static RollupSegments of(LocalDate startDate, LocalDate endDate) {
+      var firstWholeMonth = startDate.getDayOfMonth() == 1
+          ? YearMonth.from(startDate)
+          : YearMonth.from(startDate).plusMonths(1);
+      var lastWholeMonth = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+          ? YearMonth.from(endDate)
+          : YearMonth.from(endDate).minusMonths(1);
+
+      if (firstWholeMonth.isAfter(lastWholeMonth)) {
+        // No whole month inside the range: read every day from the daily rollup
+        return new RollupSegments(EMPTY_FROM, EMPTY_TO,
+            startDate.toString(), endDate.toString(), EMPTY_FROM, EMPTY_TO);
+      }
+
+      var headTo = firstWholeMonth.atDay(1).minusDays(1);
+      var tailFrom = lastWholeMonth.atEndOfMonth().plusDays(1);
+
+      return new RollupSegments(
+          firstWholeMonth.toString(),
+          lastWholeMonth.toString(),
+          startDate.isAfter(headTo) ? EMPTY_FROM : startDate.toString(),
+          startDate.isAfter(headTo) ? EMPTY_TO : headTo.toString(),
+          tailFrom.isAfter(endDate) ? EMPTY_FROM : tailFrom.toString(),
+          tailFrom.isAfter(endDate) ? EMPTY_TO : endDate.toString());
+    }
+  }
+}
@@ -2,25 +2,71 @@ package com.ys.ai.aifinancemanager.domain.repository;
 
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
 import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
+  @EntityGraph(attributePaths = "category")
   List<Transaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
 
-  @Query("SELECT t FROM Transaction t WHERE t.category.type = :categoryType " +
+  @Query("SELECT t FROM Transaction t JOIN FETCH t.category c WHERE c.type = :categoryType " +
       "AND t.transactionDate BETWEEN :startDate AND :endDate")
   List<Transaction> findByCategoryTypeAndTransactionDateBetween(
       @Param("categoryType") CategoryType categoryType,
       @Param("startDate") LocalDate startDate,
       @Param("endDate") LocalDate endDate
   );
-}
 
+  /**
+   * Ids of the categories referenced by at least one transaction, ascending.
+   *
+   * <p>Skips through {@code IDX_TRANSACTIONS_CATEGORY_DATE} one category at a time: each step is
+   * a single index search for the next larger id, so the cost grows with the number of
+   * categories, not with the number of rows.</p>
+   */
+  @Query(value = """
+      WITH RECURSIVE CATEGORY_IN_USE(ID_CATEGORY) AS (
+          SELECT MIN(ID_CATEGORY) FROM TRANSACTIONS
+          UNION ALL
+          SELECT (SELECT MIN(ID_CATEGORY) FROM TRANSACTIONS WHERE ID_CATEGORY > CATEGORY_IN_USE.ID_CATEGORY)
+          FROM CATEGORY_IN_USE
+          WHERE CATEGORY_IN_USE.ID_CATEGORY IS NOT NULL)
+      SELECT ID_CATEGORY FROM CATEGORY_IN_USE WHERE ID_CATEGORY IS NOT NULL""", nativeQuery = true)
+  List<Integer> findCategoryIdsInUse();
+
+  /**
+   * Streams the transactions of one category in a date range, in date and then id order.
+   *
+   * <p>A single category makes the plan an equality and a range on
+   * {@code IDX_TRANSACTIONS_CATEGORY_DATE}, which carries the id right after the date, so rows
+   * come off the index already in order; a
+   * whole type, or the whole range, would be sorted in a temp B-tree before the first row.
+   * The stream is backed by a forward-only JDBC cursor, so it must be consumed and closed
+   * inside an open transaction. Entities are loaded read-only; callers that iterate large ranges
+   * should detach each entity once it has been processed to keep the persistence context small.</p>
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT t FROM Transaction t JOIN FETCH t.category c " +
+      "WHERE c.idCategory = :categoryId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+      "ORDER BY t.transactionDate, t.idTransaction")
+  Stream<Transaction> streamForExportByCategoryAndTransactionDateBetween(
+      @Param("categoryId") Integer categoryId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate
+  );
+}
@@ -0,0 +1,41 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import org.sqlite.ProgressHandler;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.SQLException;
+
+/**
+ * Opens SQLite connections that interrupt their running statement once the calling thread's
+ * {@link QueryBudget} is spent. The statement then fails with {@code SQLITE_INTERRUPT}, and the
+ * connection stays usable.
+ */
+public class QueryBudgetSqliteDataSource extends SQLiteDataSource {
+
+  /**
+   * Virtual machine steps between budget checks; a few microseconds of work.
+   */
+  static final int CHECK_INTERVAL_STEPS = 1_000;
+
+  private static final ProgressHandler INTERRUPT_WHEN_EXCEEDED = new ProgressHandler() {
+    @Override
+    protected int progress() {
+      return QueryBudget.isExceeded() ? 1 : 0;
+    }
+  };
+
+  public QueryBudgetSqliteDataSource(SQLiteConfig config, String url) {
+    super(config);
+    setUrl(url);
+  }
+
+  @Override
+  public SQLiteConnection getConnection(String username, String password) throws SQLException {
+    var connection = super.getConnection(username, password);
+    ProgressHandler.setHandler(connection, CHECK_INTERVAL_STEPS, INTERRUPT_WHEN_EXCEEDED);
+    return connection;
+  }
+}
@@ -0,0 +1,32 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Hands out connections from the read pool inside read-only transactions and from the write pool
+ * everywhere else.
+ *
+ * <p>The pool is picked when the first statement runs rather than when the transaction begins,
+ * as only then does the connection know it is read-only. Both pools are closed with this data
+ * source.</p>
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+  private final HikariDataSource writePool;
+
+  private final HikariDataSource readPool;
+
+  public ReadWriteDataSource(HikariDataSource writePool, HikariDataSource readPool) {
+    super(writePool);
+    setReadOnlyDataSource(readPool);
+    this.writePool = writePool;
+    this.readPool = readPool;
+  }
+
+  @Override
+  public void close() {
+    readPool.close();
+    writePool.close();
+  }
+}
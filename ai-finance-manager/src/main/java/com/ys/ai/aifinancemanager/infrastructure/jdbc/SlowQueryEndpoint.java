@@ -0,0 +1,24 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest statement shapes seen since startup. Read-only, so
+ * exposing it lets nobody wipe what was collected. Only registered while
+ * {@code finance.slow-query.enabled} is set.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+  private final SlowQueryLog slowQueryLog;
+
+  @ReadOperation
+  public List<SlowQueryLog.StatementShape> slowQueries() {
+    return slowQueryLog.top();
+  }
+}
@@ -0,0 +1,205 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.config.SlowQueryProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Receives every statement {@link TimingDataSource} timed: keeps running totals per statement
+ * shape and logs the ones over the threshold with their bind values and query plan.
+ *
+ * <p>A shape is the SQL with whitespace collapsed and literals replaced by {@code ?}, so plain
+ * statements differing only in their values are counted together. At most {@value #MAX_SHAPES}
+ * shapes are tracked; later ones are still logged when slow but not counted.</p>
+ *
+ * <p>Text binds are logged truncated, but kept only as their length for {@link #top}: the
+ * endpoint serves them over HTTP, and they are where comments and other free text end up.</p>
+ */
+@Slf4j
+public class SlowQueryLog {
+
+  static final int MAX_SHAPES = 1_000;
+
+  private static final int MAX_BIND_LENGTH = 64;
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+  private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(?:SELECT|WITH|INSERT|UPDATE|DELETE)\\b",
+      Pattern.CASE_INSENSITIVE);
+
+  private final SlowQueryProperties slowQueryProperties;
+
+  private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+  public SlowQueryLog(SlowQueryProperties slowQueryProperties) {
+    this.slowQueryProperties = slowQueryProperties;
+  }
+
+  /**
+   * One statement tracked by the {@code slowqueries} endpoint.
+   *
+   * @param sql          the statement shape
+   * @param count        executions timed
+   * @param totalMillis  time across all executions
+   * @param meanMillis   time per execution
+   * @param maxMillis    slowest execution
+   * @param slowestBinds bind values of the slowest execution, text reduced to its length
+   * @param plan         query plan captured the last time the statement was over the threshold
+   */
+  public record StatementShape(
+      String sql,
+      long count,
+      double totalMillis,
+      double meanMillis,
+      double maxMillis,
+      String slowestBinds,
+      String plan) {
+  }
+
+  /**
+   * The tracked shapes with the slowest single execution first.
+   */
+  public List<StatementShape> top() {
+    return shapes.entrySet().stream()
+        .map(entry -> entry.getValue().toShape(entry.getKey()))
+        .sorted(Comparator.comparingDouble(StatementShape::maxMillis).reversed())
+        .limit(slowQueryProperties.topStatements())
+        .toList();
+  }
+
+  public void reset() {
+    shapes.clear();
+  }
+
+  /**
+   * @param connection the unwrapped connection the statement ran on, used for the query plan
+   * @param binds      parameter values by index; for a batch, those of its last row
+   * @param batchSize  rows in the batch, or 0 when the statement was not batched
+   */
+  void record(Connection connection, String sql, Map<Integer, Object> binds, int batchSize, long nanos) {
+    var shape = shapeOf(sql);
+    var stats = shapes.get(shape);
+    if (stats == null && shapes.size() < MAX_SHAPES) {
+      stats = shapes.computeIfAbsent(shape, ignored -> new ShapeStats());
+    }
+    var slow = nanos >= slowQueryProperties.threshold().toNanos();
+    if (stats == null && !slow) {
+      return;
+    }
+
+    String plan = null;
+    if (slow) {
+      plan = slowQueryProperties.explain() ? explain(connection, sql, binds) : null;
+      log.warn("Slow statement took {} ms: {} binds={}{}", millis(nanos), WHITESPACE.matcher(sql).replaceAll(" "),
+          formatBinds(binds, batchSize, false), plan != null ? " plan=[" + plan + "]" : "");
+    }
+    if (stats != null) {
+      stats.add(nanos, binds, batchSize, plan);
+    }
+  }
+
+  static String shapeOf(String sql) {
+    var shape = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+    shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+    return NUMBER_LITERAL.matcher(shape).replaceAll("?");
+  }
+
+  /**
+   * The plan SQLite chose, one step per line joined by {@code "; "}, with the statement's own
+   * bind values, since they can change which index is used.
+   */
+  static String explain(Connection connection, String sql, Map<Integer, Object> binds) {
+    if (!EXPLAINABLE.matcher(sql).find()) {
+      return null;
+    }
+    try (var statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+      for (var bind : binds.entrySet()) {
+        statement.setObject(bind.getKey(), bind.getValue());
+      }
+      var steps = new StringBuilder();
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          if (!steps.isEmpty()) {
+            steps.append("; ");
+          }
+          steps.append(resultSet.getString("detail"));
+        }
+      }
+      return steps.toString();
+    } catch (SQLException e) {
+      return "unavailable: " + e.getMessage();
+    }
+  }
+
+  private static String formatBinds(Map<Integer, Object> binds, int batchSize, boolean redactText) {
+    var values = binds.entrySet().stream()
+        .map(bind -> bind.getKey() + "=" + formatBind(bind.getValue(), redactText))
+        .collect(Collectors.joining(", ", "[", "]"));
+    return batchSize > 0 ? "batch of %d, last %s".formatted(batchSize, values) : values;
+  }
+
+  private static String formatBind(Object value, boolean redactText) {
+    if (value instanceof byte[] bytes) {
+      return "<%d bytes>".formatted(bytes.length);
+    }
+    if (!(value instanceof CharSequence text)) {
+      return String.valueOf(value);
+    }
+    if (redactText) {
+      return "<%d chars>".formatted(text.length());
+    }
+    var shown = text.length() > MAX_BIND_LENGTH ? text.subSequence(0, MAX_BIND_LENGTH) + "..." : text;
+    return "'" + shown + "'";
+  }
+
+  private static double millis(long nanos) {
+    return Math.round(nanos / 10_000.0) / 100.0;
+  }
+
+  private static final class ShapeStats {
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private long maxNanos;
+
+    private String slowestBinds;
+
+    private String plan;
+
+    void add(long nanos, Map<Integer, Object> binds, int batchSize, String capturedPlan) {
+      count.increment();
+      totalNanos.add(nanos);
+      synchronized (this) {
+        if (nanos > maxNanos) {
+          maxNanos = nanos;
+          slowestBinds = formatBinds(binds, batchSize, true);
+        }
+        if (capturedPlan != null) {
+          plan = capturedPlan;
+        }
+      }
+    }
+
+    synchronized StatementShape toShape(String sql) {
+      var executions = count.sum();
+      var total = totalNanos.sum();
+      return new StatementShape(sql, executions, millis(total), executions == 0 ? 0 : millis(total / executions),
+          millis(maxNanos), slowestBinds, plan);
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hands out connections whose statements report to {@link SlowQueryLog} how long each execution
+ * took.
+ *
+ * <p>SQLite steps through the rows of a query inside {@link ResultSet#next()}, so a query's time
+ * is the {@code execute} call plus every {@code next()} on its result set, and it is reported
+ * once that result set or its statement is closed. Time the caller spends between rows, mapping
+ * them, is not counted. Updates and batches are reported as soon as they return.</p>
+ *
+ * <p>Connections, statements and result sets are wrapped with JDK proxies, so every other JDBC
+ * call goes straight to the pool's own objects.</p>
+ */
+public class TimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  private final SlowQueryLog slowQueryLog;
+
+  public TimingDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+    super(targetDataSource);
+    this.slowQueryLog = slowQueryLog;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  /**
+   * Closes the pool behind this data source, as the container would have without the wrapper.
+   */
+  @Override
+  public void close() throws Exception {
+    if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  private Connection wrap(Connection connection) {
+    return proxy(Connection.class, connection, new ConnectionHandler(connection));
+  }
+
+  private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+    handler.target = target;
+    return type.cast(Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+
+  /**
+   * Forwards every call to the wrapped JDBC object unless {@link #intercept} handles it.
+   */
+  private abstract static class Handler implements InvocationHandler {
+
+    static final Object NOT_HANDLED = new Object();
+
+    Object target;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals" -> {
+          return proxy == args[0];
+        }
+        case "hashCode" -> {
+          return System.identityHashCode(proxy);
+        }
+        default -> {
+          var result = intercept(proxy, method, args);
+          return result != NOT_HANDLED ? result : forward(method, args);
+        }
+      }
+    }
+
+    abstract Object intercept(Object proxy, Method method, Object[] args) throws Throwable;
+
+    Object forward(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private final class ConnectionHandler extends Handler {
+
+    private final Connection connection;
+
+    ConnectionHandler(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+      return switch (method.getName()) {
+        case "createStatement" -> statement(method, forward(method, args), null);
+        case "prepareStatement", "prepareCall" -> statement(method, forward(method, args), (String) args[0]);
+        default -> NOT_HANDLED;
+      };
+    }
+
+    private Object statement(Method method, Object statement, String sql) {
+      return proxy(method.getReturnType(), statement, new StatementHandler(connection, sql));
+    }
+  }
+
+  /**
+   * Tracks the bind values and batch size of one statement and times its executions.
+   */
+  private final class StatementHandler extends Handler {
+
+    private final Connection connection;
+
+    private final Map<Integer, Object> binds = new TreeMap<>();
+
+    private String sql;
+
+    private int batchSize;
+
+    private Execution pending;
+
+    StatementHandler(Connection connection, String sql) {
+      this.connection = connection;
+      this.sql = sql;
+    }
+
+    @Override
+    Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+      var name = method.getName();
+      if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+        binds.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+        return NOT_HANDLED;
+      }
+      return switch (name) {
+        case "clearParameters" -> {
+          binds.clear();
+          yield NOT_HANDLED;
+        }
+        case "addBatch" -> {
+          if (args != null) {
+            sql = (String) args[0];
+          }
+          batchSize++;
+          yield NOT_HANDLED;
+        }
+        case "clearBatch" -> {
+          batchSize = 0;
+          yield NOT_HANDLED;
+        }
+        case "executeQuery" -> executeQuery(proxy, method, args);
+        case "execute" -> execute(proxy, method, args);
+        case "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> executeUpdate(method, args);
+        case "getResultSet" -> resultSet(proxy, forward(method, args));
+        case "close" -> {
+          finishPending();
+          yield NOT_HANDLED;
+        }
+        default -> NOT_HANDLED;
+      };
+    }
+
+    private Object executeQuery(Object proxy, Method method, Object[] args) throws Throwable {
+      var execution = start(args);
+      var resultSet = forward(method, args);
+      execution.add(System.nanoTime() - execution.startNanos);
+      pending = execution;
+      return resultSet(proxy, resultSet);
+    }
+
+    private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+      var execution = start(args);
+      var hasResultSet = (Boolean) forward(method, args);
+      execution.add(System.nanoTime() - execution.startNanos);
+      pending = execution;
+      if (!hasResultSet) {
+        finishPending();
+      }
+      return hasResultSet;
+    }
+
+    private Object executeUpdate(Method method, Object[] args) throws Throwable {
+      var execution = start(args);
+      try {
+        return forward(method, args);
+      } finally {
+        execution.add(System.nanoTime() - execution.startNanos);
+        pending = execution;
+        finishPending();
+      }
+    }
+
+    private Object resultSet(Object statement, Object resultSet) {
+      if (resultSet == null || pending == null) {
+        return resultSet;
+      }
+      return proxy(ResultSet.class, resultSet, new ResultSetHandler(statement, pending));
+    }
+
+    private Execution start(Object[] args) {
+      finishPending();
+      if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+        sql = statementSql;
+      }
+      var execution = new Execution(sql, new TreeMap<>(binds), batchSize);
+      batchSize = 0;
+      return execution;
+    }
+
+    private void finishPending() {
+      if (pending != null) {
+        pending.finish();
+        pending = null;
+      }
+    }
+
+    /**
+     * One execution of the statement; reported once, whichever of its result set or statement
+     * closes first.
+     */
+    private final class Execution {
+
+      private final String sql;
+
+      private final Map<Integer, Object> binds;
+
+      private final int batchSize;
+
+      private final long startNanos = System.nanoTime();
+
+      private long nanos;
+
+      private boolean finished;
+
+      Execution(String sql, Map<Integer, Object> binds, int batchSize) {
+        this.sql = sql;
+        this.binds = binds;
+        this.batchSize = batchSize;
+      }
+
+      void add(long elapsedNanos) {
+        nanos += elapsedNanos;
+      }
+
+      void finish() {
+        if (!finished && sql != null) {
+          finished = true;
+          slowQueryLog.record(connection, sql, binds, batchSize, nanos);
+        }
+      }
+    }
+
+    private final class ResultSetHandler extends Handler {
+
+      private final Object statement;
+
+      private final Execution execution;
+
+      ResultSetHandler(Object statement, Execution execution) {
+        this.statement = statement;
+        this.execution = execution;
+      }
+
+      @Override
+      Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+        return switch (method.getName()) {
+          case "next" -> {
+            var start = System.nanoTime();
+            try {
+              yield forward(method, args);
+            } finally {
+              execution.add(System.nanoTime() - start);
+            }
+          }
+          case "getStatement" -> (Statement) statement;
+          case "close" -> {
+            try {
+              yield forward(method, args);
+            } finally {
+              execution.finish();
+            }
+          }
+          default -> NOT_HANDLED;
+        };
+      }
+    }
+  }
+}
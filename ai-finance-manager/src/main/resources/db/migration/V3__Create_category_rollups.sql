@@ -0,0 +1,40 @@
+-- V3__Create_category_rollups.sql
+-- Per-category daily and monthly totals, maintained by the application on every insert
+
+CREATE TABLE IF NOT EXISTS CATEGORY_DAILY_TOTAL (
+    ID_CATEGORY INTEGER NOT NULL,
+    TOTAL_DATE varchar(10) NOT NULL,
+    TOTAL_AMOUNT DECIMAL(14, 2) NOT NULL,
+    TRANSACTION_COUNT INTEGER NOT NULL,
+    PRIMARY KEY (ID_CATEGORY, TOTAL_DATE),
+    FOREIGN KEY (ID_CATEGORY) REFERENCES CATEGORY(ID_CATEGORY)
+) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS CATEGORY_MONTHLY_TOTAL (
+    ID_CATEGORY INTEGER NOT NULL,
+    TOTAL_MONTH varchar(7) NOT NULL,
+    TOTAL_AMOUNT DECIMAL(14, 2) NOT NULL,
+    TRANSACTION_COUNT INTEGER NOT NULL,
+    PRIMARY KEY (ID_CATEGORY, TOTAL_MONTH),
+    FOREIGN KEY (ID_CATEGORY) REFERENCES CATEGORY(ID_CATEGORY)
+) WITHOUT ROWID;
+
+-- Backfill from existing rows. TRANSACTION_DATE holds ISO text for seeded rows and
+-- epoch milliseconds (local midnight) for rows written through JDBC date binding.
+INSERT INTO CATEGORY_DAILY_TOTAL (ID_CATEGORY, TOTAL_DATE, TOTAL_AMOUNT, TRANSACTION_COUNT)
+SELECT ID_CATEGORY, DAY, SUM(AMOUNT), COUNT(*)
+FROM (
+    SELECT ID_CATEGORY, AMOUNT,
+           CASE typeof(TRANSACTION_DATE)
+               WHEN 'integer' THEN date(TRANSACTION_DATE / 1000, 'unixepoch', 'localtime')
+               ELSE date(TRANSACTION_DATE)
+           END AS DAY
+    FROM TRANSACTIONS
+    WHERE ID_CATEGORY IS NOT NULL
+)
+GROUP BY ID_CATEGORY, DAY;
+
+INSERT INTO CATEGORY_MONTHLY_TOTAL (ID_CATEGORY, TOTAL_MONTH, TOTAL_AMOUNT, TRANSACTION_COUNT)
+SELECT ID_CATEGORY, substr(TOTAL_DATE, 1, 7), SUM(TOTAL_AMOUNT), SUM(TRANSACTION_COUNT)
+FROM CATEGORY_DAILY_TOTAL
+GROUP BY ID_CATEGORY, substr(TOTAL_DATE, 1, 7);
@@ -0,0 +1,15 @@
+-- V4__Create_transaction_indexes.sql
+-- Covering indexes for the date-range reads in TransactionRepository.
+-- ID_TRANSACTION is the rowid, so every index already carries it and each one covers all columns.
+
+-- Date-driven reads: findByTransactionDateBetween and the CSV export stream
+CREATE INDEX IF NOT EXISTS IDX_TRANSACTIONS_DATE_CATEGORY
+    ON TRANSACTIONS (TRANSACTION_DATE, ID_CATEGORY, AMOUNT, COMMENT);
+
+-- Category-driven reads: findByCategoryTypeAndTransactionDateBetween walks the categories of one type
+CREATE INDEX IF NOT EXISTS IDX_TRANSACTIONS_CATEGORY_DATE
+    ON TRANSACTIONS (ID_CATEGORY, TRANSACTION_DATE, AMOUNT, COMMENT);
+
+-- Resolves a category type without touching the table; also drives the rollup summary query
+CREATE INDEX IF NOT EXISTS IDX_CATEGORY_TYPE
+    ON CATEGORY (TYPE, DESCRIPTION);
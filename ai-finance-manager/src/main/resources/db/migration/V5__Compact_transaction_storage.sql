@@ -0,0 +1,70 @@
+-- V5__Compact_transaction_storage.sql
+-- Stores amounts as INTEGER cents and transaction dates as INTEGER days since 1970-01-01.
+-- DECIMAL columns have REAL affinity in SQLite, so sums drifted by fractions of a cent, and
+-- dates were ISO text or epoch milliseconds depending on how the row was written. Integers make
+-- sums exact, rows smaller and range predicates plain integer comparisons.
+-- SQLite cannot change a column type in place, so both tables are rebuilt.
+
+CREATE TABLE TRANSACTIONS_COMPACT (
+    ID_TRANSACTION INTEGER PRIMARY KEY AUTOINCREMENT,
+    AMOUNT_CENTS INTEGER NOT NULL,
+    TRANSACTION_DAY INTEGER NOT NULL,
+    ID_CATEGORY INTEGER,
+    COMMENT varchar(255) NULL,
+    FOREIGN KEY (ID_CATEGORY) REFERENCES CATEGORY(ID_CATEGORY)
+);
+
+-- Same normalisation as V3: ISO text for seeded rows, epoch milliseconds (local midnight) otherwise
+INSERT INTO TRANSACTIONS_COMPACT (ID_TRANSACTION, AMOUNT_CENTS, TRANSACTION_DAY, ID_CATEGORY, COMMENT)
+SELECT ID_TRANSACTION,
+       CAST(round(AMOUNT * 100) AS INTEGER),
+       CAST(julianday(CASE typeof(TRANSACTION_DATE)
+                          WHEN 'integer' THEN date(TRANSACTION_DATE / 1000, 'unixepoch', 'localtime')
+                          ELSE date(TRANSACTION_DATE)
+                      END) - 2440587.5 AS INTEGER),
+       ID_CATEGORY,
+       COMMENT
+FROM TRANSACTIONS;
+
+DROP TABLE TRANSACTIONS;
+ALTER TABLE TRANSACTIONS_COMPACT RENAME TO TRANSACTIONS;
+
+-- The V4 indexes went with the old table; recreate them on the new columns
+CREATE INDEX IDX_TRANSACTIONS_DATE_CATEGORY
+    ON TRANSACTIONS (TRANSACTION_DAY, ID_CATEGORY, AMOUNT_CENTS, COMMENT);
+
+CREATE INDEX IDX_TRANSACTIONS_CATEGORY_DATE
+    ON TRANSACTIONS (ID_CATEGORY, TRANSACTION_DAY, AMOUNT_CENTS, COMMENT);
+
+-- Rollup totals move to cents as well; days and months stay ISO text
+DROP TABLE CATEGORY_DAILY_TOTAL;
+DROP TABLE CATEGORY_MONTHLY_TOTAL;
+
+CREATE TABLE CATEGORY_DAILY_TOTAL (
+    ID_CATEGORY INTEGER NOT NULL,
+    TOTAL_DATE varchar(10) NOT NULL,
+    TOTAL_CENTS INTEGER NOT NULL,
+    TRANSACTION_COUNT INTEGER NOT NULL,
+    PRIMARY KEY (ID_CATEGORY, TOTAL_DATE),
+    FOREIGN KEY (ID_CATEGORY) REFERENCES CATEGORY(ID_CATEGORY)
+) WITHOUT ROWID;
+
+CREATE TABLE CATEGORY_MONTHLY_TOTAL (
+    ID_CATEGORY INTEGER NOT NULL,
+    TOTAL_MONTH varchar(7) NOT NULL,
+    TOTAL_CENTS INTEGER NOT NULL,
+    TRANSACTION_COUNT INTEGER NOT NULL,
+    PRIMARY KEY (ID_CATEGORY, TOTAL_MONTH),
+    FOREIGN KEY (ID_CATEGORY) REFERENCES CATEGORY(ID_CATEGORY)
+) WITHOUT ROWID;
+
+INSERT INTO CATEGORY_DAILY_TOTAL (ID_CATEGORY, TOTAL_DATE, TOTAL_CENTS, TRANSACTION_COUNT)
+SELECT ID_CATEGORY, date(TRANSACTION_DAY * 86400, 'unixepoch'), SUM(AMOUNT_CENTS), COUNT(*)
+FROM TRANSACTIONS
+WHERE ID_CATEGORY IS NOT NULL
+GROUP BY 1, 2;
+
+INSERT INTO CATEGORY_MONTHLY_TOTAL (ID_CATEGORY, TOTAL_MONTH, TOTAL_CENTS, TRANSACTION_COUNT)
+SELECT ID_CATEGORY, substr(TOTAL_DATE, 1, 7), SUM(TOTAL_CENTS), SUM(TRANSACTION_COUNT)
+FROM CATEGORY_DAILY_TOTAL
+GROUP BY 1, 2;
@@ -0,0 +1,10 @@
+-- V6__Order_category_index_by_id.sql
+-- The CSV export reads one category at a time in (day, id) order. The rowid every index carries
+-- sorts after AMOUNT_CENTS and COMMENT, so rows of the same day came off the index in amount
+-- order and an id tiebreak needed a sort. Putting ID_TRANSACTION right after the day makes the
+-- index order the export order; the index still covers every column.
+
+DROP INDEX IDX_TRANSACTIONS_CATEGORY_DATE;
+
+CREATE INDEX IDX_TRANSACTIONS_CATEGORY_DATE
+    ON TRANSACTIONS (ID_CATEGORY, TRANSACTION_DAY, ID_TRANSACTION, AMOUNT_CENTS, COMMENT);
@@ -0,0 +1,148 @@
+package com.ys.ai.aifinancemanager.api.admission;
+
+import com.ys.ai.aifinancemanager.config.WriteAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WriteAdmissionInterceptorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CountDownLatch writing = new CountDownLatch(1);
+
+  private final CountDownLatch finishWriting = new CountDownLatch(1);
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    finishWriting.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void preHandle_shouldQueueWriteWhileSlotIsTakenAndRejectOnceQueueIsFull() throws Exception {
+    // Given
+    var mockMvc = mockMvc(new WriteAdmissionProperties(true, 1, 1, Duration.ofSeconds(30), Duration.ofMillis(1500)));
+    var holder = executor.submit(() -> mockMvc.perform(post("/writes/blocking")).andReturn());
+    writing.await();
+    var queued = executor.submit(() -> mockMvc.perform(post("/writes/quick")).andReturn());
+    awaitQueueDepth(1);
+
+    // When & Then
+    mockMvc.perform(post("/writes/quick"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "2"))
+        .andExpect(jsonPath("$.title").value("Too many concurrent writes"));
+    assertThat(rejected("queue-full")).isEqualTo(1);
+    assertThat(gauge(WriteAdmissionInterceptor.ACTIVE)).isEqualTo(1);
+
+    finishWriting.countDown();
+    assertThat(holder.get().getResponse().getStatus()).isEqualTo(201);
+    assertThat(queued.get().getResponse().getStatus()).isEqualTo(201);
+    assertThat(gauge(WriteAdmissionInterceptor.ACTIVE)).isZero();
+    assertThat(gauge(WriteAdmissionInterceptor.QUEUE_DEPTH)).isZero();
+    assertThat(meterRegistry.get(WriteAdmissionInterceptor.WAIT).tag("endpoint", "quick").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void preHandle_shouldRejectQueuedWriteThatWaitedTooLong() throws Exception {
+    // Given
+    var mockMvc = mockMvc(new WriteAdmissionProperties(true, 1, 4, Duration.ofMillis(50), Duration.ofSeconds(1)));
+    executor.submit(() -> mockMvc.perform(post("/writes/blocking")).andReturn());
+    writing.await();
+
+    // When & Then
+    mockMvc.perform(post("/writes/quick"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "1"));
+    assertThat(rejected("timeout")).isEqualTo(1);
+  }
+
+  @Test
+  void preHandle_shouldLeaveReadsAndDisabledAdmissionAlone() throws Exception {
+    // Given
+    var mockMvc = mockMvc(new WriteAdmissionProperties(false, 1, 0, Duration.ZERO, Duration.ofSeconds(1)));
+
+    // When & Then
+    mockMvc.perform(post("/writes/quick")).andExpect(status().isCreated());
+    mockMvc.perform(get("/reads")).andExpect(status().isOk());
+    assertThat(meterRegistry.find(WriteAdmissionInterceptor.WAIT).timer()).isNull();
+  }
+
+  private MockMvc mockMvc(WriteAdmissionProperties properties) {
+    return MockMvcBuilders.standaloneSetup(new WritingController(writing, finishWriting))
+        .addInterceptors(new WriteAdmissionInterceptor(properties, meterRegistry))
+        .setControllerAdvice(new WriteAdmissionExceptionHandler())
+        .build();
+  }
+
+  private void awaitQueueDepth(int depth) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (gauge(WriteAdmissionInterceptor.QUEUE_DEPTH) != depth && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).gauge().value();
+  }
+
+  private double rejected(String reason) {
+    return meterRegistry.get(WriteAdmissionInterceptor.REJECTED).tag("reason", reason).counter().count();
+  }
+
+  @RestController
+  static class WritingController {
+
+    private final CountDownLatch writing;
+
+    private final CountDownLatch finishWriting;
+
+    WritingController(CountDownLatch writing, CountDownLatch finishWriting) {
+      this.writing = writing;
+      this.finishWriting = finishWriting;
+    }
+
+    @WriteEndpoint("blocking")
+    @PostMapping("/writes/blocking")
+    @ResponseStatus(HttpStatus.CREATED)
+    void blockingWrite() throws InterruptedException {
+      writing.countDown();
+      finishWriting.await();
+    }
+
+    @WriteEndpoint("quick")
+    @PostMapping("/writes/quick")
+    @ResponseStatus(HttpStatus.CREATED)
+    void quickWrite() {
+    }
+
+    @GetMapping("/reads")
+    String read() {
+      return "read";
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.ys.ai.aifinancemanager.api.budget;
+
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.config.QueryBudgetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryBudgetInterceptorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new QueryBudgetProperties(true, Duration.ofSeconds(1), Map.of("slow", Duration.ofSeconds(5)));
+    mockMvc = MockMvcBuilders.standaloneSetup(new BudgetedController())
+        .addInterceptors(new QueryBudgetInterceptor(properties))
+        .setControllerAdvice(new QueryBudgetExceptionHandler(meterRegistry))
+        .build();
+  }
+
+  @Test
+  void preHandle_shouldApplyConfiguredBudgetOfEndpointAndEndItAfterwards() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/budget/default")).andExpect(content().string("PT1S"));
+    mockMvc.perform(get("/budget/slow")).andExpect(content().string("PT5S"));
+    mockMvc.perform(get("/budget/none")).andExpect(content().string("none"));
+    assertThat(QueryBudget.current()).isNull();
+  }
+
+  @Test
+  void handleDataAccessFailure_shouldAnswer503AndCountInterruptedStatements() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/budget/interrupted"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.title").value("Query time budget exhausted"));
+    assertThat(meterRegistry.get(QueryBudgetExceptionHandler.EXCEEDED_COUNTER).tag("endpoint", "slow").counter()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void handleDataAccessFailure_shouldLeaveOtherFailuresAlone() {
+    assertThatThrownBy(() -> mockMvc.perform(get("/budget/failed")))
+        .isInstanceOf(ServletException.class)
+        .hasRootCauseInstanceOf(SQLiteException.class);
+  }
+
+  @RestController
+  static class BudgetedController {
+
+    @QueryBudgetEndpoint("default")
+    @GetMapping("/budget/default")
+    String defaultBudget() {
+      return QueryBudget.current().duration().toString();
+    }
+
+    @QueryBudgetEndpoint("slow")
+    @GetMapping("/budget/slow")
+    String slowBudget() {
+      return QueryBudget.current().duration().toString();
+    }
+
+    @GetMapping("/budget/none")
+    String noBudget() {
+      return QueryBudget.current() == null ? "none" : "budget";
+    }
+
+    @QueryBudgetEndpoint("slow")
+    @GetMapping("/budget/interrupted")
+    String interrupted() {
+      throw new DataAccessResourceFailureException("Query failed",
+          new SQLiteException("[SQLITE_INTERRUPT] Operation terminated", SQLiteErrorCode.SQLITE_INTERRUPT));
+    }
+
+    @QueryBudgetEndpoint("slow")
+    @GetMapping("/budget/failed")
+    String failed() {
+      throw new DataAccessResourceFailureException("Query failed",
+          new SQLiteException("[SQLITE_ERROR] no such table", SQLiteErrorCode.SQLITE_ERROR));
+    }
+  }
+}
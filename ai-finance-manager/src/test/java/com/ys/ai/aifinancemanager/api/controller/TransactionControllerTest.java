@@ -1,39 +1,57 @@
 package com.ys.ai.aifinancemanager.api.controller;
 
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowResult;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowStatus;
 import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
-import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse.CategoryTransactionSummary;
 import com.ys.ai.aifinancemanager.application.service.CsvExportService;
+import com.ys.ai.aifinancemanager.application.service.TransactionGroupCommitService;
+import com.ys.ai.aifinancemanager.application.service.TransactionIngestionService;
 import com.ys.ai.aifinancemanager.application.service.TransactionService;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -45,6 +63,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * guide.</p>
  */
 @WebMvcTest(TransactionController.class)
+@Import(SimpleMeterRegistry.class)
 class TransactionControllerTest {
 
   private static final String BASE_URL = "/api/v1/finance";
@@ -58,6 +77,12 @@ class TransactionControllerTest {
   @MockitoBean
   private CsvExportService csvExportService;
 
+  @MockitoBean
+  private TransactionIngestionService transactionIngestionService;
+
+  @MockitoBean
+  private TransactionGroupCommitService transactionGroupCommitService;
+
   // ========== POST /transactions ==========
 
   @Test
@@ -158,6 +183,139 @@ class TransactionControllerTest {
         .hasMessageContaining("Category not found with id: 999");
   }
 
+  @Test
+  void addTransaction_shouldUseGroupCommitWhenEnabled() throws Exception {
+    var requestJson = """
+        {
+            "amount": 75.25,
+            "transactionDate": "2026-02-07",
+            "categoryId": 2
+        }
+        """;
+
+    when(transactionGroupCommitService.isEnabled()).thenReturn(true);
+    when(transactionGroupCommitService.addTransaction(any(CreateTransactionRequest.class)))
+        .thenReturn(TransactionDto.builder()
+            .idTransaction(102)
+            .amount(new BigDecimal("75.25"))
+            .transactionDate(LocalDate.of(2026, 2, 7))
+            .build());
+
+    mockMvc.perform(post(BASE_URL + "/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestJson))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.idTransaction", is(102)));
+
+    verify(transactionGroupCommitService).addTransaction(any(CreateTransactionRequest.class));
+    verifyNoInteractions(transactionService);
+  }
+
+  // ========== POST /transactions/batch ==========
+
+  @Test
+  void addTransactions_shouldStreamJsonArrayToIngestionService() throws Exception {
+    var requestJson = """
+        [
+            {"amount": 5000.00, "transactionDate": "2026-02-01", "categoryId": 1, "comment": "Salary"},
+            {"amount": 42.10, "transactionDate": "2026-02-02", "categoryId": 2}
+        ]
+        """;
+
+    var received = givenIngestionReceives();
+
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestJson))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.received", is(2)))
+        .andExpect(jsonPath("$.created", is(2)))
+        .andExpect(jsonPath("$.error").doesNotExist())
+        .andExpect(jsonPath("$.results", hasSize(2)))
+        .andExpect(jsonPath("$.results[0].index", is(0)))
+        .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+        .andExpect(jsonPath("$.results[0].idTransaction", is(1000)));
+
+    assertThat(received).hasSize(2);
+    assertThat(received.get(0).getAmount()).isEqualByComparingTo("5000.00");
+    assertThat(received.get(0).getComment()).isEqualTo("Salary");
+    assertThat(received.get(1).getTransactionDate()).isEqualTo(LocalDate.of(2026, 2, 2));
+    assertThat(received.get(1).getCategoryId()).isEqualTo(2);
+  }
+
+  @Test
+  void addTransactions_shouldAcceptNewlineDelimitedJson() throws Exception {
+    var requestBody = """
+        {"amount": 10.00, "transactionDate": "2026-02-01", "categoryId": 2}
+        {"amount": 20.00, "transactionDate": "2026-02-02", "categoryId": 3}
+        {"amount": 30.00, "transactionDate": "2026-02-03", "categoryId": 4}
+        """;
+
+    var received = givenIngestionReceives();
+
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.received", is(3)));
+
+    assertThat(received).extracting(CreateTransactionRequest::getCategoryId).containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void addTransactions_shouldReturnBadRequestWhenBodyIsNotJson() throws Exception {
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("not json"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(transactionIngestionService);
+  }
+
+  @Test
+  void addTransactions_shouldReturnBadRequestWhenNothingCouldBeRead() throws Exception {
+    when(transactionIngestionService.addTransactions(any()))
+        .thenReturn(BatchTransactionResponse.builder()
+            .received(0)
+            .error("Input could not be read after row 0: Unexpected character")
+            .results(List.of())
+            .build());
+
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"amount\": }]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("Input could not be read after row 0: Unexpected character")));
+  }
+
+  @Test
+  void addTransactions_shouldReturnOkWithErrorWhenInputBreaksAfterSomeRows() throws Exception {
+    when(transactionIngestionService.addTransactions(any()))
+        .thenReturn(BatchTransactionResponse.builder()
+            .received(1)
+            .created(1)
+            .error("Input could not be read after row 1: Unexpected end-of-input")
+            .results(List.of(RowResult.builder().index(0).status(RowStatus.CREATED).idTransaction(7).build()))
+            .build());
+
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"amount\": 1.00, \"transactionDate\": \"2026-02-01\", \"categoryId\": 2},"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created", is(1)))
+        .andExpect(jsonPath("$.error", is("Input could not be read after row 1: Unexpected end-of-input")));
+  }
+
+  @Test
+  void addTransactions_shouldReturnUnsupportedMediaTypeForCsv() throws Exception {
+    mockMvc.perform(post(BASE_URL + "/transactions/batch")
+            .contentType("text/csv")
+            .content("amount,date\n1.00,2026-02-01"))
+        .andExpect(status().isUnsupportedMediaType());
+
+    verifyNoInteractions(transactionIngestionService);
+  }
+
   // ========== GET /transactions ==========
 
   @Test
@@ -354,6 +512,130 @@ class TransactionControllerTest {
     verifyNoInteractions(transactionService);
   }
 
+  @Test
+  void getTransactions_shouldReturnCategoryTotalsWhenSummaryViewRequested() throws Exception {
+    var response = TransactionsByTypeResponse.builder()
+        .categorySummaries(List.of(CategoryTransactionSummary.builder()
+            .category(CategoryDto.builder()
+                .idCategory(2)
+                .description("Food & Groceries")
+                .type(CategoryType.EXPENSES)
+                .build())
+            .categoryTotal(new BigDecimal("250.50"))
+            .build()))
+        .totalAmount(new BigDecimal("250.50"))
+        .build();
+
+    when(transactionService.getCategoryTotalsByTypeAndDateRange(
+        CategoryType.EXPENSES,
+        LocalDate.of(2026, 2, 1),
+        LocalDate.of(2026, 2, 28)))
+        .thenReturn(response);
+
+    mockMvc.perform(get(BASE_URL + "/transactions")
+            .param("type", "EXPENSES")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28")
+            .param("view", "SUMMARY"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.categorySummaries", hasSize(1)))
+        .andExpect(jsonPath("$.categorySummaries[0].category.description", is("Food & Groceries")))
+        .andExpect(jsonPath("$.categorySummaries[0].categoryTotal", is(250.50)))
+        .andExpect(jsonPath("$.categorySummaries[0].transactions").doesNotExist())
+        .andExpect(jsonPath("$.totalAmount", is(250.50)));
+
+    verify(transactionService, never()).getTransactionsByTypeAndDateRange(any(), any(), any());
+  }
+
+  @Test
+  void getTransactions_shouldAcceptLowercaseSummaryView() throws Exception {
+    when(transactionService.getCategoryTotalsByTypeAndDateRange(
+        CategoryType.INCOMES,
+        LocalDate.of(2026, 2, 1),
+        LocalDate.of(2026, 2, 28)))
+        .thenReturn(TransactionsByTypeResponse.builder()
+            .categorySummaries(List.of())
+            .totalAmount(BigDecimal.ZERO)
+            .build());
+
+    mockMvc.perform(get(BASE_URL + "/transactions")
+            .param("type", "INCOMES")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28")
+            .param("view", "summary"))
+        .andExpect(status().isOk());
+
+    verify(transactionService).getCategoryTotalsByTypeAndDateRange(
+        CategoryType.INCOMES,
+        LocalDate.of(2026, 2, 1),
+        LocalDate.of(2026, 2, 28));
+  }
+
+  @Test
+  void getTransactions_shouldReturnBadRequestWhenViewIsInvalid() throws Exception {
+    mockMvc.perform(get(BASE_URL + "/transactions")
+            .param("type", "INCOMES")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28")
+            .param("view", "everything"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(transactionService);
+  }
+
+  @Test
+  void getTransactions_shouldReturnWeakEtagDerivedFromDataAndCategoriesVersions() throws Exception {
+    when(transactionService.getDataVersion()).thenReturn(0x10L);
+    when(transactionService.getCategoriesVersion()).thenReturn(0xabcL);
+    when(transactionService.getTransactionsByTypeAndDateRange(any(), any(), any())).thenReturn(emptyResponse());
+
+    var eTag = getTransactionsETag("DETAILS", null);
+
+    assertThat(eTag).startsWith("W/\"transactions-10-abc-");
+  }
+
+  @Test
+  void getTransactions_shouldReturnNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+    when(transactionService.getTransactionsByTypeAndDateRange(any(), any(), any())).thenReturn(emptyResponse());
+    var eTag = getTransactionsETag("DETAILS", null);
+
+    mockMvc.perform(get(BASE_URL + "/transactions")
+            .param("type", "EXPENSES")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28")
+            .header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", eTag))
+        .andExpect(content().string(""));
+
+    verify(transactionService, times(1)).getTransactionsByTypeAndDateRange(any(), any(), any());
+  }
+
+  @Test
+  void getTransactions_shouldReturnFullResponseAfterWrite() throws Exception {
+    when(transactionService.getDataVersion()).thenReturn(1L);
+    when(transactionService.getTransactionsByTypeAndDateRange(any(), any(), any())).thenReturn(emptyResponse());
+    var eTag = getTransactionsETag("DETAILS", null);
+
+    when(transactionService.getDataVersion()).thenReturn(2L);
+    var newETag = getTransactionsETag("DETAILS", eTag);
+
+    assertThat(newETag).isNotEqualTo(eTag);
+    verify(transactionService, times(2)).getTransactionsByTypeAndDateRange(any(), any(), any());
+  }
+
+  @Test
+  void getTransactions_shouldUseSeparateEtagsPerView() throws Exception {
+    when(transactionService.getTransactionsByTypeAndDateRange(any(), any(), any())).thenReturn(emptyResponse());
+    when(transactionService.getCategoryTotalsByTypeAndDateRange(any(), any(), any())).thenReturn(emptyResponse());
+
+    var details = getTransactionsETag("DETAILS", null);
+    var summary = getTransactionsETag("SUMMARY", details);
+
+    assertThat(summary).isNotEqualTo(details);
+    verify(transactionService).getCategoryTotalsByTypeAndDateRange(any(), any(), any());
+  }
+
   // ========== GET /categories ==========
 
   @Test
@@ -431,11 +713,54 @@ class TransactionControllerTest {
   }
 
   @Test
-  void getAllCategories_shouldReturnBadRequestWhenTypeIsMissing() throws Exception {
+  void getAllCategories_shouldReturnAllCategoriesWhenTypeIsMissing() throws Exception {
+    var categories = List.of(
+        CategoryDto.builder()
+            .idCategory(1)
+            .description("Salary")
+            .type(CategoryType.INCOMES)
+            .build(),
+        CategoryDto.builder()
+            .idCategory(2)
+            .description("Food & Groceries")
+            .type(CategoryType.EXPENSES)
+            .build()
+    );
+
+    when(transactionService.getCategoriesVersion()).thenReturn(0xabcL);
+    when(transactionService.getAllCategories()).thenReturn(categories);
+
     mockMvc.perform(get(BASE_URL + "/categories"))
-        .andExpect(status().isBadRequest());
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].type", is("INCOMES")))
+        .andExpect(jsonPath("$[1].type", is("EXPENSES")));
 
-    verifyNoInteractions(transactionService);
+    verify(transactionService).getAllCategories();
+  }
+
+  @Test
+  void getAllCategories_shouldReturnEtagDerivedFromCategoriesVersion() throws Exception {
+    when(transactionService.getCategoriesVersion()).thenReturn(0xabcL);
+    when(transactionService.getAllCategories(CategoryType.INCOMES)).thenReturn(List.of());
+
+    mockMvc.perform(get(BASE_URL + "/categories")
+            .param("type", "INCOMES"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"categories-abc\""))
+        .andExpect(header().string("Cache-Control", "no-cache"));
+  }
+
+  @Test
+  void getAllCategories_shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+    when(transactionService.getCategoriesVersion()).thenReturn(0xabcL);
+    when(transactionService.getAllCategories(CategoryType.INCOMES)).thenReturn(List.of());
+
+    mockMvc.perform(get(BASE_URL + "/categories")
+            .param("type", "INCOMES")
+            .header("If-None-Match", "\"categories-abc\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
   }
 
   @Test
@@ -451,26 +776,24 @@ class TransactionControllerTest {
 
   @Test
   void exportTransactionsToCsv_shouldReturnCsvFileWithCorrectHeaders() throws Exception {
-    var exportData = TransactionExportResponse.builder()
-        .transactions(List.of(
-            TransactionExportDetail.builder()
-                .idTransaction(1)
-                .transactionDate("2026-02-01")
-                .amount(new BigDecimal("5000.00"))
-                .categoryDescription("Salary")
-                .categoryType("INCOMES")
-                .comment("Monthly salary")
-                .build(),
-            TransactionExportDetail.builder()
-                .idTransaction(2)
-                .transactionDate("2026-02-05")
-                .amount(new BigDecimal("250.50"))
-                .categoryDescription("Food & Groceries")
-                .categoryType("EXPENSES")
-                .comment("Supermarket shopping")
-                .build()
-        ))
-        .build();
+    var exportDetails = List.of(
+        TransactionExportDetail.builder()
+            .idTransaction(1)
+            .transactionDate("2026-02-01")
+            .amount(new BigDecimal("5000.00"))
+            .categoryDescription("Salary")
+            .categoryType("INCOMES")
+            .comment("Monthly salary")
+            .build(),
+        TransactionExportDetail.builder()
+            .idTransaction(2)
+            .transactionDate("2026-02-05")
+            .amount(new BigDecimal("250.50"))
+            .categoryDescription("Food & Groceries")
+            .categoryType("EXPENSES")
+            .comment("Supermarket shopping")
+            .build()
+    );
 
     var csvContent = """
         Transaction ID,Transaction Date,Amount,Category Description,Category Type,Comment
@@ -478,16 +801,16 @@ class TransactionControllerTest {
         2,2026-02-05,250.50,Food & Groceries,EXPENSES,Supermarket shopping
         """;
 
-    when(transactionService.exportTransactions(
-        LocalDate.of(2026, 2, 1),
-        LocalDate.of(2026, 2, 28)))
-        .thenReturn(exportData);
-    when(csvExportService.exportTransactionsToCsv(exportData))
-        .thenReturn(csvContent);
+    givenExportStream(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), exportDetails);
+    givenCsvWriterOutputs(csvContent);
 
-    mockMvc.perform(get(BASE_URL + "/transactions/export")
+    var mvcResult = mockMvc.perform(get(BASE_URL + "/transactions/export")
             .param("dateFrom", "2026-02-01")
             .param("dateTo", "2026-02-28"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
         .andExpect(status().isOk())
         .andExpect(content().contentType("text/csv"))
         .andExpect(header().string("Content-Disposition",
@@ -496,30 +819,54 @@ class TransactionControllerTest {
             "must-revalidate, post-check=0, pre-check=0"))
         .andExpect(content().string(csvContent));
 
-    verify(transactionService).exportTransactions(
-        LocalDate.of(2026, 2, 1),
-        LocalDate.of(2026, 2, 28));
-    verify(csvExportService).exportTransactionsToCsv(exportData);
+    verify(transactionService).streamTransactionsForExport(
+        eq(LocalDate.of(2026, 2, 1)),
+        eq(LocalDate.of(2026, 2, 28)),
+        any());
+    verify(csvExportService).writeTransactionsToCsv(any(), any(OutputStream.class));
   }
 
   @Test
-  void exportTransactionsToCsv_shouldReturnCsvWithEmptyTransactions() throws Exception {
-    var exportData = TransactionExportResponse.builder()
-        .transactions(List.of())
-        .build();
+  void exportTransactionsToCsv_shouldPassServiceRowsToCsvWriterInOrder() throws Exception {
+    var exportDetails = List.of(
+        TransactionExportDetail.builder().idTransaction(1).categoryType("INCOMES").build(),
+        TransactionExportDetail.builder().idTransaction(2).categoryType("EXPENSES").build()
+    );
+    var writtenRows = new ArrayList<TransactionExportDetail>();
+
+    givenExportStream(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), exportDetails);
+    when(csvExportService.writeTransactionsToCsv(any(), any(OutputStream.class))).thenAnswer(invocation -> {
+      Stream<TransactionExportDetail> rows = invocation.getArgument(0);
+      rows.forEach(writtenRows::add);
+      return (long) writtenRows.size();
+    });
+
+    var mvcResult = mockMvc.perform(get(BASE_URL + "/transactions/export")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk());
 
+    assertThat(writtenRows).containsExactlyElementsOf(exportDetails);
+  }
+
+  @Test
+  void exportTransactionsToCsv_shouldReturnCsvWithEmptyTransactions() throws Exception {
     var csvContent = "Transaction ID,Transaction Date,Amount,Category Description,Category Type,Comment\n";
 
-    when(transactionService.exportTransactions(
-        LocalDate.of(2026, 3, 1),
-        LocalDate.of(2026, 3, 31)))
-        .thenReturn(exportData);
-    when(csvExportService.exportTransactionsToCsv(exportData))
-        .thenReturn(csvContent);
+    givenExportStream(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), List.of());
+    givenCsvWriterOutputs(csvContent);
 
-    mockMvc.perform(get(BASE_URL + "/transactions/export")
+    var mvcResult = mockMvc.perform(get(BASE_URL + "/transactions/export")
             .param("dateFrom", "2026-03-01")
             .param("dateTo", "2026-03-31"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
         .andExpect(status().isOk())
         .andExpect(content().contentType("text/csv"))
         .andExpect(content().string(csvContent));
@@ -527,16 +874,8 @@ class TransactionControllerTest {
 
   @Test
   void exportTransactionsToCsv_shouldReturnCorrectFilenameInContentDisposition() throws Exception {
-    var exportData = TransactionExportResponse.builder()
-        .transactions(List.of())
-        .build();
-
-    when(transactionService.exportTransactions(
-        LocalDate.of(2026, 1, 15),
-        LocalDate.of(2026, 6, 30)))
-        .thenReturn(exportData);
-    when(csvExportService.exportTransactionsToCsv(exportData))
-        .thenReturn("header\n");
+    givenExportStream(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 6, 30), List.of());
+    givenCsvWriterOutputs("header\n");
 
     mockMvc.perform(get(BASE_URL + "/transactions/export")
             .param("dateFrom", "2026-01-15")
@@ -578,19 +917,105 @@ class TransactionControllerTest {
   }
 
   @Test
-  void exportTransactionsToCsv_shouldPropagateExceptionWhenServiceThrows() {
-    when(transactionService.exportTransactions(
-        LocalDate.of(2026, 2, 1),
-        LocalDate.of(2026, 2, 28)))
-        .thenThrow(new IllegalArgumentException("Date from must be before or equal to date to"));
-
+  void exportTransactionsToCsv_shouldRejectInvalidDateRangeBeforeStreaming() {
     var exception = assertThrows(Exception.class, () ->
         mockMvc.perform(get(BASE_URL + "/transactions/export")
-            .param("dateFrom", "2026-02-01")
-            .param("dateTo", "2026-02-28")));
+            .param("dateFrom", "2026-02-28")
+            .param("dateTo", "2026-02-01")));
 
     assertThat(exception).rootCause()
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Date from must be before or equal to date to");
+
+    verifyNoInteractions(transactionService);
+    verifyNoInteractions(csvExportService);
+  }
+
+  @Test
+  void exportTransactionsToCsv_shouldReturnNotModifiedWithoutStreamingWhenEtagMatches() throws Exception {
+    when(transactionService.getDataVersion()).thenReturn(7L);
+    givenExportStream(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), List.of());
+    givenCsvWriterOutputs("");
+
+    var mvcResult = mockMvc.perform(get(BASE_URL + "/transactions/export")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk());
+    var eTag = mvcResult.getResponse().getHeader("ETag");
+    assertThat(eTag).startsWith("W/\"export-7-");
+
+    mockMvc.perform(get(BASE_URL + "/transactions/export")
+            .param("dateFrom", "2026-02-01")
+            .param("dateTo", "2026-02-28")
+            .header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(request().asyncNotStarted())
+        .andExpect(header().string("ETag", eTag));
+
+    verify(transactionService, times(1)).streamTransactionsForExport(any(), any(), any());
+  }
+
+  private String getTransactionsETag(String view, String ifNoneMatch) throws Exception {
+    var request = get(BASE_URL + "/transactions")
+        .param("type", "EXPENSES")
+        .param("dateFrom", "2026-02-01")
+        .param("dateTo", "2026-02-28")
+        .param("view", view);
+    if (ifNoneMatch != null) {
+      request.header("If-None-Match", ifNoneMatch);
+    }
+    return mockMvc.perform(request)
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-cache"))
+        .andReturn().getResponse().getHeader("ETag");
+  }
+
+  private static TransactionsByTypeResponse emptyResponse() {
+    return TransactionsByTypeResponse.builder()
+        .categorySummaries(List.of())
+        .totalAmount(BigDecimal.ZERO)
+        .build();
+  }
+
+  private void givenExportStream(LocalDate dateFrom, LocalDate dateTo, List<TransactionExportDetail> exportDetails) {
+    doAnswer(invocation -> {
+      Consumer<Stream<TransactionExportDetail>> exportHandler = invocation.getArgument(2);
+      exportHandler.accept(exportDetails.stream());
+      return null;
+    }).when(transactionService).streamTransactionsForExport(eq(dateFrom), eq(dateTo), any());
+  }
+
+  private void givenCsvWriterOutputs(String csvContent) {
+    when(csvExportService.writeTransactionsToCsv(any(), any(OutputStream.class))).thenAnswer(invocation -> {
+      Stream<TransactionExportDetail> rows = invocation.getArgument(0);
+      OutputStream outputStream = invocation.getArgument(1);
+      outputStream.write(csvContent.getBytes(StandardCharsets.UTF_8));
+      return rows.count();
+    });
+  }
+
+  private List<CreateTransactionRequest> givenIngestionReceives() {
+    var received = new ArrayList<CreateTransactionRequest>();
+    when(transactionIngestionService.addTransactions(any())).thenAnswer(invocation -> {
+      Iterator<CreateTransactionRequest> requests = invocation.getArgument(0);
+      var results = new ArrayList<RowResult>();
+      while (requests.hasNext()) {
+        received.add(requests.next());
+        results.add(RowResult.builder()
+            .index(results.size())
+            .status(RowStatus.CREATED)
+            .idTransaction(1000 + results.size())
+            .build());
+      }
+      return BatchTransactionResponse.builder()
+          .received(results.size())
+          .created(results.size())
+          .results(results)
+          .build();
+    });
+    return received;
   }
 }
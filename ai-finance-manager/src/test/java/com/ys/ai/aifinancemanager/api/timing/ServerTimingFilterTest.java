@@ -0,0 +1,113 @@
+package com.ys.ai.aifinancemanager.api.timing;
+
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
+import com.ys.ai.aifinancemanager.config.ServerTimingProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingFilterTest {
+
+  private static final String BODY = "{\"categorySummaries\":[],\"totalAmount\":0}";
+
+  @Test
+  void doFilter_shouldSendServerTimingHeaderAheadOfUnbufferedBody(CapturedOutput output) throws Exception {
+    // Given
+    var filter = new ServerTimingFilter(new ServerTimingProperties(true, Duration.ZERO));
+    var response = new MockHttpServletResponse();
+    var servlet = new TimedServlet();
+
+    // When
+    filter.doFilter(transactionsRequest("GET"), response, new MockFilterChain(servlet));
+
+    // Then
+    assertThat(servlet.committedBeforeChainReturned).isTrue();
+    assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER))
+        .matches("db;dur=\\d+\\.\\d, map;dur=\\d+\\.\\d");
+    assertThat(response.getContentAsString()).isEqualTo(BODY);
+    assertThat(output.getOut()).containsPattern("db=\\d+\\.\\d map=\\d+\\.\\d serialize=\\d+\\.\\d total=\\d+\\.\\d");
+  }
+
+  @Test
+  void doFilter_shouldOnlyLogSlowRequestsWhenHeaderIsDisabled(CapturedOutput output) throws Exception {
+    // Given
+    var filter = new ServerTimingFilter(new ServerTimingProperties(false, Duration.ZERO));
+    var response = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(transactionsRequest("GET"), response, new MockFilterChain(new TimedServlet()));
+
+    // Then
+    assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+    assertThat(response.getContentAsString()).isEqualTo(BODY);
+    assertThat(output.getOut())
+        .containsPattern("Slow request method=GET path=/api/v1/finance/transactions query=\"type=EXPENSES\" "
+            + "status=200 db=\\d+\\.\\d map=\\d+\\.\\d serialize=\\d+\\.\\d total=\\d+\\.\\d");
+  }
+
+  @Test
+  void doFilter_shouldLeaveOtherRequestsAlone() throws Exception {
+    // Given
+    var filter = new ServerTimingFilter(new ServerTimingProperties(true, Duration.ZERO));
+    var post = new MockHttpServletResponse();
+    var disabled = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(transactionsRequest("POST"), post, new MockFilterChain(new TimedServlet()));
+    new ServerTimingFilter(new ServerTimingProperties(false, null))
+        .doFilter(transactionsRequest("GET"), disabled, new MockFilterChain(new TimedServlet()));
+
+    // Then
+    assertThat(post.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+    assertThat(disabled.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+    assertThat(disabled.getContentAsString()).isEqualTo(BODY);
+  }
+
+  private static MockHttpServletRequest transactionsRequest(String method) {
+    var request = new MockHttpServletRequest(method, ServerTimingFilter.TRANSACTIONS_PATH);
+    request.setQueryString("type=EXPENSES");
+    return request;
+  }
+
+  /**
+   * Stands in for the controller: records spans the way the service does, passes the body
+   * advice, then writes and flushes the body, which commits the response.
+   */
+  private static final class TimedServlet extends HttpServlet {
+
+    private boolean committedBeforeChainReturned;
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+      try (var db = RequestTimings.span(RequestTimings.DB)) {
+        // query
+      }
+      try (var map = RequestTimings.span(RequestTimings.MAP)) {
+        // mapping
+      }
+      var serverResponse = new ServletServerHttpResponse(response);
+      new SerializationTimingAdvice().beforeBodyWrite(BODY, null, MediaType.APPLICATION_JSON, null,
+          new ServletServerHttpRequest(request), serverResponse);
+      serverResponse.getBody().write(BODY.getBytes(StandardCharsets.UTF_8));
+      serverResponse.flush();
+      committedBeforeChainReturned = response.isCommitted();
+    }
+  }
+}
@@ -3,9 +3,12 @@ package com.ys.ai.aifinancemanager.application.mapper;
 import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.domain.entity.Category;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CategoryMapperTest {
@@ -143,5 +146,19 @@ class CategoryMapperTest {
     assertEquals("Freelance", result.getDescription());
     assertEquals(CategoryType.INCOMES, result.getType());
   }
-}
 
+  @Test
+  void toCategoryDto_shouldMapCategoryTotalToDtoCorrectly() {
+    // Given
+    CategoryTotal categoryTotal = new CategoryTotal(2, "Food & Groceries", CategoryType.EXPENSES, new BigDecimal("250.50"));
+
+    // When
+    CategoryDto result = categoryMapper.toCategoryDto(categoryTotal);
+
+    // Then
+    assertNotNull(result);
+    assertEquals(2, result.getIdCategory());
+    assertEquals("Food & Groceries", result.getDescription());
+    assertEquals(CategoryType.EXPENSES, result.getType());
+  }
+}
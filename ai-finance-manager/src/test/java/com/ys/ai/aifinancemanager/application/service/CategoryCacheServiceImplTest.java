@@ -0,0 +1,106 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.event.CategoryChangedEvent;
+import com.ys.ai.aifinancemanager.domain.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheServiceImplTest {
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @InjectMocks
+  private CategoryCacheServiceImpl categoryCacheService;
+
+  @Test
+  void lookups_shouldLoadCategoriesOnlyOnce() {
+    // Given
+    when(categoryRepository.findAll()).thenReturn(categories("Salary"));
+
+    // When
+    var salary = categoryCacheService.findById(1);
+    var expenses = categoryCacheService.findByType(CategoryType.EXPENSES);
+    var all = categoryCacheService.findAll();
+    var missing = categoryCacheService.findById(999);
+
+    // Then
+    assertThat(salary).get().extracting(Category::getDescription).isEqualTo("Salary");
+    assertThat(expenses).extracting(Category::getIdCategory).containsExactly(2, 3);
+    assertThat(all).extracting(Category::getIdCategory).containsExactly(1, 2, 3);
+    assertThat(missing).isEmpty();
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  void findById_shouldReturnCopiesThatDoNotAffectTheCache() {
+    // Given
+    when(categoryRepository.findAll()).thenReturn(categories("Salary"));
+
+    // When
+    categoryCacheService.findById(1).orElseThrow().setDescription("Changed");
+
+    // Then
+    assertThat(categoryCacheService.findById(1)).get()
+        .extracting(Category::getDescription).isEqualTo("Salary");
+  }
+
+  @Test
+  void getVersion_shouldOnlyChangeWhenCategoryContentChanges() {
+    // Given
+    when(categoryRepository.findAll())
+        .thenReturn(categories("Salary"))
+        .thenReturn(categories("Salary"))
+        .thenReturn(categories("Wages"));
+
+    // When
+    var original = categoryCacheService.getVersion();
+    categoryCacheService.invalidate();
+    var reloadedUnchanged = categoryCacheService.getVersion();
+    categoryCacheService.invalidate();
+    var reloadedRenamed = categoryCacheService.getVersion();
+
+    // Then
+    assertThat(reloadedUnchanged).isEqualTo(original);
+    assertThat(reloadedRenamed).isNotEqualTo(original);
+    verify(categoryRepository, times(3)).findAll();
+  }
+
+  @Test
+  void onCategoryChanged_shouldReloadOnNextLookup() {
+    // Given
+    when(categoryRepository.findAll())
+        .thenReturn(categories("Salary"))
+        .thenReturn(categories("Wages"));
+    categoryCacheService.findAll();
+
+    // When
+    categoryCacheService.onCategoryChanged(new CategoryChangedEvent(1));
+
+    // Then
+    assertThat(categoryCacheService.findById(1)).get()
+        .extracting(Category::getDescription).isEqualTo("Wages");
+    verify(categoryRepository, times(2)).findAll();
+  }
+
+  private static List<Category> categories(String incomeDescription) {
+    return List.of(
+        Category.builder().idCategory(3).description("Transportation").type(CategoryType.EXPENSES).build(),
+        Category.builder().idCategory(1).description(incomeDescription).type(CategoryType.INCOMES).build(),
+        Category.builder().idCategory(2).description("Food & Groceries").type(CategoryType.EXPENSES).build()
+    );
+  }
+}
@@ -0,0 +1,74 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.repository.CategoryRepository;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryCacheServiceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final int OTHER_EXPENSES_ID = 9;
+
+  @Autowired
+  private CategoryCacheService categoryCacheService;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  void committedCategoryChange_shouldInvalidateCacheAndChangeVersion() {
+    // Given
+    var originalVersion = categoryCacheService.getVersion();
+    var originalDescription = categoryCacheService.findById(OTHER_EXPENSES_ID)
+        .map(Category::getDescription)
+        .orElseThrow();
+
+    try {
+      // When
+      rename(OTHER_EXPENSES_ID, "Miscellaneous");
+
+      // Then
+      assertThat(categoryCacheService.findById(OTHER_EXPENSES_ID)).get()
+          .extracting(Category::getDescription).isEqualTo("Miscellaneous");
+      assertThat(categoryCacheService.getVersion()).isNotEqualTo(originalVersion);
+    } finally {
+      rename(OTHER_EXPENSES_ID, originalDescription);
+    }
+
+    // Same content again, so clients holding the original ETag revalidate successfully
+    assertThat(categoryCacheService.getVersion()).isEqualTo(originalVersion);
+  }
+
+  @Test
+  void rolledBackCategoryChange_shouldKeepCachedVersion() {
+    // Given
+    var originalVersion = categoryCacheService.getVersion();
+
+    // When
+    transactionTemplate.executeWithoutResult(status -> {
+      var category = categoryRepository.findById(OTHER_EXPENSES_ID).orElseThrow();
+      category.setDescription("Never committed");
+      categoryRepository.flush();
+      status.setRollbackOnly();
+    });
+
+    // Then
+    assertThat(categoryCacheService.getVersion()).isEqualTo(originalVersion);
+    assertThat(categoryCacheService.findById(OTHER_EXPENSES_ID)).get()
+        .extracting(Category::getDescription).isNotEqualTo("Never committed");
+  }
+
+  private void rename(int idCategory, String description) {
+    transactionTemplate.executeWithoutResult(status -> {
+      var category = categoryRepository.findById(idCategory).orElseThrow();
+      category.setDescription(description);
+    });
+  }
+}
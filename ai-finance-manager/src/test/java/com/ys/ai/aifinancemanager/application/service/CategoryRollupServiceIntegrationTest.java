@@ -0,0 +1,124 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the rollups against totals recomputed from the inserted rows, including ranges that
+ * start and end in the middle of a month.
+ */
+class CategoryRollupServiceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2032, 1, 10);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2032, 5, 20);
+
+  private static final int[] EXPENSE_CATEGORY_IDS = {2, 3, 4};
+
+  private static final Map<LocalDate, Map<Integer, BigDecimal>> INSERTED = new HashMap<>();
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    if (!INSERTED.isEmpty()) {
+      return;
+    }
+
+    var random = new Random(42);
+    for (var day = FIRST_DAY; !day.isAfter(LAST_DAY); day = day.plusDays(3)) {
+      for (int categoryId : EXPENSE_CATEGORY_IDS) {
+        var amount = BigDecimal.valueOf(random.nextInt(100_000), 2);
+        transactionService.addTransaction(CreateTransactionRequest.builder()
+            .amount(amount)
+            .transactionDate(day)
+            .categoryId(categoryId)
+            .comment("Rollup test")
+            .build());
+        INSERTED.computeIfAbsent(day, d -> new HashMap<>()).merge(categoryId, amount, BigDecimal::add);
+      }
+    }
+  }
+
+  @Test
+  void getCategoryTotals_shouldMatchInsertedRowsForRangeWithPartialEdges() {
+    assertTotalsMatchInsertedRows(LocalDate.of(2032, 1, 17), LocalDate.of(2032, 4, 12));
+  }
+
+  @Test
+  void getCategoryTotals_shouldMatchInsertedRowsForWholeMonths() {
+    assertTotalsMatchInsertedRows(LocalDate.of(2032, 2, 1), LocalDate.of(2032, 3, 31));
+  }
+
+  @Test
+  void getCategoryTotals_shouldMatchInsertedRowsWithinSingleMonth() {
+    assertTotalsMatchInsertedRows(LocalDate.of(2032, 3, 5), LocalDate.of(2032, 3, 25));
+  }
+
+  @Test
+  void getCategoryTotals_shouldReturnNothingForIncomesWhenOnlyExpensesWereAdded() {
+    assertThat(categoryRollupService.getCategoryTotals(CategoryType.INCOMES, FIRST_DAY, LAST_DAY)).isEmpty();
+  }
+
+  @Test
+  void checkConsistency_shouldReportNoMismatchAfterInserts() {
+    assertThat(categoryRollupService.checkConsistency()).isEmpty();
+  }
+
+  @Test
+  void checkConsistency_shouldDetectAndRebuildShouldRepairDriftedRollup() {
+    jdbcTemplate.update("UPDATE CATEGORY_MONTHLY_TOTAL SET TOTAL_CENTS = TOTAL_CENTS + 100 "
+        + "WHERE ID_CATEGORY = 2 AND TOTAL_MONTH = '2032-02'");
+
+    assertThat(categoryRollupService.checkConsistency())
+        .singleElement()
+        .satisfies(mismatch -> {
+          assertThat(mismatch.granularity()).isEqualTo("MONTHLY");
+          assertThat(mismatch.idCategory()).isEqualTo(2);
+          assertThat(mismatch.period()).isEqualTo("2032-02");
+        });
+
+    categoryRollupService.rebuild();
+
+    assertThat(categoryRollupService.checkConsistency()).isEmpty();
+    assertTotalsMatchInsertedRows(LocalDate.of(2032, 2, 1), LocalDate.of(2032, 2, 29));
+  }
+
+  private void assertTotalsMatchInsertedRows(LocalDate dateFrom, LocalDate dateTo) {
+    var expected = new HashMap<Integer, BigDecimal>();
+    INSERTED.forEach((day, totals) -> {
+      if (!day.isBefore(dateFrom) && !day.isAfter(dateTo)) {
+        totals.forEach((categoryId, amount) -> expected.merge(categoryId, amount, BigDecimal::add));
+      }
+    });
+
+    List<CategoryTotal> totals = categoryRollupService.getCategoryTotals(CategoryType.EXPENSES, dateFrom, dateTo);
+
+    assertThat(totals).hasSize(expected.size());
+    // Cents add up exactly, so no tolerance is needed
+    assertThat(totals).allSatisfy(total -> assertThat(total.total())
+        .isEqualByComparingTo(expected.get(total.idCategory())));
+  }
+}
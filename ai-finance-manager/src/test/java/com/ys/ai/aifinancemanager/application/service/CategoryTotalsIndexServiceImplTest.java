@@ -0,0 +1,171 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.TotalsIndexProperties;
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryTotalsIndexServiceImplTest {
+
+  private static final SnapshotProperties NO_SNAPSHOTS = new SnapshotProperties(false, Path.of("snapshots"));
+
+  private static final Category SALARY =
+      Category.builder().idCategory(1).description("Salary").type(CategoryType.INCOMES).build();
+
+  private static final Category GROCERIES =
+      Category.builder().idCategory(2).description("Food & Groceries").type(CategoryType.EXPENSES).build();
+
+  private static final Category TRANSPORT =
+      Category.builder().idCategory(3).description("Transportation").type(CategoryType.EXPENSES).build();
+
+  @Mock
+  private DataSource dataSource;
+
+  @Mock
+  private CategoryCacheService categoryCacheService;
+
+  private final AtomicInteger nextId = new AtomicInteger(1);
+
+  private CategoryTotalsIndexServiceImpl totalsIndex;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(categoryCacheService.findByType(CategoryType.INCOMES)).thenReturn(List.of(SALARY));
+    lenient().when(categoryCacheService.findByType(CategoryType.EXPENSES)).thenReturn(List.of(TRANSPORT, GROCERIES));
+    totalsIndex = new CategoryTotalsIndexServiceImpl(dataSource, categoryCacheService, new TotalsIndexProperties(true), NO_SNAPSHOTS, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getCategoryTotals_shouldSumInclusiveRangePerCategoryInIdOrder() {
+    // Given
+    record(GROCERIES, "2026-03-01", "10.10");
+    record(GROCERIES, "2026-03-15", "0.20");
+    record(GROCERIES, "2026-03-31", "5.00");
+    record(TRANSPORT, "2026-03-15", "3.30");
+    record(TRANSPORT, "2026-04-01", "99.00");
+    record(SALARY, "2026-03-15", "5000.00");
+
+    // When
+    var totals = totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+    // Then
+    assertThat(totals).containsExactly(
+        new CategoryTotal(2, "Food & Groceries", CategoryType.EXPENSES, new BigDecimal("15.30")),
+        new CategoryTotal(3, "Transportation", CategoryType.EXPENSES, new BigDecimal("3.30")));
+  }
+
+  @Test
+  void getCategoryTotals_shouldLeaveOutCategoriesWithoutRowsInRange() {
+    // Given
+    record(GROCERIES, "2026-03-01", "10.00");
+    record(TRANSPORT, "2026-05-01", "3.00");
+
+    // When
+    var totals = totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 6, 30));
+
+    // Then
+    assertThat(totals).extracting(CategoryTotal::idCategory).containsExactly(3);
+  }
+
+  @Test
+  void getCategoryTotals_shouldKeepOffsettingAmountsAsRowsInRange() {
+    // Given: zero net cents, but the category still has transactions in the range
+    record(GROCERIES, "2026-03-01", "10.00");
+    record(GROCERIES, "2026-03-02", "-10.00");
+
+    // When
+    var totals = totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2));
+
+    // Then
+    assertThat(totals).singleElement()
+        .satisfies(total -> assertThat(total.total()).isEqualTo(new BigDecimal("0.00")));
+  }
+
+  @Test
+  void recordTransactions_shouldWidenWindowForEarlierAndLaterDays() {
+    // Given
+    record(GROCERIES, "2026-03-01", "1.00");
+
+    // When
+    record(GROCERIES, "1950-06-15", "2.00");
+    record(GROCERIES, "2090-01-01", "4.00");
+
+    // Then
+    assertThat(totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)))
+        .singleElement()
+        .satisfies(total -> assertThat(total.total()).isEqualTo(new BigDecimal("7.00")));
+    assertThat(totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(1950, 6, 16), LocalDate.of(2089, 12, 31)))
+        .singleElement()
+        .satisfies(total -> assertThat(total.total()).isEqualTo(new BigDecimal("1.00")));
+  }
+
+  @Test
+  void recordTransactions_shouldWaitForCommit() {
+    // Given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    record(GROCERIES, "2026-03-01", "10.00");
+
+    // Then
+    var march = totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+    assertThat(march).isEmpty();
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)))
+        .hasSize(1);
+  }
+
+  @Test
+  void recordTransactions_shouldDoNothingWhenDisabled() {
+    // Given
+    totalsIndex = new CategoryTotalsIndexServiceImpl(dataSource, categoryCacheService, new TotalsIndexProperties(false), NO_SNAPSHOTS, new SimpleMeterRegistry());
+
+    // When
+    record(GROCERIES, "2026-03-01", "10.00");
+
+    // Then
+    assertThat(totalsIndex.getCategoryTotals(CategoryType.EXPENSES, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+        .isEmpty();
+    assertThat(totalsIndex.isReady()).isFalse();
+    verifyNoInteractions(dataSource);
+  }
+
+  private void record(Category category, String date, String amount) {
+    totalsIndex.recordTransactions(List.of(Transaction.builder()
+        .idTransaction(nextId.getAndIncrement())
+        .transactionDate(LocalDate.parse(date))
+        .category(category)
+        .amount(new BigDecimal(amount))
+        .build()));
+  }
+}
@@ -0,0 +1,81 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the totals index from the shared database and checks it answers exactly like the
+ * rollup tables, which the service uses here because the index is disabled in this context.
+ */
+class CategoryTotalsIndexServiceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2036, 1, 1);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2036, 12, 31);
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Autowired
+  private CategoryTotalsIndexService categoryTotalsIndexService;
+
+  @BeforeEach
+  void setUp() {
+    if (!seeded) {
+      var random = new Random(14);
+      for (int i = 0; i < 300; i++) {
+        transactionService.addTransaction(CreateTransactionRequest.builder()
+            .amount(BigDecimal.valueOf(1 + random.nextInt(500_000), 2))
+            .transactionDate(FIRST_DAY.plusDays(random.nextInt(366)))
+            .categoryId(1 + random.nextInt(9))
+            .comment("Totals index test")
+            .build());
+      }
+      seeded = true;
+    }
+    categoryTotalsIndexService.load();
+  }
+
+  @Test
+  void getCategoryTotals_shouldMatchRollups() {
+    for (var type : CategoryType.values()) {
+      assertSameTotals(type, FIRST_DAY, LAST_DAY);
+      assertSameTotals(type, LocalDate.of(2036, 2, 14), LocalDate.of(2036, 9, 3));
+      assertSameTotals(type, LocalDate.of(2036, 7, 1), LocalDate.of(2036, 7, 31));
+      assertSameTotals(type, LocalDate.of(2036, 5, 5), LocalDate.of(2036, 5, 5));
+    }
+  }
+
+  @Test
+  void getCategoryTotals_shouldMatchRollupsAcrossWholeHistory() {
+    for (var type : CategoryType.values()) {
+      assertSameTotals(type, LocalDate.of(1900, 1, 1), LocalDate.of(2199, 12, 31));
+    }
+  }
+
+  @Test
+  void getCategoryTotals_shouldReturnNothingOutsideLoadedRows() {
+    assertThat(categoryTotalsIndexService.getCategoryTotals(
+        CategoryType.EXPENSES, LocalDate.of(2099, 1, 1), LocalDate.of(2099, 12, 31))).isEmpty();
+  }
+
+  private void assertSameTotals(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    assertThat(categoryTotalsIndexService.getCategoryTotals(type, dateFrom, dateTo))
+        .isEqualTo(categoryRollupService.getCategoryTotals(type, dateFrom, dateTo));
+  }
+}
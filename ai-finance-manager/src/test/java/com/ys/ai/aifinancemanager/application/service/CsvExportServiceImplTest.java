@@ -2,23 +2,28 @@ package com.ys.ai.aifinancemanager.application.service;
 
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class CsvExportServiceImplTest {
 
-  @InjectMocks
-  private CsvExportServiceImpl csvExportService;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CsvExportServiceImpl csvExportService = new CsvExportServiceImpl(meterRegistry);
 
   private TransactionExportResponse exportData;
 
@@ -355,5 +360,138 @@ class CsvExportServiceImplTest {
         .comment("Comment " + id)
         .build();
   }
-}
 
+  // ========== writeTransactionsToCsv Tests ==========
+
+  @Test
+  void writeTransactionsToCsv_shouldWriteSameContentAsStringExport() {
+    // Given
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    long rowCount = csvExportService.writeTransactionsToCsv(exportData.getTransactions().stream(), outputStream);
+
+    // Then
+    assertEquals(2, rowCount);
+    assertEquals(csvExportService.exportTransactionsToCsv(exportData),
+        outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldWriteOnlyHeaderForEmptyStream() {
+    // Given
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    long rowCount = csvExportService.writeTransactionsToCsv(Stream.empty(), outputStream);
+
+    // Then
+    assertEquals(0, rowCount);
+    assertEquals("Transaction ID,Transaction Date,Amount,Category Description,Category Type,Comment\n",
+        outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldEscapeSpecialCharactersAndEncodeUtf8() {
+    // Given
+    var transaction = TransactionExportDetail.builder()
+        .idTransaction(9)
+        .transactionDate("2026-02-21")
+        .amount(new BigDecimal("12.00"))
+        .categoryDescription("Café, Bistro")
+        .categoryType("EXPENSES")
+        .comment("Said \"hi\"")
+        .build();
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    csvExportService.writeTransactionsToCsv(Stream.of(transaction), outputStream);
+
+    // Then
+    var result = outputStream.toString(StandardCharsets.UTF_8);
+    assertTrue(result.contains("9,2026-02-21,12.00,\"Café, Bistro\",EXPENSES,\"Said \"\"hi\"\"\"\n"));
+  }
+
+  @Test
+  void exportTransactionsToCsv_shouldRecordEncodedSizeOfEveryExport() {
+    // Given
+    var transaction = TransactionExportDetail.builder()
+        .idTransaction(9)
+        .transactionDate("2026-02-21")
+        .amount(new BigDecimal("12.00"))
+        .categoryDescription("Café \uD83C\uDF70")
+        .categoryType("EXPENSES")
+        .build();
+    var data = TransactionExportResponse.builder().transactions(List.of(transaction)).build();
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var document = csvExportService.exportTransactionsToCsv(data);
+    csvExportService.writeTransactionsToCsv(Stream.of(transaction), outputStream);
+
+    // Then
+    var expectedBytes = document.getBytes(StandardCharsets.UTF_8).length;
+    assertEquals(expectedBytes, outputStream.size());
+    assertEquals(expectedBytes, csvBytes("document").totalAmount());
+    assertEquals(expectedBytes, csvBytes("stream").totalAmount());
+    assertEquals(1, csvBytes("stream").count());
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldWrapIoFailures() {
+    // Given
+    var failingStream = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Connection reset");
+      }
+    };
+
+    // When & Then
+    assertThrows(UncheckedIOException.class,
+        () -> csvExportService.writeTransactionsToCsv(exportData.getTransactions().stream(), failingStream));
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldMarkDocumentIncompleteWhenStreamFailsAfterOutputWasSent() {
+    // Given: enough rows to spill the write buffer before the failure
+    var failure = new IllegalStateException("Statement interrupted");
+    var transactions = Stream.iterate(1, id -> id + 1)
+        .map(id -> {
+          if (id > 3_000) {
+            throw failure;
+          }
+          return createTransactionDetail(id, "2026-01-15", "10.00", "EXPENSES");
+        });
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var thrown = assertThrows(IllegalStateException.class,
+        () -> csvExportService.writeTransactionsToCsv(transactions, outputStream));
+
+    // Then
+    assertSame(failure, thrown);
+    var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals("# EXPORT INCOMPLETE: failed after 3000 rows, the remaining rows are missing",
+        lines[lines.length - 1]);
+    assertEquals(3_002, lines.length, "Should have header + 3000 data rows + marker");
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldWriteNothingWhenStreamFailsBeforeOutputWasSent() {
+    // Given
+    var transactions = Stream.<TransactionExportDetail>generate(() -> {
+      throw new IllegalStateException("Statement interrupted");
+    });
+    var outputStream = new ByteArrayOutputStream();
+
+    // When & Then
+    assertThrows(IllegalStateException.class,
+        () -> csvExportService.writeTransactionsToCsv(transactions, outputStream));
+    assertEquals(0, outputStream.size());
+  }
+
+  private DistributionSummary csvBytes(String mode) {
+    return meterRegistry.get("finance.csv.bytes").tag("mode", mode).summary();
+  }
+}
@@ -0,0 +1,77 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionServiceImplTest {
+
+  private final DataVersionServiceImpl dataVersionService = new DataVersionServiceImpl();
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void recordWrite_shouldMoveVersionForwardRightAwayWithoutTransaction() {
+    // Given
+    var before = dataVersionService.getVersion();
+
+    // When
+    dataVersionService.recordWrite();
+
+    // Then
+    assertThat(dataVersionService.getVersion()).isGreaterThan(before);
+  }
+
+  @Test
+  void recordWrite_shouldWaitForCommit() {
+    // Given
+    var before = dataVersionService.getVersion();
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    dataVersionService.recordWrite();
+
+    // Then
+    assertThat(dataVersionService.getVersion()).isEqualTo(before);
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(dataVersionService.getVersion()).isGreaterThan(before);
+  }
+
+  @Test
+  void recordWrite_shouldLeaveVersionWhenTransactionRollsBack() {
+    // Given
+    var before = dataVersionService.getVersion();
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    dataVersionService.recordWrite();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    // Then
+    assertThat(dataVersionService.getVersion()).isEqualTo(before);
+  }
+
+  @Test
+  void getVersion_shouldStartAheadOfEarlierInstances() throws InterruptedException {
+    // Given
+    for (int i = 0; i < 1_000; i++) {
+      dataVersionService.recordWrite();
+    }
+    Thread.sleep(2);
+
+    // When
+    var restarted = new DataVersionServiceImpl();
+
+    // Then
+    assertThat(restarted.getVersion()).isGreaterThan(dataVersionService.getVersion());
+  }
+}
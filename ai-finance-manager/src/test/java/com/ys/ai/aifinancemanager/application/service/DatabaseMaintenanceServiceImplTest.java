@@ -0,0 +1,177 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.MaintenanceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseMaintenanceServiceImplTest {
+
+  private static final MaintenanceProperties PROPERTIES =
+      new MaintenanceProperties(true, Duration.ofMinutes(15), 400, 16, Duration.ZERO, 1_000, false);
+
+  @TempDir
+  private Path directory;
+
+  private final DataVersionServiceImpl dataVersionService = new DataVersionServiceImpl();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private Connection reader;
+
+  @AfterEach
+  void tearDown() throws SQLException {
+    if (reader != null) {
+      reader.close();
+    }
+  }
+
+  @Test
+  void runMaintenance_shouldReturnFreePagesInSlicesUpToLimit() throws SQLException {
+    // Given
+    var dataSource = dataSource(true);
+    var free = fillAndDelete(dataSource);
+    var service = service(dataSource,
+        new MaintenanceProperties(true, Duration.ofMinutes(15), 400, 16, Duration.ZERO, 40, false));
+
+    // When
+    var run = service.runMaintenance();
+
+    // Then
+    assertThat(free).isGreaterThan(40);
+    assertThat(run.pagesReclaimed()).isEqualTo(40);
+    assertThat(run.freePages()).isEqualTo(free - 40);
+    assertThat(meterRegistry.get("finance.db.maintenance.pages.reclaimed").counter().count()).isEqualTo(40);
+    assertThat(meterRegistry.get("finance.db.free.pages").gauge().value()).isEqualTo(free - 40);
+    assertThat(meterRegistry.get("finance.db.maintenance.step").tag("step", "vacuum").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("finance.db.maintenance").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void incrementalVacuum_shouldReturnWholeSliceInOneCall() throws SQLException {
+    // Given
+    var dataSource = dataSource(true);
+    var free = fillAndDelete(dataSource);
+
+    // When
+    try (var connection = dataSource.getConnection()) {
+      var freed = DatabaseMaintenanceServiceImpl.incrementalVacuum(connection, 16);
+
+      // Then
+      assertThat(free).isGreaterThan(16);
+      assertThat(freed).isEqualTo(16);
+      assertThat(freePages(connection)).isEqualTo(free - 16);
+      assertThat(connection.getAutoCommit()).isTrue();
+    }
+  }
+
+  @Test
+  void runMaintenance_shouldTruncateWalOnlyWhenNothingWasWrittenSinceLastRun() throws SQLException {
+    // Given
+    var dataSource = dataSource(true);
+    reader = dataSource.getConnection();
+    fillAndDelete(dataSource);
+    var service = service(dataSource, PROPERTIES);
+
+    // When
+    var first = service.runMaintenance();
+    var second = service.runMaintenance();
+    dataVersionService.recordWrite();
+    var third = service.runMaintenance();
+
+    // Then
+    assertThat(first.checkpointMode()).isEqualTo("PASSIVE");
+    assertThat(first.walBytes()).isPositive();
+    assertThat(second.checkpointMode()).isEqualTo("TRUNCATE");
+    assertThat(second.walBytes()).isZero();
+    assertThat(third.checkpointMode()).isEqualTo("PASSIVE");
+    assertThat(meterRegistry.get("finance.db.wal.size").gauge().value()).isEqualTo(third.walBytes());
+  }
+
+  @Test
+  void runMaintenance_shouldSkipVacuumWithoutIncrementalAutoVacuum() throws SQLException {
+    // Given
+    var dataSource = dataSource(false);
+    var free = fillAndDelete(dataSource);
+
+    // When
+    var run = service(dataSource, PROPERTIES).runMaintenance();
+
+    // Then
+    assertThat(run.pagesReclaimed()).isZero();
+    assertThat(run.freePages()).isEqualTo(free);
+  }
+
+  @Test
+  void runMaintenance_shouldConvertToIncrementalAutoVacuumWhenAsked() throws SQLException {
+    // Given
+    var dataSource = dataSource(false);
+    var free = fillAndDelete(dataSource);
+    var service = service(dataSource,
+        new MaintenanceProperties(true, Duration.ofMinutes(15), 400, 16, Duration.ZERO, 1_000, true));
+
+    // When
+    var run = service.runMaintenance();
+
+    // Then
+    assertThat(free).isPositive();
+    assertThat(run.pagesReclaimed()).isEqualTo(free);
+    assertThat(run.freePages()).isZero();
+    try (var connection = dataSource.getConnection(); var statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA auto_vacuum")) {
+      assertThat(resultSet.getInt(1)).isEqualTo(2);
+    }
+
+    // And the next delete is returned by the regular slices
+    var freeAfterConversion = fillAndDelete(dataSource);
+    assertThat(service.runMaintenance().pagesReclaimed()).isEqualTo(Math.min(freeAfterConversion, 1_000));
+  }
+
+  private DatabaseMaintenanceServiceImpl service(SQLiteDataSource dataSource, MaintenanceProperties properties) {
+    return new DatabaseMaintenanceServiceImpl(dataSource, dataVersionService, properties, meterRegistry);
+  }
+
+  private SQLiteDataSource dataSource(boolean incrementalVacuum) throws SQLException {
+    var url = "jdbc:sqlite:" + directory.resolve("maintenance.db");
+    try (var connection = DriverManager.getConnection(url); var statement = connection.createStatement()) {
+      // Only takes effect before anything, the switch to WAL included, is written to the file
+      statement.execute("PRAGMA auto_vacuum = " + (incrementalVacuum ? "INCREMENTAL" : "NONE"));
+      statement.execute("CREATE TABLE ITEMS (ID INTEGER PRIMARY KEY, PAYLOAD TEXT)");
+    }
+    var config = new SQLiteConfig();
+    config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+    var dataSource = new SQLiteDataSource(config);
+    dataSource.setUrl(url);
+    return dataSource;
+  }
+
+  /**
+   * @return the free pages left behind
+   */
+  private static long fillAndDelete(SQLiteDataSource dataSource) throws SQLException {
+    try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+      statement.execute("WITH RECURSIVE N(I) AS (SELECT 1 UNION ALL SELECT I + 1 FROM N WHERE I < 2000) "
+          + "INSERT INTO ITEMS (PAYLOAD) SELECT printf('%0500d', I) FROM N");
+      statement.execute("DELETE FROM ITEMS WHERE ID % 2 = 0 OR ID > 1000");
+      return freePages(connection);
+    }
+  }
+
+  private static long freePages(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+         var resultSet = statement.executeQuery("PRAGMA freelist_count")) {
+      return resultSet.getLong(1);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.config.DatasetProperties;
+import com.ys.ai.aifinancemanager.config.DatasetProperties.CategoryDistribution;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The generator writes around JPA and its id counter, so it gets a database of its own instead of
+ * the one shared by {@code AbstractSqliteIntegrationTest} subclasses.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DatasetGeneratorServiceIntegrationTest {
+
+  private static final LocalDate DATE_FROM = LocalDate.of(2021, 1, 1);
+
+  private static final LocalDate DATE_TO = LocalDate.of(2021, 12, 31);
+
+  private static final String ROW_CONTENT =
+      "SELECT AMOUNT_CENTS || '|' || TRANSACTION_DAY || '|' || ID_CATEGORY || '|' || IFNULL(COMMENT, '') " +
+          "FROM TRANSACTIONS ORDER BY ID_TRANSACTION";
+
+  @DynamicPropertySource
+  static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+    var file = Files.createTempFile("finance_manager_dataset_test", ".db");
+    file.toFile().deleteOnExit();
+    registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+  }
+
+  @Autowired
+  private DatasetGeneratorService datasetGeneratorService;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void generate_shouldLoadRowsWithinConfiguredDistributionAndRebuildRollups() {
+    // Given
+    var settings = settings(42, 5_000);
+
+    // When
+    var inserted = datasetGeneratorService.generate(settings);
+
+    // Then
+    assertThat(inserted).isEqualTo(5_000);
+    assertThat(count("SELECT COUNT(*) FROM TRANSACTIONS")).isEqualTo(5_000);
+    assertThat(count("SELECT COUNT(*) FROM TRANSACTIONS WHERE ID_CATEGORY = 1 AND AMOUNT_CENTS NOT BETWEEN 150000 AND 900000"))
+        .isZero();
+    assertThat(count("SELECT COUNT(*) FROM TRANSACTIONS WHERE ID_CATEGORY = 2 AND AMOUNT_CENTS NOT BETWEEN 250 AND 35000"))
+        .isZero();
+    // Weighted 1 : 10, so groceries dominate
+    assertThat(count("SELECT COUNT(*) FROM TRANSACTIONS WHERE ID_CATEGORY = 2"))
+        .isGreaterThan(count("SELECT COUNT(*) FROM TRANSACTIONS WHERE ID_CATEGORY = 1") * 5);
+
+    // Every generated date falls into the span, so the summaries over it cover all rows
+    var expenses = transactionService.getCategoryTotalsByTypeAndDateRange(CategoryType.EXPENSES, DATE_FROM, DATE_TO);
+    var incomes = transactionService.getCategoryTotalsByTypeAndDateRange(CategoryType.INCOMES, DATE_FROM, DATE_TO);
+    var sum = BigDecimal.valueOf(count("SELECT SUM(AMOUNT_CENTS) FROM TRANSACTIONS"), 2);
+    assertThat(expenses.getTotalAmount().add(incomes.getTotalAmount())).isEqualByComparingTo(sum);
+    assertThat(categoryRollupService.checkConsistency()).isEmpty();
+  }
+
+  @Test
+  void generate_shouldProduceIdenticalRowsForTheSameSeed() {
+    // Given
+    datasetGeneratorService.generate(settings(7, 2_000));
+    var first = jdbcTemplate.queryForList(ROW_CONTENT, String.class);
+
+    // When
+    datasetGeneratorService.generate(settings(7, 2_000));
+    var second = jdbcTemplate.queryForList(ROW_CONTENT, String.class);
+    datasetGeneratorService.generate(settings(8, 2_000));
+    var otherSeed = jdbcTemplate.queryForList(ROW_CONTENT, String.class);
+
+    // Then
+    assertThat(second).hasSize(2_000).isEqualTo(first);
+    assertThat(otherSeed).isNotEqualTo(first);
+  }
+
+  @Test
+  void generate_shouldRejectUnknownCategory() {
+    // Given
+    var settings = new DatasetProperties(1, 10, DATE_FROM, DATE_TO, true, 100, 1_000,
+        List.of(new CategoryDistribution(999, 1, new BigDecimal("1.00"), new BigDecimal("2.00"))));
+
+    // When / Then
+    var exception = assertThrows(IllegalArgumentException.class, () -> datasetGeneratorService.generate(settings));
+    assertThat(exception.getMessage()).isEqualTo("Category not found with id: 999");
+  }
+
+  private long count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Long.class);
+  }
+
+  private static DatasetProperties settings(long seed, long rows) {
+    return new DatasetProperties(seed, rows, DATE_FROM, DATE_TO, true, 300, 1_000, List.of(
+        new CategoryDistribution(1, 1, new BigDecimal("1500.00"), new BigDecimal("9000.00")),
+        new CategoryDistribution(2, 10, new BigDecimal("2.50"), new BigDecimal("350.00")),
+        new CategoryDistribution(3, 4, new BigDecimal("1.50"), new BigDecimal("120.00"))));
+  }
+}
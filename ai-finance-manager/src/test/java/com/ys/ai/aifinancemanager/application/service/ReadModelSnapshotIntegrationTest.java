@@ -0,0 +1,204 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
+import com.ys.ai.aifinancemanager.config.ColumnStoreProperties;
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.config.TotalsIndexProperties;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the in-memory read models from snapshot files against the shared database and checks
+ * they end up exactly where a full load does, or fall back to one when the snapshot is unusable.
+ */
+class ReadModelSnapshotIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2037, 1, 1);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2037, 12, 31);
+
+  private static final LocalDate ALL_FROM = LocalDate.of(1900, 1, 1);
+
+  private static final LocalDate ALL_TO = LocalDate.of(2199, 12, 31);
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Autowired
+  private CategoryCacheService categoryCacheService;
+
+  @Autowired
+  private CategoryMapper categoryMapper;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @TempDir
+  private Path snapshotDirectory;
+
+  private final Random random = new Random(15);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    if (!seeded) {
+      addTransactions(200);
+      seeded = true;
+    }
+  }
+
+  @Test
+  void loadOnStartup_shouldRestoreColumnStoreFromSnapshotPlusNewerRows() {
+    // Given
+    columnStore(true).load();
+    addTransactions(5);
+
+    // When
+    var restored = columnStore(true);
+    restored.loadOnStartup();
+
+    // Then
+    assertThat(startups("column-store", "snapshot")).isEqualTo(1);
+    assertSameAsFullLoad(restored);
+  }
+
+  @Test
+  void loadOnStartup_shouldRestoreTotalsIndexFromSnapshotPlusNewerRows() {
+    // Given
+    totalsIndex(true).load();
+    addTransactions(5);
+
+    // When
+    var restored = totalsIndex(true);
+    restored.loadOnStartup();
+
+    // Then
+    assertThat(startups("totals-index", "snapshot")).isEqualTo(1);
+    assertThat(restored.isReady()).isTrue();
+    assertSameAsRollups(restored);
+  }
+
+  @Test
+  void loadOnStartup_shouldRebuildWhenRowsCoveredBySnapshotWereDeleted() {
+    // Given
+    columnStore(true).load();
+    totalsIndex(true).load();
+    addTransactions(1);
+    var deleted = jdbcTemplate.queryForObject(
+        "SELECT MIN(ID_TRANSACTION) FROM TRANSACTIONS WHERE TRANSACTION_DAY BETWEEN ? AND ?",
+        Integer.class, FIRST_DAY.toEpochDay(), LAST_DAY.toEpochDay());
+    jdbcTemplate.update("DELETE FROM TRANSACTIONS WHERE ID_TRANSACTION = ?", deleted);
+    categoryRollupService.rebuild();
+
+    // When
+    var columnStore = columnStore(true);
+    columnStore.loadOnStartup();
+    var totalsIndex = totalsIndex(true);
+    totalsIndex.loadOnStartup();
+
+    // Then
+    assertThat(startups("column-store", "rebuild")).isEqualTo(1);
+    assertThat(startups("totals-index", "rebuild")).isEqualTo(1);
+    assertSameAsFullLoad(columnStore);
+    assertSameAsRollups(totalsIndex);
+  }
+
+  @Test
+  void loadOnStartup_shouldRebuildAndRewriteCorruptedSnapshot() throws IOException {
+    // Given
+    columnStore(true).load();
+    var path = snapshotDirectory.resolve("column-store.snapshot");
+    var bytes = Files.readAllBytes(path);
+    bytes[bytes.length / 2] ^= 0x10;
+    Files.write(path, bytes);
+
+    // When
+    var columnStore = columnStore(true);
+    columnStore.loadOnStartup();
+
+    // Then
+    assertThat(startups("column-store", "rebuild")).isEqualTo(1);
+    assertSameAsFullLoad(columnStore);
+    assertThat(SnapshotFile.open(path, "column-store", currentSchemaVersion())).isPresent();
+  }
+
+  private void assertSameAsFullLoad(TransactionColumnStoreServiceImpl columnStore) {
+    var fullLoad = columnStore(false);
+    fullLoad.load();
+
+    assertThat(columnStore.size()).isEqualTo(fullLoad.size());
+    for (var type : CategoryType.values()) {
+      assertThat(columnStore.getTransactionsByTypeAndDateRange(type, FIRST_DAY, LAST_DAY))
+          .isEqualTo(fullLoad.getTransactionsByTypeAndDateRange(type, FIRST_DAY, LAST_DAY));
+    }
+    assertThat(columnStore.exportTransactions(ALL_FROM, ALL_TO))
+        .isEqualTo(fullLoad.exportTransactions(ALL_FROM, ALL_TO));
+  }
+
+  private void assertSameAsRollups(CategoryTotalsIndexServiceImpl totalsIndex) {
+    for (var type : CategoryType.values()) {
+      assertThat(totalsIndex.getCategoryTotals(type, FIRST_DAY, LAST_DAY))
+          .isEqualTo(categoryRollupService.getCategoryTotals(type, FIRST_DAY, LAST_DAY));
+      assertThat(totalsIndex.getCategoryTotals(type, ALL_FROM, ALL_TO))
+          .isEqualTo(categoryRollupService.getCategoryTotals(type, ALL_FROM, ALL_TO));
+    }
+  }
+
+  private long startups(String model, String source) {
+    var timer = meterRegistry.find("finance.read.model.startup").tag("model", model).tag("source", source).timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private String currentSchemaVersion() {
+    return jdbcTemplate.queryForObject(
+        "SELECT version FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank DESC LIMIT 1",
+        String.class);
+  }
+
+  private TransactionColumnStoreServiceImpl columnStore(boolean snapshots) {
+    return new TransactionColumnStoreServiceImpl(dataSource, categoryCacheService, categoryMapper,
+        new ColumnStoreProperties(true), new SnapshotProperties(snapshots, snapshotDirectory), meterRegistry);
+  }
+
+  private CategoryTotalsIndexServiceImpl totalsIndex(boolean snapshots) {
+    return new CategoryTotalsIndexServiceImpl(dataSource, categoryCacheService,
+        new TotalsIndexProperties(true), new SnapshotProperties(snapshots, snapshotDirectory), meterRegistry);
+  }
+
+  private void addTransactions(int count) {
+    for (int i = 0; i < count; i++) {
+      transactionService.addTransaction(CreateTransactionRequest.builder()
+          .amount(BigDecimal.valueOf(1 + random.nextInt(500_000), 2))
+          .transactionDate(FIRST_DAY.plusDays(random.nextInt(365)))
+          .categoryId(1 + random.nextInt(9))
+          .comment(i % 3 == 0 ? null : "Snapshot test " + (i % 7))
+          .build());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.micrometer.metrics.autoconfigure.export.prometheus.PrometheusScrapeEndpoint;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the service meters reach the Prometheus scrape output: timers through the
+ * {@code @Timed} aspect, and validation failures through the global registry.
+ */
+class ServiceMetricsIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2039, 1, 1);
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private PrometheusMeterRegistry prometheusMeterRegistry;
+
+  @Autowired
+  private PrometheusScrapeEndpoint prometheusScrapeEndpoint;
+
+  @Test
+  void scrape_shouldExposeServiceTimersRowCountsAndValidationFailures() {
+    // Given
+    transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, FIRST_DAY, FIRST_DAY.plusDays(30));
+    assertThatThrownBy(() -> transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, FIRST_DAY.plusDays(1), FIRST_DAY))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    // When
+    var scrape = prometheusMeterRegistry.scrape();
+
+    // Then
+    assertThat(prometheusScrapeEndpoint).isNotNull();
+    assertThat(scrape)
+        .containsPattern("finance_service_seconds_bucket\\{[^}]*method=\"getTransactionsByTypeAndDateRange\"")
+        .containsPattern("finance_query_rows_count\\{[^}]*query=\"transactions-by-type\"")
+        .containsPattern("finance_response_categories_count\\{[^}]*operation=\"transactions-by-type\"")
+        .containsPattern("finance_validation_failures_total\\{[^}]*rule=\"date-range-order\"");
+  }
+}
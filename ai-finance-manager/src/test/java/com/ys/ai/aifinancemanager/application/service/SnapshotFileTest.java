@@ -0,0 +1,96 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotFileTest {
+
+  private static final SnapshotFile.Header HEADER = new SnapshotFile.Header("column-store", "5", 42, 40);
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void open_shouldReturnWrittenHeaderAndPayload() throws IOException {
+    // Given
+    var path = directory.resolve("nested").resolve("column-store.snapshot");
+    writeSample(path);
+
+    // When
+    var snapshot = SnapshotFile.open(path, "column-store", "5");
+
+    // Then
+    assertThat(snapshot).isPresent();
+    assertThat(snapshot.get().header()).isEqualTo(HEADER);
+    var payload = snapshot.get().payload();
+    assertThat(SnapshotFile.getInts(payload, 3, 5)).containsExactly(1, 2, 3, 0, 0);
+    assertThat(SnapshotFile.getLongs(payload, 2, 2)).containsExactly(-7L, Long.MAX_VALUE);
+    assertThat(SnapshotFile.getString(payload)).isEqualTo("Café");
+    assertThat(payload.hasRemaining()).isFalse();
+    try (var files = Files.list(path.getParent())) {
+      assertThat(files).containsExactly(path);
+    }
+  }
+
+  @Test
+  void open_shouldRejectMissingFile() {
+    assertThat(SnapshotFile.open(directory.resolve("missing.snapshot"), "column-store", "5")).isEmpty();
+  }
+
+  @Test
+  void open_shouldRejectOtherSchemaVersionOrModel() throws IOException {
+    // Given
+    var path = directory.resolve("column-store.snapshot");
+    writeSample(path);
+
+    // When & Then
+    assertThat(SnapshotFile.open(path, "column-store", "6")).isEmpty();
+    assertThat(SnapshotFile.open(path, "totals-index", "5")).isEmpty();
+  }
+
+  @Test
+  void open_shouldRejectCorruptedPayload() throws IOException {
+    // Given
+    var path = directory.resolve("column-store.snapshot");
+    writeSample(path);
+    var bytes = Files.readAllBytes(path);
+    bytes[bytes.length - 3] ^= 0x01;
+    Files.write(path, bytes);
+
+    // When & Then
+    assertThat(SnapshotFile.open(path, "column-store", "5")).isEmpty();
+  }
+
+  @Test
+  void open_shouldRejectTruncatedFile() throws IOException {
+    // Given
+    var path = directory.resolve("column-store.snapshot");
+    writeSample(path);
+    var bytes = Files.readAllBytes(path);
+
+    // When & Then
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+    assertThat(SnapshotFile.open(path, "column-store", "5")).isEmpty();
+    Files.write(path, Arrays.copyOf(bytes, 10));
+    assertThat(SnapshotFile.open(path, "column-store", "5")).isEmpty();
+    Files.write(path, new byte[0]);
+    assertThat(SnapshotFile.open(path, "column-store", "5")).isEmpty();
+  }
+
+  private static void writeSample(Path path) throws IOException {
+    var comment = "Café".getBytes(StandardCharsets.UTF_8);
+    SnapshotFile.write(path, HEADER, 3 * 4 + 2 * 8 + 4 + comment.length, payload -> {
+      SnapshotFile.putInts(payload, new int[]{1, 2, 3, 4}, 3);
+      SnapshotFile.putLongs(payload, new long[]{-7L, Long.MAX_VALUE}, 2);
+      SnapshotFile.putString(payload, comment);
+    });
+  }
+}
@@ -0,0 +1,241 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse.CategoryTransactionSummary;
+import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
+import com.ys.ai.aifinancemanager.config.ColumnStoreProperties;
+import com.ys.ai.aifinancemanager.config.SnapshotProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionColumnStoreServiceImplTest {
+
+  private static final SnapshotProperties NO_SNAPSHOTS = new SnapshotProperties(false, Path.of("snapshots"));
+
+  private static final Category SALARY =
+      Category.builder().idCategory(1).description("Salary").type(CategoryType.INCOMES).build();
+
+  private static final Category GROCERIES =
+      Category.builder().idCategory(2).description("Food & Groceries").type(CategoryType.EXPENSES).build();
+
+  private static final Category TRANSPORT =
+      Category.builder().idCategory(3).description("Transportation").type(CategoryType.EXPENSES).build();
+
+  @Mock
+  private DataSource dataSource;
+
+  @Mock
+  private CategoryCacheService categoryCacheService;
+
+  private final CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
+
+  private TransactionColumnStoreServiceImpl columnStore;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(categoryCacheService.findAll()).thenReturn(List.of(SALARY, GROCERIES, TRANSPORT));
+    columnStore = new TransactionColumnStoreServiceImpl(
+        dataSource, categoryCacheService, categoryMapper, new ColumnStoreProperties(true), NO_SNAPSHOTS, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldGroupByCategoryInDateAndIdOrder() {
+    // Given: recorded out of order, including a backdated row
+    record(
+        transaction(10, "2026-03-05", GROCERIES, "12.50", "Market"),
+        transaction(11, "2026-03-01", TRANSPORT, "3.20", null),
+        transaction(12, "2026-03-05", GROCERIES, "7.25", null),
+        transaction(9, "2026-03-05", GROCERIES, "1.00", "Bakery"),
+        transaction(13, "2026-03-02", SALARY, "5000.00", "Monthly salary"),
+        transaction(14, "2026-04-01", GROCERIES, "99.99", "Outside the range"));
+
+    // When
+    var result = columnStore.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+    // Then
+    assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("23.95"));
+    assertThat(result.getCategorySummaries())
+        .extracting(summary -> summary.getCategory().getIdCategory())
+        .containsExactly(2, 3);
+
+    CategoryTransactionSummary groceries = result.getCategorySummaries().getFirst();
+    assertThat(groceries.getCategoryTotal()).isEqualTo(new BigDecimal("20.75"));
+    assertThat(groceries.getTransactions())
+        .extracting(TransactionDto::getIdTransaction)
+        .containsExactly(9, 10, 12);
+    assertThat(groceries.getTransactions().getFirst().getComment()).isEqualTo("Bakery");
+    assertThat(groceries.getTransactions().getLast().getComment()).isNull();
+    assertThat(groceries.getTransactions().getLast().getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 5));
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldReturnPlainZeroForEmptyRange() {
+    // Given
+    record(transaction(1, "2026-03-05", GROCERIES, "12.50", null));
+
+    // When
+    var result = columnStore.getTransactionsByTypeAndDateRange(
+        CategoryType.INCOMES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+    // Then
+    assertThat(result.getCategorySummaries()).isEmpty();
+    assertThat(result.getTotalAmount()).isEqualTo(BigDecimal.ZERO);
+  }
+
+  @Test
+  void exportTransactions_shouldListIncomesFirstThenEachCategoryInDateOrder() {
+    // Given
+    record(
+        transaction(1, "2026-03-01", GROCERIES, "10.00", null),
+        transaction(2, "2026-03-02", SALARY, "5000.00", "Monthly salary"),
+        transaction(3, "2026-03-03", TRANSPORT, "3.20", "Bus"),
+        transaction(4, "2026-03-01", TRANSPORT, "2.80", null),
+        transaction(5, "2026-03-03", GROCERIES, "4.10", "Bakery"));
+
+    // When
+    var result = columnStore.exportTransactions(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3));
+
+    // Then
+    assertThat(result.getTransactions())
+        .extracting(TransactionExportDetail::getIdTransaction, TransactionExportDetail::getCategoryType,
+            TransactionExportDetail::getComment)
+        .containsExactly(
+            tuple(2, "INCOMES", "Monthly salary"),
+            tuple(1, "EXPENSES", ""),
+            tuple(5, "EXPENSES", "Bakery"),
+            tuple(4, "EXPENSES", ""),
+            tuple(3, "EXPENSES", "Bus"));
+    assertThat(result.getTransactions().getFirst().getTransactionDate()).isEqualTo("2026-03-02");
+    assertThat(result.getTransactions().getFirst().getCategoryDescription()).isEqualTo("Salary");
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldNeitherSkipNorRepeatRowsWhenInsertsShiftTheColumns() {
+    // Given: one day of one category, more rows than a single read window
+    var rows = new Transaction[5_000];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = transaction(i + 1, "2026-03-01", GROCERIES, "1.00", null);
+    }
+    record(rows);
+    var exported = new ArrayList<Integer>();
+
+    // When: rows land in front of the export and behind it while it is being read
+    try (var stream = columnStore.streamTransactionsForExport(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 1))) {
+      var iterator = stream.iterator();
+      for (int i = 0; i < 10; i++) {
+        exported.add(iterator.next().getIdTransaction());
+      }
+      record(
+          transaction(9_000, "2026-02-28", GROCERIES, "1.00", null),
+          transaction(5_001, "2026-03-01", GROCERIES, "1.00", null));
+      iterator.forEachRemaining(row -> exported.add(row.getIdTransaction()));
+    }
+
+    // Then
+    assertThat(exported).isEqualTo(IntStream.rangeClosed(1, 5_001).boxed().toList());
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldFailWhenCategoryIsUnknown() {
+    // Given
+    var unknown = Category.builder().idCategory(7).description("Gone").type(CategoryType.EXPENSES).build();
+    record(
+        transaction(1, "2026-03-01", GROCERIES, "10.00", null),
+        transaction(2, "2026-03-02", unknown, "3.00", null));
+
+    // When & Then
+    assertThatThrownBy(() -> columnStore.streamTransactionsForExport(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("category 7");
+  }
+
+  @Test
+  void recordTransactions_shouldWaitForCommit() {
+    // Given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    record(transaction(1, "2026-03-01", GROCERIES, "10.00", null));
+
+    // Then
+    assertThat(columnStore.size()).isZero();
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(columnStore.size()).isEqualTo(1);
+  }
+
+  @Test
+  void recordTransactions_shouldIgnoreRowsAlreadyPresent() {
+    // Given
+    record(transaction(5, "2026-03-01", GROCERIES, "10.00", null));
+
+    // When
+    record(transaction(5, "2026-03-01", GROCERIES, "10.00", null));
+
+    // Then
+    assertThat(columnStore.size()).isEqualTo(1);
+  }
+
+  @Test
+  void recordTransactions_shouldDoNothingWhenDisabled() {
+    // Given
+    columnStore = new TransactionColumnStoreServiceImpl(
+        dataSource, categoryCacheService, categoryMapper, new ColumnStoreProperties(false), NO_SNAPSHOTS, new SimpleMeterRegistry());
+
+    // When
+    record(transaction(1, "2026-03-01", GROCERIES, "10.00", null));
+
+    // Then
+    assertThat(columnStore.size()).isZero();
+    assertThat(columnStore.isReady()).isFalse();
+    verifyNoInteractions(dataSource);
+  }
+
+  private void record(Transaction... transactions) {
+    columnStore.recordTransactions(List.of(transactions));
+  }
+
+  private static Transaction transaction(int id, String date, Category category, String amount, String comment) {
+    return Transaction.builder()
+        .idTransaction(id)
+        .transactionDate(LocalDate.parse(date))
+        .category(category)
+        .amount(new BigDecimal(amount))
+        .comment(comment)
+        .build();
+  }
+}
@@ -0,0 +1,151 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the column store from the shared database and checks it answers exactly like the
+ * repository path, which the service uses here because the store is disabled in this context.
+ * Responses are compared as returned, so the order has to match as well as the content.
+ */
+class TransactionColumnStoreServiceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2035, 1, 1);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2035, 12, 31);
+
+  private static final String[] COMMENTS = {null, "Card payment", "Refund, partial", "Cash"};
+
+  private static final List<TransactionDto> SEEDED = new ArrayList<>();
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private TransactionColumnStoreService transactionColumnStoreService;
+
+  @Autowired
+  private CsvExportService csvExportService;
+
+  @BeforeEach
+  void setUp() {
+    if (!seeded) {
+      var random = new Random(13);
+      for (int i = 0; i < 300; i++) {
+        SEEDED.add(transactionService.addTransaction(CreateTransactionRequest.builder()
+            .amount(BigDecimal.valueOf(1 + random.nextInt(500_000), 2))
+            .transactionDate(FIRST_DAY.plusDays(random.nextInt(365)))
+            .categoryId(1 + random.nextInt(9))
+            .comment(COMMENTS[random.nextInt(COMMENTS.length)])
+            .build()));
+      }
+      seeded = true;
+    }
+    transactionColumnStoreService.load();
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldMatchRepositoryPath() {
+    for (var type : CategoryType.values()) {
+      assertSameTransactions(type, FIRST_DAY, LAST_DAY);
+      assertSameTransactions(type, LocalDate.of(2035, 3, 17), LocalDate.of(2035, 8, 2));
+      assertSameTransactions(type, LocalDate.of(2035, 6, 9), LocalDate.of(2035, 6, 9));
+    }
+  }
+
+  @Test
+  void exportTransactions_shouldMatchRepositoryPath() {
+    assertSameExport(FIRST_DAY, LAST_DAY);
+    assertSameExport(LocalDate.of(2035, 2, 11), LocalDate.of(2035, 10, 30));
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldMatchRepositoryPath() {
+    assertSameExportStream(FIRST_DAY, LAST_DAY);
+    assertSameExportStream(LocalDate.of(2035, 4, 3), LocalDate.of(2035, 9, 21));
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldReturnNothingOutsideLoadedRows() {
+    var range = transactionColumnStoreService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, LocalDate.of(2099, 1, 1), LocalDate.of(2099, 12, 31));
+
+    assertThat(range.getCategorySummaries()).isEmpty();
+    assertThat(range.getTotalAmount()).isEqualTo(transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, LocalDate.of(2099, 1, 1), LocalDate.of(2099, 12, 31)).getTotalAmount());
+  }
+
+  @Test
+  void writeTransactionsToCsv_shouldListRowsInExportOrderFromBothPaths() {
+    var dateFrom = LocalDate.of(2035, 2, 1);
+    var dateTo = LocalDate.of(2035, 11, 30);
+    var expectedIds = SEEDED.stream()
+        .filter(transaction -> !transaction.getTransactionDate().isBefore(dateFrom)
+            && !transaction.getTransactionDate().isAfter(dateTo))
+        .sorted(Comparator.comparing((TransactionDto transaction) -> transaction.getCategory().getType() != CategoryType.INCOMES)
+            .thenComparing(transaction -> transaction.getCategory().getIdCategory())
+            .thenComparing(TransactionDto::getTransactionDate)
+            .thenComparing(TransactionDto::getIdTransaction))
+        .map(transaction -> String.valueOf(transaction.getIdTransaction()))
+        .toList();
+
+    var fromRepository = new ByteArrayOutputStream();
+    transactionService.streamTransactionsForExport(dateFrom, dateTo,
+        rows -> csvExportService.writeTransactionsToCsv(rows, fromRepository));
+    var fromColumns = new ByteArrayOutputStream();
+    try (var rows = transactionColumnStoreService.streamTransactionsForExport(dateFrom, dateTo)) {
+      csvExportService.writeTransactionsToCsv(rows, fromColumns);
+    }
+
+    var csv = fromRepository.toString(StandardCharsets.UTF_8);
+    assertThat(csv.lines().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList())
+        .isEqualTo(expectedIds);
+    assertThat(fromColumns.toString(StandardCharsets.UTF_8)).isEqualTo(csv);
+  }
+
+  private void assertSameTransactions(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    var fromRepository = transactionService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
+    var fromColumns = transactionColumnStoreService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
+
+    assertThat(fromColumns).isEqualTo(fromRepository);
+  }
+
+  private void assertSameExport(LocalDate dateFrom, LocalDate dateTo) {
+    var fromRepository = transactionService.exportTransactions(dateFrom, dateTo);
+    var fromColumns = transactionColumnStoreService.exportTransactions(dateFrom, dateTo);
+
+    assertThat(fromColumns.getTransactions()).isNotEmpty();
+    assertThat(fromColumns).isEqualTo(fromRepository);
+  }
+
+  private void assertSameExportStream(LocalDate dateFrom, LocalDate dateTo) {
+    var fromRepository = new ArrayList<TransactionExportDetail>();
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(fromRepository::add));
+    List<TransactionExportDetail> fromColumns;
+    try (var rows = transactionColumnStoreService.streamTransactionsForExport(dateFrom, dateTo)) {
+      fromColumns = rows.toList();
+    }
+
+    assertThat(fromColumns).isNotEmpty();
+    assertThat(fromColumns).isEqualTo(fromRepository);
+  }
+}
@@ -0,0 +1,267 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.config.GroupCommitProperties;
+import com.ys.ai.aifinancemanager.config.WriteRetryProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionGroupCommitServiceImplTest {
+
+  @Mock
+  private TransactionRepository transactionRepository;
+
+  @Mock
+  private CategoryCacheService categoryCacheService;
+
+  @Mock
+  private CategoryRollupService categoryRollupService;
+
+  @Mock
+  private TransactionColumnStoreService transactionColumnStoreService;
+
+  @Mock
+  private CategoryTotalsIndexService categoryTotalsIndexService;
+
+  @Mock
+  private TransactionResponseCacheService transactionResponseCacheService;
+
+  @Mock
+  private DataVersionService dataVersionService;
+
+  @Mock
+  private TransactionMapper transactionMapper;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final WriteRetryService writeRetryService = new WriteRetryServiceImpl(
+      new WriteRetryProperties(false, 0, Duration.ofMillis(10), Duration.ofMillis(500), Duration.ZERO, Duration.ofSeconds(10)),
+      new SimpleMeterRegistry());
+
+  private final AtomicInteger nextId = new AtomicInteger(1);
+
+  private TransactionGroupCommitServiceImpl groupCommitService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+      TransactionCallback<?> callback = invocation.getArgument(0);
+      return callback.doInTransaction(null);
+    });
+
+    lenient().when(categoryCacheService.findById(anyInt())).thenReturn(Optional.empty());
+    lenient().when(categoryCacheService.findById(2)).thenReturn(Optional.of(
+        Category.builder().idCategory(2).description("Food & Groceries").type(CategoryType.EXPENSES).build()));
+
+    lenient().when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<Transaction> transactions = invocation.getArgument(0);
+      transactions.forEach(transaction -> transaction.setIdTransaction(nextId.getAndIncrement()));
+      return transactions;
+    });
+
+    lenient().when(transactionMapper.toDto(any(Transaction.class))).thenAnswer(invocation -> {
+      Transaction transaction = invocation.getArgument(0);
+      return TransactionDto.builder()
+          .idTransaction(transaction.getIdTransaction())
+          .amount(transaction.getAmount())
+          .build();
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (groupCommitService != null) {
+      groupCommitService.stop();
+    }
+  }
+
+  @Test
+  void submit_shouldCommitConcurrentRequestsTogether() throws Exception {
+    // Given
+    startService(100, Duration.ofMillis(200));
+    var callers = 20;
+    var futures = new ArrayList<CompletableFuture<TransactionDto>>();
+
+    // When
+    try (var executor = Executors.newFixedThreadPool(callers)) {
+      for (int i = 0; i < callers; i++) {
+        futures.add(CompletableFuture.supplyAsync(
+            () -> groupCommitService.addTransaction(request(2, "10.00")), executor));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    // Then
+    assertThat(futures).extracting(CompletableFuture::join)
+        .extracting(TransactionDto::getIdTransaction)
+        .doesNotContainNull()
+        .doesNotHaveDuplicates();
+
+    // All 20 arrive well within the linger window, so far fewer commits than requests
+    verify(transactionTemplate, atMost(5)).execute(any());
+    var batchSize = meterRegistry.get("finance.group.commit.batch.size").summary();
+    assertThat(batchSize.totalAmount()).isEqualTo(callers);
+    assertThat(batchSize.max()).isGreaterThan(1);
+    assertThat(meterRegistry.get("finance.group.commit.latency").timer().count()).isEqualTo(batchSize.count());
+  }
+
+  @Test
+  void submit_shouldNotExceedMaxBatchSize() throws Exception {
+    // Given
+    startService(2, Duration.ofMillis(300));
+
+    // When
+    var futures = new ArrayList<CompletableFuture<TransactionDto>>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(groupCommitService.submit(request(2, "1.00")));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+    // Then
+    var batchSize = meterRegistry.get("finance.group.commit.batch.size").summary();
+    assertThat(batchSize.max()).isEqualTo(2);
+    assertThat(batchSize.count()).isEqualTo(3);
+    verify(categoryRollupService, times(3)).recordTransactions(anyList());
+    verify(transactionResponseCacheService, times(3)).recordTransactions(anyList());
+  }
+
+  @Test
+  void submit_shouldFailInvalidRequestWithoutAffectingOthers() throws Exception {
+    // Given
+    startService(10, Duration.ofMillis(100));
+    var missingAmount = CreateTransactionRequest.builder()
+        .transactionDate(LocalDate.of(2026, 2, 1))
+        .categoryId(2)
+        .build();
+
+    // When
+    var valid = groupCommitService.submit(request(2, "5.00"));
+    var invalid = groupCommitService.submit(missingAmount);
+    var unknownCategory = groupCommitService.submit(request(999, "5.00"));
+
+    // Then
+    assertThat(valid.get(5, TimeUnit.SECONDS).getIdTransaction()).isNotNull();
+
+    var invalidFailure = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+    assertThat(invalidFailure.getCause())
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("Amount cannot be null");
+
+    var categoryFailure = assertThrows(ExecutionException.class, () -> unknownCategory.get(5, TimeUnit.SECONDS));
+    assertThat(categoryFailure.getCause())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Category not found with id: 999");
+
+    // Only the valid request was inserted; the rejected ones are not counted as committed
+    assertThat(meterRegistry.get("finance.group.commit.batch.size").summary().totalAmount()).isEqualTo(1);
+  }
+
+  @Test
+  void addTransaction_shouldRethrowCommitFailureToEveryCaller() {
+    // Given
+    startService(10, Duration.ofMillis(10));
+    when(transactionRepository.saveAll(anyList())).thenThrow(new CannotAcquireLockException("database is locked"));
+
+    // When / Then
+    var exception = assertThrows(CannotAcquireLockException.class,
+        () -> groupCommitService.addTransaction(request(2, "1.00")));
+    assertThat(exception.getMessage()).isEqualTo("database is locked");
+    var batchSize = meterRegistry.get("finance.group.commit.batch.size").summary();
+    assertThat(batchSize.count()).isEqualTo(1);
+    assertThat(batchSize.totalAmount()).isZero();
+  }
+
+  @Test
+  void stop_shouldCommitRequestsAlreadyQueued() throws Exception {
+    // Given
+    startService(100, Duration.ofMillis(500));
+    var future = groupCommitService.submit(request(2, "3.00"));
+
+    // When
+    groupCommitService.stop();
+
+    // Then
+    assertThat(future.isDone()).isTrue();
+    assertThat(future.get().getIdTransaction()).isNotNull();
+    assertThat(groupCommitService.isRunning()).isFalse();
+  }
+
+  @Test
+  void submit_shouldFailWhenDisabled() {
+    // Given
+    groupCommitService = newService(new GroupCommitProperties(false, 100, Duration.ofMillis(5)));
+
+    // When
+    groupCommitService.start();
+
+    // Then
+    assertThat(groupCommitService.isEnabled()).isFalse();
+    assertThat(groupCommitService.isRunning()).isFalse();
+    var exception = assertThrows(IllegalStateException.class,
+        () -> groupCommitService.addTransaction(request(2, "1.00")));
+    assertThat(exception.getMessage()).isEqualTo("Group commit writer is not running");
+    verifyNoInteractions(transactionTemplate);
+  }
+
+  private void startService(int maxBatchSize, Duration maxLinger) {
+    groupCommitService = newService(new GroupCommitProperties(true, maxBatchSize, maxLinger));
+    groupCommitService.start();
+  }
+
+  private TransactionGroupCommitServiceImpl newService(GroupCommitProperties properties) {
+    return new TransactionGroupCommitServiceImpl(transactionRepository, categoryCacheService,
+        categoryRollupService, transactionColumnStoreService, categoryTotalsIndexService,
+        transactionResponseCacheService, dataVersionService,
+        transactionMapper, transactionTemplate, writeRetryService, properties, meterRegistry);
+  }
+
+  private static CreateTransactionRequest request(int categoryId, String amount) {
+    return CreateTransactionRequest.builder()
+        .amount(new BigDecimal(amount))
+        .transactionDate(LocalDate.of(2026, 2, 1))
+        .categoryId(categoryId)
+        .build();
+  }
+}
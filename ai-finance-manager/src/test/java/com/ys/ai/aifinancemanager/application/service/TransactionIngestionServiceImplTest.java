@@ -0,0 +1,283 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowResult;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowStatus;
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.config.IngestionProperties;
+import com.ys.ai.aifinancemanager.config.WriteRetryProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionIngestionServiceImplTest {
+
+  private static final int CHUNK_SIZE = 2;
+
+  @Mock
+  private TransactionRepository transactionRepository;
+
+  @Mock
+  private CategoryCacheService categoryCacheService;
+
+  @Mock
+  private CategoryRollupService categoryRollupService;
+
+  @Mock
+  private TransactionColumnStoreService transactionColumnStoreService;
+
+  @Mock
+  private CategoryTotalsIndexService categoryTotalsIndexService;
+
+  @Mock
+  private TransactionResponseCacheService transactionResponseCacheService;
+
+  @Mock
+  private DataVersionService dataVersionService;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private EntityManager entityManager;
+
+  private TransactionIngestionServiceImpl ingestionService;
+
+  private final WriteRetryService writeRetryService = new WriteRetryServiceImpl(
+      new WriteRetryProperties(false, 0, Duration.ofMillis(10), Duration.ofMillis(500), Duration.ZERO, Duration.ofSeconds(10)),
+      new SimpleMeterRegistry());
+
+  private final AtomicInteger nextId = new AtomicInteger(500);
+
+  @BeforeEach
+  void setUp() {
+    ingestionService = new TransactionIngestionServiceImpl(transactionRepository, categoryCacheService,
+        categoryRollupService, transactionColumnStoreService, categoryTotalsIndexService,
+        transactionResponseCacheService, dataVersionService,
+        transactionTemplate, writeRetryService, entityManager, new IngestionProperties(CHUNK_SIZE));
+
+    lenient().doAnswer(invocation -> {
+      Consumer<Object> action = invocation.getArgument(0);
+      action.accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+
+    lenient().when(categoryCacheService.findById(anyInt())).thenReturn(Optional.empty());
+    lenient().when(categoryCacheService.findById(1)).thenReturn(Optional.of(
+        Category.builder().idCategory(1).description("Salary").type(CategoryType.INCOMES).build()));
+    lenient().when(categoryCacheService.findById(2)).thenReturn(Optional.of(
+        Category.builder().idCategory(2).description("Food & Groceries").type(CategoryType.EXPENSES).build()));
+
+    lenient().when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<Transaction> transactions = invocation.getArgument(0);
+      transactions.forEach(transaction -> transaction.setIdTransaction(nextId.getAndIncrement()));
+      return transactions;
+    });
+  }
+
+  @Test
+  void addTransactions_shouldCreateAllValidRowsInChunks() {
+    // Given
+    var requests = List.of(request(1, "10.00"), request(2, "20.00"), request(2, "30.00"));
+
+    // When
+    var response = ingestionService.addTransactions(requests.iterator());
+
+    // Then
+    assertThat(response.getReceived()).isEqualTo(3);
+    assertThat(response.getCreated()).isEqualTo(3);
+    assertThat(response.getRejected()).isZero();
+    assertThat(response.getError()).isNull();
+    assertThat(response.getResults())
+        .extracting(RowResult::getIndex, RowResult::getStatus, RowResult::getIdTransaction)
+        .containsExactly(
+            tuple(0, RowStatus.CREATED, 500),
+            tuple(1, RowStatus.CREATED, 501),
+            tuple(2, RowStatus.CREATED, 502));
+
+    // One transaction and one rollup update per chunk
+    verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    verify(categoryRollupService, times(2)).recordTransactions(anyList());
+    verify(transactionResponseCacheService, times(2)).recordTransactions(anyList());
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  void addTransactions_shouldRejectInvalidRowsIndividually() {
+    // Given
+    var missingAmount = CreateTransactionRequest.builder()
+        .transactionDate(LocalDate.of(2026, 2, 1))
+        .categoryId(2)
+        .build();
+    var requests = List.of(request(2, "10.00"), missingAmount, request(999, "30.00"));
+
+    // When
+    var response = ingestionService.addTransactions(requests.iterator());
+
+    // Then
+    assertThat(response.getCreated()).isEqualTo(1);
+    assertThat(response.getRejected()).isEqualTo(2);
+    assertThat(response.getResults().get(0).getStatus()).isEqualTo(RowStatus.CREATED);
+    assertThat(response.getResults().get(1).getStatus()).isEqualTo(RowStatus.REJECTED);
+    assertThat(response.getResults().get(1).getError()).isEqualTo("Amount cannot be null");
+    assertThat(response.getResults().get(2).getStatus()).isEqualTo(RowStatus.REJECTED);
+    assertThat(response.getResults().get(2).getError()).isEqualTo("Category not found with id: 999");
+  }
+
+  @Test
+  void addTransactions_shouldSkipDatabaseWhenWholeChunkIsInvalid() {
+    // Given
+    var requests = List.of(new CreateTransactionRequest(), new CreateTransactionRequest());
+
+    // When
+    var response = ingestionService.addTransactions(requests.iterator());
+
+    // Then
+    assertThat(response.getRejected()).isEqualTo(2);
+    verifyNoInteractions(transactionTemplate, categoryCacheService, transactionRepository, categoryRollupService);
+  }
+
+  @Test
+  void addTransactions_shouldMarkChunkFailedAndContinueWhenDatabaseFails() {
+    // Given
+    when(transactionRepository.saveAll(anyList()))
+        .thenThrow(new DataIntegrityViolationException("constraint failed"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    var requests = List.of(request(1, "10.00"), request(999, "20.00"), request(2, "30.00"));
+
+    // When
+    var response = ingestionService.addTransactions(requests.iterator());
+
+    // Then
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(response.getRejected()).isEqualTo(1);
+    assertThat(response.getCreated()).isEqualTo(1);
+    assertThat(response.getResults().get(0).getStatus()).isEqualTo(RowStatus.FAILED);
+    assertThat(response.getResults().get(0).getError()).isEqualTo("constraint failed");
+    assertThat(response.getResults().get(1).getStatus()).isEqualTo(RowStatus.REJECTED);
+    assertThat(response.getResults().get(2).getStatus()).isEqualTo(RowStatus.CREATED);
+  }
+
+  @Test
+  void addTransactions_shouldMarkChunkFailedAndContinueWhenCommitFails() {
+    // Given: the first chunk's rows are inserted, then its commit fails
+    doAnswer(invocation -> {
+      Consumer<Object> action = invocation.getArgument(0);
+      action.accept(null);
+      throw new TransactionSystemException("Could not commit JPA transaction", new IllegalStateException("disk I/O error"));
+    }).doAnswer(invocation -> {
+      Consumer<Object> action = invocation.getArgument(0);
+      action.accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+    var requests = List.of(request(1, "10.00"), request(2, "20.00"), request(2, "30.00"));
+
+    // When
+    var response = ingestionService.addTransactions(requests.iterator());
+
+    // Then
+    assertThat(response.getFailed()).isEqualTo(2);
+    assertThat(response.getCreated()).isEqualTo(1);
+    assertThat(response.getResults().subList(0, 2))
+        .allSatisfy(result -> {
+          assertThat(result.getStatus()).isEqualTo(RowStatus.FAILED);
+          assertThat(result.getIdTransaction()).isNull();
+          assertThat(result.getError()).isEqualTo("disk I/O error");
+        });
+    assertThat(response.getResults().get(2).getStatus()).isEqualTo(RowStatus.CREATED);
+  }
+
+  @Test
+  void addTransactions_shouldReportInputErrorAndKeepRowsReadBeforeIt() {
+    // Given
+    Iterator<CreateTransactionRequest> requests = new Iterator<>() {
+      private int served;
+
+      @Override
+      public boolean hasNext() {
+        if (served == 3) {
+          throw new IllegalStateException("Unexpected end-of-input");
+        }
+        return true;
+      }
+
+      @Override
+      public CreateTransactionRequest next() {
+        if (served == 3) {
+          throw new NoSuchElementException();
+        }
+        served++;
+        return request(2, "1.00");
+      }
+    };
+
+    // When
+    var response = ingestionService.addTransactions(requests);
+
+    // Then
+    assertThat(response.getReceived()).isEqualTo(3);
+    assertThat(response.getCreated()).isEqualTo(3);
+    assertThat(response.getError()).isEqualTo("Input could not be read after row 3: Unexpected end-of-input");
+  }
+
+  @Test
+  void addTransactions_shouldReturnEmptyResponseForEmptyInput() {
+    // When
+    var response = ingestionService.addTransactions(List.<CreateTransactionRequest>of().iterator());
+
+    // Then
+    assertThat(response.getReceived()).isZero();
+    assertThat(response.getResults()).isEmpty();
+    verify(transactionTemplate, never()).executeWithoutResult(any());
+  }
+
+  @Test
+  void addTransactions_shouldThrowWhenRequestsAreNull() {
+    // When / Then
+    var exception = assertThrows(NullPointerException.class, () -> ingestionService.addTransactions(null));
+    assertThat(exception.getMessage()).isEqualTo("Transaction requests cannot be null");
+  }
+
+  private static CreateTransactionRequest request(int categoryId, String amount) {
+    return CreateTransactionRequest.builder()
+        .amount(new BigDecimal(amount))
+        .transactionDate(LocalDate.of(2026, 2, 1))
+        .categoryId(categoryId)
+        .build();
+  }
+}
@@ -0,0 +1,104 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowResult;
+import com.ys.ai.aifinancemanager.application.dto.BatchTransactionResponse.RowStatus;
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import com.ys.ai.aifinancemanager.support.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs batch ingestion against SQLite to check that inserts really go out as JDBC batches and
+ * that the rollups stay consistent with the inserted rows.
+ */
+class TransactionIngestionServiceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final int ROW_COUNT = 1_250;
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2034, 1, 1);
+
+  @Autowired
+  private TransactionIngestionService transactionIngestionService;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Test
+  void addTransactions_shouldBatchInsertsAndKeepRollupsConsistent() {
+    // Given
+    var requests = new ArrayList<CreateTransactionRequest>();
+    var expectedTotal = BigDecimal.ZERO;
+    for (int i = 0; i < ROW_COUNT; i++) {
+      var amount = BigDecimal.valueOf(100 + i % 900, 2);
+      requests.add(CreateTransactionRequest.builder()
+          .amount(amount)
+          .transactionDate(FIRST_DAY.plusDays(i % 90))
+          .categoryId(2 + i % 4)
+          .comment("Bank feed row " + i)
+          .build());
+      expectedTotal = expectedTotal.add(amount);
+    }
+
+    // When
+    var result = new BatchTransactionResponse[1];
+    var statements = RecordingStatementInspector.record(() ->
+        result[0] = transactionIngestionService.addTransactions(requests.iterator()));
+    var response = result[0];
+
+    // Then
+    assertThat(response.getCreated()).isEqualTo(ROW_COUNT);
+    assertThat(response.getResults()).extracting(RowResult::getStatus).containsOnly(RowStatus.CREATED);
+
+    var ids = response.getResults().stream().map(RowResult::getIdTransaction).toList();
+    assertThat(ids).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+
+    // Without batching every row prepares its own INSERT; batched, each chunk flush reuses one
+    var insertStatements = statements.stream()
+        .filter(sql -> sql.toLowerCase().startsWith("insert into transactions"))
+        .count();
+    assertThat(insertStatements).isEqualTo(2);
+
+    var totals = categoryRollupService.getCategoryTotals(
+        CategoryType.EXPENSES, FIRST_DAY, FIRST_DAY.plusDays(89));
+    assertThat(totals.stream().map(CategoryTotal::total).reduce(BigDecimal.ZERO, BigDecimal::add))
+        .isEqualByComparingTo(expectedTotal);
+    assertThat(categoryRollupService.checkConsistency()).isEmpty();
+  }
+
+  @Test
+  void addTransaction_shouldContinueIdSequenceAfterBatch() {
+    // Given
+    var batch = transactionIngestionService.addTransactions(List.of(CreateTransactionRequest.builder()
+        .amount(new BigDecimal("12.34"))
+        .transactionDate(FIRST_DAY.plusYears(1))
+        .categoryId(3)
+        .build()).iterator());
+    var batchId = batch.getResults().getFirst().getIdTransaction();
+
+    // When
+    var single = transactionService.addTransaction(CreateTransactionRequest.builder()
+        .amount(new BigDecimal("56.78"))
+        .transactionDate(FIRST_DAY.plusYears(1))
+        .categoryId(3)
+        .build());
+
+    // Then
+    assertThat(Objects.requireNonNull(batchId)).isPositive();
+    assertThat(single.getIdTransaction()).isGreaterThan(batchId);
+  }
+}
@@ -0,0 +1,185 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import com.ys.ai.aifinancemanager.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the write paths against the shared database with the response cache enabled and checks
+ * every read against what {@code TRANSACTIONS} holds at that moment.
+ *
+ * <p>The cache is switched on in the shared context rather than through a property, since a
+ * second context would hand out the same transaction ids as the first.</p>
+ */
+class TransactionResponseCacheIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2038, 1, 1);
+
+  private static final String SELECT_IDS = """
+      SELECT t.ID_TRANSACTION
+      FROM TRANSACTIONS t
+      JOIN CATEGORY c ON c.ID_CATEGORY = t.ID_CATEGORY
+      WHERE c.TYPE = ? AND t.TRANSACTION_DAY BETWEEN ? AND ?
+      ORDER BY t.ID_TRANSACTION""";
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private TransactionIngestionService transactionIngestionService;
+
+  @Autowired
+  private TransactionResponseCacheServiceImpl transactionResponseCacheService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private final Random random = new Random(17);
+
+  private ResponseCacheProperties configuredProperties;
+
+  @BeforeEach
+  void setUp() {
+    configuredProperties = (ResponseCacheProperties)
+        ReflectionTestUtils.getField(transactionResponseCacheService, "responseCacheProperties");
+    ReflectionTestUtils.setField(transactionResponseCacheService, "responseCacheProperties",
+        new ResponseCacheProperties(true, DataSize.ofMegabytes(4)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.setField(transactionResponseCacheService, "responseCacheProperties", configuredProperties);
+    transactionResponseCacheService.clear();
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldNeverServeStaleResponseAfterWrite() {
+    for (int step = 0; step < 300; step++) {
+      switch (random.nextInt(4)) {
+        case 0 -> transactionService.addTransaction(request(FIRST_DAY.plusDays(random.nextInt(60))));
+        case 1 -> transactionIngestionService.addTransactions(List.of(
+            request(FIRST_DAY.plusDays(random.nextInt(60))),
+            request(FIRST_DAY.plusDays(random.nextInt(60)))).iterator());
+        default -> {
+          var type = CategoryType.values()[random.nextInt(2)];
+          var dateFrom = FIRST_DAY.plusDays(random.nextInt(4) * 15);
+          var dateTo = dateFrom.plusDays(random.nextInt(3) * 15 + 14);
+          assertCurrent(type, dateFrom, dateTo);
+        }
+      }
+    }
+    assertThat(cacheGets("hit")).isPositive();
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldKeepRangesWriteDoesNotTouch() {
+    // Given
+    var dateFrom = FIRST_DAY.plusMonths(3);
+    var dateTo = dateFrom.plusDays(29);
+    transactionService.addTransaction(request(dateFrom, 1));
+    var cached = transactionService.getTransactionsByTypeAndDateRange(CategoryType.INCOMES, dateFrom, dateTo);
+    var hits = cacheGets("hit");
+
+    // When
+    transactionService.addTransaction(request(dateFrom, 2));
+    transactionService.addTransaction(request(dateTo.plusDays(1), 1));
+
+    // Then
+    assertThat(transactionService.getTransactionsByTypeAndDateRange(CategoryType.INCOMES, dateFrom, dateTo))
+        .isSameAs(cached);
+    assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldSeeEveryWriteOnceWritersAreDone() throws Exception {
+    // Given
+    var dateFrom = FIRST_DAY.plusMonths(6);
+    var dateTo = dateFrom.plusDays(30);
+    var writing = new AtomicBoolean(true);
+    ExecutorService readers = Executors.newFixedThreadPool(4);
+    var reads = new ArrayList<CompletableFuture<Void>>();
+
+    // When
+    try {
+      for (int i = 0; i < 4; i++) {
+        reads.add(CompletableFuture.runAsync(() -> {
+          while (writing.get()) {
+            transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, dateFrom, dateTo);
+          }
+        }, readers));
+      }
+      for (int i = 0; i < 50; i++) {
+        transactionService.addTransaction(request(dateFrom.plusDays(i % 31), 2 + i % 4));
+      }
+    } finally {
+      writing.set(false);
+      readers.shutdown();
+    }
+    CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    // Then
+    assertThat(ids(transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, dateFrom, dateTo)))
+        .hasSize(50);
+    assertCurrent(CategoryType.EXPENSES, dateFrom, dateTo);
+  }
+
+  private void assertCurrent(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    var expected = jdbcTemplate.queryForList(
+        SELECT_IDS, Integer.class, type.name(), dateFrom.toEpochDay(), dateTo.toEpochDay());
+    var response = transactionService.getTransactionsByTypeAndDateRange(type, dateFrom, dateTo);
+    assertThat(ids(response)).as("%s between %s and %s", type, dateFrom, dateTo).isEqualTo(expected);
+  }
+
+  private static List<Integer> ids(TransactionsByTypeResponse response) {
+    return response.getCategorySummaries().stream()
+        .flatMap(summary -> summary.getTransactions().stream())
+        .map(TransactionDto::getIdTransaction)
+        .sorted()
+        .toList();
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("finance.response.cache.gets").tag("result", result).functionCounter().count();
+  }
+
+  private CreateTransactionRequest request(LocalDate date) {
+    return request(date, 1 + random.nextInt(9));
+  }
+
+  private CreateTransactionRequest request(LocalDate date, int categoryId) {
+    return CreateTransactionRequest.builder()
+        .amount(BigDecimal.valueOf(1 + random.nextInt(500_000), 2))
+        .transactionDate(date)
+        .categoryId(categoryId)
+        .comment("Response cache test")
+        .build();
+  }
+}
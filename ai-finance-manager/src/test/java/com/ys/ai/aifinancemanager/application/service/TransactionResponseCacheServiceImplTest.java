@@ -0,0 +1,264 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse.CategoryTransactionSummary;
+import com.ys.ai.aifinancemanager.config.ResponseCacheProperties;
+import com.ys.ai.aifinancemanager.domain.entity.Category;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionResponseCacheServiceImplTest {
+
+  private static final LocalDate JANUARY_FIRST = LocalDate.of(2026, 1, 1);
+
+  private static final LocalDate JANUARY_LAST = LocalDate.of(2026, 1, 31);
+
+  private static final Category FOOD = Category.builder()
+      .idCategory(2)
+      .description("Food")
+      .type(CategoryType.EXPENSES)
+      .build();
+
+  private static final Category SALARY = Category.builder()
+      .idCategory(1)
+      .description("Salary")
+      .type(CategoryType.INCOMES)
+      .build();
+
+  @Mock
+  private CategoryCacheService categoryCacheService;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private TransactionResponseCacheServiceImpl cache;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(categoryCacheService.getVersion()).thenReturn(7L);
+    cache = newCache(true, DataSize.ofMegabytes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getTransactions_shouldLoadOnceAndServeRepeatsFromCache() {
+    // When
+    var first = get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    var second = get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST);
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThat(loads).hasValue(2);
+    assertThat(gets("hit")).isEqualTo(1);
+    assertThat(gets("miss")).isEqualTo(2);
+    assertThat(meterRegistry.get("finance.response.cache.entries").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  void recordTransactions_shouldEvictOnlyRangesOfSameTypeCoveringTheDate() {
+    // Given
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+    get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 15));
+
+    // When
+    cache.recordTransactions(List.of(transaction(FOOD, LocalDate.of(2026, 1, 15))));
+
+    // Then
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+    get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 15));
+    assertThat(loads).hasValue(6);
+    assertThat(evictions("write")).isEqualTo(2);
+  }
+
+  @Test
+  void recordTransactions_shouldWaitForCommit() {
+    // Given
+    var cached = get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    cache.recordTransactions(List.of(transaction(SALARY, JANUARY_LAST)));
+
+    // Then
+    assertThat(get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST)).isSameAs(cached);
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST)).isNotSameAs(cached);
+  }
+
+  @Test
+  void getTransactions_shouldNotCacheResponseLoadedWhileWriteCommitted() {
+    // Given
+    Supplier<TransactionsByTypeResponse> racingLoader = () -> {
+      var loaded = response(1);
+      cache.recordTransactions(List.of(transaction(SALARY, LocalDate.of(2030, 6, 1))));
+      return loaded;
+    };
+
+    // When
+    var raced = cache.getTransactions(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST, racingLoader);
+
+    // Then
+    assertThat(get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST)).isNotSameAs(raced);
+    assertThat(get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST)).isNotSameAs(raced);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void getTransactions_shouldReloadAfterCategoriesChange() {
+    // Given
+    var cached = get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    when(categoryCacheService.getVersion()).thenReturn(8L);
+
+    // When
+    var result = get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+
+    // Then
+    assertThat(result).isNotSameAs(cached);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void getTransactions_shouldEvictLeastRecentlyUsedOverSizeCap() {
+    // Given
+    var oneEntry = TransactionResponseCacheServiceImpl.estimateBytes(response(10));
+    cache = newCache(true, DataSize.ofBytes(oneEntry * 2));
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+    // When
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+    // Then
+    assertThat(evictions("size")).isEqualTo(1);
+    assertThat(meterRegistry.get("finance.response.cache.size").gauge().value()).isEqualTo(oneEntry * 2);
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+    assertThat(loads).hasValue(3);
+    get(CategoryType.EXPENSES, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void getTransactions_shouldNotCacheResponseLargerThanCap() {
+    // Given
+    cache = newCache(true, DataSize.ofBytes(TransactionResponseCacheServiceImpl.estimateBytes(response(10)) - 1));
+
+    // When
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+
+    // Then
+    assertThat(loads).hasValue(2);
+    assertThat(meterRegistry.get("finance.response.cache.size").gauge().value()).isZero();
+  }
+
+  @Test
+  void clear_shouldEvictEverything() {
+    // Given
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.INCOMES, JANUARY_FIRST, JANUARY_LAST);
+
+    // When
+    cache.clear();
+
+    // Then
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    assertThat(loads).hasValue(3);
+    assertThat(evictions("write")).isEqualTo(2);
+  }
+
+  @Test
+  void getTransactions_shouldAlwaysLoadWhenDisabled() {
+    // Given
+    cache = newCache(false, DataSize.ofMegabytes(1));
+
+    // When
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+    get(CategoryType.EXPENSES, JANUARY_FIRST, JANUARY_LAST);
+
+    // Then
+    assertThat(loads).hasValue(2);
+    assertThat(gets("miss")).isZero();
+  }
+
+  private TransactionResponseCacheServiceImpl newCache(boolean enabled, DataSize maxSize) {
+    meterRegistry.clear();
+    return new TransactionResponseCacheServiceImpl(
+        categoryCacheService, new ResponseCacheProperties(enabled, maxSize), meterRegistry);
+  }
+
+  private TransactionsByTypeResponse get(CategoryType type, LocalDate dateFrom, LocalDate dateTo) {
+    return cache.getTransactions(type, dateFrom, dateTo, () -> {
+      loads.incrementAndGet();
+      return response(10);
+    });
+  }
+
+  private double gets(String result) {
+    return meterRegistry.get("finance.response.cache.gets").tag("result", result).functionCounter().count();
+  }
+
+  private double evictions(String cause) {
+    return meterRegistry.get("finance.response.cache.evictions").tag("cause", cause).functionCounter().count();
+  }
+
+  private static TransactionsByTypeResponse response(int transactions) {
+    var transaction = TransactionDto.builder()
+        .idTransaction(1)
+        .amount(new BigDecimal("1.00"))
+        .transactionDate(JANUARY_FIRST)
+        .comment("Groceries")
+        .build();
+    return TransactionsByTypeResponse.builder()
+        .categorySummaries(List.of(CategoryTransactionSummary.builder()
+            .transactions(Collections.nCopies(transactions, transaction))
+            .categoryTotal(BigDecimal.valueOf(transactions))
+            .build()))
+        .totalAmount(BigDecimal.valueOf(transactions))
+        .build();
+  }
+
+  private static Transaction transaction(Category category, LocalDate date) {
+    return Transaction.builder()
+        .idTransaction(1)
+        .amount(new BigDecimal("1.00"))
+        .transactionDate(date)
+        .category(category)
+        .build();
+  }
+}
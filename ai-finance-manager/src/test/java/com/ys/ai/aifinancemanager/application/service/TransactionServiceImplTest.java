@@ -4,30 +4,47 @@ import com.ys.ai.aifinancemanager.application.dto.CategoryDto;
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionDto;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
+import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse.TransactionExportDetail;
 import com.ys.ai.aifinancemanager.application.dto.TransactionsByTypeResponse;
 import com.ys.ai.aifinancemanager.application.mapper.CategoryMapper;
 import com.ys.ai.aifinancemanager.application.mapper.TransactionMapper;
+import com.ys.ai.aifinancemanager.application.timing.RequestTimings;
+import com.ys.ai.aifinancemanager.config.WriteRetryProperties;
 import com.ys.ai.aifinancemanager.domain.entity.Category;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
 import com.ys.ai.aifinancemanager.domain.entity.Transaction;
-import com.ys.ai.aifinancemanager.domain.repository.CategoryRepository;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
 import com.ys.ai.aifinancemanager.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +54,7 @@ class TransactionServiceImplTest {
   private TransactionRepository transactionRepository;
 
   @Mock
-  private CategoryRepository categoryRepository;
+  private CategoryCacheService categoryCacheService;
 
   @Mock
   private TransactionMapper transactionMapper;
@@ -45,6 +62,38 @@ class TransactionServiceImplTest {
   @Mock
   private CategoryMapper categoryMapper;
 
+  @Mock
+  private CategoryRollupService categoryRollupService;
+
+  @Mock
+  private TransactionColumnStoreService transactionColumnStoreService;
+
+  @Mock
+  private CategoryTotalsIndexService categoryTotalsIndexService;
+
+  @Mock
+  private TransactionResponseCacheService transactionResponseCacheService;
+
+  @Mock
+  private DataVersionService dataVersionService;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Spy
+  private WriteRetryService writeRetryService = new WriteRetryServiceImpl(
+      new WriteRetryProperties(false, 0, Duration.ofMillis(10), Duration.ofMillis(500), Duration.ZERO, Duration.ofSeconds(10)),
+      new SimpleMeterRegistry());
+
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks
   private TransactionServiceImpl transactionService;
 
@@ -59,6 +108,16 @@ class TransactionServiceImplTest {
 
   @BeforeEach
   void setUp() {
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+      TransactionCallback<?> callback = invocation.getArgument(0);
+      return callback.doInTransaction(null);
+    });
+    lenient().when(transactionTemplate.getTransactionManager()).thenReturn(transactionManager);
+
+    // The response cache passes every read through to the loader
+    lenient().when(transactionResponseCacheService.getTransactions(any(), any(), any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<TransactionsByTypeResponse>>getArgument(3).get());
+
     // Setup income category
     incomeCategory = Category.builder()
         .idCategory(1)
@@ -132,7 +191,7 @@ class TransactionServiceImplTest {
         .comment("Monthly salary")
         .build();
 
-    when(categoryRepository.findById(1)).thenReturn(Optional.of(incomeCategory));
+    when(categoryCacheService.findById(1)).thenReturn(Optional.of(incomeCategory));
     when(transactionRepository.save(any(Transaction.class))).thenReturn(incomeTransaction);
     when(transactionMapper.toDto(incomeTransaction)).thenReturn(incomeTransactionDto);
 
@@ -145,8 +204,9 @@ class TransactionServiceImplTest {
     assertEquals(new BigDecimal("5000.00"), result.getAmount());
     assertEquals("Monthly salary", result.getComment());
 
-    verify(categoryRepository).findById(1);
+    verify(categoryCacheService).findById(1);
     verify(transactionRepository).save(any(Transaction.class));
+    verify(categoryRollupService).recordTransaction(incomeTransaction);
     verify(transactionMapper).toDto(incomeTransaction);
   }
 
@@ -160,7 +220,7 @@ class TransactionServiceImplTest {
         .comment("Test")
         .build();
 
-    when(categoryRepository.findById(999)).thenReturn(Optional.empty());
+    when(categoryCacheService.findById(999)).thenReturn(Optional.empty());
 
     // When & Then
     IllegalArgumentException exception = assertThrows(
@@ -169,8 +229,9 @@ class TransactionServiceImplTest {
     );
 
     assertTrue(exception.getMessage().contains("Category not found"));
-    verify(categoryRepository).findById(999);
+    verify(categoryCacheService).findById(999);
     verify(transactionRepository, never()).save(any());
+    verifyNoInteractions(categoryRollupService);
   }
 
   @Test
@@ -187,7 +248,7 @@ class TransactionServiceImplTest {
     assertThrows(NullPointerException.class,
         () -> transactionService.addTransaction(request));
 
-    verify(categoryRepository, never()).findById(anyInt());
+    verify(categoryCacheService, never()).findById(anyInt());
     verify(transactionRepository, never()).save(any());
   }
 
@@ -201,7 +262,7 @@ class TransactionServiceImplTest {
         .comment("Test")
         .build();
 
-    when(categoryRepository.findById(1)).thenReturn(Optional.of(incomeCategory));
+    when(categoryCacheService.findById(1)).thenReturn(Optional.of(incomeCategory));
 
     // When
     // Note: ValidationUtils doesn't validate negative amounts, so transaction will be saved
@@ -237,7 +298,7 @@ class TransactionServiceImplTest {
         .comment("Test")
         .build();
 
-    when(categoryRepository.findById(1)).thenReturn(Optional.of(incomeCategory));
+    when(categoryCacheService.findById(1)).thenReturn(Optional.of(incomeCategory));
 
     // When
     // Note: ValidationUtils doesn't validate zero amounts, so transaction will be saved
@@ -277,7 +338,7 @@ class TransactionServiceImplTest {
     assertThrows(NullPointerException.class,
         () -> transactionService.addTransaction(request));
 
-    verify(categoryRepository, never()).findById(anyInt());
+    verify(categoryCacheService, never()).findById(anyInt());
     verify(transactionRepository, never()).save(any());
   }
 
@@ -295,7 +356,7 @@ class TransactionServiceImplTest {
     assertThrows(NullPointerException.class,
         () -> transactionService.addTransaction(request));
 
-    verify(categoryRepository, never()).findById(anyInt());
+    verify(categoryCacheService, never()).findById(anyInt());
     verify(transactionRepository, never()).save(any());
   }
 
@@ -325,7 +386,7 @@ class TransactionServiceImplTest {
         .comment(null)
         .build();
 
-    when(categoryRepository.findById(1)).thenReturn(Optional.of(incomeCategory));
+    when(categoryCacheService.findById(1)).thenReturn(Optional.of(incomeCategory));
     when(transactionRepository.save(any(Transaction.class))).thenReturn(transactionWithoutComment);
     when(transactionMapper.toDto(transactionWithoutComment)).thenReturn(dtoWithoutComment);
 
@@ -338,6 +399,27 @@ class TransactionServiceImplTest {
     verify(transactionRepository).save(any(Transaction.class));
   }
 
+  @Test
+  void addTransaction_shouldWriteThroughToInMemoryReadModels() {
+    // Given
+    var request = CreateTransactionRequest.builder()
+        .amount(new BigDecimal("12.30"))
+        .transactionDate(LocalDate.of(2026, 1, 15))
+        .categoryId(2)
+        .build();
+    when(categoryCacheService.findById(2)).thenReturn(Optional.of(expenseCategory));
+    when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    // When
+    transactionService.addTransaction(request);
+
+    // Then
+    verify(transactionColumnStoreService).recordTransactions(argThat(transactions -> transactions.size() == 1));
+    verify(categoryTotalsIndexService).recordTransactions(argThat(transactions -> transactions.size() == 1));
+    verify(transactionResponseCacheService).recordTransactions(argThat(transactions -> transactions.size() == 1));
+    verify(dataVersionService).recordWrite();
+  }
+
   // ========== getTransactionsByTypeAndDateRange Tests ==========
 
   @Test
@@ -567,13 +649,208 @@ class TransactionServiceImplTest {
         .findByCategoryTypeAndTransactionDateBetween(any(), any(), any());
   }
 
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldUseColumnStoreWhenReady() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    var response = TransactionsByTypeResponse.builder()
+        .categorySummaries(List.of())
+        .totalAmount(BigDecimal.ZERO)
+        .build();
+    when(transactionColumnStoreService.isReady()).thenReturn(true);
+    when(transactionColumnStoreService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, dateFrom, dateTo))
+        .thenReturn(response);
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, dateFrom, dateTo);
+
+    // Then
+    assertSame(response, result);
+    verifyNoInteractions(transactionRepository);
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldRecordRowsAndCategories() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    var secondExpense = Transaction.builder()
+        .idTransaction(102)
+        .amount(new BigDecimal("20.00"))
+        .transactionDate(LocalDate.of(2026, 1, 21))
+        .category(expenseCategory)
+        .build();
+    when(transactionRepository.findByCategoryTypeAndTransactionDateBetween(CategoryType.EXPENSES, dateFrom, dateTo))
+        .thenReturn(List.of(expenseTransaction, secondExpense));
+    when(categoryMapper.toDto(expenseCategory)).thenReturn(expenseCategoryDto);
+
+    // When
+    transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, dateFrom, dateTo);
+
+    // Then
+    var rows = meterRegistry.get("finance.query.rows").tag("query", "transactions-by-type").summary();
+    assertEquals(1, rows.count());
+    assertEquals(2, rows.totalAmount());
+    var categories = meterRegistry.get("finance.response.categories").tag("operation", "transactions-by-type").summary();
+    assertEquals(1, categories.totalAmount());
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldRecordRequestTimingSpans() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    when(transactionRepository.findByCategoryTypeAndTransactionDateBetween(CategoryType.EXPENSES, dateFrom, dateTo))
+        .thenReturn(List.of(expenseTransaction));
+
+    // When
+    String spans;
+    try (var recording = RequestTimings.start()) {
+      transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, dateFrom, dateTo);
+      spans = recording.toHeaderValue();
+    }
+
+    // Then
+    assertTrue(spans.matches("db;dur=[\\d.]+, aggregate;dur=[\\d.]+, map;dur=[\\d.]+"), spans);
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldReturnCachedResponse() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    var response = TransactionsByTypeResponse.builder()
+        .categorySummaries(List.of())
+        .totalAmount(BigDecimal.ZERO)
+        .build();
+    doReturn(response).when(transactionResponseCacheService)
+        .getTransactions(eq(CategoryType.INCOMES), eq(dateFrom), eq(dateTo), any());
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.INCOMES, dateFrom, dateTo);
+
+    // Then
+    assertSame(response, result);
+    verifyNoInteractions(transactionRepository, transactionColumnStoreService);
+  }
+
+  // ========== getCategoryTotalsByTypeAndDateRange Tests ==========
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldReturnTotalsWithoutTransactions() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    CategoryType type = CategoryType.EXPENSES;
+
+    CategoryTotal foodTotal = new CategoryTotal(2, "Food", CategoryType.EXPENSES, new BigDecimal("150.5"));
+    CategoryTotal transportTotal = new CategoryTotal(3, "Transport", CategoryType.EXPENSES, new BigDecimal("30"));
+    CategoryDto transportCategoryDto = CategoryDto.builder()
+        .idCategory(3)
+        .description("Transport")
+        .type(CategoryType.EXPENSES)
+        .build();
+
+    when(categoryRollupService.getCategoryTotals(type, dateFrom, dateTo))
+        .thenReturn(List.of(foodTotal, transportTotal));
+    when(categoryMapper.toCategoryDto(foodTotal)).thenReturn(expenseCategoryDto);
+    when(categoryMapper.toCategoryDto(transportTotal)).thenReturn(transportCategoryDto);
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getCategoryTotalsByTypeAndDateRange(
+        type, dateFrom, dateTo);
+
+    // Then
+    assertEquals(2, result.getCategorySummaries().size());
+    assertEquals(expenseCategoryDto, result.getCategorySummaries().get(0).getCategory());
+    assertEquals(new BigDecimal("150.50"), result.getCategorySummaries().get(0).getCategoryTotal());
+    assertNull(result.getCategorySummaries().get(0).getTransactions());
+    assertEquals(new BigDecimal("30.00"), result.getCategorySummaries().get(1).getCategoryTotal());
+    assertEquals(new BigDecimal("180.50"), result.getTotalAmount());
+
+    verifyNoInteractions(transactionRepository);
+    verifyNoInteractions(transactionMapper);
+  }
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldRoundFloatingPointSumsToCents() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    CategoryTotal foodTotal = new CategoryTotal(2, "Food", CategoryType.EXPENSES, new BigDecimal("0.30000000000000004"));
+
+    when(categoryRollupService.getCategoryTotals(CategoryType.EXPENSES, dateFrom, dateTo))
+        .thenReturn(List.of(foodTotal));
+    when(categoryMapper.toCategoryDto(foodTotal)).thenReturn(expenseCategoryDto);
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getCategoryTotalsByTypeAndDateRange(
+        CategoryType.EXPENSES, dateFrom, dateTo);
+
+    // Then
+    assertEquals(new BigDecimal("0.30"), result.getCategorySummaries().getFirst().getCategoryTotal());
+    assertEquals(new BigDecimal("0.30"), result.getTotalAmount());
+  }
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldReturnZeroWhenNothingMatches() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+
+    when(categoryRollupService.getCategoryTotals(CategoryType.INCOMES, dateFrom, dateTo))
+        .thenReturn(List.of());
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getCategoryTotalsByTypeAndDateRange(
+        CategoryType.INCOMES, dateFrom, dateTo);
+
+    // Then
+    assertTrue(result.getCategorySummaries().isEmpty());
+    assertEquals(0, BigDecimal.ZERO.compareTo(result.getTotalAmount()));
+  }
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldUseTotalsIndexWhenReady() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    CategoryTotal foodTotal = new CategoryTotal(2, "Food", CategoryType.EXPENSES, new BigDecimal("42.10"));
+
+    when(categoryTotalsIndexService.isReady()).thenReturn(true);
+    when(categoryTotalsIndexService.getCategoryTotals(CategoryType.EXPENSES, dateFrom, dateTo))
+        .thenReturn(List.of(foodTotal));
+    when(categoryMapper.toCategoryDto(foodTotal)).thenReturn(expenseCategoryDto);
+
+    // When
+    TransactionsByTypeResponse result = transactionService.getCategoryTotalsByTypeAndDateRange(
+        CategoryType.EXPENSES, dateFrom, dateTo);
+
+    // Then
+    assertEquals(new BigDecimal("42.10"), result.getTotalAmount());
+    verifyNoInteractions(categoryRollupService);
+  }
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldThrowExceptionWhenDateFromIsAfterDateTo() {
+    // When & Then
+    assertThrows(IllegalArgumentException.class,
+        () -> transactionService.getCategoryTotalsByTypeAndDateRange(
+            CategoryType.INCOMES, LocalDate.of(2026, 1, 31), LocalDate.of(2026, 1, 1)));
+
+    verify(categoryRollupService, never()).getCategoryTotals(any(), any(), any());
+  }
+
   // ========== getAllCategories Tests ==========
 
   @Test
   void getAllCategories_shouldReturnIncomeCategoriesCorrectly() {
     // Given
     List<Category> categories = List.of(incomeCategory);
-    when(categoryRepository.findByType(CategoryType.INCOMES)).thenReturn(categories);
+    when(categoryCacheService.findByType(CategoryType.INCOMES)).thenReturn(categories);
     when(categoryMapper.toDto(incomeCategory)).thenReturn(incomeCategoryDto);
 
     // When
@@ -585,7 +862,7 @@ class TransactionServiceImplTest {
     assertEquals("Salary", result.getFirst().getDescription());
     assertEquals(CategoryType.INCOMES, result.getFirst().getType());
 
-    verify(categoryRepository).findByType(CategoryType.INCOMES);
+    verify(categoryCacheService).findByType(CategoryType.INCOMES);
     verify(categoryMapper).toDto(incomeCategory);
   }
 
@@ -593,7 +870,7 @@ class TransactionServiceImplTest {
   void getAllCategories_shouldReturnExpenseCategoriesCorrectly() {
     // Given
     List<Category> categories = List.of(expenseCategory);
-    when(categoryRepository.findByType(CategoryType.EXPENSES)).thenReturn(categories);
+    when(categoryCacheService.findByType(CategoryType.EXPENSES)).thenReturn(categories);
     when(categoryMapper.toDto(expenseCategory)).thenReturn(expenseCategoryDto);
 
     // When
@@ -605,13 +882,13 @@ class TransactionServiceImplTest {
     assertEquals("Food", result.getFirst().getDescription());
     assertEquals(CategoryType.EXPENSES, result.getFirst().getType());
 
-    verify(categoryRepository).findByType(CategoryType.EXPENSES);
+    verify(categoryCacheService).findByType(CategoryType.EXPENSES);
   }
 
   @Test
   void getAllCategories_shouldReturnEmptyListWhenNoCategoriesFound() {
     // Given
-    when(categoryRepository.findByType(CategoryType.INCOMES)).thenReturn(List.of());
+    when(categoryCacheService.findByType(CategoryType.INCOMES)).thenReturn(List.of());
 
     // When
     List<CategoryDto> result = transactionService.getAllCategories(CategoryType.INCOMES);
@@ -627,7 +904,7 @@ class TransactionServiceImplTest {
     assertThrows(NullPointerException.class,
         () -> transactionService.getAllCategories(null));
 
-    verify(categoryRepository, never()).findByType(any());
+    verify(categoryCacheService, never()).findByType(any());
   }
 
   @Test
@@ -657,7 +934,7 @@ class TransactionServiceImplTest {
         .type(CategoryType.INCOMES)
         .build();
 
-    when(categoryRepository.findByType(CategoryType.INCOMES))
+    when(categoryCacheService.findByType(CategoryType.INCOMES))
         .thenReturn(Arrays.asList(category1, category2));
     when(categoryMapper.toDto(category1)).thenReturn(categoryDto1);
     when(categoryMapper.toDto(category2)).thenReturn(categoryDto2);
@@ -672,6 +949,33 @@ class TransactionServiceImplTest {
     assertTrue(result.stream().anyMatch(c -> c.getDescription().equals("Freelance")));
   }
 
+  @Test
+  void getAllCategories_withoutType_shouldReturnCategoriesOfAllTypes() {
+    // Given
+    when(categoryCacheService.findAll()).thenReturn(List.of(incomeCategory, expenseCategory));
+    when(categoryMapper.toDto(incomeCategory)).thenReturn(incomeCategoryDto);
+    when(categoryMapper.toDto(expenseCategory)).thenReturn(expenseCategoryDto);
+
+    // When
+    List<CategoryDto> result = transactionService.getAllCategories();
+
+    // Then
+    assertEquals(List.of(incomeCategoryDto, expenseCategoryDto), result);
+    verify(categoryCacheService).findAll();
+  }
+
+  @Test
+  void getCategoriesVersion_shouldReturnCacheVersion() {
+    // Given
+    when(categoryCacheService.getVersion()).thenReturn(42L);
+
+    // When
+    long result = transactionService.getCategoriesVersion();
+
+    // Then
+    assertEquals(42L, result);
+  }
+
   // ========== exportTransactions Tests ==========
 
   @Test
@@ -823,5 +1127,257 @@ class TransactionServiceImplTest {
     assertNotNull(exportDetail.getCategoryType());
     assertNotNull(exportDetail.getComment());
   }
-}
 
+  @Test
+  void exportTransactions_shouldUseColumnStoreWhenReady() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    var response = TransactionExportResponse.builder().transactions(List.of()).build();
+    when(transactionColumnStoreService.isReady()).thenReturn(true);
+    when(transactionColumnStoreService.exportTransactions(dateFrom, dateTo)).thenReturn(response);
+
+    // When
+    TransactionExportResponse result = transactionService.exportTransactions(dateFrom, dateTo);
+
+    // Then
+    assertSame(response, result);
+    verifyNoInteractions(transactionRepository);
+  }
+
+  // ========== streamTransactionsForExport Tests ==========
+
+  @Test
+  void streamTransactionsForExport_shouldPassMappedRowsToHandlerIncomesFirst() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    givenCategoriesInUse(incomeCategory, expenseCategory);
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        expenseCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(expenseTransaction));
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(incomeTransaction));
+
+    List<TransactionExportDetail> exported = new ArrayList<>();
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(exported::add));
+
+    // Then
+    assertEquals(2, exported.size());
+    assertEquals(100, exported.get(0).getIdTransaction());
+    assertEquals("INCOMES", exported.get(0).getCategoryType());
+    assertEquals("Salary", exported.get(0).getCategoryDescription());
+    assertEquals("2026-01-15", exported.get(0).getTransactionDate());
+    assertEquals(101, exported.get(1).getIdTransaction());
+    assertEquals("EXPENSES", exported.get(1).getCategoryType());
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldDetachEachRowAfterMapping() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    givenCategoriesInUse(incomeCategory, expenseCategory);
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(incomeTransaction));
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        expenseCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(expenseTransaction));
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(row -> { }));
+
+    // Then
+    verify(entityManager).detach(incomeTransaction);
+    verify(entityManager).detach(expenseTransaction);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldCloseRepositoryStreams() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    givenCategoriesInUse(incomeCategory, expenseCategory);
+    boolean[] closed = {false, false};
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo))
+        .thenReturn(Stream.of(incomeTransaction).onClose(() -> closed[0] = true));
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        expenseCategory.getIdCategory(), dateFrom, dateTo))
+        .thenReturn(Stream.of(expenseTransaction).onClose(() -> closed[1] = true));
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(row -> { }));
+
+    // Then
+    assertTrue(closed[0]);
+    assertTrue(closed[1]);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldOpenNextCategoryOnlyOncePreviousIsUsedUp() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    givenCategoriesInUse(incomeCategory, expenseCategory);
+    boolean[] incomesClosed = {false};
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo))
+        .thenReturn(Stream.of(incomeTransaction).onClose(() -> incomesClosed[0] = true));
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        expenseCategory.getIdCategory(), dateFrom, dateTo)).thenAnswer(invocation -> {
+          assertTrue(incomesClosed[0]);
+          return Stream.of(expenseTransaction);
+        });
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> {
+      var iterator = rows.iterator();
+      iterator.next();
+      verify(transactionRepository, never()).streamForExportByCategoryAndTransactionDateBetween(
+          eq(expenseCategory.getIdCategory()), any(), any());
+      iterator.next();
+    });
+
+    // Then
+    verify(transactionRepository).streamForExportByCategoryAndTransactionDateBetween(
+        expenseCategory.getIdCategory(), dateFrom, dateTo);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldEmitEmptyCommentForNullComment() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+
+    Transaction transactionWithoutComment = Transaction.builder()
+        .idTransaction(103)
+        .amount(new BigDecimal("100.00"))
+        .transactionDate(LocalDate.of(2026, 1, 10))
+        .category(incomeCategory)
+        .comment(null)
+        .build();
+
+    givenCategoriesInUse(incomeCategory);
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(transactionWithoutComment));
+
+    List<TransactionExportDetail> exported = new ArrayList<>();
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(exported::add));
+
+    // Then
+    assertEquals("", exported.getFirst().getComment());
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldPutIncomeCategoriesFirstWhateverTheirIds() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    Category bonusCategory = Category.builder()
+        .idCategory(3)
+        .description("Bonus")
+        .type(CategoryType.INCOMES)
+        .build();
+    givenCategoriesInUse(expenseCategory, bonusCategory);
+
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(any(), eq(dateFrom), eq(dateTo)))
+        .thenAnswer(invocation -> Stream.empty());
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(row -> { }));
+
+    // Then
+    var inOrder = inOrder(transactionRepository);
+    inOrder.verify(transactionRepository).streamForExportByCategoryAndTransactionDateBetween(3, dateFrom, dateTo);
+    inOrder.verify(transactionRepository).streamForExportByCategoryAndTransactionDateBetween(2, dateFrom, dateTo);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldFailBeforeAnyRowWhenCategoryIsUnknown() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    when(transactionRepository.findCategoryIdsInUse()).thenReturn(List.of(1, 42));
+    when(categoryCacheService.findById(1)).thenReturn(Optional.of(incomeCategory));
+    when(categoryCacheService.findById(42)).thenReturn(Optional.empty());
+    boolean[] handled = {false};
+
+    // When & Then
+    var exception = assertThrows(IllegalStateException.class,
+        () -> transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> handled[0] = true));
+
+    assertTrue(exception.getMessage().contains("42"));
+    assertFalse(handled[0]);
+    verify(transactionRepository, never()).streamForExportByCategoryAndTransactionDateBetween(any(), any(), any());
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldUseColumnStoreWhenReady() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    var exportDetail = TransactionExportDetail.builder().idTransaction(100).build();
+    boolean[] closed = {false};
+    when(transactionColumnStoreService.isReady()).thenReturn(true);
+    when(transactionColumnStoreService.streamTransactionsForExport(dateFrom, dateTo))
+        .thenReturn(Stream.of(exportDetail).onClose(() -> closed[0] = true));
+
+    List<TransactionExportDetail> exported = new ArrayList<>();
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(exported::add));
+
+    // Then
+    assertEquals(List.of(exportDetail), exported);
+    assertTrue(closed[0]);
+    verifyNoInteractions(transactionRepository, transactionManager);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldReadRepositoryInOneReadOnlyTransaction() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 1);
+    LocalDate dateTo = LocalDate.of(2026, 1, 31);
+    givenCategoriesInUse(incomeCategory);
+    when(transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+        incomeCategory.getIdCategory(), dateFrom, dateTo)).thenReturn(Stream.of(incomeTransaction));
+
+    // When
+    transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> rows.forEach(row -> { }));
+
+    // Then
+    var definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager).getTransaction(definition.capture());
+    assertTrue(definition.getValue().isReadOnly());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldThrowExceptionWhenDateFromIsAfterDateTo() {
+    // Given
+    LocalDate dateFrom = LocalDate.of(2026, 1, 31);
+    LocalDate dateTo = LocalDate.of(2026, 1, 1);
+
+    // When & Then
+    assertThrows(IllegalArgumentException.class,
+        () -> transactionService.streamTransactionsForExport(dateFrom, dateTo, rows -> { }));
+
+    verify(transactionRepository, never()).streamForExportByCategoryAndTransactionDateBetween(any(), any(), any());
+  }
+
+  private void givenCategoriesInUse(Category... categories) {
+    when(transactionRepository.findCategoryIdsInUse())
+        .thenReturn(Arrays.stream(categories).map(Category::getIdCategory).toList());
+    for (var category : categories) {
+      when(categoryCacheService.findById(category.getIdCategory())).thenReturn(Optional.of(category));
+    }
+  }
+}
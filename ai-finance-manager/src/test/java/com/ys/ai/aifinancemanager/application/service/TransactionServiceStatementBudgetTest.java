@@ -0,0 +1,150 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import com.ys.ai.aifinancemanager.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements each read path issues, independent of how many rows and
+ * categories the range contains. A failure here usually means an association is being loaded
+ * row by row (N+1) again.
+ */
+class TransactionServiceStatementBudgetTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate DATE_FROM = LocalDate.of(2031, 1, 1);
+
+  private static final LocalDate DATE_TO = LocalDate.of(2031, 1, 31);
+
+  private static final int[] EXPENSE_CATEGORY_IDS = {2, 3, 4, 5, 6, 7, 9};
+
+  private static final int[] INCOME_CATEGORY_IDS = {1, 8};
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SqlStatementCounter statementCounter;
+
+  @BeforeEach
+  void setUp() {
+    statementCounter = new SqlStatementCounter(entityManagerFactory);
+
+    if (!seeded) {
+      seedTransactions();
+      seeded = true;
+    }
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldUseSingleStatementForExpenses() {
+    var counted = statementCounter.count(() ->
+        transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, DATE_FROM, DATE_TO));
+
+    assertThat(counted.result().getCategorySummaries()).hasSize(EXPENSE_CATEGORY_IDS.length);
+    assertThat(counted.statementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void getTransactionsByTypeAndDateRange_shouldUseSingleStatementForIncomes() {
+    var counted = statementCounter.count(() ->
+        transactionService.getTransactionsByTypeAndDateRange(CategoryType.INCOMES, DATE_FROM, DATE_TO));
+
+    assertThat(counted.result().getCategorySummaries()).hasSize(INCOME_CATEGORY_IDS.length);
+    assertThat(counted.statementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void getCategoryTotalsByTypeAndDateRange_shouldUseSingleStatementWithoutLoadingEntities() {
+    var counted = statementCounter.count(() ->
+        transactionService.getCategoryTotalsByTypeAndDateRange(CategoryType.EXPENSES, DATE_FROM, DATE_TO));
+
+    assertThat(counted.result().getCategorySummaries()).hasSize(EXPENSE_CATEGORY_IDS.length);
+    assertThat(counted.result().getCategorySummaries())
+        .allSatisfy(summary -> assertThat(summary.getCategoryTotal()).isEqualByComparingTo("30.00"));
+    assertThat(counted.statementCount()).isEqualTo(1);
+    assertThat(counted.entityLoadCount()).isZero();
+  }
+
+  @Test
+  void exportTransactions_shouldUseSingleStatement() {
+    var counted = statementCounter.count(() -> transactionService.exportTransactions(DATE_FROM, DATE_TO));
+
+    assertThat(counted.result().getTransactions())
+        .hasSize((EXPENSE_CATEGORY_IDS.length + INCOME_CATEGORY_IDS.length) * 3);
+    assertThat(counted.statementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void streamTransactionsForExport_shouldUseOneStatementPerCategory() {
+    var rowCount = new long[1];
+    // Warm the category cache so only the category lookup and the export cursors are counted
+    transactionService.getAllCategories(CategoryType.EXPENSES);
+
+    long statementCount = statementCounter.countStatements(() ->
+        transactionService.streamTransactionsForExport(DATE_FROM, DATE_TO, rows -> rowCount[0] = rows.count()));
+
+    assertThat(rowCount[0]).isEqualTo((EXPENSE_CATEGORY_IDS.length + INCOME_CATEGORY_IDS.length) * 3);
+    assertThat(statementCount).isEqualTo(1 + EXPENSE_CATEGORY_IDS.length + INCOME_CATEGORY_IDS.length);
+  }
+
+  @Test
+  void getAllCategories_shouldNotQueryOnceCached() {
+    transactionService.getAllCategories(CategoryType.EXPENSES);
+
+    long statementCount = statementCounter.countStatements(() -> {
+      transactionService.getAllCategories(CategoryType.EXPENSES);
+      transactionService.getAllCategories(CategoryType.INCOMES);
+      transactionService.getAllCategories();
+    });
+
+    assertThat(statementCount).isZero();
+  }
+
+  @Test
+  void addTransaction_shouldResolveCategoryWithoutLoadingIt() {
+    transactionService.getAllCategories();
+
+    var counted = statementCounter.count(() -> transactionService.addTransaction(CreateTransactionRequest.builder()
+        .amount(new BigDecimal("1.00"))
+        .transactionDate(DATE_TO.plusDays(1))
+        .categoryId(EXPENSE_CATEGORY_IDS[0])
+        .build()));
+
+    assertThat(counted.result().getCategory().getDescription()).isNotBlank();
+    assertThat(counted.entityLoadCount()).isZero();
+  }
+
+  private void seedTransactions() {
+    for (int day = 1; day <= 3; day++) {
+      for (int categoryId : EXPENSE_CATEGORY_IDS) {
+        addTransaction(categoryId, day);
+      }
+      for (int categoryId : INCOME_CATEGORY_IDS) {
+        addTransaction(categoryId, day);
+      }
+    }
+  }
+
+  private void addTransaction(int categoryId, int day) {
+    transactionService.addTransaction(CreateTransactionRequest.builder()
+        .amount(new BigDecimal("10.00"))
+        .transactionDate(DATE_FROM.plusDays(day))
+        .categoryId(categoryId)
+        .comment("Budget test " + categoryId)
+        .build());
+  }
+}
@@ -0,0 +1,114 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.domain.projection.CategoryTotal;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writers racing a connection that holds the write lock past the test profile's
+ * {@code busy_timeout}: every insert has to get through on a retry, exactly once.
+ */
+class WriteRetryIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2042, 1, 1);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2042, 12, 31);
+
+  private static final int WRITERS = 8;
+
+  private static final int WRITES_PER_WRITER = 10;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private CategoryRollupService categoryRollupService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void addTransaction_shouldWriteEveryRowExactlyOnceWhileDatabaseIsLocked() throws Exception {
+    // Given
+    var retriesBefore = retries();
+    var locked = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(WRITERS + 1);
+    try {
+      var blocker = executor.submit(() -> {
+        try (var connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile());
+             var statement = connection.createStatement()) {
+          statement.execute("BEGIN IMMEDIATE");
+          locked.countDown();
+          Thread.sleep(500);
+          statement.execute("COMMIT");
+        }
+        return null;
+      });
+      locked.await();
+
+      // When
+      var writers = new ArrayList<Future<?>>();
+      for (int w = 0; w < WRITERS; w++) {
+        var writer = w;
+        writers.add(executor.submit(() -> {
+          for (int i = 0; i < WRITES_PER_WRITER; i++) {
+            transactionService.addTransaction(CreateTransactionRequest.builder()
+                .amount(BigDecimal.valueOf(100 + writer * WRITES_PER_WRITER + i, 2))
+                .transactionDate(FIRST_DAY.plusDays(i))
+                .categoryId(1 + writer % 9)
+                .comment("Retry test " + writer + "-" + i)
+                .build());
+          }
+          return null;
+        }));
+      }
+      blocker.get();
+      for (var writer : writers) {
+        writer.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then
+    var rows = WRITERS * WRITES_PER_WRITER;
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM TRANSACTIONS WHERE COMMENT LIKE 'Retry test %'", Integer.class)).isEqualTo(rows);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(DISTINCT COMMENT) FROM TRANSACTIONS WHERE COMMENT LIKE 'Retry test %'", Integer.class))
+        .isEqualTo(rows);
+    assertThat(retries()).isGreaterThan(retriesBefore);
+
+    // The rollups took every committed row once, and nothing from the attempts rolled back
+    var rolledUp = BigDecimal.ZERO;
+    for (var type : CategoryType.values()) {
+      rolledUp = categoryRollupService.getCategoryTotals(type, FIRST_DAY, LAST_DAY).stream()
+          .map(CategoryTotal::total)
+          .reduce(rolledUp, BigDecimal::add);
+    }
+    assertThat(rolledUp).isEqualByComparingTo(BigDecimal.valueOf((100 + 100 + rows - 1) * rows / 2, 2));
+  }
+
+  private double retries() {
+    var counter = meterRegistry.find(WriteRetryServiceImpl.RETRIES).tag("operation", "add-transaction").counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,120 @@
+package com.ys.ai.aifinancemanager.application.service;
+
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.config.WriteRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteRetryServiceImplTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final WriteRetryServiceImpl writeRetryService = new WriteRetryServiceImpl(
+      new WriteRetryProperties(true, 3, Duration.ofMillis(1), Duration.ofMillis(4), Duration.ZERO, Duration.ofSeconds(5)),
+      meterRegistry);
+
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  @Test
+  void execute_shouldRetryBusyWriteUntilItSucceeds() {
+    // When
+    var result = writeRetryService.execute("add-transaction", () -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw busy(SQLiteErrorCode.SQLITE_BUSY_SNAPSHOT);
+      }
+      return "written";
+    });
+
+    // Then
+    assertThat(result).isEqualTo("written");
+    assertThat(attempts).hasValue(3);
+    assertThat(retries()).isEqualTo(2);
+    assertThat(meterRegistry.find(WriteRetryServiceImpl.FAILURES).counter()).isNull();
+  }
+
+  @Test
+  void execute_shouldRethrowLastBusyFailureOnceRetriesAreExhausted() {
+    // Given
+    var failure = busy(SQLiteErrorCode.SQLITE_LOCKED);
+
+    // When & Then
+    assertThatThrownBy(() -> writeRetryService.execute("add-transaction", () -> {
+      attempts.incrementAndGet();
+      throw failure;
+    })).isSameAs(failure);
+    assertThat(attempts).hasValue(4);
+    assertThat(retries()).isEqualTo(3);
+    assertThat(meterRegistry.get(WriteRetryServiceImpl.FAILURES).tag("outcome", "exhausted").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void execute_shouldNotRetryOtherFailures() {
+    // Given
+    var failure = new DataIntegrityViolationException("constraint",
+        new SQLiteException("[SQLITE_CONSTRAINT] constraint failed", SQLiteErrorCode.SQLITE_CONSTRAINT));
+
+    // When & Then
+    assertThatThrownBy(() -> writeRetryService.run("add-transaction", () -> {
+      attempts.incrementAndGet();
+      throw failure;
+    })).isSameAs(failure);
+    assertThat(attempts).hasValue(1);
+    assertThat(meterRegistry.find(WriteRetryServiceImpl.RETRIES).counter()).isNull();
+    assertThat(meterRegistry.find(WriteRetryServiceImpl.FAILURES).counter()).isNull();
+  }
+
+  @Test
+  void execute_shouldRunOnceInsideSurroundingTransaction() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      assertThatThrownBy(() -> writeRetryService.run("add-transaction", () -> {
+        attempts.incrementAndGet();
+        throw busy(SQLiteErrorCode.SQLITE_BUSY);
+      })).isInstanceOf(CannotAcquireLockException.class);
+      assertThat(attempts).hasValue(1);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+  }
+
+  @Test
+  void execute_shouldStopRetryingOnceQueryBudgetIsSpent() {
+    try (var budget = QueryBudget.start(Duration.ZERO)) {
+      assertThatThrownBy(() -> writeRetryService.run("add-transaction", () -> {
+        attempts.incrementAndGet();
+        throw busy(SQLiteErrorCode.SQLITE_BUSY);
+      })).isInstanceOf(CannotAcquireLockException.class);
+    }
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  void isBusy_shouldMatchExtendedBusyAndLockedCodesAnywhereInCauseChain() {
+    assertThat(WriteRetryServiceImpl.isBusy(busy(SQLiteErrorCode.SQLITE_BUSY_RECOVERY))).isTrue();
+    assertThat(WriteRetryServiceImpl.isBusy(busy(SQLiteErrorCode.SQLITE_LOCKED_SHAREDCACHE))).isTrue();
+    assertThat(WriteRetryServiceImpl.isBusy(
+        new SQLiteException("[SQLITE_READONLY] readonly", SQLiteErrorCode.SQLITE_READONLY))).isFalse();
+    assertThat(WriteRetryServiceImpl.isBusy(new IllegalStateException("no cause"))).isFalse();
+  }
+
+  private double retries() {
+    return meterRegistry.get(WriteRetryServiceImpl.RETRIES).tag("operation", "add-transaction").counter().count();
+  }
+
+  private static CannotAcquireLockException busy(SQLiteErrorCode code) {
+    return new CannotAcquireLockException("could not execute statement",
+        new SQLiteException("[" + code.name() + "] database is locked", code));
+  }
+}
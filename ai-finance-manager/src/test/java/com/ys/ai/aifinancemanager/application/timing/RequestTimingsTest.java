@@ -0,0 +1,61 @@
+package com.ys.ai.aifinancemanager.application.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingsTest {
+
+  @Test
+  void span_shouldRecordNothingOutsideRecording() {
+    // When
+    try (var db = RequestTimings.span(RequestTimings.DB)) {
+      RequestTimings.mark(RequestTimings.CACHE, "hit");
+      RequestTimings.begin(RequestTimings.SERIALIZE);
+    }
+
+    // Then
+    try (var recording = RequestTimings.start()) {
+      recording.end(RequestTimings.SERIALIZE);
+      assertThat(recording.toHeaderValue()).isEmpty();
+    }
+  }
+
+  @Test
+  void toHeaderValue_shouldAddUpSpansOfSameNameInFirstSeenOrder() {
+    // Given
+    try (var recording = RequestTimings.start()) {
+
+      // When
+      recording.add(RequestTimings.DB, TimeUnit.MICROSECONDS.toNanos(1_200));
+      RequestTimings.mark(RequestTimings.CACHE, "miss");
+      recording.add(RequestTimings.MAP, TimeUnit.MICROSECONDS.toNanos(300));
+      recording.add(RequestTimings.DB, TimeUnit.MICROSECONDS.toNanos(850));
+
+      // Then
+      assertThat(recording.toHeaderValue()).isEqualTo("db;dur=2.1, cache;desc=\"miss\", map;dur=0.3");
+      assertThat(recording.toLogValue()).isEqualTo("db=2.1 cache=miss map=0.3");
+    }
+  }
+
+  @Test
+  void span_shouldRecordIntoCurrentRecordingUntilClosed() {
+    // Given
+    var recording = RequestTimings.start();
+
+    // When
+    try (var aggregate = RequestTimings.span(RequestTimings.AGGREGATE)) {
+      RequestTimings.begin(RequestTimings.SERIALIZE);
+    }
+    recording.end(RequestTimings.SERIALIZE);
+    recording.close();
+    try (var map = RequestTimings.span(RequestTimings.MAP)) {
+      RequestTimings.mark(RequestTimings.CACHE, "hit");
+    }
+
+    // Then
+    assertThat(recording.toHeaderValue()).matches("aggregate;dur=\\d+\\.\\d, serialize;dur=\\d+\\.\\d");
+  }
+}
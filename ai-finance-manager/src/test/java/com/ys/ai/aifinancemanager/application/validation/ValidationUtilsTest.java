@@ -3,6 +3,10 @@ package com.ys.ai.aifinancemanager.application.validation;
 import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
 import com.ys.ai.aifinancemanager.application.dto.TransactionExportResponse;
 import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -11,11 +15,38 @@ import java.time.LocalDate;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ValidationUtilsTest {
 
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    Metrics.addRegistry(meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(meterRegistry);
+  }
+
+  @Test
+  void validateDateRange_shouldCountFailuresPerRule() {
+    var dateTo = LocalDate.of(2026, 1, 1);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> ValidationUtils.validateDateRange(dateTo.plusDays(1), dateTo));
+    assertThrows(NullPointerException.class,
+        () -> ValidationUtils.validateTransactionTypeAndDateRange(CategoryType.INCOMES, null, dateTo));
+    ValidationUtils.validateDateRange(dateTo, dateTo);
+
+    assertEquals(1, failures("date-range-order"));
+    assertEquals(1, failures("date-from-missing"));
+  }
+
   @Test
   void validateCreateTransactionRequest_shouldThrowWhenRequestIsNull() {
     assertThrows(NullPointerException.class,
@@ -67,6 +98,30 @@ class ValidationUtilsTest {
     assertDoesNotThrow(() -> ValidationUtils.validateCreateTransactionRequest(request));
   }
 
+  @Test
+  void validateCreateTransactionRequest_shouldThrowWhenAmountHasFractionsOfACent() {
+    var request = CreateTransactionRequest.builder()
+        .amount(new BigDecimal("10.005"))
+        .transactionDate(LocalDate.now())
+        .categoryId(1)
+        .build();
+
+    var exception = assertThrows(IllegalArgumentException.class,
+        () -> ValidationUtils.validateCreateTransactionRequest(request));
+    assertEquals("Amount cannot have more than 2 decimal places", exception.getMessage());
+  }
+
+  @Test
+  void validateCreateTransactionRequest_shouldAcceptTrailingZerosBeyondCents() {
+    var request = CreateTransactionRequest.builder()
+        .amount(new BigDecimal("10.500"))
+        .transactionDate(LocalDate.now())
+        .categoryId(1)
+        .build();
+
+    assertDoesNotThrow(() -> ValidationUtils.validateCreateTransactionRequest(request));
+  }
+
   @Test
   void validateDateRange_shouldThrowWhenDateFromIsNull() {
     assertThrows(NullPointerException.class,
@@ -169,5 +224,8 @@ class ValidationUtilsTest {
     // then
     assertInstanceOf(UnsupportedOperationException.class, exception.getCause());
   }
-}
 
+  private double failures(String rule) {
+    return meterRegistry.get(ValidationUtils.VALIDATION_FAILURES).tag("rule", rule).counter().count();
+  }
+}
@@ -0,0 +1,48 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.api.admission.WriteAdmissionInterceptor;
+import com.ys.ai.aifinancemanager.api.budget.QueryBudgetInterceptor;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write admission has to run before the query budget starts, or a queued write spends its budget
+ * waiting for a writer slot.
+ */
+class InterceptorOrderIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  @Autowired
+  @Qualifier("requestMappingHandlerMapping")
+  private HandlerMapping handlerMapping;
+
+  @Test
+  void writeEndpoints_shouldAdmitBeforeStartingTheQueryBudget() throws Exception {
+    for (var path : List.of("/api/v1/finance/transactions", "/api/v1/finance/transactions/batch")) {
+      var request = new MockHttpServletRequest("POST", path);
+      request.setContentType("application/json");
+
+      var interceptors = handlerMapping.getHandler(request).getInterceptorList();
+
+      assertThat(indexOf(interceptors, WriteAdmissionInterceptor.class)).as(path).isNotNegative()
+          .isLessThan(indexOf(interceptors, QueryBudgetInterceptor.class));
+    }
+  }
+
+  private static int indexOf(List<HandlerInterceptor> interceptors, Class<?> type) {
+    for (int i = 0; i < interceptors.size(); i++) {
+      if (type.isInstance(interceptors.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,28 @@
+package com.ys.ai.aifinancemanager.config;
+
+import com.ys.ai.aifinancemanager.infrastructure.jdbc.SlowQueryEndpoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryConfigTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withUserConfiguration(SlowQueryConfig.class, PropertiesConfig.class);
+
+  @Test
+  void slowQueryEndpoint_shouldOnlyExistWhenEnabled() {
+    contextRunner
+        .run(context -> assertThat(context).doesNotHaveBean(SlowQueryEndpoint.class));
+    contextRunner.withPropertyValues("finance.slow-query.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(SlowQueryEndpoint.class));
+    contextRunner.withPropertyValues("finance.slow-query.enabled=true")
+        .run(context -> assertThat(context).hasSingleBean(SlowQueryEndpoint.class));
+  }
+
+  @EnableConfigurationProperties(SlowQueryProperties.class)
+  static class PropertiesConfig {
+  }
+}
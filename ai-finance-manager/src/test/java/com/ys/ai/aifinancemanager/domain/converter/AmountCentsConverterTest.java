@@ -0,0 +1,37 @@
+package com.ys.ai.aifinancemanager.domain.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AmountCentsConverterTest {
+
+  private final AmountCentsConverter converter = new AmountCentsConverter();
+
+  @Test
+  void convertToDatabaseColumn_shouldStoreWholeCents() {
+    assertThat(converter.convertToDatabaseColumn(new BigDecimal("1234.56"))).isEqualTo(123456L);
+    assertThat(converter.convertToDatabaseColumn(new BigDecimal("10"))).isEqualTo(1000L);
+    assertThat(converter.convertToDatabaseColumn(new BigDecimal("0.500"))).isEqualTo(50L);
+  }
+
+  @Test
+  void convertToEntityAttribute_shouldRestoreAmountWithTwoDecimals() {
+    assertThat(converter.convertToEntityAttribute(123456L)).isEqualTo(new BigDecimal("1234.56"));
+    assertThat(converter.convertToEntityAttribute(5L)).isEqualTo(new BigDecimal("0.05"));
+  }
+
+  @Test
+  void convert_shouldPassNullThrough() {
+    assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    assertThat(converter.convertToEntityAttribute(null)).isNull();
+  }
+
+  @Test
+  void toCents_shouldRejectFractionsOfACent() {
+    assertThrows(ArithmeticException.class, () -> AmountCentsConverter.toCents(new BigDecimal("0.105")));
+  }
+}
@@ -0,0 +1,29 @@
+package com.ys.ai.aifinancemanager.domain.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EpochDayConverterTest {
+
+  private final EpochDayConverter converter = new EpochDayConverter();
+
+  @Test
+  void convertToDatabaseColumn_shouldStoreDaysSinceEpoch() {
+    assertThat(converter.convertToDatabaseColumn(LocalDate.of(1970, 1, 1))).isZero();
+    assertThat(converter.convertToDatabaseColumn(LocalDate.of(2026, 2, 1))).isEqualTo(20485L);
+  }
+
+  @Test
+  void convertToEntityAttribute_shouldRestoreDate() {
+    assertThat(converter.convertToEntityAttribute(20485L)).isEqualTo(LocalDate.of(2026, 2, 1));
+  }
+
+  @Test
+  void convert_shouldPassNullThrough() {
+    assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    assertThat(converter.convertToEntityAttribute(null)).isNull();
+  }
+}
@@ -0,0 +1,77 @@
+package com.ys.ai.aifinancemanager.domain.repository;
+
+import com.ys.ai.aifinancemanager.domain.repository.CategoryRollupRepository.RollupSegments;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryRollupRepositoryTest {
+
+  @Test
+  void rollupSegments_shouldUseOnlyMonthsForWholeMonthRange() {
+    // When
+    var segments = RollupSegments.of(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31));
+
+    // Then
+    assertEquals("2026-01", segments.monthFrom());
+    assertEquals("2026-03", segments.monthTo());
+    assertEmpty(segments.headFrom(), segments.headTo());
+    assertEmpty(segments.tailFrom(), segments.tailTo());
+  }
+
+  @Test
+  void rollupSegments_shouldSplitPartialEdgesIntoDailySegments() {
+    // When
+    var segments = RollupSegments.of(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 4, 10));
+
+    // Then
+    assertEquals("2026-02", segments.monthFrom());
+    assertEquals("2026-03", segments.monthTo());
+    assertEquals("2026-01-15", segments.headFrom());
+    assertEquals("2026-01-31", segments.headTo());
+    assertEquals("2026-04-01", segments.tailFrom());
+    assertEquals("2026-04-10", segments.tailTo());
+  }
+
+  @Test
+  void rollupSegments_shouldUseDailyRollupWhenNoWholeMonthIsCovered() {
+    // When
+    var segments = RollupSegments.of(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 10));
+
+    // Then
+    assertEmpty(segments.monthFrom(), segments.monthTo());
+    assertEquals("2026-01-20", segments.headFrom());
+    assertEquals("2026-02-10", segments.headTo());
+    assertEmpty(segments.tailFrom(), segments.tailTo());
+  }
+
+  @Test
+  void rollupSegments_shouldHandleSingleDayRange() {
+    // When
+    var segments = RollupSegments.of(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 2, 28));
+
+    // Then
+    assertEmpty(segments.monthFrom(), segments.monthTo());
+    assertEquals("2026-02-28", segments.headFrom());
+    assertEquals("2026-02-28", segments.headTo());
+  }
+
+  @Test
+  void rollupSegments_shouldHandleLeapYearMonthEnd() {
+    // When
+    var segments = RollupSegments.of(LocalDate.of(2028, 2, 1), LocalDate.of(2028, 2, 29));
+
+    // Then
+    assertEquals("2028-02", segments.monthFrom());
+    assertEquals("2028-02", segments.monthTo());
+    assertEmpty(segments.headFrom(), segments.headTo());
+    assertEmpty(segments.tailFrom(), segments.tailTo());
+  }
+
+  private static void assertEmpty(String from, String to) {
+    assertTrue(from.compareTo(to) > 0, () -> "Expected an empty segment but got " + from + ".." + to);
+  }
+}
@@ -0,0 +1,183 @@
+package com.ys.ai.aifinancemanager.domain.repository;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.service.TransactionService;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import com.ys.ai.aifinancemanager.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN QUERY PLAN} for the SQL behind every repository read and fails when a
+ * step scans a whole table or index instead of searching it.
+ *
+ * <p>Only scans of the query's own subqueries (co-routines and materialized views) are
+ * accepted. {@code findAll}, {@link CategoryRollupRepository#findMismatches()} and
+ * {@link CategoryRollupRepository#rebuild()} read every row on purpose and are not checked.
+ * Plans are taken without {@code sqlite_stat1} statistics, which is what a freshly migrated
+ * database uses.</p>
+ */
+class RepositoryQueryPlanTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate DATE_FROM = LocalDate.of(2033, 1, 1);
+
+  private static final LocalDate DATE_TO = LocalDate.of(2033, 12, 31);
+
+  private static final Pattern SCAN = Pattern.compile("^SCAN (\\S+)");
+
+  private static final Pattern SUBQUERY = Pattern.compile("^(?:CO-ROUTINE|MATERIALIZE) (\\S+)");
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private CategoryRollupRepository categoryRollupRepository;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    if (!seeded) {
+      seedTransactions();
+      seeded = true;
+    }
+  }
+
+  @Test
+  void findByTransactionDateBetween_shouldSearchIndexes() {
+    assertNoFullScan(() -> transactionRepository.findByTransactionDateBetween(DATE_FROM, DATE_TO));
+  }
+
+  @Test
+  void findByCategoryTypeAndTransactionDateBetween_shouldSearchIndexes() {
+    assertNoFullScan(() -> transactionRepository.findByCategoryTypeAndTransactionDateBetween(
+        CategoryType.EXPENSES, DATE_FROM, DATE_TO));
+  }
+
+  @Test
+  void streamForExportByCategoryAndTransactionDateBetween_shouldSearchIndexesWithoutSorting() {
+    var statements = RecordingStatementInspector.record(() -> transactionTemplate.execute(status -> {
+      try (var transactions = transactionRepository.streamForExportByCategoryAndTransactionDateBetween(
+          1, DATE_FROM, DATE_TO)) {
+        return transactions.count();
+      }
+    }));
+
+    assertThat(statements).as("recorded SQL").isNotEmpty();
+    for (var sql : statements) {
+      var plan = explain(sql);
+      assertThat(fullScans(plan)).as("full scans in plan%n  %s", String.join("\n  ", plan)).isEmpty();
+      // A temp B-tree would sort the whole range before the first row reaches the client
+      assertThat(plan).as("plan for SQL%n%s", sql).noneMatch(step -> step.contains("USE TEMP B-TREE"));
+    }
+  }
+
+  @Test
+  void findCategoryIdsInUse_shouldSearchIndexes() {
+    assertNoFullScan(() -> transactionRepository.findCategoryIdsInUse());
+  }
+
+  @Test
+  void findByType_shouldSearchIndexes() {
+    assertNoFullScan(() -> categoryRepository.findByType(CategoryType.INCOMES));
+  }
+
+  @Test
+  void findById_shouldSearchIndexes() {
+    assertNoFullScan(() -> categoryRepository.findById(1));
+  }
+
+  @Test
+  void sumByCategoryTypeAndDateBetween_shouldSearchIndexes() {
+    assertNoFullScan(() -> categoryRollupRepository.sumByCategoryTypeAndDateBetween(
+        CategoryType.EXPENSES, LocalDate.of(2033, 1, 15), LocalDate.of(2033, 6, 10)));
+  }
+
+  private void assertNoFullScan(Supplier<?> query) {
+    var statements = RecordingStatementInspector.record(query);
+
+    assertThat(statements).as("recorded SQL").isNotEmpty();
+    for (var sql : statements) {
+      var plan = explain(sql);
+      assertThat(fullScans(plan))
+          .as("full scans in plan%n  %s%nfor SQL%n%s", String.join("\n  ", plan), sql)
+          .isEmpty();
+    }
+  }
+
+  private static List<String> fullScans(List<String> plan) {
+    var subqueries = new HashSet<String>();
+    plan.stream()
+        .map(SUBQUERY::matcher)
+        .filter(matcher -> matcher.find())
+        .forEach(matcher -> subqueries.add(matcher.group(1)));
+
+    return plan.stream()
+        .filter(step -> {
+          var matcher = SCAN.matcher(step);
+          return matcher.find() && !subqueries.contains(matcher.group(1));
+        })
+        .toList();
+  }
+
+  private List<String> explain(String sql) {
+    try (var connection = dataSource.getConnection();
+         var statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+      // Plans do not depend on bound values, so every parameter is left NULL
+      int parameterCount = statement.getParameterMetaData().getParameterCount();
+      for (int i = 1; i <= parameterCount; i++) {
+        statement.setObject(i, null);
+      }
+
+      var plan = new ArrayList<String>();
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.add(resultSet.getString("detail"));
+        }
+      }
+      return plan;
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not explain SQL: " + sql, e);
+    }
+  }
+
+  private void seedTransactions() {
+    for (var day = DATE_FROM; !day.isAfter(DATE_TO); day = day.plusDays(7)) {
+      for (int categoryId = 1; categoryId <= 9; categoryId++) {
+        transactionService.addTransaction(CreateTransactionRequest.builder()
+            .amount(BigDecimal.valueOf(categoryId * 10L + day.getDayOfMonth()))
+            .transactionDate(day)
+            .categoryId(categoryId)
+            .comment("Query plan test")
+            .build());
+      }
+    }
+  }
+}
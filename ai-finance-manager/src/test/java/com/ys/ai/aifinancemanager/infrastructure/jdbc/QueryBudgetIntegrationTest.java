@@ -0,0 +1,147 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.service.CsvExportService;
+import com.ys.ai.aifinancemanager.application.service.TransactionIngestionService;
+import com.ys.ai.aifinancemanager.application.service.TransactionService;
+import com.ys.ai.aifinancemanager.application.timing.QueryBudget;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test profile enables {@code finance.query-budget}, so every pooled connection checks the
+ * budget of the thread using it.
+ */
+class QueryBudgetIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2041, 1, 1);
+
+  private static final LocalDate LAST_DAY = LocalDate.of(2041, 12, 31);
+
+  private static final LocalDate STREAM_FIRST_DAY = LocalDate.of(2043, 1, 1);
+
+  private static final LocalDate STREAM_LAST_DAY = LocalDate.of(2043, 12, 31);
+
+  /**
+   * Rows of a single category, so one cursor runs long enough for the budget to interrupt it and
+   * the CSV outgrows the writer's buffer.
+   */
+  private static final int STREAM_ROWS = 2_500;
+
+  private static boolean seeded;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private TransactionIngestionService transactionIngestionService;
+
+  @Autowired
+  private CsvExportService csvExportService;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    if (!seeded) {
+      for (int i = 0; i < 300; i++) {
+        transactionService.addTransaction(CreateTransactionRequest.builder()
+            .amount(BigDecimal.valueOf(100 + i, 2))
+            .transactionDate(FIRST_DAY.plusDays(i))
+            .categoryId(1 + i % 9)
+            .comment("Budget test")
+            .build());
+      }
+      transactionIngestionService.addTransactions(IntStream.range(0, STREAM_ROWS)
+          .mapToObj(i -> CreateTransactionRequest.builder()
+              .amount(BigDecimal.valueOf(100 + i, 2))
+              .transactionDate(STREAM_FIRST_DAY.plusDays(i % 365))
+              .categoryId(1)
+              .comment("Budget stream test")
+              .build())
+          .iterator());
+      seeded = true;
+    }
+  }
+
+  @Test
+  void statement_shouldBeInterruptedOnceBudgetIsSpentAndConnectionReused() throws SQLException {
+    // When
+    try (var budget = QueryBudget.start(Duration.ZERO)) {
+      assertThatThrownBy(() -> transactionService.exportTransactions(FIRST_DAY, LAST_DAY))
+          .satisfies(e -> assertThat(isInterrupt(e)).isTrue());
+    }
+
+    // Then
+    assertThat(transactionService.exportTransactions(FIRST_DAY, LAST_DAY).getTransactions()).hasSize(300);
+    var pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    assertThat(pool.getActiveConnections()).isZero();
+  }
+
+  @Test
+  void csvExport_shouldEndWithIncompleteMarkerWhenBudgetRunsOutMidStream() {
+    var budget = new QueryBudget.Budget(Duration.ofSeconds(2), System.nanoTime() + Duration.ofSeconds(2).toNanos());
+    var csv = new ByteArrayOutputStream();
+    // Spends the rest of the budget as soon as the first part of the document is sent
+    var slowClient = new FilterOutputStream(csv) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        while (!budget.isExceeded()) {
+          Thread.onSpinWait();
+        }
+        out.write(b, off, len);
+      }
+    };
+
+    // When
+    try (var scope = QueryBudget.resume(budget)) {
+      assertThatThrownBy(() -> transactionService.streamTransactionsForExport(STREAM_FIRST_DAY, STREAM_LAST_DAY,
+          rows -> csvExportService.writeTransactionsToCsv(rows, slowClient)))
+          .satisfies(e -> assertThat(isInterrupt(e)).isTrue());
+    }
+
+    // Then
+    var lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines.length).isGreaterThan(2).isLessThan(STREAM_ROWS + 2);
+    assertThat(lines[lines.length - 1]).startsWith("# EXPORT INCOMPLETE");
+  }
+
+  @Test
+  void statement_shouldRunUnderUnspentBudget() {
+    try (var budget = QueryBudget.start(Duration.ofMinutes(1))) {
+      assertThat(transactionService.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, FIRST_DAY, LAST_DAY)
+          .getCategorySummaries()).isNotEmpty();
+    }
+  }
+
+  private static boolean isInterrupt(Throwable e) {
+    for (var cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLiteException sqliteException
+          && sqliteException.getResultCode() == SQLiteErrorCode.SQLITE_INTERRUPT) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
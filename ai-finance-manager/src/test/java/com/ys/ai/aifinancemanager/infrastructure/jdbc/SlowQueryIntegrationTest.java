@@ -0,0 +1,50 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.application.service.TransactionService;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test profile enables {@code finance.slow-query}, so every statement of the shared context
+ * goes through {@link TimingDataSource}.
+ */
+class SlowQueryIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private SlowQueryLog slowQueryLog;
+
+  @Autowired
+  private SlowQueryEndpoint slowQueryEndpoint;
+
+  @Test
+  void slowQueries_shouldListStatementsIssuedThroughHibernate() {
+    // Given
+    slowQueryLog.reset();
+
+    // When
+    transactionService.getTransactionsByTypeAndDateRange(
+        CategoryType.EXPENSES, LocalDate.of(2040, 1, 1), LocalDate.of(2040, 12, 31));
+
+    // Then
+    assertThat(dataSource).isInstanceOf(TimingDataSource.class);
+    assertThat(slowQueryEndpoint.slowQueries())
+        .anySatisfy(shape -> {
+          assertThat(shape.sql()).containsIgnoringCase("from transactions");
+          assertThat(shape.count()).isPositive();
+          assertThat(shape.slowestBinds()).contains(String.valueOf(LocalDate.of(2040, 1, 1).toEpochDay()));
+        });
+  }
+}
@@ -0,0 +1,64 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.support.AbstractSqliteIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test profile enables {@code finance.sqlite.read-pool} and shortens the busy timeout; the
+ * other pragmas are the defaults.
+ */
+class SqliteDataSourceIntegrationTest extends AbstractSqliteIntegrationTest {
+
+  // Matches no row, but still needs a write transaction
+  private static final String DELETE_NOTHING = "DELETE FROM TRANSACTIONS WHERE ID_TRANSACTION = -1";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void connections_shouldOpenWithConfiguredPragmas() {
+    assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)).isEqualTo("wal");
+    assertThat(jdbcTemplate.queryForObject("PRAGMA synchronous", Integer.class)).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject("PRAGMA cache_size", Integer.class)).isEqualTo(-65_536);
+    assertThat(jdbcTemplate.queryForObject("PRAGMA temp_store", Integer.class)).isEqualTo(2);
+    assertThat(jdbcTemplate.queryForObject("PRAGMA busy_timeout", Integer.class)).isEqualTo(100);
+  }
+
+  @Test
+  void readOnlyTransaction_shouldRunOnReadOnlyConnection() {
+    // Given
+    var readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    // When & Then
+    readOnly.executeWithoutResult(status -> {
+      assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)).isEqualTo("wal");
+      assertThatThrownBy(() -> jdbcTemplate.update(DELETE_NOTHING))
+          .isInstanceOf(DataAccessException.class)
+          .hasMessageContaining("readonly");
+    });
+  }
+
+  @Test
+  void readWriteTransaction_shouldRunOnWriteConnection() {
+    // Given
+    var readWrite = new TransactionTemplate(transactionManager);
+
+    // When
+    var deleted = readWrite.execute(status -> jdbcTemplate.update(DELETE_NOTHING));
+
+    // Then
+    assertThat(deleted).isZero();
+  }
+}
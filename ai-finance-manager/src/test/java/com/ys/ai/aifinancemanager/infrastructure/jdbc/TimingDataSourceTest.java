@@ -0,0 +1,128 @@
+package com.ys.ai.aifinancemanager.infrastructure.jdbc;
+
+import com.ys.ai.aifinancemanager.config.SlowQueryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ExtendWith(OutputCaptureExtension.class)
+class TimingDataSourceTest {
+
+  @TempDir
+  private Path directory;
+
+  private SlowQueryLog slowQueryLog;
+
+  private TimingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    var sqlite = new SQLiteDataSource();
+    sqlite.setUrl("jdbc:sqlite:" + directory.resolve("timing.db"));
+    try (var connection = sqlite.getConnection(); var statement = connection.createStatement()) {
+      statement.executeUpdate("CREATE TABLE ITEMS (ID INTEGER PRIMARY KEY, NAME TEXT, DAY INTEGER)");
+      statement.executeUpdate("CREATE INDEX IDX_ITEMS_DAY ON ITEMS (DAY)");
+    }
+    slowQueryLog = new SlowQueryLog(new SlowQueryProperties(true, Duration.ZERO, true, 20));
+    dataSource = new TimingDataSource(sqlite, slowQueryLog);
+  }
+
+  @Test
+  void executeQuery_shouldLogBindsAndQueryPlanOverThreshold(CapturedOutput output) throws SQLException {
+    // Given
+    insertItems(3);
+
+    // When
+    try (var connection = dataSource.getConnection();
+         var statement = connection.prepareStatement("SELECT NAME FROM ITEMS WHERE DAY BETWEEN ? AND ?")) {
+      statement.setInt(1, 1);
+      statement.setInt(2, 2);
+      try (var resultSet = statement.executeQuery()) {
+        var rows = 0;
+        while (resultSet.next()) {
+          rows++;
+        }
+        assertThat(rows).isEqualTo(2);
+        assertThat(resultSet.getStatement()).isSameAs(statement);
+      }
+    }
+
+    // Then
+    assertThat(output).contains("Slow statement took")
+        .contains("SELECT NAME FROM ITEMS WHERE DAY BETWEEN ? AND ? binds=[1=1, 2=2]")
+        .contains("IDX_ITEMS_DAY");
+    var select = slowQueryLog.top().stream().filter(shape -> shape.sql().startsWith("SELECT")).findFirst();
+    assertThat(select).hasValueSatisfying(shape -> {
+      assertThat(shape.count()).isEqualTo(1);
+      assertThat(shape.slowestBinds()).isEqualTo("[1=1, 2=2]");
+      assertThat(shape.plan()).contains("IDX_ITEMS_DAY");
+    });
+  }
+
+  @Test
+  void executeBatch_shouldRecordBatchSizeAndLastRowBinds(CapturedOutput output) throws SQLException {
+    // When
+    insertItems(3);
+
+    // Then: the log shows the text, the endpoint only its length
+    assertThat(output).contains("binds=batch of 3, last [1='Item 2', 2=2]");
+    assertThat(slowQueryLog.top()).singleElement().satisfies(shape -> {
+      assertThat(shape.sql()).isEqualTo("INSERT INTO ITEMS (NAME, DAY) VALUES (?, ?)");
+      assertThat(shape.count()).isEqualTo(1);
+      assertThat(shape.slowestBinds()).isEqualTo("batch of 3, last [1=<6 chars>, 2=2]");
+    });
+  }
+
+  @Test
+  void execute_shouldCountPlainStatementsDifferingOnlyInLiteralsAsOneShape() throws SQLException {
+    // When
+    try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+      statement.execute("UPDATE ITEMS SET NAME = 'a' WHERE DAY = 1");
+      statement.execute("UPDATE ITEMS   SET NAME = 'b''s' WHERE DAY = 22");
+      try (var resultSet = statement.executeQuery("SELECT COUNT(*) FROM ITEMS")) {
+        resultSet.next();
+      }
+    }
+
+    // Then
+    assertThat(slowQueryLog.top()).extracting(SlowQueryLog.StatementShape::sql, SlowQueryLog.StatementShape::count)
+        .containsExactlyInAnyOrder(
+            tuple("UPDATE ITEMS SET NAME = ? WHERE DAY = ?", 2L),
+            tuple("SELECT COUNT(*) FROM ITEMS", 1L));
+  }
+
+  @Test
+  void reset_shouldForgetRecordedShapes() throws SQLException {
+    // Given
+    insertItems(1);
+
+    // When
+    slowQueryLog.reset();
+
+    // Then
+    assertThat(slowQueryLog.top()).isEmpty();
+  }
+
+  private void insertItems(int count) throws SQLException {
+    try (var connection = dataSource.getConnection();
+         var statement = connection.prepareStatement("INSERT INTO ITEMS (NAME, DAY) VALUES (?, ?)")) {
+      for (int i = 0; i < count; i++) {
+        statement.setString(1, "Item " + i);
+        statement.setInt(2, i);
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.ys.ai.aifinancemanager.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class for tests that need the full application context backed by a real SQLite file.
+ *
+ * <p>An in-memory SQLite database is private to the connection that opened it, so a pooled
+ * datasource cannot share it. Every subclass therefore runs against the same temporary database
+ * file (and the same cached context); tests should work on their own date windows instead of
+ * assuming an empty table.</p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class AbstractSqliteIntegrationTest {
+
+  private static final Path DATABASE_FILE = createDatabaseFile();
+
+  @DynamicPropertySource
+  static void sqliteDatabase(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + DATABASE_FILE);
+  }
+
+  protected static Path databaseFile() {
+    return DATABASE_FILE;
+  }
+
+  private static Path createDatabaseFile() {
+    try {
+      var file = Files.createTempFile("finance_manager_test", ".db");
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not create test database file", e);
+    }
+  }
+}
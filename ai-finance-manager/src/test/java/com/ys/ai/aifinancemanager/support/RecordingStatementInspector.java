@@ -0,0 +1,39 @@
+package com.ys.ai.aifinancemanager.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Captures the SQL Hibernate sends to the database on the current thread.
+ *
+ * <p>Registered for the {@code test} profile through
+ * {@code hibernate.session_factory.statement_inspector}; it only records while
+ * {@link #record(Supplier)} is running and never alters a statement.</p>
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+  private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    var recorded = RECORDED.get();
+    if (recorded != null) {
+      recorded.add(sql);
+    }
+    return sql;
+  }
+
+  public static List<String> record(Supplier<?> action) {
+    var recorded = new ArrayList<String>();
+    RECORDED.set(recorded);
+    try {
+      action.get();
+      return List.copyOf(recorded);
+    } finally {
+      RECORDED.remove();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.ys.ai.aifinancemanager.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while a piece of code runs.
+ *
+ * <p>Relies on {@code hibernate.generate_statistics}, which the {@code test} profile enables.
+ * Statistics are global to the session factory, so callers must not run statement-counting
+ * tests concurrently.</p>
+ */
+public final class SqlStatementCounter {
+
+  private final Statistics statistics;
+
+  public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    if (!statistics.isStatisticsEnabled()) {
+      throw new IllegalStateException("Hibernate statistics are disabled; enable hibernate.generate_statistics");
+    }
+  }
+
+  public <T> Counted<T> count(Supplier<T> action) {
+    statistics.clear();
+    var result = action.get();
+    return new Counted<>(result, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+  }
+
+  public long countStatements(Runnable action) {
+    return count(() -> {
+      action.run();
+      return null;
+    }).statementCount();
+  }
+
+  public record Counted<T>(T result, long statementCount, long entityLoadCount) {
+  }
+}
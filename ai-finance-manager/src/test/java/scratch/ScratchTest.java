@@ -0,0 +1,25 @@
+package scratch;
+
+import com.ys.ai.aifinancemanager.AiFinanceManagerApplication;
+import com.ys.ai.aifinancemanager.application.dto.CreateTransactionRequest;
+import com.ys.ai.aifinancemanager.application.service.TransactionService;
+import com.ys.ai.aifinancemanager.domain.entity.CategoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@SpringBootTest(classes = AiFinanceManagerApplication.class, properties = {"spring.datasource.url=jdbc:sqlite:/tmp/scratch/s.db"})
+class ScratchTest {
+  @Autowired TransactionService s;
+  @Autowired JdbcTemplate jdbc;
+  @Test void t() {
+    s.addTransaction(CreateTransactionRequest.builder().amount(new BigDecimal("12.34")).transactionDate(LocalDate.of(2026,2,3)).categoryId(2).comment("x").build());
+    System.out.println("ROWS " + jdbc.queryForList("select ID_TRANSACTION, AMOUNT, typeof(AMOUNT), TRANSACTION_DATE, typeof(TRANSACTION_DATE) from TRANSACTIONS"));
+    System.out.println("RES " + s.getTransactionsByTypeAndDateRange(CategoryType.EXPENSES, LocalDate.of(2026,2,1), LocalDate.of(2026,2,28)));
+    s.streamTransactionsForExport(LocalDate.of(2000,1,1), LocalDate.of(2030,1,1), st -> st.forEach(d -> System.out.println("EXP " + d)));
+    System.out.println("SQLITE " + jdbc.queryForObject("select sqlite_version()", String.class));
+  }
+}